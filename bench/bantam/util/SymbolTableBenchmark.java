@@ -0,0 +1,161 @@
+/*
+ * File: SymbolTableBenchmark.java
+ * Author: Phoebe Hughes, Siyuan Li, Joseph Malionek
+ * Date: 10/18/26
+ */
+
+package bantam.util;
+
+/**
+ * A microbenchmark of SymbolTable that uses the tables the way the type checker and the
+ * code generator do: a chain of class tables, each with a scope of fields, under which
+ * the methods of the deepest class enter scopes for their formals, blocks and loops,
+ * declare locals, and look up locals, fields and inherited fields, by name and by level.
+ *
+ * It lives outside src/ and test/ so that it is neither part of the compiler nor run as
+ * a test.  Compile it against the compiler's classes and run it with:
+ * java -cp &lt;classes&gt; bantam.util.SymbolTableBenchmark [rounds]
+ * To compare with another SymbolTable (e.g. the one kept as a Vector of Hashtables
+ * before the undo log), compile that SymbolTable.java along with the benchmark and put
+ * its class first on the class path.
+ */
+public class SymbolTableBenchmark {
+
+    /**
+     * The number of classes in the chain of class tables
+     */
+    private static final int DEPTH = 6;
+
+    /**
+     * The number of fields of each class
+     */
+    private static final int NUM_FIELDS = 8;
+
+    /**
+     * The number of methods checked in one round
+     */
+    private static final int NUM_METHODS = 10000;
+
+    /**
+     * The names of the fields of the classes
+     */
+    private static String[][] fieldNames = new String[DEPTH][NUM_FIELDS];
+
+    /**
+     * The names of the locals of the methods
+     */
+    private static String[] localNames = new String[16];
+
+    /**
+     * Builds the chain of class tables
+     * @return the table of the deepest class
+     */
+    private static SymbolTable buildClassTables() {
+        SymbolTable parent = null;
+        SymbolTable table = null;
+        for (int c = 0; c < DEPTH; c++) {
+            table = new SymbolTable();
+            table.setParent(parent);
+            table.enterScope();
+            for (int f = 0; f < NUM_FIELDS; f++) {
+                table.add(fieldNames[c][f], "int");
+            }
+            parent = table;
+        }
+        return table;
+    }
+
+    /**
+     * Checks one method: its formals, then nested blocks declaring locals that are
+     * looked up along with the fields of the class and its ancestors
+     * @param table the table of the class
+     * @param fieldScope the scope level of the fields of the class
+     * @return the number of symbols found, so the work is not optimized away
+     */
+    private static int checkMethod(SymbolTable table, int fieldScope) {
+        int found = 0;
+        table.enterScope();
+        table.add(localNames[0], "int");
+        table.add(localNames[1], "String");
+        for (int block = 0; block < 3; block++) {
+            table.enterScope();
+            for (int i = 2; i < 2 + 4; i++) {
+                String name = localNames[(i + 4 * block) % localNames.length];
+                //a local cannot be declared twice in the method
+                for (int level = table.getCurrScopeLevel() - 1; level > fieldScope;
+                     level--) {
+                    if (table.peek(name, level) != null) {
+                        found++;
+                    }
+                }
+                table.add(name, "int");
+            }
+            for (int i = 0; i < localNames.length; i++) {
+                if (table.lookup(localNames[i]) != null) {
+                    found++;
+                }
+            }
+            for (int c = 0; c < DEPTH; c++) {
+                //unqualified, this. and super. references to fields
+                if (table.lookup(fieldNames[c][block]) != null) {
+                    found++;
+                }
+                if (table.lookup(fieldNames[c][block + 1], fieldScope) != null) {
+                    found++;
+                }
+                if (table.lookup(fieldNames[c][block + 2], fieldScope - 1) != null) {
+                    found++;
+                }
+            }
+            table.set(localNames[0], "int");
+        }
+        for (int block = 0; block < 3; block++) {
+            table.exitScope();
+        }
+        table.exitScope();
+        return found;
+    }
+
+    /**
+     * Checks the methods of one round
+     * @param table the table of the class
+     * @return the number of symbols found
+     */
+    private static int round(SymbolTable table) {
+        int fieldScope = table.getCurrScopeLevel() - 1;
+        int found = 0;
+        for (int m = 0; m < NUM_METHODS; m++) {
+            found += checkMethod(table, fieldScope);
+        }
+        return found;
+    }
+
+    /**
+     * Runs the benchmark and prints the time of each round
+     * @param args the number of rounds (20 by default)
+     */
+    public static void main(String[] args) {
+        int rounds = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        for (int c = 0; c < DEPTH; c++) {
+            for (int f = 0; f < NUM_FIELDS; f++) {
+                fieldNames[c][f] = "field" + c + "_" + f;
+            }
+        }
+        for (int i = 0; i < localNames.length; i++) {
+            localNames[i] = "local" + i;
+        }
+
+        SymbolTable table = buildClassTables();
+        int found = 0;
+        long best = Long.MAX_VALUE;
+        for (int r = 0; r < rounds; r++) {
+            long start = System.nanoTime();
+            found += round(table);
+            long time = System.nanoTime() - start;
+            best = Math.min(best, time);
+            System.out.printf("round %2d: %6.2f ms%n", r + 1, time / 1e6);
+        }
+        System.out.printf("best: %.2f ms (%.1f ns per method), %d symbols found%n",
+                best / 1e6, (double) best / NUM_METHODS, found);
+    }
+}
@@ -0,0 +1,389 @@
+/*
+ * File: BatchRunner.java
+ * Author: Phoebe Hughes, Siyuan Li, Joseph Malionek
+ * Date: 10/18/26
+ */
+
+package bantam;
+
+import bantam.ast.Program;
+import bantam.interp.ExecutionLimitExceeded;
+import bantam.interp.Interpreter;
+import bantam.lexer.FastLexer;
+import bantam.lexer.Lexer;
+import bantam.lexer.SourceScanner;
+import bantam.parser.Parser;
+import bantam.semant.AnalysisCache;
+import bantam.semant.SemanticAnalyzer;
+import bantam.util.ClassTreeNode;
+import bantam.util.ErrorHandler;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Compiles and interprets many programs at once, each on its own thread of a pool, for
+ * grading student submissions or running regression tests.  Every run has its own
+ * lexer, parser, semantic analyzer and interpreter, and its standard input, output and
+ * error are bound to buffers instead of those of the JVM, so runs do not share any
+ * mutable state.  A program's standard input is the file next to it named as the test
+ * programs name their input (IO.btm reads io.input and PrimesSieves.btm reads
+ * primes-sieves.input), if there is one.  The output of each run is printed in the
+ * order the programs were given, followed by the throughput of the batch.
+ */
+public class BatchRunner {
+
+    /**
+     * The stack size of the threads of a pool, since the interpreter recurses as deep
+     * as the program does
+     */
+    private static final long STACK_SIZE = 64L << 20;
+
+    /**
+     * The source files of the programs, one per program
+     */
+    private String[] files;
+
+    /**
+     * The number of threads of the pool (0 for a virtual thread per program)
+     */
+    private int numThreads;
+
+    /**
+     * The largest array length a program may create
+     */
+    private int maxArrayLength;
+
+    /**
+     * The largest number of steps a program may take (0 for no budget)
+     */
+    private long maxSteps;
+
+    /**
+     * The time a program may run in milliseconds (0 for no deadline)
+     */
+    private long timeout;
+
+    /**
+     * Whether the results of pure methods are memoized
+     */
+    private boolean memoize;
+
+    /**
+     * The directory of analyzed programs (null if the programs are not cached)
+     */
+    private String cacheDir;
+
+    /**
+     * Whether the programs are scanned with the hand written lexer
+     */
+    private boolean fastLex;
+
+    /**
+     * The result of running one program
+     */
+    private static class Result {
+        /** The output of the run (standard output and error, and compiler errors) */
+        private String output;
+        /** The exit status of the run */
+        private int status;
+        /** Whether the program compiled */
+        private boolean compiled;
+        /** The time the run took, in nanoseconds */
+        private long time;
+        /** The number of steps the program took */
+        private long steps;
+        /** Why the program was stopped, if it went past its limits (otherwise null) */
+        private String stopped;
+    }
+
+    /**
+     * Creates a batch runner
+     * @param files the source files of the programs, one per program
+     * @param numThreads the number of threads of the pool (0 for a virtual thread per
+     *                   program)
+     * @param maxArrayLength the largest array length a program may create
+     */
+    public BatchRunner(String[] files, int numThreads, int maxArrayLength) {
+        this.files = files;
+        this.numThreads = numThreads;
+        this.maxArrayLength = maxArrayLength;
+    }
+
+    /**
+     * Limits the steps (loop iterations and method calls) each program may take and
+     * the time it may run for, so that a program that does not terminate is stopped
+     * @param maxSteps the largest number of steps (0 for no budget)
+     * @param timeout the time a program may run in milliseconds (0 for no deadline)
+     */
+    public void setLimits(long maxSteps, long timeout) {
+        this.maxSteps = maxSteps;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Turns memoization of the results of pure methods on or off
+     * @param memoize whether the results of pure methods are memoized
+     */
+    public void setMemoize(boolean memoize) {
+        this.memoize = memoize;
+    }
+
+    /**
+     * Sets the directory the analyzed programs are cached in, so a program that has
+     * been compiled before is not lexed, parsed and checked again
+     * @param cacheDir the directory (null if the programs are not cached)
+     */
+    public void setCacheDirectory(String cacheDir) {
+        this.cacheDir = cacheDir;
+    }
+
+    /**
+     * Sets whether the programs are scanned with the hand written lexer instead of the
+     * JLex generated one
+     * @param fastLex whether the hand written lexer is used
+     */
+    public void setFastLex(boolean fastLex) {
+        this.fastLex = fastLex;
+    }
+
+    /**
+     * Runs all of the programs, printing their output to standard output and the
+     * statistics of the batch to standard error
+     * @return the number of programs that did not compile or exited with a nonzero
+     *         status
+     */
+    public int run() {
+        ExecutorService executor = this.newExecutor();
+        long start = System.nanoTime();
+        List<Future<Result>> futures = new ArrayList<>();
+        for (String file : this.files) {
+            futures.add(executor.submit(() -> this.runProgram(file)));
+        }
+
+        int failures = 0;
+        int compileFailures = 0;
+        long totalTime = 0;
+        long maxTime = 0;
+        for (int i = 0; i < this.files.length; i++) {
+            Result result;
+            try {
+                result = futures.get(i).get();
+            }
+            catch (InterruptedException | ExecutionException e) {
+                result = new Result();
+                result.output = "Internal error: " + e + "\n";
+                result.status = 1;
+            }
+            System.out.println("==> " + this.files[i] + " (exit " + result.status + ", "
+                    + result.time / 1000000 + " ms, " + result.steps + " steps"
+                    + (result.stopped != null ? ", " + result.stopped : "") + ")");
+            System.out.print(result.output);
+            if (result.status != 0) {
+                failures++;
+            }
+            if (!result.compiled) {
+                compileFailures++;
+            }
+            totalTime += result.time;
+            maxTime = Math.max(maxTime, result.time);
+        }
+        long wallTime = System.nanoTime() - start;
+        executor.shutdown();
+        System.out.flush();
+
+        System.err.println("Programs: " + this.files.length + " (" + failures
+                + " failed, " + compileFailures + " did not compile) on "
+                + (this.numThreads == 0 ? "virtual threads" : this.numThreads + " threads"));
+        System.err.printf("Wall time: %d ms (%.1f programs/s)%n", wallTime / 1000000,
+                this.files.length * 1e9 / Math.max(wallTime, 1));
+        System.err.printf("Run time: %d ms total, %d ms mean, %d ms max%n",
+                totalTime / 1000000, totalTime / 1000000 / Math.max(this.files.length, 1),
+                maxTime / 1000000);
+        return failures;
+    }
+
+    /**
+     * Creates the executor the programs run on
+     * @return the executor
+     */
+    private ExecutorService newExecutor() {
+        if (this.numThreads == 0) {
+            //virtual threads exist from Java 21 on, so they are looked up at run time
+            try {
+                return (ExecutorService) Executors.class
+                        .getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            }
+            catch (ReflectiveOperationException e) {
+                throw new RuntimeException("Virtual threads need Java 21 or later");
+            }
+        }
+        AtomicInteger count = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(null, runnable,
+                    "bantam-batch-" + count.incrementAndGet(), STACK_SIZE);
+            thread.setDaemon(true);
+            return thread;
+        };
+        return Executors.newFixedThreadPool(this.numThreads, threadFactory);
+    }
+
+    /**
+     * Compiles and interprets a program
+     * @param file the source file of the program
+     * @return the result of the run
+     */
+    private Result runProgram(String file) {
+        Result result = new Result();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        PrintStream out = new PrintStream(output, true);
+        long start = System.nanoTime();
+        try {
+            ClassTreeNode classTree = this.compile(file, out);
+            if (classTree == null) {
+                result.status = 1;
+            }
+            else {
+                result.compiled = true;
+                Interpreter interpreter = new Interpreter(classTree, false);
+                interpreter.setMaxArrayLength(this.maxArrayLength);
+                interpreter.setLimits(this.maxSteps, this.timeout);
+                interpreter.setMemoize(this.memoize);
+                interpreter.setStreams(this.getInput(file), out, out);
+                result.status = interpreter.interpret();
+                result.steps = interpreter.getStepsTaken();
+                ExecutionLimitExceeded limitExceeded = interpreter.getLimitExceeded();
+                if (limitExceeded != null) {
+                    result.stopped = (limitExceeded.isDeadline() ? "timed out" : "out of steps")
+                            + " on line " + limitExceeded.getLineNum();
+                }
+            }
+        }
+        catch (Exception | StackOverflowError e) {
+            out.println("Internal error: " + e);
+            result.status = 1;
+        }
+        result.time = System.nanoTime() - start;
+        out.flush();
+        result.output = output.toString();
+        return result;
+    }
+
+    /**
+     * Lexes, parses and checks a program
+     * @param file the source file of the program
+     * @param out the stream errors are reported to
+     * @return the root of the class hierarchy tree, or null if the program has errors
+     * @throws Exception if the parser fails
+     */
+    private ClassTreeNode compile(String file, PrintStream out) throws Exception {
+        //the lexer exits the JVM if the file is missing
+        if (!new File(file).isFile()) {
+            out.println("Error: file '" + file + "' not found");
+            return null;
+        }
+        AnalysisCache cache = null;
+        if (this.cacheDir != null) {
+            cache = new AnalysisCache(this.cacheDir, new String[]{file},
+                    this.fastLex ? "-fastlex" : "");
+            ClassTreeNode classTree = cache.load();
+            if (classTree != null) {
+                return classTree;
+            }
+        }
+        SourceScanner lexer = this.fastLex ? new FastLexer(new String[]{file})
+                : new Lexer(new String[]{file}, false);
+        Parser parser = new Parser(lexer);
+        Program program;
+        try {
+            program = (Program) parser.parse().value;
+        }
+        catch (RuntimeException e) {
+            out.println(e.getMessage());
+            printErrors(parser.getErrorHandler(), out);
+            return null;
+        }
+
+        SemanticAnalyzer semanticAnalyzer = new SemanticAnalyzer(program, false);
+        ClassTreeNode classTree;
+        try {
+            classTree = semanticAnalyzer.analyze();
+        }
+        catch (RuntimeException e) {
+            out.println(e.getMessage());
+            printErrors(semanticAnalyzer.getErrorHandler(), out);
+            return null;
+        }
+        if (cache != null) {
+            cache.save(semanticAnalyzer);
+        }
+        return classTree;
+    }
+
+    /**
+     * Prints the errors of an error handler, as ErrorHandler.printErrors does
+     * @param errorHandler the error handler
+     * @param out the stream to print to
+     */
+    private static void printErrors(ErrorHandler errorHandler, PrintStream out) {
+        for (ErrorHandler.Error error : errorHandler.getErrorList()) {
+            out.println(error.toString() + "\n");
+        }
+    }
+
+    /**
+     * Gets the standard input of a program: the contents of its input file, or nothing
+     * if it has none
+     * @param file the source file of the program
+     * @return the stream standard input reads from
+     * @throws IOException if the input file cannot be read
+     */
+    private InputStream getInput(String file) throws IOException {
+        File inputFile = findInputFile(new File(file));
+        byte[] input = inputFile != null ? Files.readAllBytes(inputFile.toPath())
+                : new byte[0];
+        return new ByteArrayInputStream(input);
+    }
+
+    /**
+     * Finds the input file of a program, in the directory of the program.  The test
+     * programs name it in lower case with hyphens between words, though not at every
+     * capital (SubStringError1.btm reads substring-error1.input), so the input file is
+     * the .input file whose name is the program's name once case and hyphens are
+     * ignored.  A file with the program's name and the extension .input comes first.
+     * @param file the source file of the program
+     * @return the input file, or null if there is none
+     */
+    static File findInputFile(File file) {
+        String name = file.getName().substring(0,
+                file.getName().length() - ".btm".length());
+        File directory = file.getAbsoluteFile().getParentFile();
+        File inputFile = new File(directory, name + ".input");
+        if (inputFile.isFile()) {
+            return inputFile;
+        }
+        String[] inputNames = directory.list((dir, inputName) ->
+                inputName.endsWith(".input") && inputName.substring(0,
+                        inputName.length() - ".input".length()).replace("-", "")
+                        .equalsIgnoreCase(name));
+        if (inputNames == null || inputNames.length == 0) {
+            return null;
+        }
+        Arrays.sort(inputNames);
+        return new File(directory, inputNames[0]);
+    }
+}
@@ -39,17 +39,24 @@ import bantam.codegenmips.MipsCodeGenerator;
 import bantam.codegenmips.NumLocalVarsVisitor;
 import bantam.codegenmips.StringConstantsVisitor;
 import bantam.codegenx86.X86CodeGenerator;
+import bantam.interp.ArrayData;
 import bantam.interp.Interpreter;
+import bantam.interp.fast.FastInterpreter;
 import bantam.visitor.MainMainVisitor;
-import java_cup.runtime.Symbol;
+import bantam.vm.VirtualMachine;
+import bantam.lexer.FastLexer;
 import bantam.lexer.Lexer;
+import bantam.lexer.SourceScanner;
 import bantam.opt.Optimizer;
+import bantam.parser.ParallelParser;
 import bantam.parser.Parser;
+import bantam.semant.AnalysisCache;
 import bantam.semant.SemanticAnalyzer;
 import bantam.treedrawer.Drawer;
 import bantam.util.ClassTreeNode;
 import bantam.visitor.*;
 
+import java.io.FileNotFoundException;
 import java.util.Map;
 
 /**
@@ -70,6 +77,11 @@ public class Main {
      * Boolean flag indicating whether garbage collection is enabled - disabled by default
      */
     private static boolean gcEnabled = false;
+    /**
+     * Boolean flag indicating whether the hand written lexer is used instead of the
+     * JLex generated one - disabled by default
+     */
+    private static boolean fastLex = false;
     /**
      * Boolean flags that indicate whether we should stop after
      * a particular phase.  If turned on bantam.Main prints out an
@@ -94,6 +106,63 @@ public class Main {
      * Interpreter mode (false means compiler mode)
      */
     private static boolean intMode = false;
+    /**
+     * Whether the interpreter compiles the program to closures before running it
+     */
+    private static boolean fastInt = false;
+    /**
+     * Whether the interpreter compiles the program to bytecode and runs it on the VM
+     */
+    private static boolean vmInt = false;
+    /**
+     * The largest array length an interpreted program may create
+     */
+    private static int maxArrayLength = ArrayData.DEFAULT_MAX_LENGTH;
+    /**
+     * The largest number of steps an interpreted program may take (0 for no budget)
+     */
+    private static long maxSteps = 0;
+    /**
+     * The time an interpreted program may run in milliseconds (0 for no deadline)
+     */
+    private static long timeout = 0;
+    /**
+     * The largest number of frames on the call stack of the virtual machine
+     */
+    private static int maxFrames = VirtualMachine.DEFAULT_MAX_FRAMES;
+    /**
+     * Whether the number of frames of the virtual machine was given with -maxframes
+     */
+    private static boolean maxFramesGiven = false;
+    /**
+     * Whether the interpreter memoizes the results of pure methods
+     */
+    private static boolean memoInt = false;
+    /**
+     * Whether the interpreter profiles the program
+     */
+    private static boolean profInt = false;
+    /**
+     * The file the interpreter writes samples of the call stack to (null if not sampling)
+     */
+    private static String sampleFile = null;
+    /**
+     * The number of threads the interpreter runs a batch of programs on
+     * (-1 if not running a batch, 0 for virtual threads)
+     */
+    private static int batchThreads = -1;
+    /**
+     * The number of threads the files of a program are lexed, parsed and type checked on
+     */
+    private static int frontEndThreads = Runtime.getRuntime().availableProcessors();
+    /**
+     * Whether the number of threads of the front end was given with -threads
+     */
+    private static boolean frontEndThreadsGiven = false;
+    /**
+     * The directory of analyzed programs the front end is skipped with (null if not caching)
+     */
+    private static String cacheDir = null;
     /**
      * Integer indicating target (0=mips, 1=x86, 2=jvm -- mips by default)
      */
@@ -122,13 +191,27 @@ public class Main {
      */
     private static void showHelp() {
         System.err.println("Usage: bantamc [-h] [-o <output_file>] [-t <architecture>]");
-        System.err.println("               [-gc] [-int] [-bantam.opt <num>] [-dt] [-dl] [-dp] [-ds]");
+        System.err.println("               [-gc] [-fastlex] [-int [fast|vm]] [-memo] [-prof]");
+        System.err.println("               [-sample <output_file>] [-batch <num>|virtual]");
+        System.err.println("               [-threads <num>] [-cache <directory>]");
+        System.err.println("               [-maxarray <num>] [-maxframes <num>] [-maxsteps <num>]");
+        System.err.println("               [-timeout <ms>] [-bantam.opt <num>]");
+        System.err.println("               [-dt] [-dl] [-dp] [-ds]");
         System.err.println("               [-di] [-do] [-dc] [-sl] [-sp] [-ss] [-so] ");
         System.err.println("               [-sc] [-mm] [lv] <input files>");
         System.err.println("man bantamc for more details");
         System.exit(1);
     }
 
+    /**
+     * Creates the lexer that scans all of the input files as one stream of tokens
+     *
+     * @return the lexer
+     */
+    private static SourceScanner newLexer() {
+        return fastLex ? new FastLexer(inFiles) : new Lexer(inFiles, debugLexer);
+    }
+
     /**
      * Get target name
      * Converts targetType (global) into the target name
@@ -180,6 +263,11 @@ public class Main {
                 gcEnabled = true;
             }
 
+            // if -fastlex then scan with the hand written lexer
+            else if (args[i].equals("-fastlex")) {
+                fastLex = true;
+            }
+
             // if -dl, -dp, -ds, -di, -do, -dc then set corresponding boolean to enable
             // debugging for that phase
             else if (args[i].equals("-dl")) {
@@ -219,9 +307,192 @@ public class Main {
                 stopAfterOpt = true;
             }
 
-            // if -int turn on interpreter mode
+            // if -int turn on interpreter mode (-int fast uses the closure compiler,
+            // -int vm the bytecode virtual machine)
             else if (args[i].equals("-int")) {
                 intMode = true;
+                if (i < args.length - 1 && args[i + 1].equals("fast")) {
+                    fastInt = true;
+                    i++;
+                }
+                else if (i < args.length - 1 && args[i + 1].equals("vm")) {
+                    vmInt = true;
+                    i++;
+                }
+            }
+
+            // if -memo then memoize the pure methods of the interpreted program
+            else if (args[i].equals("-memo")) {
+                memoInt = true;
+            }
+
+            // if -prof then profile the interpreted program
+            else if (args[i].equals("-prof")) {
+                profInt = true;
+            }
+
+            // if -sample then sample the call stack of the interpreted program
+            else if (args[i].equals("-sample")) {
+                // check if no further arguments
+                if (i == args.length - 1) {
+                    // if not, then print error message and call showHelp() (which eventually exits)
+                    System.err.println("Usage error: must specify an output file with -sample");
+                    showHelp();
+                }
+                i++;
+                sampleFile = args[i];
+            }
+
+            // if -batch then interpret each input file as its own program, several at once
+            else if (args[i].equals("-batch")) {
+                // check if no further arguments
+                if (i == args.length - 1) {
+                    // if not, then print error message and call showHelp() (which eventually exits)
+                    System.err.println("Usage error: must specify a number of threads with -batch");
+                    showHelp();
+                }
+                i++;
+
+                boolean badThreads = true;
+                if (args[i].equals("virtual")) {
+                    batchThreads = 0;
+                    badThreads = false;
+                }
+                else {
+                    try {
+                        batchThreads = Integer.parseInt(args[i]);
+                        if (batchThreads > 0) {
+                            badThreads = false;
+                        }
+                    } catch (NumberFormatException e) {
+                    }
+                }
+
+                if (badThreads) {
+                    // if not, then print error message and call showHelp() (which eventually exits)
+                    System.err.println("Usage error: number of threads must be a positive integer or 'virtual'");
+                    showHelp();
+                }
+            }
+
+            // if -threads then set the number of threads the front end runs on
+            else if (args[i].equals("-threads")) {
+                // check if no further arguments
+                if (i == args.length - 1) {
+                    // if not, then print error message and call showHelp() (which eventually exits)
+                    System.err.println("Usage error: must specify a number of threads with -threads");
+                    showHelp();
+                }
+                i++;
+
+                frontEndThreadsGiven = true;
+                try {
+                    frontEndThreads = Integer.parseInt(args[i]);
+                } catch (NumberFormatException e) {
+                    frontEndThreads = 0;
+                }
+                if (frontEndThreads <= 0) {
+                    // if not, then print error message and call showHelp() (which eventually exits)
+                    System.err.println("Usage error: number of threads must be a positive integer");
+                    showHelp();
+                }
+            }
+
+            // if -cache then keep analyzed programs in a directory
+            else if (args[i].equals("-cache")) {
+                // check if no further arguments
+                if (i == args.length - 1) {
+                    // if not, then print error message and call showHelp() (which eventually exits)
+                    System.err.println("Usage error: must specify a directory with -cache");
+                    showHelp();
+                }
+                i++;
+                cacheDir = args[i];
+            }
+
+            // if -maxarray then set the largest array length an interpreted program may create
+            else if (args[i].equals("-maxarray")) {
+                // check if no further arguments
+                if (i == args.length - 1) {
+                    // if not, then print error message and call showHelp() (which eventually exits)
+                    System.err.println("Usage error: must specify a length with -maxarray");
+                    showHelp();
+                }
+                i++;
+
+                boolean badLength = true;
+                try {
+                    maxArrayLength = Integer.parseInt(args[i]);
+                    if (maxArrayLength >= 0) {
+                        badLength = false;
+                    }
+                } catch (NumberFormatException e) {
+                }
+
+                if (badLength) {
+                    // if not, then print error message and call showHelp() (which eventually exits)
+                    System.err.println("Usage error: array length must be a non-negative integer");
+                    showHelp();
+                }
+            }
+
+            // if -maxframes then set the largest number of frames on the call stack
+            // of the virtual machine
+            else if (args[i].equals("-maxframes")) {
+                // check if no further arguments
+                if (i == args.length - 1) {
+                    // if not, then print error message and call showHelp() (which eventually exits)
+                    System.err.println("Usage error: must specify a number of frames with -maxframes");
+                    showHelp();
+                }
+                i++;
+
+                maxFramesGiven = true;
+                boolean badFrames = true;
+                try {
+                    maxFrames = Integer.parseInt(args[i]);
+                    if (maxFrames > 0) {
+                        badFrames = false;
+                    }
+                } catch (NumberFormatException e) {
+                }
+
+                if (badFrames) {
+                    // if not, then print error message and call showHelp() (which eventually exits)
+                    System.err.println("Usage error: number of frames must be a positive integer");
+                    showHelp();
+                }
+            }
+
+            // if -maxsteps or -timeout then limit the steps an interpreted program may take
+            // or the time it may run for
+            else if (args[i].equals("-maxsteps") || args[i].equals("-timeout")) {
+                String flag = args[i];
+                // check if no further arguments
+                if (i == args.length - 1) {
+                    // if not, then print error message and call showHelp() (which eventually exits)
+                    System.err.println("Usage error: must specify a limit with " + flag);
+                    showHelp();
+                }
+                i++;
+
+                long limit = 0;
+                try {
+                    limit = Long.parseLong(args[i]);
+                } catch (NumberFormatException e) {
+                }
+
+                if (limit <= 0) {
+                    // if not, then print error message and call showHelp() (which eventually exits)
+                    System.err.println("Usage error: limit must be a positive integer");
+                    showHelp();
+                }
+                if (flag.equals("-maxsteps")) {
+                    maxSteps = limit;
+                }
+                else {
+                    timeout = limit;
+                }
             }
 
             // if -bantam.opt then turn on optimization
@@ -334,6 +605,54 @@ public class Main {
             }
         }
 
+        // the interpreter can either profile or sample a program, not both
+        if (profInt && sampleFile != null) {
+            System.err.println("Usage error: -prof and -sample cannot be used together");
+            showHelp();
+        }
+
+        // only the plain interpreter limits the steps and time of a program
+        if ((maxSteps > 0 || timeout > 0) && (!intMode || fastInt || vmInt)) {
+            System.err.println("Usage error: -maxsteps and -timeout can only be used with -int");
+            showHelp();
+        }
+
+        // only the plain interpreter profiles a program
+        if (profInt && (!intMode || fastInt || vmInt)) {
+            System.err.println("Usage error: -prof can only be used with -int");
+            showHelp();
+        }
+
+        // only the plain interpreter samples the call stack of a program
+        if (sampleFile != null && (!intMode || fastInt || vmInt)) {
+            System.err.println("Usage error: -sample can only be used with -int");
+            showHelp();
+        }
+
+        // only the virtual machine keeps the frames of calls on a stack of its own
+        if (maxFramesGiven && (!intMode || !vmInt)) {
+            System.err.println("Usage error: -maxframes can only be used with -int vm");
+            showHelp();
+        }
+
+        // only the plain interpreter memoizes pure methods
+        if (memoInt && (!intMode || fastInt || vmInt)) {
+            System.err.println("Usage error: -memo can only be used with -int");
+            showHelp();
+        }
+
+        // a batch is run by the plain interpreter
+        if (batchThreads >= 0 && (!intMode || fastInt || vmInt || profInt || sampleFile != null)) {
+            System.err.println("Usage error: -batch can only be used with -int");
+            showHelp();
+        }
+
+        // each program of a batch is compiled on the thread it runs on
+        if (batchThreads >= 0 && frontEndThreadsGiven) {
+            System.err.println("Usage error: -threads cannot be used with -batch");
+            showHelp();
+        }
+
         // make sure at least one input file was specified
         if (cnt == 0) {
             System.err.println("Usage error: must specify some input files");
@@ -357,97 +676,165 @@ public class Main {
         // process flags
         processFlags(args);
 
-        try {
-            // lexing
-            Lexer lexer = new Lexer(inFiles, debugLexer);
-            if (stopAfterLexing) {
-                // if stopAfterLexing==true, then print tokens and exit
-                lexer.printTokens();
-                System.exit(0);
+        // if running a batch then compile and interpret each input file on its own
+        if (batchThreads >= 0) {
+            BatchRunner batchRunner = new BatchRunner(inFiles, batchThreads, maxArrayLength);
+            batchRunner.setLimits(maxSteps, timeout);
+            batchRunner.setMemoize(memoInt);
+            batchRunner.setCacheDirectory(cacheDir);
+            batchRunner.setFastLex(fastLex);
+            try {
+                System.exit(batchRunner.run() == 0 ? 0 : 1);
+            } catch (RuntimeException e) {
+                System.err.println("Error: " + e.getMessage());
+                System.exit(1);
             }
+        }
 
-            // parsing
-            Parser parser = new Parser(lexer);
-            Symbol result = null;
-            try {
-                if (debugParser) {
-                    result = parser.debug_parse();
+        try {
+            // the analyzed program, from the cache if it has been analyzed before
+            // (unless a phase before semantic analysis is debugged or stopped after)
+            AnalysisCache cache = null;
+            Program program = null;
+            ClassTreeNode classTree = null;
+            if (cacheDir != null && !stopAfterLexing && !stopAfterParsing && !debugLexer
+                    && !debugParser && !debugSemant && !mainMainVisitor
+                    && !stringConstVisitor && !varVisitor && !drawTree) {
+                cache = new AnalysisCache(cacheDir, inFiles, fastLex ? "-fastlex" : "");
+                classTree = cache.load();
+                program = cache.getProgram();
+            }
+
+            if (classTree == null) {
+                // lexing
+                if (stopAfterLexing) {
+                    // if stopAfterLexing==true, then print tokens and exit
+                    newLexer().printTokens();
+                    System.exit(0);
+                }
+
+                // parsing
+                if (inFiles.length > 1 && !debugLexer && !debugParser) {
+                    // parse each file on its own, several at once
+                    ParallelParser parser = new ParallelParser(inFiles, frontEndThreads, fastLex);
+                    try {
+                        program = parser.parse();
+                    } catch (FileNotFoundException e) {
+                        System.err.println("Error: " + e.getMessage());
+                        System.exit(1);
+                    } catch (RuntimeException e) {
+                        // there were parser errors, so report them and exit
+                        System.out.println(e.getMessage());
+                        parser.getErrorHandler().printErrors();
+                        System.exit(1);
+                    }
                 }
                 else {
-                    result = parser.parse();
+                    // parse the files as one stream of tokens
+                    Parser parser = new Parser(newLexer());
+                    try {
+                        if (debugParser) {
+                            program = (Program) parser.debug_parse().value;
+                        }
+                        else {
+                            program = (Program) parser.parse().value;
+                        }
+                    } catch (RuntimeException e) {
+                        // there were parser errors, so report them and exit
+                        System.out.println(e.getMessage());
+                        parser.getErrorHandler().printErrors();
+                        System.exit(1);
+                    }
                 }
-            } catch (RuntimeException e) {
-                // there were parser errors, so report them and exit
-                System.out.println(e.getMessage());
-                parser.getErrorHandler().printErrors();
-                System.exit(1);
-            }
-            if(mainMainVisitor){
-                MainMainVisitor visitor = new MainMainVisitor();
-                System.out.println("program has Main class with main method: "+
-                        visitor.hasMain((Program) result.value));
-                System.exit(1);
-            }
-            if(stringConstVisitor){
-                StringConstantsVisitor visitor = new StringConstantsVisitor();
-                ((Program) result.value).accept(visitor);
-                Map<String,String> map = visitor.getStringConstants();
-                System.out.println("The string constants in the program are:");
-                for(Map.Entry<String,String> entry: map.entrySet()){
-                    System.out.println(entry.getKey()+" : "+entry.getValue());
+                if(mainMainVisitor){
+                    MainMainVisitor visitor = new MainMainVisitor();
+                    System.out.println("program has Main class with main method: "+
+                            visitor.hasMain(program));
+                    System.exit(1);
                 }
-                System.exit(1);
-            }
-            if(varVisitor){
-                NumLocalVarsVisitor visitor = new NumLocalVarsVisitor();
-                Map<String,Integer> map = visitor.getNumsAllLocalVars((Program) result.value);
-                System.out.println("The local variables in the program are:");
-                for(Map.Entry<String,Integer> entry: map.entrySet()){
-                    System.out.println(entry.getKey()+" : "+entry.getValue());
+                if(stringConstVisitor){
+                    StringConstantsVisitor visitor = new StringConstantsVisitor();
+                    (program).accept(visitor);
+                    Map<String,String> map = visitor.getStringConstants();
+                    System.out.println("The string constants in the program are:");
+                    for(Map.Entry<String,String> entry: map.entrySet()){
+                        System.out.println(entry.getKey()+" : "+entry.getValue());
+                    }
+                    System.exit(1);
+                }
+                if(varVisitor){
+                    NumLocalVarsVisitor visitor = new NumLocalVarsVisitor();
+                    Map<String,Integer> map = visitor.getNumsAllLocalVars(program);
+                    System.out.println("The local variables in the program are:");
+                    for(Map.Entry<String,Integer> entry: map.entrySet()){
+                        System.out.println(entry.getKey()+" : "+entry.getValue());
+                    }
+                    System.exit(1);
+                }
+                if (stopAfterParsing) {
+                    // if stopAfterParsing==true, then print AST and exit
+                    PrintVisitor visitor = new PrintVisitor(/*start at indent 0*/0,
+    							/*increment by 4 each indent level*/4);
+                    visitor.visit(program);
+                    System.exit(0);
+                }
+                if (drawTree) {
+                    // if drawTree==true, then draw AST and exit
+                    Drawer drawer = new Drawer();
+                    drawer.draw("AST",program);
+                    System.in.read(); //to pause the program
+                    System.exit(0);
                 }
-                System.exit(1);
-            }
-            if (stopAfterParsing) {
-                // if stopAfterParsing==true, then print AST and exit
-                PrintVisitor visitor = new PrintVisitor(/*start at indent 0*/0,
-							/*increment by 4 each indent level*/4);
-                visitor.visit((Program) result.value);
-                System.exit(0);
-            }
-            if (drawTree) {
-                // if drawTree==true, then draw AST and exit
-                Drawer drawer = new Drawer();
-                drawer.draw("AST",(Program) result.value);
-                System.in.read(); //to pause the program
-                System.exit(0);
-            }
 
-            // semantic analysis
-            SemanticAnalyzer semanticAnalyzer =
-                    new SemanticAnalyzer((Program) result.value, debugSemant);
-            ClassTreeNode classTree = null;
-            try {
-                classTree = semanticAnalyzer.analyze();
-            } catch (Exception e) {
-                // there were semantic errors, so report them and exit
-                e.printStackTrace();
-                System.out.println(e.getMessage());
-                semanticAnalyzer.getErrorHandler().printErrors();
-                System.exit(1);
+                // semantic analysis
+                SemanticAnalyzer semanticAnalyzer =
+                        new SemanticAnalyzer(program, debugSemant, frontEndThreads);
+                try {
+                    classTree = semanticAnalyzer.analyze();
+                } catch (Exception e) {
+                    // there were semantic errors, so report them and exit
+                    e.printStackTrace();
+                    System.out.println(e.getMessage());
+                    semanticAnalyzer.getErrorHandler().printErrors();
+                    System.exit(1);
+                }
+                if (cache != null) {
+                    cache.save(semanticAnalyzer);
+                }
             }
+
             if (stopAfterSemant) {
                 // if stopAfterSemant==true, then print AST (with types) and exit
                 PrintVisitor printVisitor = new PrintVisitor(/*start at indent 0*/0,
 							/*increment by 4 each indent level*/4);
-                printVisitor.visit((Program) result.value);
+                printVisitor.visit(program);
                 System.exit(0);
             }
 
             // if interpreter mode then interpret program and exit
             if (intMode) {
-                Interpreter interpreter = new Interpreter(classTree, debugInt);
-                interpreter.interpret();
-                System.exit(0);
+                int status;
+                if (fastInt) {
+                    FastInterpreter interpreter = new FastInterpreter(classTree, debugInt);
+                    interpreter.setMaxArrayLength(maxArrayLength);
+                    status = interpreter.interpret();
+                }
+                else if (vmInt) {
+                    VirtualMachine interpreter = new VirtualMachine(classTree, debugInt);
+                    interpreter.setMaxArrayLength(maxArrayLength);
+                    interpreter.setMaxFrames(maxFrames);
+                    status = interpreter.interpret();
+                }
+                else {
+                    Interpreter interpreter = new Interpreter(classTree, debugInt);
+                    interpreter.setMaxArrayLength(maxArrayLength);
+                    interpreter.setLimits(maxSteps, timeout);
+                    interpreter.setMemoize(memoInt);
+                    interpreter.setProfile(profInt);
+                    interpreter.setSampleFile(sampleFile);
+                    status = interpreter.interpret();
+                }
+                System.exit(status);
             }
 
             // optimization (if specified via -bantam.opt flag)
@@ -61,6 +61,25 @@ public class ArrayAssignExpr extends Expr {
      */
     protected Expr expr;
 
+    /**
+     * The frame slot of the local variable holding the array
+     * (-1 if not a local variable; set by the interpreter's slot resolution pass)
+     */
+    protected int slot = -1;
+
+    /**
+     * The index of the field holding the array in the object's field layout
+     * (-1 if not a field; set by the interpreter's slot resolution pass)
+     */
+    protected int fieldIndex = -1;
+
+    /**
+     * The class id of the static type of the assigned value, used to check that it may be
+     * stored in the array (the id of the element class for an array type; -1 if not a
+     * class; set by the interpreter's slot resolution pass)
+     */
+    protected int exprClassId = -1;
+
     /**
      * ArrayAssignExpr constructor
      *
@@ -114,6 +133,60 @@ public class ArrayAssignExpr extends Expr {
         return expr;
     }
 
+    /**
+     * Get the frame slot of the local variable holding the array
+     *
+     * @return slot index (-1 if not a local variable)
+     */
+    public int getSlot() {
+        return slot;
+    }
+
+    /**
+     * Set the frame slot of the local variable holding the array
+     *
+     * @param slot slot index (-1 if not a local variable)
+     */
+    public void setSlot(int slot) {
+        this.slot = slot;
+    }
+
+    /**
+     * Get the index of the field holding the array
+     *
+     * @return field index (-1 if not a field)
+     */
+    public int getFieldIndex() {
+        return fieldIndex;
+    }
+
+    /**
+     * Set the index of the field holding the array
+     *
+     * @param fieldIndex field index (-1 if not a field)
+     */
+    public void setFieldIndex(int fieldIndex) {
+        this.fieldIndex = fieldIndex;
+    }
+
+    /**
+     * Get the class id of the static type of the assigned value
+     *
+     * @return class id (-1 if not a class)
+     */
+    public int getExprClassId() {
+        return exprClassId;
+    }
+
+    /**
+     * Set the class id of the static type of the assigned value
+     *
+     * @param exprClassId class id (-1 if not a class)
+     */
+    public void setExprClassId(int exprClassId) {
+        this.exprClassId = exprClassId;
+    }
+
     /**
      * Visitor method
      *
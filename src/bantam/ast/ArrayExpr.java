@@ -55,6 +55,18 @@ public class ArrayExpr extends Expr {
      */
     protected Expr index;
 
+    /**
+     * The frame slot of the local variable holding the array
+     * (-1 if not a local variable; set by the interpreter's slot resolution pass)
+     */
+    protected int slot = -1;
+
+    /**
+     * The index of the field holding the array in the object's field layout
+     * (-1 if not a field; set by the interpreter's slot resolution pass)
+     */
+    protected int fieldIndex = -1;
+
     /**
      * ArrayExpr constructor
      *
@@ -98,6 +110,42 @@ public class ArrayExpr extends Expr {
         return index;
     }
 
+    /**
+     * Get the frame slot of the local variable holding the array
+     *
+     * @return slot index (-1 if not a local variable)
+     */
+    public int getSlot() {
+        return slot;
+    }
+
+    /**
+     * Set the frame slot of the local variable holding the array
+     *
+     * @param slot slot index (-1 if not a local variable)
+     */
+    public void setSlot(int slot) {
+        this.slot = slot;
+    }
+
+    /**
+     * Get the index of the field holding the array
+     *
+     * @return field index (-1 if not a field)
+     */
+    public int getFieldIndex() {
+        return fieldIndex;
+    }
+
+    /**
+     * Set the index of the field holding the array
+     *
+     * @param fieldIndex field index (-1 if not a field)
+     */
+    public void setFieldIndex(int fieldIndex) {
+        this.fieldIndex = fieldIndex;
+    }
+
     /**
      * Visitor method
      *
@@ -39,6 +39,12 @@ import bantam.visitor.Visitor;
  * @see ConstExpr
  */
 public class ConstStringExpr extends ConstExpr {
+    /**
+     * The value of the constant with its escape sequences decoded
+     * (set by the interpreter's slot resolution pass)
+     */
+    protected String value;
+
     /**
      * ConstStringExpr constructor
      *
@@ -49,6 +55,24 @@ public class ConstStringExpr extends ConstExpr {
         super(lineNum, constant);
     }
 
+    /**
+     * Get the value of the constant with its escape sequences decoded
+     *
+     * @return decoded value
+     */
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * Set the value of the constant with its escape sequences decoded
+     *
+     * @param value decoded value
+     */
+    public void setValue(String value) {
+        this.value = value;
+    }
+
     /**
      * Visitor method
      *
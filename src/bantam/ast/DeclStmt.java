@@ -54,6 +54,12 @@ public class DeclStmt extends Stmt {
      */
     protected Expr init;
 
+    /**
+     * The frame slot of the local variable declared by this statement
+     * (set by the interpreter's slot resolution pass)
+     */
+    protected int slot = -1;
+
     /**
      * DeclStmt constructor
      *
@@ -96,6 +102,24 @@ public class DeclStmt extends Stmt {
         return init;
     }
 
+    /**
+     * Get the frame slot of the local variable declared by this statement
+     *
+     * @return slot index (-1 if not a local variable)
+     */
+    public int getSlot() {
+        return slot;
+    }
+
+    /**
+     * Set the frame slot of the local variable declared by this statement
+     *
+     * @param slot slot index (-1 if not a local variable)
+     */
+    public void setSlot(int slot) {
+        this.slot = slot;
+    }
+
     /**
      * Visitor method
      *
@@ -53,6 +53,18 @@ public class DispatchExpr extends Expr {
      */
     protected ExprList actualList;
 
+    /**
+     * The name of the class whose method a 'super' dispatch calls
+     * (null if not a 'super' dispatch; set by the interpreter's slot resolution pass)
+     */
+    protected String superClassName;
+
+    /**
+     * The index of this call site among all call sites of the program, used to find
+     * its inline cache (set by the interpreter's slot resolution pass)
+     */
+    protected int siteIndex = -1;
+
     /**
      * DispatchExpr constructor
      *
@@ -96,6 +108,42 @@ public class DispatchExpr extends Expr {
         return actualList;
     }
 
+    /**
+     * Get the name of the class whose method a 'super' dispatch calls
+     *
+     * @return class name (null if not a 'super' dispatch)
+     */
+    public String getSuperClassName() {
+        return superClassName;
+    }
+
+    /**
+     * Set the name of the class whose method a 'super' dispatch calls
+     *
+     * @param superClassName class name (null if not a 'super' dispatch)
+     */
+    public void setSuperClassName(String superClassName) {
+        this.superClassName = superClassName;
+    }
+
+    /**
+     * Get the index of this call site
+     *
+     * @return site index
+     */
+    public int getSiteIndex() {
+        return siteIndex;
+    }
+
+    /**
+     * Set the index of this call site
+     *
+     * @param siteIndex site index
+     */
+    public void setSiteIndex(int siteIndex) {
+        this.siteIndex = siteIndex;
+    }
+
     /**
      * Visitor method
      *
@@ -46,6 +46,12 @@ public class Formal extends ASTNode {
      */
     protected String name;
 
+    /**
+     * The frame slot of the local variable holding this parameter
+     * (set by the interpreter's slot resolution pass)
+     */
+    protected int slot = -1;
+
     /**
      * Formal constructor
      *
@@ -77,6 +83,24 @@ public class Formal extends ASTNode {
         return name;
     }
 
+    /**
+     * Get the frame slot of the local variable holding this parameter
+     *
+     * @return slot index (-1 if not a local variable)
+     */
+    public int getSlot() {
+        return slot;
+    }
+
+    /**
+     * Set the frame slot of the local variable holding this parameter
+     *
+     * @param slot slot index (-1 if not a local variable)
+     */
+    public void setSlot(int slot) {
+        this.slot = slot;
+    }
+
     /**
      * Visitor method
      *
@@ -58,6 +58,18 @@ public class Method extends Member {
      */
     protected StmtList stmtList;
 
+    /**
+     * The number of frame slots needed for the parameters and local variables
+     * (set by the interpreter's slot resolution pass)
+     */
+    protected int numSlots = 0;
+
+    /**
+     * Whether the method is pure, so that its results can be memoized
+     * (set by the interpreter's purity analysis)
+     */
+    protected boolean pure = false;
+
     /**
      * Method constructor
      *
@@ -112,6 +124,42 @@ public class Method extends Member {
         return stmtList;
     }
 
+    /**
+     * Get the number of frame slots needed by this method
+     *
+     * @return number of slots for parameters and local variables
+     */
+    public int getNumSlots() {
+        return numSlots;
+    }
+
+    /**
+     * Set the number of frame slots needed by this method
+     *
+     * @param numSlots number of slots for parameters and local variables
+     */
+    public void setNumSlots(int numSlots) {
+        this.numSlots = numSlots;
+    }
+
+    /**
+     * Get whether the method is pure (its result depends only on its arguments)
+     *
+     * @return true if the method is pure
+     */
+    public boolean isPure() {
+        return pure;
+    }
+
+    /**
+     * Set whether the method is pure (its result depends only on its arguments)
+     *
+     * @param pure true if the method is pure
+     */
+    public void setPure(boolean pure) {
+        this.pure = pure;
+    }
+
     /**
      * Visitor method
      *
@@ -52,6 +52,18 @@ public class VarExpr extends Expr {
      */
     protected String name;
 
+    /**
+     * The frame slot of the local variable referenced by this expression
+     * (-1 if not a local variable; set by the interpreter's slot resolution pass)
+     */
+    protected int slot = -1;
+
+    /**
+     * The index of the field referenced by this expression in the object's field layout
+     * (-1 if not a field; set by the interpreter's slot resolution pass)
+     */
+    protected int fieldIndex = -1;
+
     /**
      * VarExpr constructor
      *
@@ -85,6 +97,42 @@ public class VarExpr extends Expr {
         return name;
     }
 
+    /**
+     * Get the frame slot of the local variable referenced by this expression
+     *
+     * @return slot index (-1 if not a local variable)
+     */
+    public int getSlot() {
+        return slot;
+    }
+
+    /**
+     * Set the frame slot of the local variable referenced by this expression
+     *
+     * @param slot slot index (-1 if not a local variable)
+     */
+    public void setSlot(int slot) {
+        this.slot = slot;
+    }
+
+    /**
+     * Get the index of the field referenced by this expression
+     *
+     * @return field index (-1 if not a field)
+     */
+    public int getFieldIndex() {
+        return fieldIndex;
+    }
+
+    /**
+     * Set the index of the field referenced by this expression
+     *
+     * @param fieldIndex field index (-1 if not a field)
+     */
+    public void setFieldIndex(int fieldIndex) {
+        this.fieldIndex = fieldIndex;
+    }
+
     /**
      * Visitor method
      *
@@ -8,11 +8,11 @@
 package bantam.codegenmips;
 
 import bantam.ast.*;
+import bantam.util.ClassHierarchy;
 import bantam.util.ClassTreeNode;
 import bantam.util.Location;
 import bantam.util.SymbolTable;
 import bantam.visitor.Visitor;
-import java.util.List;
 import java.util.Map;
 
 /**
@@ -64,27 +64,20 @@ public class ASTNodeCodeGenVisitor extends Visitor {
      * A map which takes string constants to their string constant id.
      */
     private Map<String, String> stringConstantsMap;
-    /**
-     * The list of all the names of the classes ordered by their type ids.
-     */
-    private List<String> classNamesList;
     /**
      * The scope level in which the fields reside.
      */
     private int fieldsScope;
 
     /**
-     * Creates a new ASTNodeCodeGenVisitor with the given MipsSupport object, String
-     * constants map and classNamesList
+     * Creates a new ASTNodeCodeGenVisitor with the given MipsSupport object and String
+     * constants map
      * @param assemblySupport the Mips Support
      * @param stringConstantsMap the Map which takes String constants to their ids.
-     * @param classNamesList The list of class names ordered by their type ids.
      */
     public ASTNodeCodeGenVisitor(MipsSupport assemblySupport,
-                                 Map<String, String> stringConstantsMap,
-                                 List<String> classNamesList){
+                                 Map<String, String> stringConstantsMap){
         this.stringConstantsMap = stringConstantsMap;
-        this.classNamesList = classNamesList;
         this.assemblySupport = assemblySupport;
     }
 
@@ -551,14 +544,14 @@ public class ASTNodeCodeGenVisitor extends Visitor {
             //If the object reference is null, branch to nullLabel
             this.assemblySupport.genCondBeq("$v0", "$zero", nullLabel);
             this.assemblySupport.genLoadWord("$t0",0,"$v0");
-            int type = this.classNamesList.indexOf(node.getType());
-            int numDescendants =
-                    this.treeNode.getClassMap().get(node.getType()).getNumDescendants();
+            ClassHierarchy hierarchy = this.treeNode.getHierarchy();
+            int type = hierarchy.getClassId(node.getType());
+            int lastDescendant = hierarchy.getLastDescendantId(type);
             this.assemblySupport.genLoadImm("$t1",type);
             this.assemblySupport.genComment(
                     "If instanceOf left operand is descendant of right operand");
             this.assemblySupport.genBinaryOp("sge","$v0","$t0","$t1");
-            this.assemblySupport.genLoadImm("$t1",type+numDescendants);
+            this.assemblySupport.genLoadImm("$t1",lastDescendant);
             this.assemblySupport.genBinaryOp("sle","$v1","$t0","$t1");
             this.assemblySupport.genAnd("$v0","$v0","$v1");
             String endLabel = this.assemblySupport.getLabel();
@@ -586,12 +579,12 @@ public class ASTNodeCodeGenVisitor extends Visitor {
             //If the object is null, skip the error checking
             this.assemblySupport.genCondBeq("$v0", "$zero", endLabel);
             this.assemblySupport.genLoadWord("$t0",0,"$v0");
-            int type = this.classNamesList.indexOf(node.getType());
-            int numDescendants =
-                    this.treeNode.getClassMap().get(node.getType()).getNumDescendants();
+            ClassHierarchy hierarchy = this.treeNode.getHierarchy();
+            int type = hierarchy.getClassId(node.getType());
+            int lastDescendant = hierarchy.getLastDescendantId(type);
             this.assemblySupport.genLoadImm("$t1",type);
             this.assemblySupport.genCondBlt("$t0","$t1","_class_cast_error");
-            this.assemblySupport.genLoadImm("$t1",type+numDescendants);
+            this.assemblySupport.genLoadImm("$t1",lastDescendant);
             this.assemblySupport.genCondBgt("$t0","$t1","_class_cast_error");
             this.assemblySupport.genLabel(endLabel);
         }
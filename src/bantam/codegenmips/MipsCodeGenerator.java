@@ -85,7 +85,7 @@ public class MipsCodeGenerator {
     private Map<String, String> stringConstantsMap;
 
     /**
-     *
+     * The names of the classes ordered by their type ids, from the class hierarchy index
      */
     private List<String> classNamesList;
     /**
@@ -131,10 +131,7 @@ public class MipsCodeGenerator {
      */
     public void generate() {
         System.out.println("Generating");
-        this.classNamesList = new ArrayList<>();
-        this.classNamesList.add("Object");
-        this.classNamesList.add("String");
-        this.genClassNamesList(this.root);
+        this.classNamesList = this.root.getHierarchy().getClassNames();
 
         // 1 - start the data section
         this.startData();
@@ -168,18 +165,6 @@ public class MipsCodeGenerator {
         this.genMethods();
     }
 
-    private void genClassNamesList(ClassTreeNode treeNode) {
-        String className = treeNode.getName();
-        if(!className.equals("Object") && !className.equals("String")){
-            this.classNamesList.add(className);
-        }
-        Iterator<ClassTreeNode> childrenIterator = treeNode.getChildrenList();
-        while(childrenIterator.hasNext()){
-            ClassTreeNode child = childrenIterator.next();
-            this.genClassNamesList(child);
-        }
-    }
-
     /**
      * Gets the filenames of all of the classes
      * @param getBuiltIns the built-in classes
@@ -251,7 +236,8 @@ public class MipsCodeGenerator {
 
             assemblySupport.genLabel(entry.getValue());
             assemblySupport.genComment("String object");
-            assemblySupport.genWord("1");
+            assemblySupport.genWord(
+                    Integer.toString(this.root.getHierarchy().getClassId("String")));
             assemblySupport.genComment("Size of object");
             assemblySupport.genWord(Integer.toString(totalSize));
             assemblySupport.genWord("String_dispatch_table");
@@ -296,7 +282,8 @@ public class MipsCodeGenerator {
             String name = classTreeNode.getName();
             this.assemblySupport.genLabel(name + "_template");
             this.assemblySupport.genComment("The integer ID of the class");
-            this.assemblySupport.genWord(Integer.toString(this.classNamesList.indexOf(name)));
+            this.assemblySupport.genWord(
+                    Integer.toString(this.root.getHierarchy().getClassId(name)));
             int numFields = classTreeNode.getVarSymbolTable().getSize();
             this.assemblySupport.genComment("The size of the object");
             this.assemblySupport.genWord(Integer.toString(numFields*4 + 12));
@@ -335,7 +322,7 @@ public class MipsCodeGenerator {
      */
     private void genInitMethods(){
         ASTNodeCodeGenVisitor codeGenVisitor = new ASTNodeCodeGenVisitor(
-                this.assemblySupport, this.stringConstantsMap, this.classNamesList);
+                this.assemblySupport, this.stringConstantsMap);
         FieldAdderVisitor fieldAdderVisitor =
                 new FieldAdderVisitor(this.assemblySupport, codeGenVisitor);
         for(String name : this.classNamesList){
@@ -359,7 +346,7 @@ public class MipsCodeGenerator {
      */
     private void genMethods(){
         ASTNodeCodeGenVisitor codeGenVisitor = new ASTNodeCodeGenVisitor(
-                this.assemblySupport,this.stringConstantsMap,this.classNamesList);
+                this.assemblySupport,this.stringConstantsMap);
         for(ClassTreeNode treeNode: this.root.getClassMap().values()) {
             if (!treeNode.isBuiltIn()) {
                 codeGenVisitor.genMips(treeNode);
@@ -0,0 +1,77 @@
+/*
+ * File: ArrayData.java
+ * Author: Phoebe Hughes, Siyuan Li, Joseph Malionek
+ * Date: 10/18/26
+ */
+
+package bantam.interp;
+
+import java.util.Hashtable;
+
+/**
+ * An ObjectData representation for an array.  Arrays of ints and booleans keep their
+ * elements unboxed (see IntArrayData and BooleanArrayData); arrays of objects are
+ * ObjectArrayData.
+ */
+public abstract class ArrayData extends ObjectData {
+
+    /**
+     * The largest array length allowed unless the interpreter is told otherwise
+     */
+    public static final int DEFAULT_MAX_LENGTH = 1500;
+
+    /**
+     * Creates a new array
+     * @param type the array type
+     * @param methods the method table shared by all arrays
+     */
+    protected ArrayData(String type, MethodTable methods){
+        super(type, 0, methods);
+    }
+
+    /**
+     * Creates a new array of the given type, with every element set to its default value
+     * @param type the array type
+     * @param length the array size
+     * @param methods the method table shared by all arrays
+     * @param layouts the map of classes and their layouts
+     * @return the new array
+     */
+    public static ArrayData newArray(String type, int length, MethodTable methods,
+                                     Hashtable<String, ClassLayout> layouts){
+        String elementType = type.substring(0, type.length() - 2);
+        if (elementType.equals("int")){
+            return new IntArrayData(type, length, methods);
+        }
+        else if (elementType.equals("boolean")){
+            return new BooleanArrayData(type, length, methods);
+        }
+        return new ObjectArrayData(type, length, methods, layouts.get(elementType));
+    }
+
+    /**
+     * Gets the size of the array
+     * @return the size
+     */
+    public abstract int getLength();
+
+    /**
+     * Gets the item at the given index in the array, boxing ints and booleans
+     * @param index the index
+     * @return the item at the index
+     */
+    public abstract Object getItem(int index);
+
+    /**
+     * Sets the item at the given index to the given value
+     * @param index the array index
+     * @param value the value to be set (an Integer or Boolean for arrays of ints or booleans)
+     */
+    public abstract void setItem(int index, Object value);
+
+    /**
+     * Copies the elements of this array into another array of the same type and size
+     * @param copy the other array
+     */
+    public abstract void copyItems(ArrayData copy);
+}
@@ -8,7 +8,8 @@
 package bantam.interp;
 
 /**
- * A Java runtime exception which corresponds to a Bantam Java exception in the interpreter
+ * A Java runtime exception which corresponds to a Bantam Java exception in the interpreter.
+ * It does not record a Java stack trace, which would only describe the interpreter.
  */
 public class BantamException extends RuntimeException{
     /**
@@ -33,6 +34,7 @@ public class BantamException extends RuntimeException{
      * @param exceptionObject the corresponding object data of the exception
      */
     public BantamException(String type, String message, ObjectData exceptionObject){
+        super(null, null, false, false);
         this.type = type;
         this.message = message;
         this.exceptionObject = exceptionObject;
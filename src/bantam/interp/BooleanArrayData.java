@@ -0,0 +1,81 @@
+/*
+ * File: BooleanArrayData.java
+ * Author: Phoebe Hughes, Siyuan Li, Joseph Malionek
+ * Date: 10/18/26
+ */
+
+package bantam.interp;
+
+/**
+ * An array of booleans, kept unboxed.
+ */
+public class BooleanArrayData extends ArrayData {
+
+    /**
+     * The elements of the array
+     */
+    private boolean[] array;
+
+    /**
+     * Creates a new boolean array with every element false
+     * @param type the array type
+     * @param length the array size
+     * @param methods the method table shared by all arrays
+     */
+    public BooleanArrayData(String type, int length, MethodTable methods){
+        super(type, methods);
+        this.array = new boolean[length];
+    }
+
+    /**
+     * Gets the size of the array
+     * @return the size
+     */
+    public int getLength(){
+        return this.array.length;
+    }
+
+    /**
+     * Gets the boolean at the given index
+     * @param index the index
+     * @return the element at the index
+     */
+    public boolean getBoolean(int index){
+        return this.array[index];
+    }
+
+    /**
+     * Sets the boolean at the given index
+     * @param index the index
+     * @param value the new value of the element
+     */
+    public void setBoolean(int index, boolean value){
+        this.array[index] = value;
+    }
+
+    /**
+     * Gets the item at the given index in the array, boxed
+     * @param index the index
+     * @return the item at the index
+     */
+    public Object getItem(int index){
+        return this.array[index];
+    }
+
+    /**
+     * Sets the item at the given index to the given value
+     * @param index the array index
+     * @param value the Boolean to be set
+     */
+    public void setItem(int index, Object value){
+        this.array[index] = (boolean) value;
+    }
+
+    /**
+     * Copies the elements of this array into another boolean array of the same size
+     * @param copy the other array
+     */
+    public void copyItems(ArrayData copy){
+        System.arraycopy(this.array, 0, ((BooleanArrayData) copy).array, 0, this.array.length);
+    }
+}
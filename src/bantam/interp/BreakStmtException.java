@@ -1,15 +0,0 @@
-/*
- * File: BreakStmtException.java
- * CS461 Project 5 First Extension
- * Author: Phoebe Hughes, Siyuan Li, Joseph Malionek
- * Date: 4/30/17
- */
-
-package bantam.interp;
-
-/**
- * A runtime exception returned when reaching a break statement.
- */
-public class BreakStmtException extends RuntimeException {
-
-}
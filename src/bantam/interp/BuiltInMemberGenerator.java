@@ -7,14 +7,14 @@
 
 package bantam.interp;
 
-import bantam.ast.*;
-
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
-import java.io.PrintStream;
-import java.util.HashMap;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.Random;
-import java.util.Scanner;
+import java.util.Set;
 
 /**
  * Generate the builtin classes (Object String Sys TextIO) of Bantam Java
@@ -22,128 +22,343 @@ import java.util.Scanner;
 public class BuiltInMemberGenerator {
 
     /**
-     * The interpreter visitor that interprets Bantam Java
+     * Creates the objects of the program, for the clone methods
+     */
+    private ObjectAllocator allocator;
+
+    /**
+     * The input reading from standard input, shared by all TextIO objects
+     */
+    private TextInput stdIn;
+
+    /**
+     * The output writing to standard output, shared by all TextIO objects
+     */
+    private TextOutput stdOut;
+
+    /**
+     * The output writing to standard error, shared by all TextIO objects
+     */
+    private TextOutput stdErr;
+
+    /**
+     * The outputs writing to files that are still open, flushed with standard output
+     */
+    private Set<TextOutput> fileOutputs;
+
+    /**
+     * The method table of String, shared by all String objects
+     */
+    private MethodTable stringMethods;
+
+    /**
+     * The index of the hidden field holding the output stream of TextIO
+     */
+    private int outputStreamIndex;
+
+    /**
+     * The index of the hidden field holding the input stream of TextIO
+     */
+    private int inputStreamIndex;
+
+    /**
+     * The index of the message field of Exception
+     */
+    private int messageIndex;
+
+    /**
+     * The index of the hidden field holding the Java exception of an Exception
      */
-    private InterpreterVisitor interpreterVisitor;
+    private int exceptionIndex;
 
     /**
      * Create a new builtin member generator
-     * @param visitor the interpreter visitor
+     * @param allocator creates the objects of the program
+     */
+    public BuiltInMemberGenerator(ObjectAllocator allocator){
+        this.allocator = allocator;
+        this.stringMethods = allocator.getClassLayout("String").getMethods();
+        ClassLayout textIOLayout = allocator.getClassLayout("TextIO");
+        this.outputStreamIndex = textIOLayout.getFieldIndex("*outputStream");
+        this.inputStreamIndex = textIOLayout.getFieldIndex("*inputStream");
+        ClassLayout exceptionLayout = allocator.getClassLayout("Exception");
+        this.messageIndex = exceptionLayout.getFieldIndex("message");
+        this.exceptionIndex = exceptionLayout.getFieldIndex("*e");
+        this.fileOutputs = Collections.newSetFromMap(new IdentityHashMap<>());
+        this.setStreams(System.in, System.out, System.err);
+    }
+
+    /**
+     * Binds standard input, output and error of the program to the given streams.
+     * It must be called before the program runs.
+     * @param in the stream standard input reads from
+     * @param out the stream standard output writes to
+     * @param err the stream standard error writes to
+     */
+    public void setStreams(InputStream in, OutputStream out, OutputStream err){
+        this.stdOut = new TextOutput(out, null, false);
+        this.stdErr = new TextOutput(err, this.stdOut, true);
+        this.stdIn = new TextInput(in, this.stdOut);
+    }
+
+    /**
+     * Writes a line to standard error of the program, after its output so far
+     * @param message the line
+     */
+    public void printError(String message){
+        this.stdErr.print(message + "\n");
+    }
+
+    /**
+     * Writes out everything the program has written to standard output and to files.
+     * The engines call it before the program exits and before printing to standard
+     * error, so the output of the program comes first.
+     */
+    public void flushOutput(){
+        this.stdOut.flush();
+        for (TextOutput output : this.fileOutputs) {
+            output.flush();
+        }
+    }
+
+    /**
+     * Closes the current output of a TextIO object if it writes to a file
+     * @param receiver the TextIO object
+     */
+    private void closeOutput(ObjectData receiver){
+        TextOutput output = (TextOutput) receiver.getField(this.outputStreamIndex);
+        if (output != this.stdOut && output != this.stdErr) {
+            output.close();
+            this.fileOutputs.remove(output);
+        }
+    }
+
+    /**
+     * Closes the current input of a TextIO object if it reads from a file
+     * @param receiver the TextIO object
      */
-    public BuiltInMemberGenerator(InterpreterVisitor visitor){
-        this.interpreterVisitor = visitor;
+    private void closeInput(ObjectData receiver){
+        TextInput input = (TextInput) receiver.getField(this.inputStreamIndex);
+        if (input != this.stdIn) {
+            input.close();
+        }
+    }
+
+    /**
+     * Gets the names of the hidden fields the generated members of a builtin class use,
+     * which are not declared in the class's AST
+     * @param className the name of the builtin class
+     * @return the names of the hidden fields
+     */
+    public static String[] getHiddenFields(String className){
+        switch (className) {
+            case "TextIO":
+                return new String[]{"*outputStream", "*inputStream"};
+            case "Exception":
+                return new String[]{"*e"};
+            default:
+                return new String[0];
+        }
+    }
+
+    /**
+     * Generates the builtin methods declared by a builtin class
+     * @param className the name of the builtin class
+     * @param methods the method table of the class
+     */
+    public void genMembers(String className, MethodTable methods){
+        switch (className) {
+            case "Object":
+                this.genObjectMembers(methods);
+                break;
+
+            case "String":
+                this.genStringMembers(methods);
+                break;
+
+            case "Sys":
+                this.genSysMembers(methods);
+                break;
+
+            case "TextIO":
+                this.genTextIOMembers(methods);
+                break;
+
+            case "Exception":
+                this.genExceptionMembers(methods);
+        }
+    }
+
+    /**
+     * Initializes the hidden fields a builtin class declares in a new object
+     * @param className the name of the builtin class
+     * @param objectData the new object
+     */
+    public void initHiddenFields(String className, ObjectData objectData){
+        switch (className) {
+            case "TextIO":
+                objectData.setField(this.outputStreamIndex, this.stdOut);
+                objectData.setField(this.inputStreamIndex, this.stdIn);
+                break;
+
+            case "Exception":
+                objectData.setField(this.exceptionIndex,
+                        new BantamException(objectData.getType(), "", objectData));
+        }
+    }
+
+    /**
+     * Gets the Java string held by a String object
+     * @param stringObject the String object
+     * @return the value of the string
+     */
+    public String getString(ObjectData stringObject){
+        return ((StringData) stringObject).getValue();
+    }
+
+    /**
+     * Creates a new String object
+     * @param value the value of the string
+     * @return the String object
+     */
+    public StringData newString(String value){
+        return new StringData(value, this.stringMethods);
+    }
+
+    /**
+     * Gets the Java exception that corresponds to an Exception object
+     * @param exceptionObject the Exception object
+     * @return the Java exception
+     */
+    public BantamException getException(ObjectData exceptionObject){
+        return (BantamException) exceptionObject.getField(this.exceptionIndex);
+    }
+
+    /**
+     * Sets the message of an Exception object
+     * @param exceptionObject the Exception object
+     * @param message the String object holding the message
+     */
+    public void setMessage(ObjectData exceptionObject, ObjectData message){
+        exceptionObject.setField(this.messageIndex, message);
+        this.getException(exceptionObject).setMessage(this.getString(message));
     }
 
     /**
      * Generate the builtin methods of String
-     * @param methods a hashmap of methods
-     * @param fields a hashmap of fields
+     * @param methods the method table to add the methods to
      */
-    public void genStringMembers(HashMap<String,MethodBody> methods, HashMap<String,Object> fields){
-        fields.put("length", 0);
-        fields.put("*str","");
-        methods.put("length", actualParams -> fields.get("length"));
+    public void genStringMembers(MethodTable methods){
+        methods.put("length", (receiver, args) -> getString(receiver).length());
         methods.put("equals", new MethodBody() {
             /**
              * Implement the equals method of String
-             * @param actualParams the string to compare with
+             * @param receiver the receiver of the call
+             * @param args the string to compare with
              * @return a boolean indicating if strings are equal
              */
             @Override
-            public Object execute(ExprList actualParams) {
-                ObjectData objectData = (ObjectData) actualParams.get(0).accept(interpreterVisitor);
-                if(objectData == null){
+            public Object execute(ObjectData receiver, Object[] args) {
+                ObjectData objectData = (ObjectData) args[0];
+                if(!(objectData instanceof StringData)){
                     return false;
                 }
-                return fields.get("*str").equals(objectData.getField("*str",false));
+                return getString(receiver).equals(getString(objectData));
             }
         });
         methods.put("toString", new MethodBody() {
             /**
              * Implement the equals method of String
-             * @param actualParams the parameters of the method
+             * @param receiver the receiver of the call
+             * @param args the parameters of the method
              * @return the string itself
              */
             @Override
-            public Object execute(ExprList actualParams) {
-                return interpreterVisitor.visit(new ConstStringExpr(-1, (String)fields.get("*str"))) ;
+            public Object execute(ObjectData receiver, Object[] args) {
+                return receiver;
             }
         });
         methods.put("substring", new MethodBody() {
             /**
              * Implement the substring method of String
-             * @param actualParams the parameters of the method
+             * @param receiver the receiver of the call
+             * @param args the parameters of the method
              * @return the substring between the two indices
              */
             @Override
-            public Object execute(ExprList actualParams) {
-                Integer startI = (Integer) actualParams.get(0).accept(interpreterVisitor);
-                Integer endI = (Integer) actualParams.get(1).accept(interpreterVisitor);
-                String s = ((String)fields.get("*str")).substring(startI, endI);
-                return interpreterVisitor.visit(new ConstStringExpr(-1, s)) ;
+            public Object execute(ObjectData receiver, Object[] args) {
+                Integer startI = (Integer) args[0];
+                Integer endI = (Integer) args[1];
+                String s = getString(receiver).substring(startI, endI);
+                return newString(s);
             }
         });
         methods.put("concat", new MethodBody() {
             /**
              * Implement the concat method of String
-             * @param actualParams the parameters of the method
+             * @param receiver the receiver of the call
+             * @param args the parameters of the method
              * @return the concatenated string
              */
             @Override
-            public Object execute(ExprList actualParams) {
-                ObjectData objectData = (ObjectData) actualParams.get(0).accept(interpreterVisitor);
-                String s = ((String)fields.get("*str"));
-                String concatString = (String)objectData.getField("*str", false);
-                return interpreterVisitor.visit(new ConstStringExpr(-1, s + concatString)) ;
+            public Object execute(ObjectData receiver, Object[] args) {
+                ObjectData objectData = (ObjectData) args[0];
+                String s = getString(receiver);
+                String concatString = getString(objectData);
+                return newString(s + concatString);
+            }
+        });
+        methods.put("clone", new MethodBody() {
+            /**
+             * Implement the clone method of String, which keeps the value
+             * @param receiver the receiver of the call
+             * @param args the parameters of the method
+             * @return the cloned string
+             */
+            @Override
+            public Object execute(ObjectData receiver, Object[] args) {
+                return newString(getString(receiver));
             }
         });
     }
 
     /**
      * Generate the builtin methods of TextIO
-     * @param methods a hashmap of methods
-     * @param fields a hashmap of fields
-     * @param thisObject the current object
+     * @param methods the method table to add the methods to
      */
-    public void genTextIOMembers(HashMap<String,MethodBody> methods, HashMap<String,Object> fields, ObjectData thisObject){
-        fields.put("*outputStream", System.out);
-        Scanner stdIn = new Scanner(System.in);
-        fields.put("*inputStream", stdIn);
-
+    public void genTextIOMembers(MethodTable methods){
         methods.put("readStdin", new MethodBody() {
             /**
              * Implement the readStdin method of TextIO set to read from standard input
-             * @param actualParams the parameters of the method
+             * @param receiver the receiver of the call
+             * @param args the parameters of the method
              * @return null
              */
             @Override
-            public Object execute(ExprList actualParams) {
-                if(!fields.get("*inputStream").equals(stdIn)) {
-                    ((Scanner) fields.get("*inputStream")).close();
-                }
-                fields.put("*inputStream", stdIn);
+            public Object execute(ObjectData receiver, Object[] args) {
+                closeInput(receiver);
+                receiver.setField(inputStreamIndex, stdIn);
                 return null;
             }
         });
         methods.put("readFile", new MethodBody() {
             /**
              * Implement the readFile method of TextIO that set to read from standard input
-             * @param actualParams the parameters of the method
+             * @param receiver the receiver of the call
+             * @param args the parameters of the method
              * @return null
              */
             @Override
-            public Object execute(ExprList actualParams) {
-                ObjectData objectData = (ObjectData) actualParams.get(0).accept(interpreterVisitor);
-                String fileName = (String)objectData.getField("*str", false);
+            public Object execute(ObjectData receiver, Object[] args) {
+                ObjectData objectData = (ObjectData) args[0];
+                String fileName = getString(objectData);
                 try {
-                    if(!fields.get("*inputStream").equals(stdIn)) {
-                        ((Scanner) fields.get("*inputStream")).close();
-                    }
-                    fields.put("*inputStream", new Scanner(new FileInputStream(fileName)));
+                    closeInput(receiver);
+                    receiver.setField(inputStreamIndex, new TextInput(Paths.get(fileName)));
                 }
-                catch (FileNotFoundException e){
-                    System.err.println("Cannot read from " + fileName + ". File not found.");
-                    System.exit(-1);
+                catch (IOException e){
+                    printError("Cannot read from " + fileName + ". File not found.");
+                    throw new ProgramExit(-1);
                 }
                 return null;
             }
@@ -151,55 +366,51 @@ public class BuiltInMemberGenerator {
         methods.put("writeStdout", new MethodBody() {
             /**
              * Implement the writeStdout method of TextIO that set to write to standard output
-             * @param actualParams the parameters of the method
+             * @param receiver the receiver of the call
+             * @param args the parameters of the method
              * @return null
              */
             @Override
-            public Object execute(ExprList actualParams) {
-                PrintStream outputStream = (PrintStream) fields.get("*outputStream");
-                if (!(outputStream.equals(System.out) || outputStream.equals(System.err))){
-                    outputStream.close();
-                }
-                fields.put("*outputStream", System.out);
+            public Object execute(ObjectData receiver, Object[] args) {
+                closeOutput(receiver);
+                receiver.setField(outputStreamIndex, stdOut);
                 return null;
             }
         });
         methods.put("writeStderr", new MethodBody() {
             /**
              * Implement the writeStderr method of TextIO that set to write to standard error
-             * @param actualParams the parameters of the method
+             * @param receiver the receiver of the call
+             * @param args the parameters of the method
              * @return null
              */
             @Override
-            public Object execute(ExprList actualParams) {
-                PrintStream outputStream = (PrintStream) fields.get("*outputStream");
-                if (!(outputStream.equals(System.out) || outputStream.equals(System.err))){
-                    outputStream.close();
-                }
-                fields.put("*outputStream", System.err);
+            public Object execute(ObjectData receiver, Object[] args) {
+                closeOutput(receiver);
+                receiver.setField(outputStreamIndex, stdErr);
                 return null;
             }
         });
         methods.put("writeFile", new MethodBody() {
             /**
              * Implement the writeFile method of TextIO that set to write to specified file
-             * @param actualParams the parameters of the method
+             * @param receiver the receiver of the call
+             * @param args the parameters of the method
              * @return null
              */
             @Override
-            public Object execute(ExprList actualParams) {
-                ObjectData objectData = (ObjectData) actualParams.get(0).accept(interpreterVisitor);
-                String fileName = (String)objectData.getField("*str", false);
+            public Object execute(ObjectData receiver, Object[] args) {
+                ObjectData objectData = (ObjectData) args[0];
+                String fileName = getString(objectData);
                 try {
-                    PrintStream outputStream = (PrintStream) fields.get("*outputStream");
-                    if (!(outputStream.equals(System.out) || outputStream.equals(System.err))){
-                        outputStream.close();
-                    }
-                    fields.put("*outputStream", new PrintStream(fileName));
+                    closeOutput(receiver);
+                    TextOutput output = new TextOutput(Paths.get(fileName));
+                    fileOutputs.add(output);
+                    receiver.setField(outputStreamIndex, output);
                 }
-                catch (FileNotFoundException e){
-                    System.err.println("Cannot write to " + fileName + ". File not found.");
-                    System.exit(-1);
+                catch (IOException e){
+                    printError("Cannot write to " + fileName + ". File not found.");
+                    throw new ProgramExit(-1);
                 }
                 return null;
             }
@@ -207,100 +418,102 @@ public class BuiltInMemberGenerator {
         methods.put("getString", new MethodBody() {
             /**
              * Implement the getString method of TextIO that read next string
-             * @param actualParams the parameters of the method
+             * @param receiver the receiver of the call
+             * @param args the parameters of the method
              * @return the next string
              */
             @Override
-            public Object execute(ExprList actualParams) {
-                String s = ((Scanner)fields.get("*inputStream")).nextLine();
-                return interpreterVisitor.visit(new ConstStringExpr(-1, s)) ;
+            public Object execute(ObjectData receiver, Object[] args) {
+                String s = ((TextInput) receiver.getField(inputStreamIndex)).readLine();
+                return newString(s);
             }
         });
         methods.put("getInt", new MethodBody() {
             /**
              * Implement the getInt method of TextIO that read next int
-             * @param actualParams the parameters of the method
+             * @param receiver the receiver of the call
+             * @param args the parameters of the method
              * @return the next int
              */
             @Override
-            public Object execute(ExprList actualParams) {
-                try {
-                    return Integer.parseInt(((Scanner) fields.get("*inputStream")).nextLine());
-                }
-                catch (NumberFormatException e){
-                    return 0;
-                }
+            public Object execute(ObjectData receiver, Object[] args) {
+                return ((TextInput) receiver.getField(inputStreamIndex)).readInt();
             }
         });
         methods.put("putString", new MethodBody() {
             /**
              * Implement the putString method of TextIO that write specified string
-             * @param actualParams the input string to be written
+             * @param receiver the receiver of the call
+             * @param args the input string to be written
              * @return the current object
              */
             @Override
-            public Object execute(ExprList actualParams) {
-                ObjectData objectData = (ObjectData) actualParams.get(0).accept(interpreterVisitor);
+            public Object execute(ObjectData receiver, Object[] args) {
+                ObjectData objectData = (ObjectData) args[0];
                 String string = "null";
                 if(objectData != null){
-                    string = (String)objectData.getField("*str", false);
+                    string = getString(objectData);
                 }
-                ((PrintStream)fields.get("*outputStream")).print(string);
-                return thisObject;
+                ((TextOutput) receiver.getField(outputStreamIndex)).print(string);
+                return receiver;
             }
         });
         methods.put("putInt", new MethodBody() {
             /**
              * Implement the putInt method of TextIO that write specified int
-             * @param actualParams the input int to be written
+             * @param receiver the receiver of the call
+             * @param args the input int to be written
              * @return the current object
              */
             @Override
-            public Object execute(ExprList actualParams) {
-                Integer integer = (Integer) actualParams.get(0).accept(interpreterVisitor);
-                ((PrintStream)fields.get("*outputStream")).print(integer);
-                return thisObject;
+            public Object execute(ObjectData receiver, Object[] args) {
+                Integer integer = (Integer) args[0];
+                ((TextOutput) receiver.getField(outputStreamIndex)).print(integer);
+                return receiver;
             }
         });
     }
 
     /**
      * Generate the builtin methods of Sys
-     * @param methods a hashmap of methods
+     * @param methods the method table to add the methods to
      */
-    public void genSysMembers(HashMap<String,MethodBody> methods) {
+    public void genSysMembers(MethodTable methods) {
         methods.put("exit", new MethodBody() {
             /**
-             * Implement the exit method of Sys that exit program with specified status
-             * @param actualParams the numerical status
-             * @return null
+             * Implement the exit method of Sys that ends the run of the program with
+             * specified status
+             * @param receiver the receiver of the call
+             * @param args the numerical status
+             * @return never returns, as it throws a ProgramExit
              */
             @Override
-            public Object execute(ExprList actualParams) {
-                Integer integer = (Integer) actualParams.get(0).accept(interpreterVisitor);
-                System.exit(integer);
-                return null;
+            public Object execute(ObjectData receiver, Object[] args) {
+                Integer integer = (Integer) args[0];
+                throw new ProgramExit(integer);
             }
         });
         methods.put("time", new MethodBody() {
             /**
              * Implement the time method of Sys that return UTC time
-             * @param actualParams the parameters of the method
+             * @param receiver the receiver of the call
+             * @param args the parameters of the method
              * @return the UTC time in seconds
              */
             @Override
-            public Object execute(ExprList actualParams) {
+            public Object execute(ObjectData receiver, Object[] args) {
                 return (int)(System.currentTimeMillis()/1000);
             }
         });
         methods.put("random", new MethodBody() {
             /**
              * Implement the random method of Sys that return a random int
-             * @param actualParams the parameters of the method
+             * @param receiver the receiver of the call
+             * @param args the parameters of the method
              * @return a random int
              */
             @Override
-            public Object execute(ExprList actualParams) {
+            public Object execute(ObjectData receiver, Object[] args) {
                 return (new Random()).nextInt(Integer.MAX_VALUE) ;
             }
         });
@@ -308,49 +521,48 @@ public class BuiltInMemberGenerator {
 
     /**
      * Generate the builtin methods of Object
-     * @param methods a hashmap of methods
-     * @param thisObject the object
+     * @param methods the method table to add the methods to
      */
-    public void genObjectMembers(HashMap<String,MethodBody> methods, ObjectData thisObject) {
+    public void genObjectMembers(MethodTable methods) {
         methods.put("toString", new MethodBody() {
             /**
              * Implements the toString method of Object that return a string
              * representation of object
-             * @param actualParams the parameters of the method
+             * @param receiver the receiver of the call
+             * @param args the parameters of the method
              * @return the string representation of object
              */
             @Override
-            public Object execute(ExprList actualParams) {
-                String data = thisObject.toString();
-                String toString = thisObject.getType() + data.substring(data.indexOf("@"));
-                ObjectData toStringObject =
-                        (ObjectData) interpreterVisitor.visit(new ConstStringExpr(-1,toString));
-                return toStringObject;
+            public Object execute(ObjectData receiver, Object[] args) {
+                String data = receiver.toString();
+                String toString = receiver.getType() + data.substring(data.indexOf("@"));
+                return newString(toString);
             }
         });
         methods.put("equals", new MethodBody() {
             /**
              * Implements the equals method of Object that test if objects are equal
-             * @param actualParams the input object to compare with
+             * @param receiver the receiver of the call
+             * @param args the input object to compare with
              * @return a boolean indicating if two objects are equal
              */
             @Override
-            public Object execute(ExprList actualParams) {
-                ObjectData otherObject = (ObjectData)actualParams.get(0).accept(interpreterVisitor);
-                return thisObject.equals(otherObject);
+            public Object execute(ObjectData receiver, Object[] args) {
+                ObjectData otherObject = (ObjectData)args[0];
+                return receiver.equals(otherObject);
             }
         });
         methods.put("clone", new MethodBody() {
             /**
              * Implements the clone method of Object that copy an object
-             * @param actualParams the parameters of the method
+             * @param receiver the receiver of the call
+             * @param args the parameters of the method
              * @return the cloned object
              */
             @Override
-            public Object execute(ExprList actualParams) {
-                ObjectData newObject = (ObjectData)(new NewExpr(-1,thisObject.getType()))
-                        .accept(interpreterVisitor);
-                thisObject.copyFields(newObject);
+            public Object execute(ObjectData receiver, Object[] args) {
+                ObjectData newObject = allocator.newObject(receiver.getType());
+                receiver.copyFields(newObject);
                 return newObject;
             }
         });
@@ -359,25 +571,23 @@ public class BuiltInMemberGenerator {
 
     /**
      * Generate the builtin methods of arrays
-     * @param methods a hashmap of methods
-     * @param thisObject the object
+     * @param methods the method table to add the methods to
      */
-    public void genArrays(HashMap<String,MethodBody> methods, ObjectArrayData thisObject){
-        this.genObjectMembers(methods, thisObject);
+    public void genArrayMembers(MethodTable methods){
+        this.genObjectMembers(methods);
         methods.put("clone", new MethodBody() {
             /**
              * Implements the clone method of arrays that copy an array
-             * @param actualParams the parameters of the method
+             * @param receiver the receiver of the call
+             * @param args the parameters of the method
              * @return the new object array
              */
             @Override
-            public Object execute(ExprList actualParams) {
-                String length = Integer.toString(thisObject.getLength());
-                ObjectArrayData newObject = (ObjectArrayData)(new NewArrayExpr(-1,
-                        thisObject.getType(), new ConstIntExpr(-1, length)))
-                        .accept(interpreterVisitor);
-                thisObject.copyFields(newObject);
-                newObject.setArray(thisObject.getArray().clone());
+            public Object execute(ObjectData receiver, Object[] args) {
+                ArrayData array = (ArrayData) receiver;
+                ArrayData newObject = allocator.newArray(array.getType(), array.getLength());
+                array.copyFields(newObject);
+                array.copyItems(newObject);
                 return newObject;
             }
         });
@@ -386,38 +596,31 @@ public class BuiltInMemberGenerator {
 
     /**
      * Generate the builtin methods of Exceptions
-     * @param methods a hashmap of methods
-     * @param fields a hashmap of fields
-     * @param thisObject the object
+     * @param methods the method table to add the methods to
      */
-    public void genExceptionMembers(HashMap<String,MethodBody> methods,
-                                    HashMap<String,Object> fields, ObjectData thisObject) {
-        BantamException e = new BantamException(thisObject.getType(),"",thisObject);
-        fields.put("*e",e);
-        fields.put("message",null);
+    public void genExceptionMembers(MethodTable methods) {
         methods.put("getMessage", new MethodBody() {
             /**
              * Implements the getMessage method of Exceptions that gets the exception message
-             * @param actualParams the parameters of the method
+             * @param receiver the receiver of the call
+             * @param args the parameters of the method
              * @return the message of the exception
              */
             @Override
-            public Object execute(ExprList actualParams) {
-                return fields.get("message");
+            public Object execute(ObjectData receiver, Object[] args) {
+                return receiver.getField(messageIndex);
             }
         });
         methods.put("setMessage", new MethodBody() {
             /**
              * Implements the setMessage method of Exceptions that sets the exception message
-             * @param actualParams the parameters of the method
+             * @param receiver the receiver of the call
+             * @param args the parameters of the method
              * @return null
              */
             @Override
-            public Object execute(ExprList actualParams) {
-                ObjectData object = (ObjectData) actualParams.get(0).accept(interpreterVisitor);
-                String newMessage = (String) object.getField("*str", false);
-                fields.put("message",new ConstStringExpr(-1,newMessage).accept(interpreterVisitor));
-                e.setMessage(newMessage);
+            public Object execute(ObjectData receiver, Object[] args) {
+                setMessage(receiver, (ObjectData) args[0]);
                 return null;
             }
         });
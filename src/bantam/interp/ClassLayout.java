@@ -0,0 +1,247 @@
+/*
+ * File: ClassLayout.java
+ * Author: Phoebe Hughes, Siyuan Li, Joseph Malionek
+ * Date: 10/18/26
+ */
+
+package bantam.interp;
+
+import bantam.ast.ASTNode;
+import bantam.ast.ConstBooleanExpr;
+import bantam.ast.ConstIntExpr;
+import bantam.ast.Expr;
+import bantam.ast.Field;
+import bantam.util.ClassHierarchy;
+import bantam.util.ClassTreeNode;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Hashtable;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The layout of the objects of a class.  Every field of the class and of its
+ * ancestors has a fixed index in the object's field array; inherited fields come first,
+ * and a field that shadows an inherited field gets its own index.  The layout also holds
+ * the method table of the class, which is shared by all of its objects.
+ */
+public class ClassLayout {
+
+    /**
+     * The class this layout belongs to
+     */
+    private ClassTreeNode classTreeNode;
+
+    /**
+     * The layout of the parent class (null for Object)
+     */
+    private ClassLayout parent;
+
+    /**
+     * The names of all the fields, in index order
+     */
+    private List<String> fieldNames;
+
+    /**
+     * The values the fields of a new object start with, in index order: the default
+     * value of the field's type, or the value of its initializer if that is a constant
+     */
+    private List<Object> fieldTemplate;
+
+    /**
+     * Maps the name of each field visible in this class to its index
+     */
+    private Map<String, Integer> fieldIndices;
+
+    /**
+     * The method table of the class (including inherited methods)
+     */
+    private MethodTable methods;
+
+    /**
+     * The id of the class in the index of the class hierarchy
+     */
+    private int classId;
+
+    /**
+     * The largest id of a descendant of the class, so the ids of the class and all of
+     * its descendants are exactly those from classId to lastDescendantId
+     */
+    private int lastDescendantId;
+
+    /**
+     * Creates the layout of a class
+     * @param classTreeNode the class
+     * @param parent the layout of the parent class (null for Object)
+     */
+    private ClassLayout(ClassTreeNode classTreeNode, ClassLayout parent) {
+        this.classTreeNode = classTreeNode;
+        this.parent = parent;
+        if (parent == null) {
+            this.fieldNames = new ArrayList<>();
+            this.fieldTemplate = new ArrayList<>();
+            this.fieldIndices = new HashMap<>();
+        }
+        else {
+            this.fieldNames = new ArrayList<>(parent.fieldNames);
+            this.fieldTemplate = new ArrayList<>(parent.fieldTemplate);
+            this.fieldIndices = new HashMap<>(parent.fieldIndices);
+        }
+        this.methods = new MethodTable();
+
+        for (ASTNode member : classTreeNode.getASTNode().getMemberList()) {
+            if (member instanceof Field) {
+                Field field = (Field) member;
+                this.addField(field.getName(), getInitialValue(field));
+            }
+        }
+        if (classTreeNode.isBuiltIn()) {
+            for (String name : BuiltInMemberGenerator.getHiddenFields(this.getName())) {
+                this.addField(name, null);
+            }
+        }
+    }
+
+    /**
+     * Builds the layouts of a class and all of its subclasses
+     * @param classTreeNode the root of the (sub)tree of classes
+     * @param parent the layout of the parent class (null for Object)
+     * @param layouts the map from class names to layouts to add the layouts to
+     */
+    public static void buildLayouts(ClassTreeNode classTreeNode, ClassLayout parent,
+                                    Hashtable<String, ClassLayout> layouts) {
+        ClassLayout layout = new ClassLayout(classTreeNode, parent);
+        ClassHierarchy hierarchy = classTreeNode.getHierarchy();
+        layout.classId = hierarchy.getClassId(layout.getName());
+        layout.lastDescendantId = hierarchy.getLastDescendantId(layout.classId);
+        layouts.put(layout.getName(), layout);
+        Iterator<ClassTreeNode> children = classTreeNode.getChildrenList();
+        while (children.hasNext()) {
+            buildLayouts(children.next(), layout, layouts);
+        }
+    }
+
+    /**
+     * Adds a field declared by this class, shadowing any inherited field with the same name
+     * @param name the name of the field
+     * @param initialValue the value the field starts with in a new object
+     */
+    private void addField(String name, Object initialValue) {
+        this.fieldIndices.put(name, this.fieldNames.size());
+        this.fieldNames.add(name);
+        this.fieldTemplate.add(initialValue);
+    }
+
+    /**
+     * Returns if the initializer of a field has to be run for every new object, that is,
+     * if the field has one and it is not a constant already in the template
+     * @param field the field node
+     * @return true if the initializer has to be run
+     */
+    public static boolean hasInitializer(Field field) {
+        Expr init = field.getInit();
+        return init != null
+                && !(init instanceof ConstIntExpr || init instanceof ConstBooleanExpr);
+    }
+
+    /**
+     * Gets the value a field starts with in a new object, before any initializer runs
+     * @param field the field node
+     * @return the value of its constant initializer, or else the default value of its
+     *         type (0, false or null)
+     */
+    private static Object getInitialValue(Field field) {
+        Expr init = field.getInit();
+        if (init instanceof ConstIntExpr) {
+            return Integer.parseInt(((ConstIntExpr) init).getConstant());
+        }
+        else if (init instanceof ConstBooleanExpr) {
+            return Boolean.parseBoolean(((ConstBooleanExpr) init).getConstant());
+        }
+        else if (field.getType().equals("int")) {
+            return 0;
+        }
+        else if (field.getType().equals("boolean")) {
+            return false;
+        }
+        return null;
+    }
+
+    /**
+     * Creates a new object of the class, copying the template of its fields, so that
+     * only the initializers that are not constants are left to run
+     * @return the new object
+     */
+    public ObjectData newObject() {
+        return new ObjectData(this.getName(), this.fieldTemplate.toArray(), this.methods);
+    }
+
+    /**
+     * Gets the name of the class
+     * @return the class name
+     */
+    public String getName() {
+        return this.classTreeNode.getName();
+    }
+
+    /**
+     * Gets the id of the class
+     * @return the class id
+     */
+    public int getClassId() {
+        return this.classId;
+    }
+
+    /**
+     * Returns if a class is this class or one of its descendants
+     * @param classId the id of the class
+     * @return true if objects of the class are instances of this class
+     */
+    public boolean isAncestorOf(int classId) {
+        return this.classId <= classId && classId <= this.lastDescendantId;
+    }
+
+    /**
+     * Gets the class this layout belongs to
+     * @return the class tree node
+     */
+    public ClassTreeNode getClassTreeNode() {
+        return this.classTreeNode;
+    }
+
+    /**
+     * Gets the layout of the parent class
+     * @return the parent layout (null for Object)
+     */
+    public ClassLayout getParent() {
+        return this.parent;
+    }
+
+    /**
+     * Gets the number of fields of an object of this class
+     * @return the number of fields (including inherited ones)
+     */
+    public int getNumFields() {
+        return this.fieldNames.size();
+    }
+
+    /**
+     * Gets the method table of the class
+     * @return the method table
+     */
+    public MethodTable getMethods() {
+        return this.methods;
+    }
+
+    /**
+     * Gets the index of the field a name refers to within this class
+     * @param name the name of the field
+     * @return the index of the field, or -1 if there is no such field
+     */
+    public int getFieldIndex(String name) {
+        Integer index = this.fieldIndices.get(name);
+        return index == null ? -1 : index;
+    }
+}
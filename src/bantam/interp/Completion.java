@@ -0,0 +1,20 @@
+/*
+ * File: Completion.java
+ * Author: Phoebe Hughes, Siyuan Li, Joseph Malionek
+ * Date: 10/18/26
+ */
+
+package bantam.interp;
+
+/**
+ * How a statement finished executing when it did not simply fall through to the next
+ * statement.  The interpreter returns these from statement visits (a normal completion
+ * is null) and passes them up until the enclosing loop or method handles them.
+ */
+public enum Completion {
+    /** A break statement was executed */
+    BREAK,
+
+    /** A return statement was executed; the value is held by the interpreter */
+    RETURN
+}
@@ -0,0 +1,79 @@
+/*
+ * File: ExecutionLimitExceeded.java
+ * Author: Phoebe Hughes, Siyuan Li, Joseph Malionek
+ * Date: 10/18/26
+ */
+
+package bantam.interp;
+
+/**
+ * A Java runtime exception that stops a program which used up its budget of steps or
+ * ran past its deadline.  Like ProgramExit, a Bantam Java program cannot catch it.  It
+ * records how far the program got, so a caller running untrusted programs can report
+ * where each one was stopped.
+ */
+public class ExecutionLimitExceeded extends RuntimeException {
+
+    /**
+     * Whether the program ran past its deadline (rather than using up its steps)
+     */
+    private boolean deadline;
+
+    /**
+     * The number of steps the program took
+     */
+    private long stepsTaken;
+
+    /**
+     * The line the program was stopped on
+     */
+    private int lineNum;
+
+    /**
+     * Creates a new execution limit exception
+     * @param deadline whether the program ran past its deadline
+     * @param stepsTaken the number of steps the program took
+     * @param lineNum the line the program was stopped on
+     */
+    public ExecutionLimitExceeded(boolean deadline, long stepsTaken, int lineNum) {
+        super(null, null, false, false);
+        this.deadline = deadline;
+        this.stepsTaken = stepsTaken;
+        this.lineNum = lineNum;
+    }
+
+    /**
+     * Returns if the program ran past its deadline, rather than using up its steps
+     * @return true if the program ran past its deadline
+     */
+    public boolean isDeadline() {
+        return this.deadline;
+    }
+
+    /**
+     * Gets the number of steps the program took
+     * @return the number of steps
+     */
+    public long getStepsTaken() {
+        return this.stepsTaken;
+    }
+
+    /**
+     * Gets the line the program was stopped on
+     * @return the line number
+     */
+    public int getLineNum() {
+        return this.lineNum;
+    }
+
+    /**
+     * Get the error message of the exception
+     * @return the message as a string
+     */
+    @Override
+    public String getMessage() {
+        return "ExecutionLimitExceeded: " + (this.deadline ? "ran past its deadline"
+                : "used up its budget of steps") + " after " + this.stepsTaken
+                + " steps on line " + this.lineNum;
+    }
+}
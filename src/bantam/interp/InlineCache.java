@@ -0,0 +1,126 @@
+/*
+ * File: InlineCache.java
+ * Author: Phoebe Hughes, Siyuan Li, Joseph Malionek
+ * Date: 10/18/26
+ */
+
+package bantam.interp;
+
+import bantam.ast.DispatchExpr;
+
+/**
+ * The inline cache of a call site.  It remembers the methods the call dispatched to
+ * for the last few classes of receivers it saw, keyed on their method tables (one per
+ * class), so a call on an object of a class seen before skips the method lookup.
+ * Once the site has seen more classes than the cache holds, further classes are
+ * looked up on every call.
+ */
+class InlineCache {
+
+    /**
+     * The most classes a cache remembers
+     */
+    private static final int MAX_ENTRIES = 4;
+
+    /**
+     * The call site
+     */
+    private DispatchExpr node;
+
+    /**
+     * The method table the method is looked up in when the cache misses
+     * (null to look it up in the receiver's table)
+     */
+    private MethodTable lookupTable;
+
+    /**
+     * The method tables of the classes of receivers seen so far
+     */
+    private MethodTable[] classes;
+
+    /**
+     * The methods called on the receivers of each class
+     */
+    private MethodBody[] targets;
+
+    /**
+     * The number of classes remembered
+     */
+    private int numEntries;
+
+    /**
+     * The number of calls that found their method in the cache
+     */
+    private int hits;
+
+    /**
+     * The number of calls that looked their method up
+     */
+    private int misses;
+
+    /**
+     * Creates a new, empty inline cache
+     * @param node the call site
+     * @param lookupTable the method table the method is always looked up in (the
+     *                    superclass's table for a 'super' dispatch), or null to look it
+     *                    up in the receiver's table
+     */
+    InlineCache(DispatchExpr node, MethodTable lookupTable) {
+        this.node = node;
+        this.lookupTable = lookupTable;
+        this.classes = new MethodTable[MAX_ENTRIES];
+        this.targets = new MethodBody[MAX_ENTRIES];
+    }
+
+    /**
+     * Finds the method a call on an object dispatches to
+     * @param receiver the object the method is called on
+     * @return the body of the method
+     */
+    MethodBody lookup(ObjectData receiver) {
+        MethodTable methods = receiver.getMethodTable();
+        for (int i = 0; i < this.numEntries; i++) {
+            if (this.classes[i] == methods) {
+                this.hits++;
+                return this.targets[i];
+            }
+        }
+
+        this.misses++;
+        MethodBody target = (this.lookupTable != null ? this.lookupTable : methods)
+                .get(this.node.getMethodName());
+        if (this.numEntries < MAX_ENTRIES) {
+            this.classes[this.numEntries] = methods;
+            this.targets[this.numEntries] = target;
+            this.numEntries++;
+        }
+        return target;
+    }
+
+    /**
+     * Gets the number of calls that found their method in the cache
+     * @return the number of hits
+     */
+    int getHits() {
+        return this.hits;
+    }
+
+    /**
+     * Gets the number of calls that looked their method up
+     * @return the number of misses
+     */
+    int getMisses() {
+        return this.misses;
+    }
+
+    /**
+     * Describes the call site and how well its cache did
+     * @return the description
+     */
+    @Override
+    public String toString() {
+        return "line " + this.node.getLineNum() + " " + this.node.getMethodName() + ": "
+                + this.hits + " hits, " + this.misses + " misses, " + this.numEntries
+                + (this.numEntries == 1 ? " class" : " classes");
+    }
+}
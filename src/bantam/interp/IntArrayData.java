@@ -0,0 +1,81 @@
+/*
+ * File: IntArrayData.java
+ * Author: Phoebe Hughes, Siyuan Li, Joseph Malionek
+ * Date: 10/18/26
+ */
+
+package bantam.interp;
+
+/**
+ * An array of ints, kept unboxed.
+ */
+public class IntArrayData extends ArrayData {
+
+    /**
+     * The elements of the array
+     */
+    private int[] array;
+
+    /**
+     * Creates a new int array with every element 0
+     * @param type the array type
+     * @param length the array size
+     * @param methods the method table shared by all arrays
+     */
+    public IntArrayData(String type, int length, MethodTable methods){
+        super(type, methods);
+        this.array = new int[length];
+    }
+
+    /**
+     * Gets the size of the array
+     * @return the size
+     */
+    public int getLength(){
+        return this.array.length;
+    }
+
+    /**
+     * Gets the int at the given index
+     * @param index the index
+     * @return the element at the index
+     */
+    public int getInt(int index){
+        return this.array[index];
+    }
+
+    /**
+     * Sets the int at the given index
+     * @param index the index
+     * @param value the new value of the element
+     */
+    public void setInt(int index, int value){
+        this.array[index] = value;
+    }
+
+    /**
+     * Gets the item at the given index in the array, boxed
+     * @param index the index
+     * @return the item at the index
+     */
+    public Object getItem(int index){
+        return this.array[index];
+    }
+
+    /**
+     * Sets the item at the given index to the given value
+     * @param index the array index
+     * @param value the Integer to be set
+     */
+    public void setItem(int index, Object value){
+        this.array[index] = (int) value;
+    }
+
+    /**
+     * Copies the elements of this array into another int array of the same size
+     * @param copy the other array
+     */
+    public void copyItems(ArrayData copy){
+        System.arraycopy(this.array, 0, ((IntArrayData) copy).array, 0, this.array.length);
+    }
+}
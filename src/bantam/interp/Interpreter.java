@@ -1,86 +1,266 @@
-/*
- * File: Interpreter.java
- * CS461 Project 6 Second Extension
- * Author: Phoebe Hughes, Siyuan Li, Joseph Malionek
- * Date: 5/10/17
- */
-
-/* Bantam Java Compiler and Language Toolset.
-
-   Copyright (C) 2009 by Marc Corliss (corliss@hws.edu) and 
-                         David Furcy (furcyd@uwosh.edu) and
-                         E Christopher Lewis (lewis@vmware.com).
-   ALL RIGHTS RESERVED.
-
-   The Bantam Java toolset is distributed under the following 
-   conditions:
-
-     You may make copies of the toolset for your own use and 
-     modify those copies.
-
-     All copies of the toolset must retain the author names and 
-     copyright notice.
-
-     You may not sell the toolset or distribute it in 
-     conjunction with a commerical product or service without 
-     the expressed written consent of the authors.
-
-   THIS SOFTWARE IS PROVIDED ``AS IS'' AND WITHOUT ANY EXPRESS 
-   OR IMPLIED WARRANTIES, INCLUDING, WITHOUT LIMITATION, THE 
-   IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A 
-   PARTICULAR PURPOSE. 
-*/
-
-package bantam.interp;
-
-import bantam.ast.ExprList;
-import bantam.util.*;
-
-/** The <tt>Interpreter</tt> class interprets Bantam Java programs.  It
-  * takes the AST representation of the program (which was previously
-  * checked for correctness and annotated with type information) and
-  * runs the program.
-  * 
-  * The interpreter package was originally written by Josh Davis with 
-  * some modifications by Marc Corliss.
-  * 
-  * This class is incomplete and will need to be implemented by the student.
-  * */
-public class Interpreter {
-    /** Root of the class hierarchy tree */
-    private ClassTreeNode root;
-    
-    /** Boolean indicating whether debugging is enabled */
-    private boolean debug = false;
-
-    /** Interpreter constructor
-      * @param root root of the class hierarchy tree
-      * @param debug boolean indicating whether debugging is enabled
-      * */
-    public Interpreter(ClassTreeNode root, boolean debug) {
-	this.root = root;
-	this.debug = debug;
-    }
-
-    /** Interpret the program
-      * See the lab manual for the details.
-      * */
-    public void interpret() {
-        //creating a new main class and calling the main method
-	    ClassTreeNode main = root.getClassMap().get("Main");
-        ObjectData mainObject = new ObjectData("Main");
-        InterpreterVisitor interpreterVisitor =
-                new InterpreterVisitor(root.getClassMap(), mainObject);
-        new InstantiationVisitor(interpreterVisitor, mainObject, main);
-        int scope = mainObject.getMethodScope("main", false);
-        mainObject.setHierarchyLevel(scope);
-        try {
-            mainObject.getMethod("main", scope).execute(new ExprList(-1));
-        }
-        catch (BantamException e){
-            System.err.println(e.getMessage());
-        }
-    }
-}
-
-
+/*
+ * File: Interpreter.java
+ * CS461 Project 6 Second Extension
+ * Author: Phoebe Hughes, Siyuan Li, Joseph Malionek
+ * Date: 5/10/17
+ */
+
+/* Bantam Java Compiler and Language Toolset.
+
+   Copyright (C) 2009 by Marc Corliss (corliss@hws.edu) and 
+                         David Furcy (furcyd@uwosh.edu) and
+                         E Christopher Lewis (lewis@vmware.com).
+   ALL RIGHTS RESERVED.
+
+   The Bantam Java toolset is distributed under the following 
+   conditions:
+
+     You may make copies of the toolset for your own use and 
+     modify those copies.
+
+     All copies of the toolset must retain the author names and 
+     copyright notice.
+
+     You may not sell the toolset or distribute it in 
+     conjunction with a commerical product or service without 
+     the expressed written consent of the authors.
+
+   THIS SOFTWARE IS PROVIDED ``AS IS'' AND WITHOUT ANY EXPRESS 
+   OR IMPLIED WARRANTIES, INCLUDING, WITHOUT LIMITATION, THE 
+   IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A 
+   PARTICULAR PURPOSE. 
+*/
+
+package bantam.interp;
+
+import bantam.util.*;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.util.Hashtable;
+
+/** The <tt>Interpreter</tt> class interprets Bantam Java programs.  It
+  * takes the AST representation of the program (which was previously
+  * checked for correctness and annotated with type information) and
+  * runs the program.
+  * 
+  * The interpreter package was originally written by Josh Davis with 
+  * some modifications by Marc Corliss.
+  * 
+  * This class is incomplete and will need to be implemented by the student.
+  * */
+public class Interpreter {
+    /** Root of the class hierarchy tree */
+    private ClassTreeNode root;
+    
+    /** Boolean indicating whether debugging is enabled */
+    private boolean debug = false;
+
+    /** Boolean indicating whether the program is profiled */
+    private boolean profile = false;
+
+    /** The file the samples of the call stack are written to (null if not sampling) */
+    private String sampleFile = null;
+
+    /** The largest array length a program may create */
+    private int maxArrayLength = ArrayData.DEFAULT_MAX_LENGTH;
+
+    /** The largest number of steps (loop iterations and method calls) the program may
+      * take (0 for no budget) */
+    private long maxSteps = 0;
+
+    /** The time the program may run in milliseconds (0 for no deadline) */
+    private long timeout = 0;
+
+    /** Boolean indicating whether the results of pure methods are memoized */
+    private boolean memoize = false;
+
+    /** The number of steps the program took */
+    private long stepsTaken;
+
+    /** The exception that stopped the program if it went past its limits, or null */
+    private ExecutionLimitExceeded limitExceeded;
+
+    /** The stream standard input of the program reads from */
+    private InputStream in = System.in;
+
+    /** The stream standard output of the program writes to */
+    private PrintStream out = System.out;
+
+    /** The stream standard error of the program, and the interpreter's own messages,
+      * write to */
+    private PrintStream err = System.err;
+
+    /** Interpreter constructor
+      * @param root root of the class hierarchy tree
+      * @param debug boolean indicating whether debugging is enabled
+      * */
+    public Interpreter(ClassTreeNode root, boolean debug) {
+	this.root = root;
+	this.debug = debug;
+    }
+
+    /** Set the largest array length a program may create
+      * @param maxArrayLength the largest array length
+      * */
+    public void setMaxArrayLength(int maxArrayLength) {
+        this.maxArrayLength = maxArrayLength;
+    }
+
+    /** Turn profiling on or off.  A profiled program reports its method calls and times,
+      * allocations and loop iterations when it finishes.
+      * @param profile boolean indicating whether the program is profiled
+      * */
+    public void setProfile(boolean profile) {
+        this.profile = profile;
+    }
+
+    /** Turn sampling of the call stack on, writing the samples as folded stacks
+      * (for flame graphs) when the program finishes
+      * @param sampleFile the file to write the samples to (null to turn sampling off)
+      * */
+    public void setSampleFile(String sampleFile) {
+        this.sampleFile = sampleFile;
+    }
+
+    /** Limit the steps (loop iterations and method calls) the program may take and the
+      * time it may run for.  A program that goes past either is stopped.
+      * @param maxSteps the largest number of steps (0 for no budget)
+      * @param timeout the time the program may run in milliseconds (0 for no deadline)
+      * */
+    public void setLimits(long maxSteps, long timeout) {
+        this.maxSteps = maxSteps;
+        this.timeout = timeout;
+    }
+
+    /** Turn memoization on or off.  The results of the methods found to be pure (their
+      * results depend only on their int and boolean arguments) are then kept in
+      * bounded tables, and a call with the arguments of an earlier call returns the
+      * earlier result without running the method.
+      * @param memoize boolean indicating whether the results of pure methods are memoized
+      * */
+    public void setMemoize(boolean memoize) {
+        this.memoize = memoize;
+    }
+
+    /** Get the number of steps (loop iterations and method calls) the program took
+      * @return the number of steps
+      * */
+    public long getStepsTaken() {
+        return this.stepsTaken;
+    }
+
+    /** Get the exception that stopped the program if it went past its limits, which
+      * records the steps it took and the line it was stopped on
+      * @return the exception, or null if the program stayed within its limits
+      * */
+    public ExecutionLimitExceeded getLimitExceeded() {
+        return this.limitExceeded;
+    }
+
+    /** Bind standard input, output and error of the program to the given streams
+      * instead of those of the JVM, so that several programs can run at once
+      * @param in the stream standard input reads from
+      * @param out the stream standard output writes to
+      * @param err the stream standard error writes to
+      * */
+    public void setStreams(InputStream in, PrintStream out, PrintStream err) {
+        this.in = in;
+        this.out = out;
+        this.err = err;
+    }
+
+    /** Interpret the program
+      * See the lab manual for the details.
+      * @return the exit status of the program (0 unless it called Sys.exit)
+      * */
+    public int interpret() {
+        //laying out the fields of every class, and giving every local variable
+        //a slot in its method's frame
+        Hashtable<String, ClassLayout> layouts = new Hashtable<>();
+        ClassLayout.buildLayouts(root, null, layouts);
+        SlotResolverVisitor slotResolver = new SlotResolverVisitor(layouts);
+        slotResolver.resolve(root);
+        if (this.memoize) {
+            new PurityVisitor().analyze(root);
+        }
+
+        //creating a new main class and calling the main method
+        InterpreterVisitor interpreterVisitor;
+        if (this.profile) {
+            interpreterVisitor = new ProfilingVisitor(root.getClassMap(), layouts,
+                    slotResolver.getNumDispatchSites());
+        }
+        else if (this.sampleFile != null) {
+            interpreterVisitor = new SamplingVisitor(root.getClassMap(), layouts,
+                    slotResolver.getNumDispatchSites());
+        }
+        else {
+            interpreterVisitor = new InterpreterVisitor(root.getClassMap(), layouts,
+                    slotResolver.getNumDispatchSites());
+        }
+        interpreterVisitor.setMaxArrayLength(this.maxArrayLength);
+        BuiltInMemberGenerator memberGenerator = interpreterVisitor.getMemberGenerator();
+        memberGenerator.setStreams(this.in, this.out, this.err);
+        int status = 0;
+        if (this.sampleFile != null) {
+            ((SamplingVisitor) interpreterVisitor).startSampling();
+        }
+        interpreterVisitor.setLimits(this.maxSteps, this.timeout);
+        try {
+            ObjectData mainObject = interpreterVisitor.newObject("Main");
+            interpreterVisitor.setThisObject(mainObject);
+            mainObject.getMethod("main").execute(mainObject, new Object[0]);
+        }
+        catch (BantamException e){
+            memberGenerator.printError(e.getMessage());
+        }
+        catch (ProgramExit e){
+            status = e.getStatus();
+        }
+        catch (ExecutionLimitExceeded e){
+            memberGenerator.printError(e.getMessage());
+            this.limitExceeded = e;
+            status = 1;
+        }
+        catch (StackOverflowError e){
+            //each call nests several Java calls; only the virtual machine keeps deep
+            //calls on a frame stack of its own
+            memberGenerator.printError("StackOverflowError: the call stack is too deep");
+            status = 1;
+        }
+        finally {
+            memberGenerator.flushOutput();
+            if (this.sampleFile != null) {
+                ((SamplingVisitor) interpreterVisitor).stopSampling();
+            }
+        }
+        this.stepsTaken = this.limitExceeded != null ? this.limitExceeded.getStepsTaken()
+                : interpreterVisitor.getStepsTaken();
+        if (this.debug) {
+            this.err.println("Steps: " + this.stepsTaken);
+            interpreterVisitor.printInlineCacheStats(this.err);
+            if (this.memoize) {
+                interpreterVisitor.printMemoStats(this.err);
+            }
+        }
+        if (this.profile) {
+            ((ProfilingVisitor) interpreterVisitor).printProfile(this.err);
+        }
+        if (this.sampleFile != null) {
+            try (Writer writer = new FileWriter(this.sampleFile)) {
+                ((SamplingVisitor) interpreterVisitor).writeSamples(writer);
+            }
+            catch (IOException e) {
+                this.err.println("Could not write the samples to " + this.sampleFile
+                        + ": " + e.getMessage());
+            }
+        }
+        return status;
+    }
+}
+
+
@@ -8,15 +8,17 @@
 package bantam.interp;
 
 import bantam.ast.*;
+import bantam.util.ClassHierarchy;
 import bantam.util.ClassTreeNode;
 import bantam.visitor.Visitor;
 
+import java.io.PrintStream;
 import java.util.*;
 
 /**
  * The visitor that interprets bantam java code
  */
-public class InterpreterVisitor extends Visitor{
+public class InterpreterVisitor extends Visitor implements ObjectAllocator{
 
     /**
      * The object that it is interpreting currently
@@ -24,53 +26,282 @@ public class InterpreterVisitor extends Visitor{
     private ObjectData thisObject;
 
     /**
-     * The map of classes and their class tree nodes
+     * The index of the class hierarchy, for subtype checks
      */
-    private Hashtable<String, ClassTreeNode> classMap;
+    private ClassHierarchy hierarchy;
 
     /**
-     * The local variables, each hash map is a method body
+     * The map of classes and the layouts of their fields
      */
-    private List<HashMap<String, Object>> localVars;
+    private Hashtable<String, ClassLayout> layouts;
+
+    /**
+     * The map of classes and the templates their objects are created from
+     */
+    private Hashtable<String, ObjectTemplate> templates;
+
+    /**
+     * The generator of the members of the builtin classes
+     */
+    private BuiltInMemberGenerator memberGenerator;
+
+    /**
+     * The String objects of the string constants, shared by every evaluation of
+     * a constant with the same value
+     */
+    private HashMap<String, StringData> stringConstants;
+
+    /**
+     * The method table shared by all arrays
+     */
+    private MethodTable arrayMethods;
+
+    /**
+     * The inline caches of the call sites, indexed by their site indices
+     * (null until a site is first called)
+     */
+    private InlineCache[] inlineCaches;
+
+    /**
+     * The tables of results of the pure methods, in the order the methods were created
+     */
+    private List<MemoTable> memoTables = new ArrayList<>();
+
+    /**
+     * The largest array length a program may create
+     */
+    private int maxArrayLength;
+
+    /**
+     * The frame holding the parameters and local variables of the method being
+     * interpreted, indexed by the slots given by the SlotResolverVisitor
+     */
+    private Object[] frame;
+
+    /**
+     * The part of the frame holding the int and boolean parameters and local variables
+     * (booleans as 0 or 1), so their values never need to be boxed
+     */
+    private int[] intFrame;
+
+    /**
+     * The value of the return statement whose completion is being passed up to its method
+     */
+    private Object returnValue;
 
     /**
      * The last exception which was thrown in the program
      */
     ObjectData currentException;
 
+    /**
+     * The number of steps the program may take between checks of its limits, so that
+     * a deadline is checked about once a millisecond
+     */
+    private static final int CHECK_INTERVAL = 1 << 14;
+
+    /**
+     * The largest number of steps (loop iterations and method calls) the program may
+     * take, or 0 for no budget
+     */
+    private long maxSteps;
+
+    /**
+     * The time (from System.nanoTime) the program must finish by, if it has a deadline
+     */
+    private long deadline;
+
+    /**
+     * Whether the program has a deadline
+     */
+    private boolean hasDeadline;
+
+    /**
+     * The number of steps taken before the last check of the limits, plus the steps
+     * until the next check
+     */
+    private long stepsChecked = CHECK_INTERVAL;
+
+    /**
+     * The number of steps until the next check of the limits
+     */
+    private int stepsLeft = CHECK_INTERVAL;
+
     /**
      * Creates a new interpreter visitor
      * @param classMap the class map
-     * @param mainObject the main object data
+     * @param layouts the map of classes and the layouts of their fields
+     * @param numDispatchSites the number of call sites in the program
+     */
+    public InterpreterVisitor(Hashtable<String, ClassTreeNode> classMap,
+                              Hashtable<String, ClassLayout> layouts, int numDispatchSites){
+        this.inlineCaches = new InlineCache[numDispatchSites];
+        this.maxArrayLength = ArrayData.DEFAULT_MAX_LENGTH;
+        this.frame = new Object[0];
+        this.intFrame = new int[0];
+        this.hierarchy = classMap.get("Object").getHierarchy();
+        this.layouts = layouts;
+        this.memberGenerator = new BuiltInMemberGenerator(this);
+        this.stringConstants = new HashMap<>();
+        this.templates = new Hashtable<>();
+        this.buildMethodTables(classMap.get("Object"));
+        this.arrayMethods = new MethodTable();
+        this.arrayMethods.putAll(layouts.get("Object").getMethods());
+        this.memberGenerator.genArrayMembers(this.arrayMethods);
+    }
+
+    /**
+     * Builds the method tables and object templates of a class and all of its subclasses
+     * @param classTreeNode the root of the (sub)tree of classes
+     */
+    private void buildMethodTables(ClassTreeNode classTreeNode){
+        ClassLayout layout = this.layouts.get(classTreeNode.getName());
+        MethodTable methods = layout.getMethods();
+        ObjectTemplate parentTemplate = null;
+        if (layout.getParent() != null){
+            methods.putAll(layout.getParent().getMethods());
+            parentTemplate = this.templates.get(layout.getParent().getName());
+        }
+        this.templates.put(layout.getName(), new ObjectTemplate(layout, parentTemplate));
+
+        //A separate class generates the methods of built-ins
+        if (classTreeNode.isBuiltIn()){
+            this.memberGenerator.genMembers(classTreeNode.getName(), methods);
+        }
+        else {
+            for (ASTNode member : classTreeNode.getASTNode().getMemberList()){
+                if (member instanceof Method){
+                    methods.put(((Method) member).getName(),
+                            this.createMethodBody(classTreeNode.getName(), (Method) member));
+                }
+            }
+        }
+
+        Iterator<ClassTreeNode> children = classTreeNode.getChildrenList();
+        while (children.hasNext()){
+            this.buildMethodTables(children.next());
+        }
+    }
+
+    /**
+     * Creates the body of a method declared in a Bantam Java class.  This is called
+     * while the visitor is being constructed.  The results of a method marked pure by
+     * the PurityVisitor are memoized.
+     * @param className the name of the class declaring the method
+     * @param node the method node
+     * @return the method body
      */
-    public InterpreterVisitor(Hashtable<String, ClassTreeNode> classMap, ObjectData mainObject){
-        this.localVars = new ArrayList<>();
-        this.localVars.add(new HashMap<>());
-        this.classMap = classMap;
-        this.thisObject = mainObject;
+    protected MethodBody createMethodBody(String className, Method node){
+        MethodBody methodBody = this.createUnmemoizedBody(node);
+        if (!node.isPure()){
+            return methodBody;
+        }
+        MemoTable memoTable = new MemoTable(className + "." + node.getName(),
+                node.getFormalList().getSize());
+        this.memoTables.add(memoTable);
+        return (receiver, args) -> {
+            Object value = memoTable.get(args);
+            if (value == null){
+                //a call that throws is not stored
+                value = methodBody.execute(receiver, args);
+                memoTable.put(args, value);
+            }
+            return value;
+        };
     }
 
     /**
-     * Adds a new scope to the local variables
-     * @param hashMap the new scope
+     * Creates the body of a method declared in a Bantam Java class, which interprets
+     * the method on every call
+     * @param node the method node
+     * @return the method body
      */
-    public void pushMethodScope(HashMap<String, Object> hashMap){
-        this.localVars.add(hashMap);
+    private MethodBody createUnmemoizedBody(Method node){
+        return new MethodBody() {
+            @Override
+            public Object execute(ObjectData receiver, Object[] args) {
+                Object[] frame = new Object[node.getNumSlots()];
+                int[] intFrame = new int[node.getNumSlots()];
+                for(int i = 0; i < args.length; i++){
+                    Formal formal = (Formal) node.getFormalList().get(i);
+                    if (formal.getType().equals("int")){
+                        intFrame[formal.getSlot()] = (int) args[i];
+                    }
+                    else if (formal.getType().equals("boolean")){
+                        intFrame[formal.getSlot()] = (boolean) args[i] ? 1 : 0;
+                    }
+                    else {
+                        frame[formal.getSlot()] = args[i];
+                    }
+                }
+                ObjectData oldThisObject = thisObject;
+                Object[] oldFrame = InterpreterVisitor.this.frame;
+                int[] oldIntFrame = InterpreterVisitor.this.intFrame;
+                thisObject = receiver;
+                InterpreterVisitor.this.frame = frame;
+                InterpreterVisitor.this.intFrame = intFrame;
+                try {
+                    return node.accept(InterpreterVisitor.this);
+                }
+                finally {
+                    InterpreterVisitor.this.intFrame = oldIntFrame;
+                    InterpreterVisitor.this.frame = oldFrame;
+                    thisObject = oldThisObject;
+                }
+            }
+        };
     }
 
     /**
-     * Pops off the top method scope
+     * Gets the layout of the fields of a class
+     * @param className the name of the class
+     * @return the class layout
      */
-    public void popMethodScope(){
-        this.localVars.remove(this.localVars.size()-1);
+    public ClassLayout getClassLayout(String className){
+        return this.layouts.get(className);
     }
 
     /**
-     * Gets the current scope of local vairables
-     * @return the current method scope
+     * Creates a new object of a class, initializing its fields
+     * @param type the name of the class
+     * @return the new object
      */
-    public HashMap<String,Object> getCurrentMethodScope(){
-        return this.localVars.get(this.localVars.size()-1);
+    public ObjectData newObject(String type){
+        return this.templates.get(type).instantiate(this);
+    }
+
+    /**
+     * Creates a new array
+     * @param type the type of the array
+     * @param length the length of the array
+     * @return the new array
+     */
+    public ArrayData newArray(String type, int length){
+        return ArrayData.newArray(type, length, this.arrayMethods, this.layouts);
+    }
+
+    /**
+     * Gets the generator of the members of the builtin classes
+     * @return the member generator
+     */
+    public BuiltInMemberGenerator getMemberGenerator(){
+        return this.memberGenerator;
+    }
+
+    /**
+     * Gets the frame of the method currently being interpreted
+     * @return the current frame
+     */
+    public Object[] getFrame(){
+        return this.frame;
+    }
+
+    /**
+     * Sets the frame of the method currently being interpreted
+     * @param frame the new frame
+     */
+    public void setFrame(Object[] frame){
+        this.frame = frame;
     }
 
     /**
@@ -91,78 +322,87 @@ public class InterpreterVisitor extends Visitor{
 
 
     /**
-     * Gets the value of a variable
-     * @param ref the reference name of the variable
-     * @param name the name of the variable
-     * @return the value of the variable
-     *
+     * Gets the reference name of a variable or array expression
+     * @param ref the reference expression (may be null)
+     * @return the name of the reference, or null if there is none
      */
-    private Object getVariableValue(String ref, String name){
-        if(name.equals("this")){
-            return thisObject;
+    private String getRefName(Expr ref){
+        if (ref == null){
+            return null;
         }
+        return ((VarExpr)ref).getName();
+    }
 
-        boolean isLocal = this.isLocal(ref,name);
-
-        //if array.length
-        if (name.equals("length") && ref != null && !"super".equals(ref) && !"this".equals(ref)){
-            boolean isArrayLocal = this.isLocal(null, ref);
-            if (isArrayLocal){
-                return ((ObjectArrayData)this.getCurrentMethodScope().get(ref)).getLength();
-            }
-            else{
-                return ((ObjectArrayData)this.thisObject).getLength();
-            }
+    /**
+     * Gets the array named by an array expression or array assignment
+     * @param slot the slot of the array if it is a local variable, otherwise -1
+     * @param fieldIndex the field index of the array if it is a field
+     * @param name the name of the array
+     * @param lineNum the line number of the expression
+     * @return the array
+     */
+    private ArrayData getArray(int slot, int fieldIndex, String name, int lineNum){
+        ArrayData array;
+        if (slot >= 0){
+            array = (ArrayData)this.frame[slot];
         }
-        else if(isLocal){
-            return this.getCurrentMethodScope().get(name);
+        else {
+            array = (ArrayData)this.thisObject.getField(fieldIndex);
         }
-        else{
-            return this.thisObject.getField(name,"super".equals(ref));
+        if (array == null){
+            this.throwBantamException("NullPointerException", "Array " + name
+                    + " on line " + lineNum + " is null", lineNum);
         }
+        return array;
     }
 
     /**
-     * Determines if a variable is a local variable
-     * @param ref the reference of the variable
-     * @param name the name of the variable
-     * @return if it is a local variable then returns true
+     * Throws an ArrayIndexOutOfBoundsException if an index is out of the bounds of an array
+     * @param array the array
+     * @param index the index
+     * @param lineNum the line number of the expression
      */
-    private boolean isLocal(String ref, String name){
-        if(ref!=null){
-            return false;
-        }
-        else{
-            return this.getCurrentMethodScope().containsKey(name);
+    private void checkIndex(ArrayData array, int index, int lineNum){
+        if (index >= array.getLength() || index < 0){
+            this.throwBantamException("ArrayIndexOutOfBoundsException",
+                    "Index " + index + " out of bounds.", lineNum);
         }
     }
 
+    /**
+     * Sets the largest array length a program may create
+     * @param maxArrayLength the largest array length
+     */
+    public void setMaxArrayLength(int maxArrayLength){
+        this.maxArrayLength = maxArrayLength;
+    }
+
     /**
      * Returns if type1 is an ancestor of type2
      * @param type1 the possible ancestor
      * @param type2 the object type being checked
      */
     public boolean isAncestorOf(String type1, String type2){
-        ClassTreeNode classTreeNode = this.classMap.get(type2);
+        return isAncestorOf(this.hierarchy, type1, type2);
+    }
+
+    /**
+     * Returns if type1 is an ancestor of type2
+     * @param hierarchy the index of the class hierarchy
+     * @param type1 the possible ancestor
+     * @param type2 the object type being checked
+     */
+    public static boolean isAncestorOf(ClassHierarchy hierarchy, String type1, String type2){
         if(type2.endsWith("[]")){
             if(type1.equals("Object")||type2.equals(type1)){
                 return true;
             }
-            else{
-                classTreeNode = this.classMap.get(type2.substring(0,type2.length()-2));
-                if(type1.endsWith("[]")){
-                    type1 = type1.substring(0,type1.length()-2);
-                }
-            }
-        }
-        //checks the ancestors types
-        while(classTreeNode!=null){
-            if(classTreeNode.getName().equals(type1)){
-                return true;
+            type2 = type2.substring(0,type2.length()-2);
+            if(type1.endsWith("[]")){
+                type1 = type1.substring(0,type1.length()-2);
             }
-            classTreeNode = classTreeNode.getParent();
         }
-        return false;
+        return hierarchy.isSubclassOf(type2, type1);
     }
 
     /**
@@ -173,11 +413,9 @@ public class InterpreterVisitor extends Visitor{
      * @param lineNum the line number on which the exception was thrown
      */
     private void throwBantamException(String type, String message, int lineNum){
-        ObjectData error = (ObjectData) new NewExpr(lineNum,type).accept(this);
-        error.setField("message", new ConstStringExpr(lineNum, message).accept(this), false);
-        BantamException exception = ((BantamException)error.getField("*e",false));
-        exception.setMessage(message);
-        throw exception;
+        ObjectData error = this.newObject(type);
+        this.memberGenerator.setMessage(error, this.memberGenerator.newString(message));
+        throw this.memberGenerator.getException(error);
     }
 
     /**
@@ -186,25 +424,31 @@ public class InterpreterVisitor extends Visitor{
      * @param incrementValue the value to increment or decrement by
      * @return the value of the node
      */
-    private Object incrDecrHelper(UnaryExpr node, int incrementValue) {
-        VarExpr expr = (VarExpr)node.getExpr();
-
-        //finding the correct variable/field
-        String refName = null;
-        if (expr.getRef() != null){
-            refName = ((VarExpr)expr.getRef()).getName();
+    private int incrDecrHelper(UnaryExpr node, int incrementValue) {
+        int oldValue;
+        int newValue;
+
+        //calculating the new value and reassigning it
+        if (node.getExpr() instanceof ArrayExpr){
+            ArrayExpr expr = (ArrayExpr)node.getExpr();
+            IntArrayData array = (IntArrayData) this.getArray(expr.getSlot(),
+                    expr.getFieldIndex(), expr.getName(), node.getLineNum());
+            int index = this.evalInt(expr.getIndex());
+            this.checkIndex(array, index, node.getLineNum());
+            oldValue = array.getInt(index);
+            newValue = oldValue + incrementValue;
+            array.setInt(index, newValue);
         }
-
-        //calculating the new value
-        int oldValue = (int)this.getVariableValue(refName,expr.getName());
-        int newValue = oldValue + incrementValue;
-
-        //reassigning the value
-        if (this.isLocal(refName,expr.getName())){
-            this.getCurrentMethodScope().put(expr.getName(), newValue);
-        }
-        else{
-            this.thisObject.setField(expr.getName(), newValue, "super".equals(refName));
+        else {
+            VarExpr expr = (VarExpr)node.getExpr();
+            oldValue = this.evalInt(expr);
+            newValue = oldValue + incrementValue;
+            if (expr.getSlot() >= 0){
+                this.intFrame[expr.getSlot()] = newValue;
+            }
+            else{
+                this.thisObject.setField(expr.getFieldIndex(), newValue);
+            }
         }
 
         //returning the correct value
@@ -216,21 +460,314 @@ public class InterpreterVisitor extends Visitor{
         }
     }
 
+    /**
+     * Evaluates an expression whose static type is int without boxing its value.
+     * Arithmetic, assignments to local variables, local variables and array elements are
+     * evaluated directly; any other expression is visited and its value unboxed.
+     * @param node the expression node
+     * @return the value of the expression
+     */
+    public int evalInt(Expr node){
+        if (node instanceof VarExpr){
+            int slot = ((VarExpr) node).getSlot();
+            if (slot >= 0){
+                return this.intFrame[slot];
+            }
+        }
+        else if (node instanceof ConstIntExpr){
+            return Integer.parseInt(((ConstIntExpr) node).getConstant());
+        }
+        else if (node instanceof BinaryArithExpr){
+            int left = this.evalInt(((BinaryArithExpr) node).getLeftExpr());
+            int right = this.evalInt(((BinaryArithExpr) node).getRightExpr());
+            if (node instanceof BinaryArithPlusExpr){
+                return left + right;
+            }
+            else if (node instanceof BinaryArithMinusExpr){
+                return left - right;
+            }
+            else if (node instanceof BinaryArithTimesExpr){
+                return left * right;
+            }
+            if (right == 0){
+                this.throwBantamException("DivideByZeroException","Divisor is 0 on line "
+                        + node.getLineNum(),node.getLineNum());
+            }
+            if (node instanceof BinaryArithDivideExpr){
+                return left / right;
+            }
+            return left % right;
+        }
+        else if (node instanceof UnaryNegExpr){
+            return -this.evalInt(((UnaryNegExpr) node).getExpr());
+        }
+        else if (node instanceof ArrayExpr){
+            ArrayExpr arrayExpr = (ArrayExpr) node;
+            IntArrayData array = (IntArrayData) this.getArray(arrayExpr.getSlot(),
+                    arrayExpr.getFieldIndex(), arrayExpr.getName(), arrayExpr.getLineNum());
+            int index = this.evalInt(arrayExpr.getIndex());
+            this.checkIndex(array, index, arrayExpr.getLineNum());
+            return array.getInt(index);
+        }
+        else if (node instanceof UnaryIncrExpr){
+            return this.incrDecrHelper((UnaryExpr) node, 1);
+        }
+        else if (node instanceof UnaryDecrExpr){
+            return this.incrDecrHelper((UnaryExpr) node, -1);
+        }
+        else if (node instanceof AssignExpr){
+            AssignExpr assignExpr = (AssignExpr) node;
+            if (assignExpr.getSlot() >= 0){
+                int value = this.evalInt(assignExpr.getExpr());
+                this.intFrame[assignExpr.getSlot()] = value;
+                return value;
+            }
+        }
+        return (int) node.accept(this);
+    }
+
+    /**
+     * Evaluates an expression whose static type is boolean without boxing its value.
+     * Comparisons, logical operators, assignments to local variables, local variables and
+     * array elements are evaluated directly; any other expression is visited and its value
+     * unboxed.
+     * @param node the expression node
+     * @return the value of the expression
+     */
+    public boolean evalBoolean(Expr node){
+        if (node instanceof VarExpr){
+            int slot = ((VarExpr) node).getSlot();
+            if (slot >= 0){
+                return this.intFrame[slot] != 0;
+            }
+        }
+        else if (node instanceof ConstBooleanExpr){
+            return Boolean.parseBoolean(((ConstBooleanExpr) node).getConstant());
+        }
+        else if (node instanceof BinaryCompEqExpr || node instanceof BinaryCompNeExpr){
+            boolean equal = this.evalEquals((BinaryCompExpr) node);
+            return node instanceof BinaryCompEqExpr ? equal : !equal;
+        }
+        else if (node instanceof BinaryCompExpr){
+            int left = this.evalInt(((BinaryCompExpr) node).getLeftExpr());
+            int right = this.evalInt(((BinaryCompExpr) node).getRightExpr());
+            if (node instanceof BinaryCompLtExpr){
+                return left < right;
+            }
+            else if (node instanceof BinaryCompLeqExpr){
+                return left <= right;
+            }
+            else if (node instanceof BinaryCompGtExpr){
+                return left > right;
+            }
+            return left >= right;
+        }
+        else if (node instanceof BinaryLogicAndExpr){
+            return this.evalBoolean(((BinaryLogicAndExpr) node).getLeftExpr())
+                    && this.evalBoolean(((BinaryLogicAndExpr) node).getRightExpr());
+        }
+        else if (node instanceof BinaryLogicOrExpr){
+            return this.evalBoolean(((BinaryLogicOrExpr) node).getLeftExpr())
+                    || this.evalBoolean(((BinaryLogicOrExpr) node).getRightExpr());
+        }
+        else if (node instanceof UnaryNotExpr){
+            return !this.evalBoolean(((UnaryNotExpr) node).getExpr());
+        }
+        else if (node instanceof ArrayExpr){
+            ArrayExpr arrayExpr = (ArrayExpr) node;
+            BooleanArrayData array = (BooleanArrayData) this.getArray(arrayExpr.getSlot(),
+                    arrayExpr.getFieldIndex(), arrayExpr.getName(), arrayExpr.getLineNum());
+            int index = this.evalInt(arrayExpr.getIndex());
+            this.checkIndex(array, index, arrayExpr.getLineNum());
+            return array.getBoolean(index);
+        }
+        else if (node instanceof AssignExpr){
+            AssignExpr assignExpr = (AssignExpr) node;
+            if (assignExpr.getSlot() >= 0){
+                boolean value = this.evalBoolean(assignExpr.getExpr());
+                this.intFrame[assignExpr.getSlot()] = value ? 1 : 0;
+                return value;
+            }
+        }
+        return (boolean) node.accept(this);
+    }
+
+    /**
+     * Evaluates an equality comparison, comparing ints and booleans by value
+     * and objects by reference
+     * @param node the == or != expression node
+     * @return if the two operands are equal
+     */
+    private boolean evalEquals(BinaryCompExpr node){
+        Expr left = node.getLeftExpr();
+        Expr right = node.getRightExpr();
+        if ("int".equals(left.getExprType())){
+            return this.evalInt(left) == this.evalInt(right);
+        }
+        else if ("boolean".equals(left.getExprType())){
+            return this.evalBoolean(left) == this.evalBoolean(right);
+        }
+        return left.accept(this) == right.accept(this);
+    }
+
+    /**
+     * Evaluates an expression only for its side effects, without boxing its value
+     * @param node the expression node
+     */
+    protected void evalEffect(Expr node){
+        if ("int".equals(node.getExprType())){
+            this.evalInt(node);
+        }
+        else if ("boolean".equals(node.getExprType())){
+            this.evalBoolean(node);
+        }
+        else {
+            node.accept(this);
+        }
+    }
+
+    /**
+     * Sets the limits of the program.  The budget and the deadline are checked at every
+     * loop iteration and method call, though the deadline is only looked at every few
+     * thousand steps.
+     * @param maxSteps the largest number of steps the program may take (0 for no budget)
+     * @param timeout the time the program may run in milliseconds (0 for no deadline)
+     */
+    public void setLimits(long maxSteps, long timeout){
+        this.maxSteps = maxSteps;
+        this.hasDeadline = timeout > 0;
+        this.deadline = System.nanoTime() + timeout * 1000000;
+        this.stepsChecked = 0;
+        this.stepsLeft = 0;
+        this.scheduleCheck();
+    }
+
+    /**
+     * Gets the number of steps (loop iterations and method calls) the program has taken
+     * @return the number of steps
+     */
+    public long getStepsTaken(){
+        return this.stepsChecked - this.stepsLeft;
+    }
+
+    /**
+     * Takes a step of the program, stopping the program if that is more than its limits
+     * allow.  This is called at every loop iteration and method call.
+     * @param node the loop or method
+     */
+    protected final void step(ASTNode node){
+        if (--this.stepsLeft == 0){
+            this.checkLimits(node);
+        }
+    }
+
+    /**
+     * Checks the limits of the program, which took the last step it was allowed before
+     * the check
+     * @param node the loop or method being stepped into
+     */
+    private void checkLimits(ASTNode node){
+        if (this.maxSteps > 0 && this.stepsChecked > this.maxSteps){
+            throw new ExecutionLimitExceeded(false, this.maxSteps, node.getLineNum());
+        }
+        if (this.hasDeadline && System.nanoTime() - this.deadline > 0){
+            throw new ExecutionLimitExceeded(true, this.stepsChecked - 1, node.getLineNum());
+        }
+        this.scheduleCheck();
+    }
+
+    /**
+     * Schedules the next check of the limits, right after the last step of the budget
+     * if that comes first
+     */
+    private void scheduleCheck(){
+        int steps = CHECK_INTERVAL;
+        if (this.maxSteps > 0 && this.maxSteps - this.stepsChecked < steps){
+            steps = (int) (this.maxSteps - this.stepsChecked) + 1;
+        }
+        this.stepsLeft = steps;
+        this.stepsChecked += steps;
+    }
+
     /**
      * Visits a method
      * @param node the method node
      * @return the return value of the method
      */
     public Object visit(Method node) {
+        this.step(node);
         Object returnValue = null;
-        try {
-            node.getStmtList().accept(this);
-        } catch (ReturnStmtException e){
-            returnValue = e.getReturnValue();
+        if (node.getStmtList().accept(this) == Completion.RETURN){
+            returnValue = this.returnValue;
+            this.returnValue = null;
         }
         return returnValue;
     }
 
+    /**
+     * Visits a list of statements, stopping at the first statement that does not
+     * complete normally
+     * @param node the statement list node
+     * @return the completion of the list (null if it completed normally)
+     */
+    public Object visit(StmtList node) {
+        for (ASTNode stmt : node) {
+            Object completion = stmt.accept(this);
+            if (completion != null) {
+                return completion;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Visits a block statement node
+     * @param node the block statement node
+     * @return the completion of the block (null if it completed normally)
+     */
+    public Object visit(BlockStmt node) {
+        return node.getStmtList().accept(this);
+    }
+
+
+    /**
+     * Prints the hits and misses of the inline caches of the call sites that were called
+     * @param out the stream to print to
+     */
+    public void printInlineCacheStats(PrintStream out){
+        int hits = 0;
+        int misses = 0;
+        for (InlineCache inlineCache : this.inlineCaches){
+            if (inlineCache != null){
+                hits += inlineCache.getHits();
+                misses += inlineCache.getMisses();
+            }
+        }
+        out.println("Inline caches: " + hits + " hits, " + misses + " misses");
+        for (InlineCache inlineCache : this.inlineCaches){
+            if (inlineCache != null){
+                out.println("  " + inlineCache);
+            }
+        }
+    }
+
+    /**
+     * Prints the use of the tables of results of the pure methods
+     * @param out the stream to print to
+     */
+    public void printMemoStats(PrintStream out){
+        long hits = 0;
+        long misses = 0;
+        for (MemoTable memoTable : this.memoTables){
+            hits += memoTable.getHits();
+            misses += memoTable.getMisses();
+        }
+        out.println("Memo tables: " + this.memoTables.size() + " pure methods, " + hits
+                + " hits, " + misses + " misses");
+        for (MemoTable memoTable : this.memoTables){
+            out.println("  " + memoTable);
+        }
+    }
 
     /**
      * Visits a dispatch expr, executing the method body
@@ -238,50 +775,32 @@ public class InterpreterVisitor extends Visitor{
      * @return the return value of the method
      */
     public Object visit(DispatchExpr node) {
-        //Change "this" object over to new method callee
+        //figuring out the correct reference to call the method on
         ObjectData objectData = this.thisObject;
-        //figuring out the correct reference
-        String refName = null;
-        if(node.getRefExpr() instanceof VarExpr){
-            refName = ((VarExpr)node.getRefExpr()).getName();
-        }
-        if(node.getRefExpr() == null){//If the method has no reference, it is "this"
-            refName = "this";
-        }
-
-        //getting the correct reference to call the method on
-        boolean isSuper = false;
-        if("super".equals(refName)){
-            isSuper = true;
-        }
-        else if (!"this".equals(refName)){ //different object
-            objectData = (ObjectData)node.getRefExpr().accept(this);
+        Expr refExpr = node.getRefExpr();
+        if (node.getSuperClassName() == null && refExpr != null && !(refExpr instanceof VarExpr
+                && ((VarExpr) refExpr).getName().equals("this"))){ //different object
+            objectData = (ObjectData) refExpr.accept(this);
             if(objectData == null){
                 this.throwBantamException("NullPointerException","Reference object of call to "
                         +node.getMethodName()+" on line "+node.getLineNum()+" is null",node.getLineNum());
             }
         }
-
-
-
-        int scope = objectData.getMethodScope(node.getMethodName(), isSuper);
-
-        //Set hierarchy to new hierarchy level while saving old one
-        int oldHierarchy = objectData.getHierarchyLevel();
-        objectData.setHierarchyLevel(scope);
-        MethodBody methodBody = objectData.getMethod(node.getMethodName(), scope);
-        Object returnValue;
-        try {
-            returnValue = methodBody.execute(node.getActualList());
-        }
-        catch(BantamException e){
-            objectData.setHierarchyLevel(oldHierarchy);
-            throw e;
+        InlineCache inlineCache = this.inlineCaches[node.getSiteIndex()];
+        if (inlineCache == null){
+            inlineCache = new InlineCache(node, node.getSuperClassName() == null ? null
+                    : this.layouts.get(node.getSuperClassName()).getMethods());
+            this.inlineCaches[node.getSiteIndex()] = inlineCache;
         }
-        //Set hierarchy back to before value
-        objectData.setHierarchyLevel(oldHierarchy);
+        MethodBody methodBody = inlineCache.lookup(objectData);
 
-        return returnValue;
+        //evaluating the actual parameters in the caller's context
+        ExprList actualList = node.getActualList();
+        Object[] args = new Object[actualList.getSize()];
+        for (int i = 0; i < args.length; i++){
+            args[i] = actualList.get(i).accept(this);
+        }
+        return methodBody.execute(objectData, args);
     }
 
     /**
@@ -299,10 +818,10 @@ public class InterpreterVisitor extends Visitor{
      * @return a new object data
      */
     public Object visit(NewExpr newExpr){
-        ClassTreeNode classTreeNode = this.classMap.get(newExpr.getType());
-        ObjectData objectData = new ObjectData(newExpr.getType());
-        new InstantiationVisitor(this, objectData, classTreeNode);
-        return objectData;
+        if (newExpr.getType().equals("String")){
+            return this.memberGenerator.newString("");
+        }
+        return this.newObject(newExpr.getType());
     }
 
     /**
@@ -312,8 +831,26 @@ public class InterpreterVisitor extends Visitor{
      * @return null;
      */
     public Object visit(DeclStmt node) {
-        Object value = node.getInit().accept(this);
-        this.getCurrentMethodScope().put(node.getName(),value);
+        if (node.getType().equals("int")) {
+            this.intFrame[node.getSlot()] = this.evalInt(node.getInit());
+        }
+        else if (node.getType().equals("boolean")) {
+            this.intFrame[node.getSlot()] = this.evalBoolean(node.getInit()) ? 1 : 0;
+        }
+        else {
+            this.frame[node.getSlot()] = node.getInit().accept(this);
+        }
+        return null;
+    }
+
+    /**
+     * Visit an expression statement node, evaluating the expression for its side effects
+     *
+     * @param node the expression statement node
+     * @return null
+     */
+    public Object visit(ExprStmt node) {
+        this.evalEffect(node.getExpr());
         return null;
     }
 
@@ -322,14 +859,14 @@ public class InterpreterVisitor extends Visitor{
      * or the else statement if it is false
      *
      * @param node the if statement node
-     * @return null
+     * @return the completion of the branch taken (null if it completed normally)
      */
     public Object visit(IfStmt node) {
-        if((boolean)node.getPredExpr().accept(this)){
-            node.getThenStmt().accept(this);
+        if(this.evalBoolean(node.getPredExpr())){
+            return node.getThenStmt().accept(this);
         }
         else if (node.getElseStmt() != null) {
-            node.getElseStmt().accept(this);
+            return node.getElseStmt().accept(this);
         }
         return null;
     }
@@ -338,14 +875,19 @@ public class InterpreterVisitor extends Visitor{
      * Visit a while statement node, excecuting the body while the condition is true
      *
      * @param node the while statement node
-     * @return null
+     * @return the return completion if the body returned, otherwise null
      */
     public Object visit(WhileStmt node) {
-        try {
-            while((boolean)node.getPredExpr().accept(this)) {
-                node.getBodyStmt().accept(this);
+        while(this.evalBoolean(node.getPredExpr())) {
+            this.step(node);
+            Object completion = node.getBodyStmt().accept(this);
+            if (completion == Completion.BREAK) {
+                break;
             }
-        } catch(BreakStmtException ignored){}
+            else if (completion != null) {
+                return completion;
+            }
+        }
         return null;
     }
 
@@ -353,21 +895,26 @@ public class InterpreterVisitor extends Visitor{
      * Visit a for statement node, executing the body while the condition is true
      *
      * @param node the for statement node
-     * @return null
+     * @return the return completion if the body returned, otherwise null
      */
     public Object visit(ForStmt node) {
         if (node.getInitExpr() != null) {
-            node.getInitExpr().accept(this);
-        }
-        try{
-            //while condition is true execute the body
-            while(node.getPredExpr()==null || (boolean)node.getPredExpr().accept(this)) {
-                node.getBodyStmt().accept(this);
-                if (node.getUpdateExpr() != null) {
-                    node.getUpdateExpr().accept(this);
-                }
+            this.evalEffect(node.getInitExpr());
+        }
+        //while condition is true execute the body
+        while(node.getPredExpr()==null || this.evalBoolean(node.getPredExpr())) {
+            this.step(node);
+            Object completion = node.getBodyStmt().accept(this);
+            if (completion == Completion.BREAK) {
+                break;
+            }
+            else if (completion != null) {
+                return completion;
             }
-        } catch (BreakStmtException ignored){}
+            if (node.getUpdateExpr() != null) {
+                this.evalEffect(node.getUpdateExpr());
+            }
+        }
         return null;
     }
 
@@ -375,25 +922,25 @@ public class InterpreterVisitor extends Visitor{
      * Visit a break statement node
      *
      * @param node the break statement node
-     * @return null;
+     * @return the break completion
      */
     public Object visit(BreakStmt node) {
-        throw new BreakStmtException();
+        return Completion.BREAK;
     }
 
     /**
      * Visit a return statement node
      *
      * @param node the return statement node
-     * @return null
+     * @return the return completion
      */
     public Object visit(ReturnStmt node) {
         Object returnValue = null;
         if (node.getExpr() != null) {
             returnValue = node.getExpr().accept(this);
         }
-        throw new ReturnStmtException(returnValue);
-
+        this.returnValue = returnValue;
+        return Completion.RETURN;
     }
 
     /**
@@ -445,13 +992,18 @@ public class InterpreterVisitor extends Visitor{
      * @return the object
      */
     public Object visit(AssignExpr node) {
+        if(node.getSlot() >= 0 && "int".equals(node.getExprType())){
+            return this.evalInt(node);
+        }
+        else if(node.getSlot() >= 0 && "boolean".equals(node.getExprType())){
+            return this.evalBoolean(node);
+        }
         Object obj = node.getExpr().accept(this);
-        boolean isLocal = this.isLocal(node.getRefName(),node.getName());
-        if(isLocal){
-            this.getCurrentMethodScope().put(node.getName(),obj);
+        if(node.getSlot() >= 0){
+            this.frame[node.getSlot()] = obj;
         }
         else{
-            this.thisObject.setField(node.getName(),obj,"super".equals(node.getRefName()));
+            this.thisObject.setField(node.getFieldIndex(),obj);
         }
         return obj;
     }
@@ -463,9 +1015,7 @@ public class InterpreterVisitor extends Visitor{
      * @return if the given nodes are equal
      */
     public Object visit(BinaryCompEqExpr node) {
-        Object left = node.getLeftExpr().accept(this);
-        Object right = node.getRightExpr().accept(this);
-        return left == right;
+        return this.evalBoolean(node);
     }
 
     /**
@@ -476,9 +1026,7 @@ public class InterpreterVisitor extends Visitor{
      * @return if the two nodes are not equal
      */
     public Object visit(BinaryCompNeExpr node) {
-        Object left = node.getLeftExpr().accept(this);
-        Object right = node.getRightExpr().accept(this);
-        return left != right;
+        return this.evalBoolean(node);
     }
 
     /**
@@ -489,9 +1037,7 @@ public class InterpreterVisitor extends Visitor{
      * @return if the left subtree < right subtree
      */
     public Object visit(BinaryCompLtExpr node) {
-        int left = (int)node.getLeftExpr().accept(this);
-        int right = (int)node.getRightExpr().accept(this);
-        return left < right;
+        return this.evalBoolean(node);
     }
 
     /**
@@ -502,9 +1048,7 @@ public class InterpreterVisitor extends Visitor{
      * @return if the left subtree <= right subtree
      */
     public Object visit(BinaryCompLeqExpr node) {
-        int left = (int)node.getLeftExpr().accept(this);
-        int right = (int)node.getRightExpr().accept(this);
-        return left <= right;
+        return this.evalBoolean(node);
     }
 
     /**
@@ -515,9 +1059,7 @@ public class InterpreterVisitor extends Visitor{
      * @return if the left subtree > right subtree
      */
     public Object visit(BinaryCompGtExpr node) {
-        int left = (int)node.getLeftExpr().accept(this);
-        int right = (int)node.getRightExpr().accept(this);
-        return left > right;
+        return this.evalBoolean(node);
     }
 
     /**
@@ -528,9 +1070,7 @@ public class InterpreterVisitor extends Visitor{
      * @return if the left subtree >= right subtree
      */
     public Object visit(BinaryCompGeqExpr node) {
-        int left = (int)node.getLeftExpr().accept(this);
-        int right = (int)node.getRightExpr().accept(this);
-        return left >= right;
+        return this.evalBoolean(node);
     }
 
 
@@ -542,9 +1082,7 @@ public class InterpreterVisitor extends Visitor{
      * @return result of adding the left and right subtree
      */
     public Object visit(BinaryArithPlusExpr node) {
-        int left = (int)node.getLeftExpr().accept(this);
-        int right = (int)node.getRightExpr().accept(this);
-        return left + right;
+        return this.evalInt(node);
     }
 
     /**
@@ -555,9 +1093,7 @@ public class InterpreterVisitor extends Visitor{
      * @return result subtracting the right from the left
      */
     public Object visit(BinaryArithMinusExpr node) {
-        int left = (int)node.getLeftExpr().accept(this);
-        int right = (int)node.getRightExpr().accept(this);
-        return left - right;
+        return this.evalInt(node);
     }
 
     /**
@@ -568,9 +1104,7 @@ public class InterpreterVisitor extends Visitor{
      * @return result of multiplying the right and the left subtrees
      */
     public Object visit(BinaryArithTimesExpr node) {
-        int left = (int)node.getLeftExpr().accept(this);
-        int right = (int)node.getRightExpr().accept(this);
-        return left*right;
+        return this.evalInt(node);
     }
 
     /**
@@ -581,14 +1115,7 @@ public class InterpreterVisitor extends Visitor{
      * @return result of dividing them
      */
     public Object visit(BinaryArithDivideExpr node) {
-        int left = (int)node.getLeftExpr().accept(this);
-        int right = (int)node.getRightExpr().accept(this);
-        if(right == 0){
-            this.throwBantamException("DivideByZeroException","Divisor is 0 on line "
-                    + node.getLineNum(),node.getLineNum());
-
-        }
-        return left/right;
+        return this.evalInt(node);
     }
 
     /**
@@ -599,13 +1126,7 @@ public class InterpreterVisitor extends Visitor{
      * @return result of moding
      */
     public Object visit(BinaryArithModulusExpr node) {
-        int left = (int)node.getLeftExpr().accept(this);
-        int right = (int)node.getRightExpr().accept(this);
-        if(right == 0){
-            this.throwBantamException("DivideByZeroException","Divisor is 0 on line "
-                    + node.getLineNum(),node.getLineNum());
-        }
-        return left%right;
+        return this.evalInt(node);
     }
 
     /**
@@ -615,11 +1136,7 @@ public class InterpreterVisitor extends Visitor{
      * @return result of anding them together
      */
     public Object visit(BinaryLogicAndExpr node) {
-        boolean left = (boolean)node.getLeftExpr().accept(this);
-        if(left) {
-            return node.getRightExpr().accept(this);
-        }
-        return false;
+        return this.evalBoolean(node);
     }
 
     /**
@@ -630,11 +1147,7 @@ public class InterpreterVisitor extends Visitor{
      * @return result of or-ing
      */
     public Object visit(BinaryLogicOrExpr node) {
-        boolean left = (boolean)node.getLeftExpr().accept(this);
-        if(!left) {
-            return node.getRightExpr().accept(this);
-        }
-        return true;
+        return this.evalBoolean(node);
     }
 
     /**
@@ -644,8 +1157,7 @@ public class InterpreterVisitor extends Visitor{
      * @return result of the negation
      */
     public Object visit(UnaryNegExpr node) {
-        int val = (int)node.getExpr().accept(this);
-        return -val;
+        return this.evalInt(node);
     }
 
     /**
@@ -655,8 +1167,7 @@ public class InterpreterVisitor extends Visitor{
      * @return result of not-ing the value
      */
     public Object visit(UnaryNotExpr node) {
-        boolean val = (boolean)node.getExpr().accept(this);
-        return !val;
+        return this.evalBoolean(node);
     }
 
     /**
@@ -666,7 +1177,7 @@ public class InterpreterVisitor extends Visitor{
      * @return resulting value from incrementing
      */
     public Object visit(UnaryIncrExpr node) {
-        return this.incrDecrHelper(node, 1);
+        return this.evalInt(node);
     }
 
     /**
@@ -676,7 +1187,7 @@ public class InterpreterVisitor extends Visitor{
      * @return resulting value from decrementing
      */
     public Object visit(UnaryDecrExpr node) {
-        return this.incrDecrHelper(node, -1);
+        return this.evalInt(node);
     }
 
     /**
@@ -686,11 +1197,35 @@ public class InterpreterVisitor extends Visitor{
      * @return the value of the variable
      */
     public Object visit(VarExpr node) {
-        String refName = null;
-        if (node.getRef() != null) {
-            refName = ((VarExpr)node.getRef()).getName();
+        if (node.getSlot() >= 0) {
+            if ("int".equals(node.getExprType())) {
+                return this.intFrame[node.getSlot()];
+            }
+            else if ("boolean".equals(node.getExprType())) {
+                return this.intFrame[node.getSlot()] != 0;
+            }
+            return this.frame[node.getSlot()];
+        }
+        String name = node.getName();
+        if (name.equals("this")) {
+            return this.thisObject;
         }
-        return this.getVariableValue(refName,node.getName());
+        else if (name.equals("null")) {
+            return null;
+        }
+
+        String refName = this.getRefName(node.getRef());
+        //if array.length
+        if (name.equals("length") && refName != null && !"super".equals(refName)
+                && !"this".equals(refName)) {
+            ArrayData array = (ArrayData)node.getRef().accept(this);
+            if (array == null){
+                this.throwBantamException("NullPointerException", "Array " + refName
+                        + " on line " + node.getLineNum() + " is null", node.getLineNum());
+            }
+            return array.getLength();
+        }
+        return this.thisObject.getField(node.getFieldIndex());
     }
 
     /**
@@ -700,7 +1235,7 @@ public class InterpreterVisitor extends Visitor{
      * @return the integer value of the node
      */
     public Object visit(ConstIntExpr node) {
-        return Integer.parseInt(node.getConstant());
+        return this.evalInt(node);
     }
 
     /**
@@ -721,34 +1256,11 @@ public class InterpreterVisitor extends Visitor{
      * @return the object data representation of the string
      */
     public Object visit(ConstStringExpr node) {
-        ObjectData strObjectData = new ObjectData("String");
-        new InstantiationVisitor(this, strObjectData,this.classMap.get("String"));
-
-        //replacing "\n" string with new line character
-        String oldstr = node.getConstant();
-        String newstr = "";
-        //Taken from mipsSupport, edited by PYYLCH, SL, JDM
-        for (int i = 0; i < oldstr.length(); i++) {
-            if (oldstr.charAt(i) == '\\' && i < oldstr.length() - 1) {
-                if (oldstr.charAt(i + 1) == 'n') {
-                    newstr+="\n";
-                } else if (oldstr.charAt(i + 1) == 't') {
-                    newstr+="\t";
-                } else if (oldstr.charAt(i + 1) == 'f') {
-                    newstr+="\f";
-                } else if (oldstr.charAt(i + 1) == '"') {
-                    newstr+="\"";
-                } else if (oldstr.charAt(i + 1) == '\\') {
-                    newstr+="\\";
-                }
-                // backslash is not allowed in front of any other char
-                i++;
-            } else {
-                newstr+=oldstr.charAt(i);
-            }
+        StringData strObjectData = this.stringConstants.get(node.getValue());
+        if (strObjectData == null) {
+            strObjectData = this.memberGenerator.newString(node.getValue());
+            this.stringConstants.put(node.getValue(), strObjectData);
         }
-        strObjectData.setField("length",newstr.length(),false);
-        strObjectData.setField("*str",newstr,false);
         return strObjectData;
     }
 
@@ -756,17 +1268,16 @@ public class InterpreterVisitor extends Visitor{
      * Visits a TryStmt node and executes the code
      *
      * @param node the ASTNode
-     * @return null
+     * @return the completion of the try or catch body (null if it completed normally)
      */
     public Object visit(TryStmt node) {
         try {
-            node.getStmtList().accept(this);
+            return node.getStmtList().accept(this);
         }
         catch (BantamException e) {
             this.currentException = e.getExceptionObject();
-            node.getCatchList().accept(this);
+            return node.getCatchList().accept(this);
         }
-        return null;
     }
 
     /**
@@ -783,7 +1294,7 @@ public class InterpreterVisitor extends Visitor{
                     "The value null was thrown on line "+node.getLineNum(),node.getLineNum());
         }
         else {
-            throw (BantamException)data.getField("*e",false);
+            throw this.memberGenerator.getException(data);
         }
         return null;
     }
@@ -792,12 +1303,11 @@ public class InterpreterVisitor extends Visitor{
      * Catches an exception and executes the code in the body of the catch
      *
      * @param node the CatchStmt node
-     * @return null
+     * @return the completion of the catch body (null if it completed normally)
      */
     public Object visit(CatchStmt node) {
-        this.getCurrentMethodScope().put(node.getFormal().getName(),this.currentException);
-        node.getStmtList().accept(this);
-        return null;
+        this.frame[node.getFormal().getSlot()] = this.currentException;
+        return node.getStmtList().accept(this);
     }
 
     /**
@@ -805,42 +1315,33 @@ public class InterpreterVisitor extends Visitor{
      * catch. If none catch it, rethrows the exception.
      *
      * @param node the CatchList node
-     * @return null
+     * @return the completion of the catch body (null if it completed normally)
      */
     public Object visit(CatchList node) {
         for (ASTNode catchNode : node){
             if(this.isAncestorOf(((CatchStmt) catchNode).getFormal().getType(),
                     this.currentException.getType())) {
-                catchNode.accept(this);
-                return null;
+                return catchNode.accept(this);
             }
         }
-        throw (BantamException) this.currentException.getField("*e",false);
+        throw this.memberGenerator.getException(this.currentException);
     }
 
 
     /**
      * Creates and returns a new array object corresponding to this NewArrayExpr
      * @param node the new array expression node
-     * @return the new ObjectArrayData
+     * @return the new ArrayData
      */
     public Object visit(NewArrayExpr node) {
-        Integer size = (Integer)node.getSize().accept(this);
+        int size = this.evalInt(node.getSize());
 
-        if (size > 1500 || size < 0){
+        if (size > this.maxArrayLength || size < 0){
             this.throwBantamException("ArraySizeException",
-                    "Size must be in range 0 to 1500.", node.getLineNum());
+                    "Size must be in range 0 to " + this.maxArrayLength + ".", node.getLineNum());
         }
 
-        ObjectArrayData objectArrayData = new ObjectArrayData(node.getType(), size);
-
-        //instantiate the array
-        BuiltInMemberGenerator memberGenerator = new BuiltInMemberGenerator(this);
-        HashMap<String, MethodBody> methods = new HashMap<>();
-        memberGenerator.genArrays(methods, objectArrayData);
-        objectArrayData.pushMethods(methods);
-
-        return objectArrayData;
+        return this.newArray(node.getType(), size);
     }
 
 
@@ -850,34 +1351,42 @@ public class InterpreterVisitor extends Visitor{
      * @return the value assigned to the array
      */
     public Object visit(ArrayAssignExpr node) {
-        int index = (int)node.getIndex().accept(this);
-        Object val = node.getExpr().accept(this);
-        boolean isLocal = this.isLocal(node.getRefName(),node.getName());
-        ObjectArrayData objectArrayData;
-        if(isLocal){
-            objectArrayData = (ObjectArrayData)this.getCurrentMethodScope().get(node.getName());
+        int index = this.evalInt(node.getIndex());
+        Expr expr = node.getExpr();
+        String exprType = expr.getExprType();
+
+        //ints and booleans can only be stored in arrays of their own type
+        if ("int".equals(exprType)){
+            int value = this.evalInt(expr);
+            IntArrayData array = (IntArrayData) this.getArray(node.getSlot(),
+                    node.getFieldIndex(), node.getName(), node.getLineNum());
+            this.checkIndex(array, index, node.getLineNum());
+            array.setInt(index, value);
+            return value;
         }
-        else{
-            objectArrayData = (ObjectArrayData)this.thisObject;
+        else if ("boolean".equals(exprType)){
+            boolean value = this.evalBoolean(expr);
+            BooleanArrayData array = (BooleanArrayData) this.getArray(node.getSlot(),
+                    node.getFieldIndex(), node.getName(), node.getLineNum());
+            this.checkIndex(array, index, node.getLineNum());
+            array.setBoolean(index, value);
+            return value;
         }
 
-        String arrayType = objectArrayData.getType();
-        arrayType = arrayType.substring(0, arrayType.length()-2);
-        String exprType = node.getExpr().getExprType();
-
-        if (!arrayType.equals(exprType) && !this.isAncestorOf(arrayType, exprType)){
+        Object val = expr.accept(this);
+        ObjectArrayData array = (ObjectArrayData) this.getArray(node.getSlot(),
+                node.getFieldIndex(), node.getName(), node.getLineNum());
+        if (!array.canStore(node.getExprClassId())){
+            String arrayType = array.getType();
             this.throwBantamException("ArrayStoreException",
                     "Cannot assign an array element of type " + exprType +
-                            " to an array of dynamic type " + arrayType + "[].",
+                            " to an array of dynamic type " + arrayType + ".",
                     node.getLineNum());
         }
-        else if (index >= objectArrayData.getLength() || index < 0){
-            this.throwBantamException("ArrayIndexOutOfBoundsException",
-                    "Index " + index + " out of bounds.", node.getLineNum());
-        }
-        objectArrayData.setItem(index, val);
+        this.checkIndex(array, index, node.getLineNum());
+        array.setItem(index, val);
 
-        return null;
+        return val;
     }
 
     /**
@@ -886,17 +1395,10 @@ public class InterpreterVisitor extends Visitor{
      * @return the array element
      */
     public Object visit(ArrayExpr node) {
-        String refName = null;
-        if (node.getRef() != null) {
-            refName = ((VarExpr)node.getRef()).getName();
-        }
-        ObjectArrayData objectArrayData =
-                (ObjectArrayData) this.getVariableValue(refName,node.getName());
-        int index = (int)node.getIndex().accept(this);
-        if (index >= objectArrayData.getLength() || index < 0){
-            this.throwBantamException("ArrayIndexOutOfBoundsException",
-                    "Index " + index + " out of bounds.", node.getLineNum());
-        }
-        return objectArrayData.getItem(index);
+        ArrayData array = this.getArray(node.getSlot(), node.getFieldIndex(),
+                node.getName(), node.getLineNum());
+        int index = this.evalInt(node.getIndex());
+        this.checkIndex(array, index, node.getLineNum());
+        return array.getItem(index);
     }
 }
@@ -0,0 +1,175 @@
+/*
+ * File: MemoTable.java
+ * Author: Phoebe Hughes, Siyuan Li, Joseph Malionek
+ * Date: 10/18/26
+ */
+
+package bantam.interp;
+
+import java.util.Arrays;
+
+/**
+ * The table of results of a pure method, keyed on its int and boolean arguments
+ * (booleans as 0 or 1).  It is direct mapped, so each set of arguments has one entry
+ * it can be in and a new result replaces the one there, which bounds the table's
+ * memory no matter how many different arguments the method is called with.  The keys
+ * are kept unboxed in one int array, and the table is only allocated once the method
+ * returns for the first time.
+ */
+class MemoTable {
+
+    /**
+     * The number of entries of a table (a power of 2)
+     */
+    private static final int SIZE = 1 << 12;
+
+    /**
+     * The name of the method, with the name of its class
+     */
+    private String name;
+
+    /**
+     * The number of parameters of the method
+     */
+    private int numParams;
+
+    /**
+     * The arguments of the entries, numParams per entry (null until allocated)
+     */
+    private int[] keys;
+
+    /**
+     * The results of the entries (null for an empty entry)
+     */
+    private Object[] values;
+
+    /**
+     * The number of calls that found their result in the table
+     */
+    private long hits;
+
+    /**
+     * The number of calls that did not
+     */
+    private long misses;
+
+    /**
+     * The number of results that replaced the result of other arguments
+     */
+    private long evictions;
+
+    /**
+     * Creates an empty table
+     * @param name the name of the method, with the name of its class
+     * @param numParams the number of parameters of the method
+     */
+    MemoTable(String name, int numParams) {
+        this.name = name;
+        this.numParams = numParams;
+    }
+
+    /**
+     * Converts an int or boolean argument to an int
+     * @param arg the argument (an Integer or a Boolean)
+     * @return the argument as an int
+     */
+    private static int toInt(Object arg) {
+        return arg instanceof Integer ? (Integer) arg : (Boolean) arg ? 1 : 0;
+    }
+
+    /**
+     * Finds the entry of a set of arguments
+     * @param args the arguments
+     * @return the index of the entry
+     */
+    private int indexOf(Object[] args) {
+        int hash = 0;
+        for (Object arg : args) {
+            hash = (hash + toInt(arg)) * 0x9E3779B9;
+        }
+        return (hash ^ hash >>> 16) & (SIZE - 1);
+    }
+
+    /**
+     * Looks up the result of a call
+     * @param args the arguments of the call
+     * @return the result, or null if it is not in the table
+     */
+    Object get(Object[] args) {
+        if (this.values != null) {
+            int index = this.indexOf(args);
+            Object value = this.values[index];
+            if (value != null) {
+                int offset = index * this.numParams;
+                boolean found = true;
+                for (int i = 0; i < args.length && found; i++) {
+                    found = this.keys[offset + i] == toInt(args[i]);
+                }
+                if (found) {
+                    this.hits++;
+                    return value;
+                }
+            }
+        }
+        this.misses++;
+        return null;
+    }
+
+    /**
+     * Stores the result of a call
+     * @param args the arguments of the call
+     * @param value the result
+     */
+    void put(Object[] args, Object value) {
+        if (this.values == null) {
+            this.keys = new int[SIZE * this.numParams];
+            this.values = new Object[SIZE];
+        }
+        int index = this.indexOf(args);
+        if (this.values[index] != null) {
+            this.evictions++;
+        }
+        int offset = index * this.numParams;
+        for (int i = 0; i < args.length; i++) {
+            this.keys[offset + i] = toInt(args[i]);
+        }
+        this.values[index] = value;
+    }
+
+    /**
+     * Gets the number of calls that found their result in the table
+     * @return the number of hits
+     */
+    long getHits() {
+        return this.hits;
+    }
+
+    /**
+     * Gets the number of calls that did not find their result in the table
+     * @return the number of misses
+     */
+    long getMisses() {
+        return this.misses;
+    }
+
+    /**
+     * Gets the number of entries holding a result
+     * @return the number of entries in use
+     */
+    private int getNumEntries() {
+        if (this.values == null) {
+            return 0;
+        }
+        return (int) Arrays.stream(this.values).filter(value -> value != null).count();
+    }
+
+    /**
+     * Gets a summary of the table's use
+     * @return the summary
+     */
+    @Override
+    public String toString() {
+        return this.name + ": " + this.hits + " hits, " + this.misses + " misses, "
+                + this.evictions + " evictions, " + this.getNumEntries() + " entries";
+    }
+}
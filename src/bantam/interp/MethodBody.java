@@ -7,18 +7,19 @@
 
 package bantam.interp;
 
-import bantam.ast.ExprList;
 /**
- * A Method in our interpreter
+ * A Method in our interpreter.  A method body is shared by every object of the
+ * classes whose method table holds it, so the receiver is passed on each call.
  */
 public interface MethodBody {
 
     /**
      * What gets executed when you call a method
-     * @param actualParams the parameters of the method
+     * @param receiver the object the method is called on
+     * @param args the values of the actual parameters of the method
      * @return the return value of the method
      */
-    public Object execute(ExprList actualParams);
+    public Object execute(ObjectData receiver, Object[] args);
 
 
 }
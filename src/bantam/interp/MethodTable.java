@@ -0,0 +1,100 @@
+/*
+ * File: MethodTable.java
+ * Author: Phoebe Hughes, Siyuan Li, Joseph Malionek
+ * Date: 10/18/26
+ */
+
+package bantam.interp;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The method table of a class, shared by all of its objects.  Every method has a fixed
+ * index in the table; a class inherits the indices of its parent's methods and an
+ * overriding method takes the index of the method it overrides, so a method found at
+ * some index in a class's table is at the same index in the tables of all its subclasses.
+ */
+public class MethodTable {
+
+    /**
+     * Maps the name of each method to its index
+     */
+    private Map<String, Integer> indices;
+
+    /**
+     * The bodies of the methods, in index order
+     */
+    private MethodBody[] bodies;
+
+    /**
+     * Creates an empty method table
+     */
+    public MethodTable() {
+        this.indices = new HashMap<>();
+        this.bodies = new MethodBody[0];
+    }
+
+    /**
+     * Adds every method of another table, keeping their indices.  This must be
+     * done before any other method is added to this table.
+     * @param parent the method table of the parent class
+     */
+    public void putAll(MethodTable parent) {
+        this.indices.putAll(parent.indices);
+        this.bodies = parent.bodies.clone();
+    }
+
+    /**
+     * Adds a method, or overrides the method with the same name
+     * @param name the name of the method
+     * @param body the body of the method
+     */
+    public void put(String name, MethodBody body) {
+        Integer index = this.indices.get(name);
+        if (index == null) {
+            index = this.bodies.length;
+            this.indices.put(name, index);
+            this.bodies = Arrays.copyOf(this.bodies, index + 1);
+        }
+        this.bodies[index] = body;
+    }
+
+    /**
+     * Gets the body of a method
+     * @param name the name of the method
+     * @return the method body, or null if there is no such method
+     */
+    public MethodBody get(String name) {
+        Integer index = this.indices.get(name);
+        return index == null ? null : this.bodies[index];
+    }
+
+    /**
+     * Gets the body of the method at an index
+     * @param index the index of the method
+     * @return the method body
+     */
+    public MethodBody get(int index) {
+        return this.bodies[index];
+    }
+
+    /**
+     * Gets the number of methods in the table
+     * @return the number of methods
+     */
+    public int size() {
+        return this.bodies.length;
+    }
+
+    /**
+     * Gets the index of a method
+     * @param name the name of the method
+     * @return the index of the method, or -1 if there is no such method
+     */
+    public int getIndex(String name) {
+        Integer index = this.indices.get(name);
+        return index == null ? -1 : index;
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * File: ObjectAllocator.java
+ * Author: Phoebe Hughes, Siyuan Li, Joseph Malionek
+ * Date: 10/18/26
+ */
+
+package bantam.interp;
+
+/**
+ * Creates the objects of a running Bantam Java program.  Each execution engine provides
+ * one, so that the builtin members create objects the same way the engine running
+ * them does.
+ */
+public interface ObjectAllocator {
+
+    /**
+     * Gets the layout of the fields and methods of a class
+     * @param className the name of the class
+     * @return the class layout
+     */
+    public ClassLayout getClassLayout(String className);
+
+    /**
+     * Creates a new object of a class, initializing its fields
+     * @param type the name of the class
+     * @return the new object
+     */
+    public ObjectData newObject(String type);
+
+    /**
+     * Creates a new array
+     * @param type the type of the array
+     * @param length the length of the array
+     * @return the new array
+     */
+    public ArrayData newArray(String type, int length);
+}
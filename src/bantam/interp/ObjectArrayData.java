@@ -8,9 +8,9 @@
 package bantam.interp;
 
 /**
- * An ObjectData representation for an array object.
+ * An array of objects.
  */
-public class ObjectArrayData extends ObjectData {
+public class ObjectArrayData extends ArrayData {
 
     /**
      * The array which holds the contents of the array
@@ -18,27 +18,33 @@ public class ObjectArrayData extends ObjectData {
     private Object[] array;
 
     /**
-     * Creates a new ObjectArrayData with the given type of elements and array size
+     * The layout of the element type of the array, used to check the objects stored in it
+     */
+    private ClassLayout elementLayout;
+
+    /**
+     * Creates a new ObjectArrayData with the given type of elements and array size,
+     * with every element null
      * @param type the array type
      * @param length the array size
+     * @param methods the method table shared by all arrays
+     * @param elementLayout the layout of the element type
      */
-    public ObjectArrayData(String type, int length){
-        super(type);
-
-        array = new Object[length];
-
-        type = type.substring(0, type.length() - 2);
+    public ObjectArrayData(String type, int length, MethodTable methods,
+                           ClassLayout elementLayout){
+        super(type, methods);
+        this.array = new Object[length];
+        this.elementLayout = elementLayout;
+    }
 
-        if (type.equals("int")){
-            for (int i = 0 ; i<length; i++){
-                array[i] = 0;
-            }
-        }
-        else if (type.equals("boolean")){
-            for (int i = 0 ; i<length; i++){
-                array[i] = false;
-            }
-        }
+    /**
+     * Returns if a value whose static type is the class with the given id may be stored
+     * in the array
+     * @param classId the class id of the static type of the value (-1 if it is not a class)
+     * @return true if the class is the element type or one of its descendants
+     */
+    public boolean canStore(int classId){
+        return this.elementLayout.isAncestorOf(classId);
     }
 
     /**
@@ -58,14 +64,6 @@ public class ObjectArrayData extends ObjectData {
         this.array[index] = value;
     }
 
-    /**
-     * Returns the array of objects this objectData represents
-     * @return the array
-     */
-    public Object[] getArray(){
-        return this.array;
-    }
-
     /**
      * Gets the item at the given index in the array
      * @param index the index
@@ -76,10 +74,10 @@ public class ObjectArrayData extends ObjectData {
     }
 
     /**
-     * Sets the array object to be the given array
-     * @param array the new array
+     * Copies the elements of this array into another object array of the same size
+     * @param copy the other array
      */
-    public void setArray(Object[] array){
-        this.array = array;
+    public void copyItems(ArrayData copy){
+        System.arraycopy(this.array, 0, ((ObjectArrayData) copy).array, 0, this.array.length);
     }
 }
@@ -6,7 +6,6 @@
  */
 
 package bantam.interp;
-import java.util.*;
 
 /**
  * Represents an object of a given type in our interpreter.
@@ -14,143 +13,86 @@ import java.util.*;
 public class ObjectData{
 
     /**
-     * The fields of the object, where each new hash map is an ancestors field
-     * 0ith is its own fields.
+     * The fields of the object, indexed by the field indices of the class layout
      */
-    private List<HashMap<String, Object>> fields;
+    private Object[] fields;
 
     /**
-     * The methods of the object, where each hash map is an ancestors methods
-     * the 0ith hash map is its own methods
+     * The method table of the object's class, shared by all objects of the class
      */
-    private List<HashMap<String, MethodBody>> methods;
-
+    private MethodTable methods;
 
     /**
      * The type of the object
      */
     private String type;
 
-    /**
-     * The level to find the field or method at a given time.
-     */
-    private int hierarchyLevel;
-
     /**
      * Creates a new object
      * @param type the type of the object
+     * @param numFields the number of fields of the object (including inherited ones)
+     * @param methods the method table of the object's class
      */
-    public ObjectData(String type){
-        this.fields = new ArrayList<>();
-        this.methods = new ArrayList<>();
-        this.hierarchyLevel = 0;
+    public ObjectData(String type, int numFields, MethodTable methods){
+        this.fields = new Object[numFields];
+        this.methods = methods;
         this.type = type;
     }
 
     /**
-     * Adds a hash map of fields to the fields
-     * @param hashMap the fields
-     */
-    public void pushFields(HashMap<String, Object> hashMap){
-        this.fields.add(hashMap);
-    }
-
-    /**
-     * Adss a hash map of methods to the methods
-     * @param hashMap the methods
+     * Creates a new object with the given field values
+     * @param type the type of the object
+     * @param fields the values of the fields of the object (used, not copied)
+     * @param methods the method table of the object's class
      */
-    public void pushMethods(HashMap<String, MethodBody> hashMap){
-        this.methods.add(hashMap);
+    public ObjectData(String type, Object[] fields, MethodTable methods){
+        this.fields = fields;
+        this.methods = methods;
+        this.type = type;
     }
 
     /**
      * Gets the given field
-     * @param name the name of the field
-     * @param hasRefSuper if when accessing the field the reference super is given
+     * @param index the index of the field in the class layout
      * @return the object stored in the field
      */
-    public Object getField(String name, boolean hasRefSuper){
-        int startI = this.hierarchyLevel;
-        if (hasRefSuper){
-            startI++;
-        }
-
-        //loops through the fields
-        for (int i = startI; i < this.fields.size(); i++){
-            HashMap<String, Object> scope = this.fields.get(i);
-            if(scope.containsKey(name)){
-                return scope.get(name);
-            }
-        }
-        return null;
-    }
-
-    /**
-     * Gets the current hierarchy level
-     * @return the hierarchy level
-     */
-    public int getHierarchyLevel() {
-        return this.hierarchyLevel;
+    public Object getField(int index){
+        return this.fields[index];
     }
 
     /**
      * Changes the value of a given field
-     * @param varName the name of the field
+     * @param index the index of the field in the class layout
      * @param value the new value of the field
-     * @param hasRefSuper if when accessing the field, the reference super is used
      */
-    public void setField(String varName, Object value, boolean hasRefSuper){
-        int startI = this.hierarchyLevel;
-        if (hasRefSuper){
-            startI++;
-        }
-        for (int i = startI; i < this.fields.size(); i++){
-            HashMap<String, Object> scope = this.fields.get(i);
-            if(scope.containsKey(varName)){
-                scope.put(varName,value);
-                return;
-            }
-        }
+    public void setField(int index, Object value){
+        this.fields[index] = value;
     }
 
     /**
-     * Gets the hierarchy level of a method
-     * @param name the name of a method
-     * @param hasRefSuper if when accessing the method, the reference super is used
-     * @return the hierarchy
+     * Gets the method a call on this object dispatches to
+     * @param name the name of the method
+     * @return the method body of the method
      */
-    public int getMethodScope(String name, boolean hasRefSuper){
-        int startI = this.hierarchyLevel;
-        if (hasRefSuper){
-            startI++;
-        }
-
-        for (int i = startI; i < this.methods.size(); i++){
-            HashMap<String, MethodBody> scope = this.methods.get(i);
-
-            if(scope.containsKey(name)){
-                return i;
-            }
-        }
-        return -1;
+    public MethodBody getMethod(String name){
+        return this.methods.get(name);
     }
 
     /**
-     * Gets a method from a given hierarchy
-     * @param name the name of the method
-     * @param scope the hierarchy level it is in
+     * Gets the method a call on this object dispatches to
+     * @param index the index of the method in the method table
      * @return the method body of the method
      */
-    public MethodBody getMethod(String name, int scope){
-        return this.methods.get(scope).get(name);
+    public MethodBody getMethod(int index){
+        return this.methods.get(index);
     }
 
     /**
-     * Changes the current hierarchy level
-     * @param hierarchyLevel the hierarchy level
+     * Gets the method table of the object's class
+     * @return the method table
      */
-    public void setHierarchyLevel(int hierarchyLevel){
-        this.hierarchyLevel = hierarchyLevel;
+    public MethodTable getMethodTable(){
+        return this.methods;
     }
 
     /**
@@ -166,10 +108,6 @@ public class ObjectData{
      * @param objectData the object data to copy the fields into
      */
     public void copyFields(ObjectData objectData){
-        for(int i = 0; i< this.fields.size();i++){
-            for(Map.Entry<String, Object> entry : this.fields.get(i).entrySet()){
-                objectData.fields.get(i).put(entry.getKey(),entry.getValue());
-            }
-        }
+        System.arraycopy(this.fields, 0, objectData.fields, 0, this.fields.length);
     }
 }
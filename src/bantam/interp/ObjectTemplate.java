@@ -0,0 +1,112 @@
+/*
+ * File: ObjectTemplate.java
+ * Author: Phoebe Hughes, Siyuan Li, Joseph Malionek
+ * Date: 10/18/26
+ */
+
+package bantam.interp;
+
+import bantam.ast.ASTNode;
+import bantam.ast.Expr;
+import bantam.ast.Field;
+import bantam.util.ClassTreeNode;
+
+import java.util.Arrays;
+
+/**
+ * The template the interpreter creates the objects of a class from, built once per
+ * class like the object templates of the MIPS code generator.  A new object is a copy
+ * of the class layout's field template (the default values and constant initializers
+ * of all the fields), after which the hidden fields of its builtin ancestors are set
+ * and only the initializers that are not constants are run, in the order the fields
+ * are declared, starting with the fields of Object.
+ */
+class ObjectTemplate {
+
+    /**
+     * The layout of the class
+     */
+    private ClassLayout layout;
+
+    /**
+     * The builtin classes among the class and its ancestors with hidden fields
+     */
+    private String[] hiddenFieldClasses;
+
+    /**
+     * The indices of the fields whose initializers are run
+     */
+    private int[] initIndices;
+
+    /**
+     * The initializers run, in the same order
+     */
+    private Expr[] initExprs;
+
+    /**
+     * Creates the template of a class
+     * @param layout the layout of the class
+     * @param parent the template of the parent class (null for Object)
+     */
+    ObjectTemplate(ClassLayout layout, ObjectTemplate parent) {
+        this.layout = layout;
+        if (parent == null) {
+            this.hiddenFieldClasses = new String[0];
+            this.initIndices = new int[0];
+            this.initExprs = new Expr[0];
+        }
+        else {
+            this.hiddenFieldClasses = parent.hiddenFieldClasses;
+            this.initIndices = parent.initIndices;
+            this.initExprs = parent.initExprs;
+        }
+
+        //builtin classes only have constant initializers, so setting their hidden
+        //fields before running any initializer keeps the order of the declarations
+        ClassTreeNode classTreeNode = layout.getClassTreeNode();
+        if (BuiltInMemberGenerator.getHiddenFields(layout.getName()).length > 0) {
+            this.hiddenFieldClasses = Arrays.copyOf(this.hiddenFieldClasses,
+                    this.hiddenFieldClasses.length + 1);
+            this.hiddenFieldClasses[this.hiddenFieldClasses.length - 1] = layout.getName();
+        }
+        for (ASTNode member : classTreeNode.getASTNode().getMemberList()) {
+            if (member instanceof Field && ClassLayout.hasInitializer((Field) member)) {
+                int count = this.initIndices.length;
+                this.initIndices = Arrays.copyOf(this.initIndices, count + 1);
+                this.initExprs = Arrays.copyOf(this.initExprs, count + 1);
+                this.initIndices[count] = layout.getFieldIndex(((Field) member).getName());
+                this.initExprs[count] = ((Field) member).getInit();
+            }
+        }
+    }
+
+    /**
+     * Creates a new object of the class, initializing its fields
+     * @param interpreterVisitor the interpreter visitor evaluating the initializers
+     * @return the new object
+     */
+    ObjectData instantiate(InterpreterVisitor interpreterVisitor) {
+        ObjectData objectData = this.layout.newObject();
+        for (String className : this.hiddenFieldClasses) {
+            interpreterVisitor.getMemberGenerator().initHiddenFields(className, objectData);
+        }
+        if (this.initExprs.length == 0) {
+            return objectData;
+        }
+
+        //field initializers are evaluated in the context of the new object
+        //(they cannot refer to local variables, so the frame is left alone)
+        ObjectData oldThisObject = interpreterVisitor.getThisObject();
+        interpreterVisitor.setThisObject(objectData);
+        try {
+            for (int i = 0; i < this.initExprs.length; i++) {
+                objectData.setField(this.initIndices[i],
+                        this.initExprs[i].accept(interpreterVisitor));
+            }
+        }
+        finally {
+            interpreterVisitor.setThisObject(oldThisObject);
+        }
+        return objectData;
+    }
+}
@@ -0,0 +1,341 @@
+/*
+ * File: ProfilingVisitor.java
+ * Author: Phoebe Hughes, Siyuan Li, Joseph Malionek
+ * Date: 10/18/26
+ */
+
+package bantam.interp;
+
+import bantam.ast.*;
+import bantam.util.ClassTreeNode;
+
+import java.io.PrintStream;
+import java.util.*;
+
+/**
+ * An interpreter visitor that profiles the program it runs: it counts the calls of
+ * every method declared in the program and times them, counts the objects and arrays
+ * created by each class and by each line, and counts the iterations of every loop.
+ * The interpreter only uses this visitor when profiling is turned on, so the plain
+ * InterpreterVisitor carries no instrumentation at all.
+ */
+public class ProfilingVisitor extends InterpreterVisitor {
+
+    /**
+     * The number of entries printed for each table of the report
+     */
+    private static final int REPORT_SIZE = 10;
+
+    /**
+     * The map of classes and the layouts of their fields and methods
+     */
+    private Hashtable<String, ClassLayout> layouts;
+
+    /**
+     * The time spent in the methods called by each of the methods being run, innermost
+     * last, so the time of a call can be split into time spent in the method itself and
+     * time spent in its callees
+     */
+    private long[] calleeTimes = new long[16];
+
+    /**
+     * The number of methods being run
+     */
+    private int callDepth;
+
+    /**
+     * Maps the types of new objects and arrays to their number
+     */
+    private Map<String, Long> allocationsByType = new HashMap<>();
+
+    /**
+     * Maps the new expressions and new array expressions to the number of objects they
+     * created
+     */
+    private Map<Expr, Long> allocationsBySite = new IdentityHashMap<>();
+
+    /**
+     * Maps the while and for statements to the number of iterations of their bodies
+     */
+    private Map<Stmt, Long> loopIterations = new IdentityHashMap<>();
+
+    /**
+     * Creates a new profiling visitor
+     * @param classMap the class map
+     * @param layouts the map of classes and the layouts of their fields
+     * @param numDispatchSites the number of call sites in the program
+     */
+    public ProfilingVisitor(Hashtable<String, ClassTreeNode> classMap,
+                            Hashtable<String, ClassLayout> layouts, int numDispatchSites) {
+        super(classMap, layouts, numDispatchSites);
+        this.layouts = layouts;
+    }
+
+    /**
+     * The profile of a method, which is also its body in the method table: it runs the
+     * method's actual body, counting and timing the call
+     */
+    private class ProfiledMethod implements MethodBody {
+
+        /**
+         * The name of the method, with its class
+         */
+        private String name;
+
+        /**
+         * The actual body of the method
+         */
+        private MethodBody body;
+
+        /**
+         * The number of calls
+         */
+        private long calls;
+
+        /**
+         * The number of calls of the method being run (more than 1 when it recurses)
+         */
+        private int activeCalls;
+
+        /**
+         * The time spent in the method, including the methods it calls (recursive calls
+         * are only counted once)
+         */
+        private long inclusiveTime;
+
+        /**
+         * The time spent in the method itself
+         */
+        private long exclusiveTime;
+
+        /**
+         * Creates a new profiled method
+         * @param name the name of the method, with its class
+         * @param body the actual body of the method
+         */
+        private ProfiledMethod(String name, MethodBody body) {
+            this.name = name;
+            this.body = body;
+        }
+
+        /**
+         * Runs the method, counting and timing the call
+         * @param receiver the object the method is called on
+         * @param args the values of the actual parameters of the method
+         * @return the return value of the method
+         */
+        @Override
+        public Object execute(ObjectData receiver, Object[] args) {
+            enterCall();
+            this.calls++;
+            this.activeCalls++;
+            long start = System.nanoTime();
+            try {
+                return this.body.execute(receiver, args);
+            }
+            finally {
+                long time = System.nanoTime() - start;
+                this.activeCalls--;
+                if (this.activeCalls == 0) {
+                    this.inclusiveTime += time;
+                }
+                this.exclusiveTime += time - exitCall(time);
+            }
+        }
+    }
+
+    /**
+     * Creates the body of a method declared in a Bantam Java class, wrapped in a profile
+     * of the method
+     * @param className the name of the class declaring the method
+     * @param node the method node
+     * @return the method body
+     */
+    @Override
+    protected MethodBody createMethodBody(String className, Method node) {
+        //this runs during the superclass's constructor, so the fields of this class
+        //are not set yet; the profiles are found again in the method tables
+        return new ProfiledMethod(className + "." + node.getName(),
+                super.createMethodBody(className, node));
+    }
+
+    /**
+     * Records the start of a call of a profiled method
+     */
+    private void enterCall() {
+        if (this.callDepth == this.calleeTimes.length) {
+            this.calleeTimes = Arrays.copyOf(this.calleeTimes, 2 * this.callDepth);
+        }
+        this.calleeTimes[this.callDepth++] = 0;
+    }
+
+    /**
+     * Records the end of a call of a profiled method
+     * @param time the time the call took
+     * @return the time spent in the methods it called
+     */
+    private long exitCall(long time) {
+        long calleeTime = this.calleeTimes[--this.callDepth];
+        if (this.callDepth > 0) {
+            this.calleeTimes[this.callDepth - 1] += time;
+        }
+        return calleeTime;
+    }
+
+    /**
+     * Counts an object or array created by an expression
+     * @param node the new or new array expression node
+     * @param type the type of the object or array
+     */
+    private void countAllocation(Expr node, String type) {
+        this.allocationsByType.merge(type, 1L, Long::sum);
+        this.allocationsBySite.merge(node, 1L, Long::sum);
+    }
+
+    /**
+     * Visits a new expr, counting the new object
+     * @param node the new expr
+     * @return a new object data
+     */
+    @Override
+    public Object visit(NewExpr node) {
+        this.countAllocation(node, node.getType());
+        return super.visit(node);
+    }
+
+    /**
+     * Visits a new array expr, counting the new array
+     * @param node the new array expression node
+     * @return the new ArrayData
+     */
+    @Override
+    public Object visit(NewArrayExpr node) {
+        this.countAllocation(node, node.getType());
+        return super.visit(node);
+    }
+
+    /**
+     * Visit a while statement node, counting the iterations of its body
+     *
+     * @param node the while statement node
+     * @return the return completion if the body returned, otherwise null
+     */
+    @Override
+    public Object visit(WhileStmt node) {
+        long iterations = 0;
+        try {
+            while (this.evalBoolean(node.getPredExpr())) {
+                iterations++;
+                this.step(node);
+                Object completion = node.getBodyStmt().accept(this);
+                if (completion == Completion.BREAK) {
+                    break;
+                }
+                else if (completion != null) {
+                    return completion;
+                }
+            }
+            return null;
+        }
+        finally {
+            this.loopIterations.merge(node, iterations, Long::sum);
+        }
+    }
+
+    /**
+     * Visit a for statement node, counting the iterations of its body
+     *
+     * @param node the for statement node
+     * @return the return completion if the body returned, otherwise null
+     */
+    @Override
+    public Object visit(ForStmt node) {
+        long iterations = 0;
+        try {
+            if (node.getInitExpr() != null) {
+                this.evalEffect(node.getInitExpr());
+            }
+            while (node.getPredExpr() == null || this.evalBoolean(node.getPredExpr())) {
+                iterations++;
+                this.step(node);
+                Object completion = node.getBodyStmt().accept(this);
+                if (completion == Completion.BREAK) {
+                    break;
+                }
+                else if (completion != null) {
+                    return completion;
+                }
+                if (node.getUpdateExpr() != null) {
+                    this.evalEffect(node.getUpdateExpr());
+                }
+            }
+            return null;
+        }
+        finally {
+            this.loopIterations.merge(node, iterations, Long::sum);
+        }
+    }
+
+    /**
+     * Prints the entries of a table with the largest values
+     * @param out the stream to print to
+     * @param title the title of the table
+     * @param entries the names and values of the entries
+     */
+    private static void printTop(PrintStream out, String title, Map<String, Long> entries) {
+        List<Map.Entry<String, Long>> sorted = new ArrayList<>(entries.entrySet());
+        sorted.sort((e1, e2) -> Long.compare(e2.getValue(), e1.getValue()));
+        out.println(title);
+        for (Map.Entry<String, Long> entry : sorted.subList(0,
+                Math.min(REPORT_SIZE, sorted.size()))) {
+            out.printf("  %12d  %s%n", entry.getValue(), entry.getKey());
+        }
+    }
+
+    /**
+     * Prints the report of the profile
+     * @param out the stream to print to
+     */
+    public void printProfile(PrintStream out) {
+        //an inherited method is in the method table of every subclass
+        Set<ProfiledMethod> methods = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (ClassLayout layout : this.layouts.values()) {
+            MethodTable table = layout.getMethods();
+            for (int i = 0; i < table.size(); i++) {
+                if (table.get(i) instanceof ProfiledMethod) {
+                    methods.add((ProfiledMethod) table.get(i));
+                }
+            }
+        }
+        List<ProfiledMethod> sortedMethods = new ArrayList<>(methods);
+        sortedMethods.sort((m1, m2) -> Long.compare(m2.exclusiveTime, m1.exclusiveTime));
+        out.println("Methods by exclusive time:");
+        out.printf("  %12s  %12s  %12s  %s%n", "calls", "incl (ms)", "excl (ms)", "method");
+        for (ProfiledMethod method : sortedMethods.subList(0,
+                Math.min(REPORT_SIZE, sortedMethods.size()))) {
+            if (method.calls > 0) {
+                out.printf("  %12d  %12.3f  %12.3f  %s%n", method.calls,
+                        method.inclusiveTime / 1e6, method.exclusiveTime / 1e6, method.name);
+            }
+        }
+
+        printTop(out, "Allocations by class:", this.allocationsByType);
+        Map<String, Long> bySite = new HashMap<>();
+        for (Map.Entry<Expr, Long> entry : this.allocationsBySite.entrySet()) {
+            Expr node = entry.getKey();
+            String type = node instanceof NewExpr ? ((NewExpr) node).getType()
+                    : ((NewArrayExpr) node).getType();
+            bySite.merge("line " + node.getLineNum() + ": new " + type,
+                    entry.getValue(), Long::sum);
+        }
+        printTop(out, "Allocations by line:", bySite);
+        Map<String, Long> loops = new HashMap<>();
+        for (Map.Entry<Stmt, Long> entry : this.loopIterations.entrySet()) {
+            Stmt node = entry.getKey();
+            loops.merge("line " + node.getLineNum()
+                    + (node instanceof WhileStmt ? ": while" : ": for"),
+                    entry.getValue(), Long::sum);
+        }
+        printTop(out, "Loop iterations:", loops);
+    }
+}
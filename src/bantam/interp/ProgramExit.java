@@ -0,0 +1,38 @@
+/*
+ * File: ProgramExit.java
+ * Author: Phoebe Hughes, Siyuan Li, Joseph Malionek
+ * Date: 10/18/26
+ */
+
+package bantam.interp;
+
+/**
+ * A Java runtime exception that ends the run of a program, thrown by Sys.exit (and when
+ * TextIO cannot open a file) instead of exiting the JVM, so that several programs can
+ * run in one JVM.  It is not a BantamException, so a Bantam Java program cannot catch
+ * it, and it does not record a Java stack trace.
+ */
+public class ProgramExit extends RuntimeException {
+
+    /**
+     * The exit status of the program
+     */
+    private int status;
+
+    /**
+     * Creates a new program exit
+     * @param status the exit status of the program
+     */
+    public ProgramExit(int status) {
+        super(null, null, false, false);
+        this.status = status;
+    }
+
+    /**
+     * Gets the exit status of the program
+     * @return the exit status
+     */
+    public int getStatus() {
+        return this.status;
+    }
+}
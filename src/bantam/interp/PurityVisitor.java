@@ -0,0 +1,336 @@
+/*
+ * File: PurityVisitor.java
+ * Author: Phoebe Hughes, Siyuan Li, Joseph Malionek
+ * Date: 10/18/26
+ */
+
+package bantam.interp;
+
+import bantam.ast.*;
+import bantam.util.ClassTreeNode;
+import bantam.visitor.Visitor;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Finds the methods whose result depends only on their arguments, so the interpreter
+ * can memoize them.  A method is pure if its return type and all of its parameters
+ * and local variables are ints or booleans, it uses no fields, creates no objects,
+ * arrays or strings, does not throw or catch exceptions, and only calls pure methods
+ * of the same object (or of its superclass) that no subclass overrides.  Since a pure
+ * method neither reads nor writes the object, the receiver does not change its result.
+ *
+ * Methods calling each other are checked together: every method that passes the
+ * checks of its own body is assumed pure, and then the methods calling one that is
+ * not are dropped until none are left to drop.
+ *
+ * This needs the slots given by the SlotResolverVisitor, which tell local variables
+ * from fields.
+ */
+public class PurityVisitor extends Visitor {
+
+    /**
+     * The class declaring the method being checked
+     */
+    private ClassTreeNode classTreeNode;
+
+    /**
+     * Whether the method being checked has passed the checks so far
+     */
+    private boolean pure;
+
+    /**
+     * The methods the method being checked calls
+     */
+    private List<Method> callees;
+
+    /**
+     * Maps the methods that passed the checks of their own bodies to the methods
+     * they call
+     */
+    private Map<Method, List<Method>> candidates = new LinkedHashMap<>();
+
+    /**
+     * Marks the pure methods of the given class and of all of its subclasses
+     * @param root the root of the class hierarchy tree
+     * @return the number of pure methods
+     */
+    public int analyze(ClassTreeNode root) {
+        this.check(root);
+
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            Iterator<List<Method>> calls = this.candidates.values().iterator();
+            while (calls.hasNext()) {
+                for (Method callee : calls.next()) {
+                    if (!this.candidates.containsKey(callee)) {
+                        calls.remove();
+                        changed = true;
+                        break;
+                    }
+                }
+            }
+        }
+        for (Method method : this.candidates.keySet()) {
+            method.setPure(true);
+        }
+        return this.candidates.size();
+    }
+
+    /**
+     * Checks the methods of a class and of all of its subclasses
+     * @param classTreeNode the root of the (sub)tree of classes to check
+     */
+    private void check(ClassTreeNode classTreeNode) {
+        if (!classTreeNode.isBuiltIn()) {
+            this.classTreeNode = classTreeNode;
+            for (ASTNode member : classTreeNode.getASTNode().getMemberList()) {
+                if (member instanceof Method) {
+                    member.accept(this);
+                }
+            }
+        }
+        Iterator<ClassTreeNode> children = classTreeNode.getChildrenList();
+        while (children.hasNext()) {
+            this.check(children.next());
+        }
+    }
+
+    /**
+     * Returns if a type is int or boolean
+     * @param type the name of the type
+     * @return true if the type is int or boolean
+     */
+    private static boolean isPrimitive(String type) {
+        return type.equals("int") || type.equals("boolean");
+    }
+
+    /**
+     * Finds the method of the given name that objects of a class call
+     * @param classTreeNode the class
+     * @param name the name of the method
+     * @return the method node, or null if it is a method of a builtin class
+     */
+    private static Method findMethod(ClassTreeNode classTreeNode, String name) {
+        for (; classTreeNode != null && !classTreeNode.isBuiltIn();
+             classTreeNode = classTreeNode.getParent()) {
+            Method method = declaredMethod(classTreeNode, name);
+            if (method != null) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Finds the method of the given name declared in a class
+     * @param classTreeNode the class
+     * @param name the name of the method
+     * @return the method node, or null if the class does not declare it
+     */
+    private static Method declaredMethod(ClassTreeNode classTreeNode, String name) {
+        for (ASTNode member : classTreeNode.getASTNode().getMemberList()) {
+            if (member instanceof Method && ((Method) member).getName().equals(name)) {
+                return (Method) member;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns if a subclass of a class overrides a method
+     * @param classTreeNode the class
+     * @param name the name of the method
+     * @return true if some subclass declares a method of that name
+     */
+    private static boolean isOverridden(ClassTreeNode classTreeNode, String name) {
+        Iterator<ClassTreeNode> children = classTreeNode.getChildrenList();
+        while (children.hasNext()) {
+            ClassTreeNode child = children.next();
+            if (declaredMethod(child, name) != null || isOverridden(child, name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Visits a method node, checking its signature and body
+     * @param node the method node
+     * @return null
+     */
+    public Object visit(Method node) {
+        node.setPure(false);
+        this.pure = isPrimitive(node.getReturnType());
+        for (ASTNode formal : node.getFormalList()) {
+            this.pure &= isPrimitive(((Formal) formal).getType());
+        }
+        if (!this.pure) {
+            return null;
+        }
+        this.callees = new ArrayList<>();
+        node.getStmtList().accept(this);
+        if (this.pure) {
+            this.candidates.put(node, this.callees);
+        }
+        return null;
+    }
+
+    /**
+     * Visits a declaration statement node, which must declare an int or a boolean
+     * @param node the declaration statement node
+     * @return null
+     */
+    public Object visit(DeclStmt node) {
+        this.pure &= isPrimitive(node.getType());
+        node.getInit().accept(this);
+        return null;
+    }
+
+    /**
+     * Visits a try statement node, which is not pure
+     * @param node the try statement node
+     * @return null
+     */
+    public Object visit(TryStmt node) {
+        this.pure = false;
+        return null;
+    }
+
+    /**
+     * Visits a throw statement node, which is not pure
+     * @param node the throw statement node
+     * @return null
+     */
+    public Object visit(ThrowStmt node) {
+        this.pure = false;
+        return null;
+    }
+
+    /**
+     * Visits a dispatch expression node, recording the method it calls if it is a
+     * method of the same object that no subclass overrides
+     * @param node the dispatch expression node
+     * @return null
+     */
+    public Object visit(DispatchExpr node) {
+        Expr refExpr = node.getRefExpr();
+        String refName = refExpr instanceof VarExpr && ((VarExpr) refExpr).getRef() == null
+                ? ((VarExpr) refExpr).getName() : null;
+        Method callee = null;
+        if (refExpr == null || "this".equals(refName)) {
+            if (!isOverridden(this.classTreeNode, node.getMethodName())) {
+                callee = findMethod(this.classTreeNode, node.getMethodName());
+            }
+        }
+        else if ("super".equals(refName)) {
+            callee = findMethod(this.classTreeNode.getParent(), node.getMethodName());
+        }
+
+        if (callee == null) {
+            this.pure = false;
+        }
+        else {
+            this.callees.add(callee);
+            node.getActualList().accept(this);
+        }
+        return null;
+    }
+
+    /**
+     * Visits a new expression node, which is not pure
+     * @param node the new expression node
+     * @return null
+     */
+    public Object visit(NewExpr node) {
+        this.pure = false;
+        return null;
+    }
+
+    /**
+     * Visits a new array expression node, which is not pure
+     * @param node the new array expression node
+     * @return null
+     */
+    public Object visit(NewArrayExpr node) {
+        this.pure = false;
+        return null;
+    }
+
+    /**
+     * Visits an instanceof expression node, which is not pure (it needs an object)
+     * @param node the instanceof expression node
+     * @return null
+     */
+    public Object visit(InstanceofExpr node) {
+        this.pure = false;
+        return null;
+    }
+
+    /**
+     * Visits a cast expression node, which is not pure (it needs an object)
+     * @param node the cast expression node
+     * @return null
+     */
+    public Object visit(CastExpr node) {
+        this.pure = false;
+        return null;
+    }
+
+    /**
+     * Visits an assignment expression node, which must assign a local variable
+     * @param node the assignment expression node
+     * @return null
+     */
+    public Object visit(AssignExpr node) {
+        this.pure &= node.getSlot() >= 0;
+        node.getExpr().accept(this);
+        return null;
+    }
+
+    /**
+     * Visits an array assignment expression node, which is not pure
+     * @param node the array assignment expression node
+     * @return null
+     */
+    public Object visit(ArrayAssignExpr node) {
+        this.pure = false;
+        return null;
+    }
+
+    /**
+     * Visits a variable expression node, which must use a local variable
+     * ('this', 'super', 'null' and fields have no slot)
+     * @param node the variable expression node
+     * @return null
+     */
+    public Object visit(VarExpr node) {
+        this.pure &= node.getSlot() >= 0;
+        return null;
+    }
+
+    /**
+     * Visits an array expression node, which is not pure
+     * @param node the array expression node
+     * @return null
+     */
+    public Object visit(ArrayExpr node) {
+        this.pure = false;
+        return null;
+    }
+
+    /**
+     * Visits a string constant expression node, which is not pure (it creates a string)
+     * @param node the string constant expression node
+     * @return null
+     */
+    public Object visit(ConstStringExpr node) {
+        this.pure = false;
+        return null;
+    }
+}
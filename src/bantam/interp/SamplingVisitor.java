@@ -0,0 +1,244 @@
+/*
+ * File: SamplingVisitor.java
+ * Author: Phoebe Hughes, Siyuan Li, Joseph Malionek
+ * Date: 10/18/26
+ */
+
+package bantam.interp;
+
+import bantam.ast.ASTNode;
+import bantam.ast.Method;
+import bantam.ast.StmtList;
+import bantam.util.ClassTreeNode;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.Hashtable;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * An interpreter visitor that keeps the Bantam call stack of the program it runs (the
+ * method and current line of every call) where a background thread can sample it.
+ * The samples are written as folded stacks, one line per distinct stack with frames
+ * separated by semicolons and followed by the number of samples, which flame graph
+ * tools read directly.
+ *
+ * The interpreter never waits for the sampler: the sampler reads the stack while the
+ * program changes it, so a sample taken in the middle of a call or return may be off
+ * by a frame.  The interpreter only uses this visitor when sampling is turned on.
+ */
+public class SamplingVisitor extends InterpreterVisitor {
+
+    /**
+     * The time between two samples, in milliseconds
+     */
+    private static final int SAMPLE_INTERVAL = 1;
+
+    /**
+     * The methods on the call stack, outermost first
+     */
+    private Method[] frameMethods = new Method[64];
+
+    /**
+     * The lines being run by the methods on the call stack
+     */
+    private int[] frameLines = new int[64];
+
+    /**
+     * The number of methods on the call stack, written only by the interpreter and
+     * read by the sampler.  It is not volatile: fencing every call and return made the
+     * interpreter up to a fifth slower, and a sample that sees a slightly stale depth
+     * is only off by a frame or two
+     */
+    private int depth;
+
+    /**
+     * The index of the innermost method on the call stack (depth - 1), as seen by the
+     * interpreter
+     */
+    private int top = -1;
+
+    /**
+     * Maps the methods of the program to their names, with their classes
+     */
+    private Map<Method, String> methodNames;
+
+    /**
+     * Maps the folded stacks sampled so far to their number of samples
+     */
+    private Map<String, Integer> samples = new TreeMap<>();
+
+    /**
+     * The thread taking the samples
+     */
+    private Thread sampler;
+
+    /**
+     * Whether the sampler should keep sampling
+     */
+    private volatile boolean sampling;
+
+    /**
+     * Creates a new sampling visitor
+     * @param classMap the class map
+     * @param layouts the map of classes and the layouts of their fields
+     * @param numDispatchSites the number of call sites in the program
+     */
+    public SamplingVisitor(Hashtable<String, ClassTreeNode> classMap,
+                           Hashtable<String, ClassLayout> layouts, int numDispatchSites) {
+        super(classMap, layouts, numDispatchSites);
+        this.methodNames = new IdentityHashMap<>();
+        for (ClassTreeNode classTreeNode : classMap.values()) {
+            if (!classTreeNode.isBuiltIn()) {
+                for (ASTNode member : classTreeNode.getASTNode().getMemberList()) {
+                    if (member instanceof Method) {
+                        this.methodNames.put((Method) member,
+                                classTreeNode.getName() + "." + ((Method) member).getName());
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Visits a method node, pushing the method on the call stack while it runs
+     * @param node the method node
+     * @return the return value of the method
+     */
+    @Override
+    public Object visit(Method node) {
+        this.pushFrame(node);
+        try {
+            return super.visit(node);
+        }
+        finally {
+            this.popFrame();
+        }
+    }
+
+    /**
+     * Pushes a method on the call stack
+     * @param node the method node
+     */
+    private void pushFrame(Method node) {
+        int index = this.top + 1;
+        if (index == this.frameMethods.length) {
+            //the sampler may still read the old arrays, which keep their contents
+            Method[] methods = new Method[2 * index];
+            int[] lines = new int[2 * index];
+            System.arraycopy(this.frameMethods, 0, methods, 0, index);
+            System.arraycopy(this.frameLines, 0, lines, 0, index);
+            this.frameMethods = methods;
+            this.frameLines = lines;
+        }
+        this.frameMethods[index] = node;
+        this.frameLines[index] = node.getLineNum();
+        this.top = index;
+        this.depth = index + 1;
+    }
+
+    /**
+     * Pops the innermost method off the call stack
+     */
+    private void popFrame() {
+        this.depth = this.top;
+        this.top--;
+    }
+
+    /**
+     * Visits a list of statements, recording the line of each statement as the current
+     * line of the innermost method
+     * @param node the statement list node
+     * @return the completion of the list (null if it completed normally)
+     */
+    @Override
+    public Object visit(StmtList node) {
+        for (ASTNode stmt : node) {
+            if (this.top >= 0) {
+                this.frameLines[this.top] = stmt.getLineNum();
+            }
+            Object completion = stmt.accept(this);
+            if (completion != null) {
+                return completion;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Starts sampling the call stack in a background thread
+     */
+    public void startSampling() {
+        this.sampling = true;
+        this.sampler = new Thread(() -> {
+            while (this.sampling) {
+                this.takeSample();
+                try {
+                    Thread.sleep(SAMPLE_INTERVAL);
+                }
+                catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }, "Bantam sampler");
+        this.sampler.setDaemon(true);
+        this.sampler.start();
+    }
+
+    /**
+     * Stops sampling the call stack, waiting for the sampler to finish
+     */
+    public void stopSampling() {
+        this.sampling = false;
+        try {
+            this.sampler.join();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Samples the call stack, adding it to the samples as a folded stack
+     */
+    private void takeSample() {
+        int depth = this.depth;
+        Method[] methods = this.frameMethods;
+        int[] lines = this.frameLines;
+        //the arrays are read unsynchronized, so after they grow one may be seen grown
+        //and the other not
+        int length = Math.min(methods.length, lines.length);
+        StringBuilder stack = new StringBuilder();
+        for (int i = 0; i < depth && i < length; i++) {
+            if (methods[i] == null) {
+                break;
+            }
+            if (i > 0) {
+                stack.append(';');
+            }
+            stack.append(this.methodNames.get(methods[i])).append(':').append(lines[i]);
+        }
+        if (stack.length() > 0) {
+            this.samples.merge(stack.toString(), 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Writes the samples taken as folded stacks
+     * @param out the writer to write to
+     * @throws IOException if the samples cannot be written
+     */
+    public void writeSamples(Writer out) throws IOException {
+        PrintWriter writer = new PrintWriter(out);
+        for (Map.Entry<String, Integer> entry : this.samples.entrySet()) {
+            writer.println(entry.getKey() + " " + entry.getValue());
+        }
+        writer.flush();
+        if (writer.checkError()) {
+            throw new IOException("Could not write the samples");
+        }
+    }
+}
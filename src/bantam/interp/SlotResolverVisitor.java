@@ -0,0 +1,444 @@
+/*
+ * File: SlotResolverVisitor.java
+ * Author: Phoebe Hughes, Siyuan Li, Joseph Malionek
+ * Date: 10/18/26
+ */
+
+package bantam.interp;
+
+import bantam.ast.*;
+import bantam.util.ClassTreeNode;
+import bantam.util.SymbolTable;
+import bantam.visitor.Visitor;
+
+import java.util.Hashtable;
+import java.util.Iterator;
+
+/**
+ * Assigns every formal parameter and local variable of a method a fixed slot in the
+ * method's frame, and annotates each variable reference with the slot it uses.  References
+ * to fields are annotated with the field's index in the class layout.  This lets the
+ * interpreter keep locals and fields in arrays instead of looking them up by name.
+ * String constants are decoded once here rather than every time they are evaluated.
+ *
+ * Slots follow the scoping rules of the type checker: a variable's slot is reused
+ * once the scope declaring it has been exited.
+ */
+public class SlotResolverVisitor extends Visitor {
+
+    /**
+     * Maps class names to the layouts of their fields
+     */
+    private Hashtable<String, ClassLayout> layouts;
+
+    /**
+     * The layout of the class being resolved
+     */
+    private ClassLayout layout;
+
+    /**
+     * Maps the names of the variables in scope to their slots
+     */
+    private SymbolTable slotTable;
+
+    /**
+     * The next free slot in the current method's frame
+     */
+    private int nextSlot;
+
+    /**
+     * The number of slots the current method needs so far
+     */
+    private int numSlots;
+
+    /**
+     * The number of dispatch expressions numbered so far
+     */
+    private int numDispatchSites;
+
+    /**
+     * Creates a new slot resolver
+     * @param layouts maps class names to the layouts of their fields
+     */
+    public SlotResolverVisitor(Hashtable<String, ClassLayout> layouts) {
+        this.layouts = layouts;
+    }
+
+    /**
+     * Resolves the slots of every method in the given class and in all of its subclasses
+     * @param classTreeNode the root of the (sub)tree of classes to resolve
+     */
+    public void resolve(ClassTreeNode classTreeNode) {
+        if (!classTreeNode.isBuiltIn()) {
+            this.layout = this.layouts.get(classTreeNode.getName());
+            classTreeNode.getASTNode().accept(this);
+        }
+        Iterator<ClassTreeNode> children = classTreeNode.getChildrenList();
+        while (children.hasNext()) {
+            this.resolve(children.next());
+        }
+    }
+
+    /**
+     * Gets the number of dispatch expressions in the resolved classes, which are
+     * numbered from 0 in the order they were resolved
+     * @return the number of dispatch expressions
+     */
+    public int getNumDispatchSites() {
+        return this.numDispatchSites;
+    }
+
+    /**
+     * Enters a new scope of local variables
+     */
+    private void enterScope() {
+        this.slotTable.enterScope();
+    }
+
+    /**
+     * Exits the current scope, freeing the slots of the variables declared in it
+     * @param savedNextSlot the next free slot when the scope was entered
+     */
+    private void exitScope(int savedNextSlot) {
+        this.slotTable.exitScope();
+        this.nextSlot = savedNextSlot;
+    }
+
+    /**
+     * Declares a variable in the current scope
+     * @param name the name of the variable
+     * @return the slot given to the variable
+     */
+    private int declare(String name) {
+        int slot = this.nextSlot++;
+        this.numSlots = Math.max(this.numSlots, this.nextSlot);
+        this.slotTable.add(name, slot);
+        return slot;
+    }
+
+    /**
+     * Finds the slot of a variable
+     * @param name the name of the variable
+     * @return the slot of the variable, or -1 if it is not a local variable
+     */
+    private int lookup(String name) {
+        Object slot = this.slotTable.lookup(name);
+        return slot == null ? -1 : (Integer) slot;
+    }
+
+    /**
+     * Finds the index of a field
+     * @param refName the reference name ('this', 'super' or null)
+     * @param name the name of the field
+     * @return the index of the field in the class layout
+     */
+    private int lookupField(String refName, String name) {
+        if ("super".equals(refName)) {
+            return this.layout.getParent().getFieldIndex(name);
+        }
+        return this.layout.getFieldIndex(name);
+    }
+
+    /**
+     * Visits a field node, resolving the fields used by its initializer
+     * @param node the field node
+     * @return null
+     */
+    public Object visit(Field node) {
+        if (node.getInit() != null) {
+            this.slotTable = new SymbolTable();
+            this.enterScope();
+            node.getInit().accept(this);
+        }
+        return null;
+    }
+
+    /**
+     * Visits a method node, giving slots to its formals and locals
+     * @param node the method node
+     * @return null
+     */
+    public Object visit(Method node) {
+        this.slotTable = new SymbolTable();
+        this.nextSlot = 0;
+        this.numSlots = 0;
+        this.enterScope();
+        node.getFormalList().accept(this);
+        node.getStmtList().accept(this);
+        this.slotTable.exitScope();
+        node.setNumSlots(this.numSlots);
+        return null;
+    }
+
+    /**
+     * Visits a formal node, giving it a slot
+     * @param node the formal node
+     * @return null
+     */
+    public Object visit(Formal node) {
+        node.setSlot(this.declare(node.getName()));
+        return null;
+    }
+
+    /**
+     * Visits a declaration statement node, giving the new variable a slot
+     * @param node the declaration statement node
+     * @return null
+     */
+    public Object visit(DeclStmt node) {
+        node.getInit().accept(this);
+        node.setSlot(this.declare(node.getName()));
+        return null;
+    }
+
+    /**
+     * Visits an if statement node, giving each branch its own scope
+     * @param node the if statement node
+     * @return null
+     */
+    public Object visit(IfStmt node) {
+        node.getPredExpr().accept(this);
+        int savedNextSlot = this.nextSlot;
+        this.enterScope();
+        node.getThenStmt().accept(this);
+        this.exitScope(savedNextSlot);
+        if (node.getElseStmt() != null) {
+            this.enterScope();
+            node.getElseStmt().accept(this);
+            this.exitScope(savedNextSlot);
+        }
+        return null;
+    }
+
+    /**
+     * Visits a while statement node, giving the body its own scope
+     * @param node the while statement node
+     * @return null
+     */
+    public Object visit(WhileStmt node) {
+        node.getPredExpr().accept(this);
+        int savedNextSlot = this.nextSlot;
+        this.enterScope();
+        node.getBodyStmt().accept(this);
+        this.exitScope(savedNextSlot);
+        return null;
+    }
+
+    /**
+     * Visits a for statement node, giving the body its own scope
+     * @param node the for statement node
+     * @return null
+     */
+    public Object visit(ForStmt node) {
+        if (node.getInitExpr() != null) {
+            node.getInitExpr().accept(this);
+        }
+        if (node.getPredExpr() != null) {
+            node.getPredExpr().accept(this);
+        }
+        if (node.getUpdateExpr() != null) {
+            node.getUpdateExpr().accept(this);
+        }
+        int savedNextSlot = this.nextSlot;
+        this.enterScope();
+        node.getBodyStmt().accept(this);
+        this.exitScope(savedNextSlot);
+        return null;
+    }
+
+    /**
+     * Visits a block statement node, giving it its own scope
+     * @param node the block statement node
+     * @return null
+     */
+    public Object visit(BlockStmt node) {
+        int savedNextSlot = this.nextSlot;
+        this.enterScope();
+        node.getStmtList().accept(this);
+        this.exitScope(savedNextSlot);
+        return null;
+    }
+
+    /**
+     * Visits a try statement node, giving the body its own scope
+     * @param node the try statement node
+     * @return null
+     */
+    public Object visit(TryStmt node) {
+        int savedNextSlot = this.nextSlot;
+        this.enterScope();
+        node.getStmtList().accept(this);
+        this.exitScope(savedNextSlot);
+        node.getCatchList().accept(this);
+        return null;
+    }
+
+    /**
+     * Visits a catch statement node, giving the caught exception a slot in
+     * the scope of the catch body
+     * @param node the catch statement node
+     * @return null
+     */
+    public Object visit(CatchStmt node) {
+        int savedNextSlot = this.nextSlot;
+        this.enterScope();
+        node.getFormal().accept(this);
+        node.getStmtList().accept(this);
+        this.exitScope(savedNextSlot);
+        return null;
+    }
+
+    /**
+     * Visits a variable expression node, recording the slot if it is a local variable
+     * or the field index if it is a field
+     * @param node the variable expression node
+     * @return null
+     */
+    public Object visit(VarExpr node) {
+        String name = node.getName();
+        if (name.equals("this") || name.equals("super") || name.equals("null")) {
+            return null;
+        }
+
+        if (node.getRef() == null) {
+            node.setSlot(this.lookup(name));
+            if (node.getSlot() < 0) {
+                node.setFieldIndex(this.lookupField(null, name));
+            }
+        }
+        else {
+            String refName = ((VarExpr) node.getRef()).getName();
+            if (refName.equals("this") || refName.equals("super")) {
+                node.setFieldIndex(this.lookupField(refName, name));
+            }
+            else {
+                //the length of an array
+                node.getRef().accept(this);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Visits a string constant expression node, decoding its escape sequences
+     * @param node the string constant expression node
+     * @return null
+     */
+    public Object visit(ConstStringExpr node) {
+        String constant = node.getConstant();
+        StringBuilder value = new StringBuilder(constant.length());
+        //Taken from mipsSupport, edited by PYYLCH, SL, JDM
+        for (int i = 0; i < constant.length(); i++) {
+            if (constant.charAt(i) == '\\' && i < constant.length() - 1) {
+                if (constant.charAt(i + 1) == 'n') {
+                    value.append('\n');
+                } else if (constant.charAt(i + 1) == 't') {
+                    value.append('\t');
+                } else if (constant.charAt(i + 1) == 'f') {
+                    value.append('\f');
+                } else if (constant.charAt(i + 1) == '"') {
+                    value.append('"');
+                } else if (constant.charAt(i + 1) == '\\') {
+                    value.append('\\');
+                }
+                // backslash is not allowed in front of any other char
+                i++;
+            } else {
+                value.append(constant.charAt(i));
+            }
+        }
+        node.setValue(value.toString());
+        return null;
+    }
+
+    /**
+     * Visits a dispatch expression node, numbering it and recording the class whose
+     * method is called if it is a 'super' dispatch
+     * @param node the dispatch expression node
+     * @return null
+     */
+    public Object visit(DispatchExpr node) {
+        node.setSiteIndex(this.numDispatchSites++);
+        if (node.getRefExpr() instanceof VarExpr
+                && ((VarExpr) node.getRefExpr()).getName().equals("super")) {
+            node.setSuperClassName(this.layout.getParent().getName());
+        }
+        else if (node.getRefExpr() != null) {
+            node.getRefExpr().accept(this);
+        }
+        node.getActualList().accept(this);
+        return null;
+    }
+
+    /**
+     * Visits an assignment expression node, recording the slot if it assigns
+     * a local variable or the field index if it assigns a field
+     * @param node the assignment expression node
+     * @return null
+     */
+    public Object visit(AssignExpr node) {
+        node.getExpr().accept(this);
+        if (node.getRefName() == null) {
+            node.setSlot(this.lookup(node.getName()));
+        }
+        if (node.getSlot() < 0) {
+            node.setFieldIndex(this.lookupField(node.getRefName(), node.getName()));
+        }
+        return null;
+    }
+
+    /**
+     * Visits an array expression node, recording the slot if the array is a
+     * local variable or the field index if it is a field
+     * @param node the array expression node
+     * @return null
+     */
+    public Object visit(ArrayExpr node) {
+        String refName = null;
+        if (node.getRef() == null) {
+            node.setSlot(this.lookup(node.getName()));
+        }
+        else {
+            refName = ((VarExpr) node.getRef()).getName();
+        }
+        if (node.getSlot() < 0) {
+            node.setFieldIndex(this.lookupField(refName, node.getName()));
+        }
+        node.getIndex().accept(this);
+        return null;
+    }
+
+    /**
+     * Visits an array assignment expression node, recording the slot if the array
+     * is a local variable or the field index if it is a field, and the class id of
+     * the static type of the assigned value (the class id of Object for an array of
+     * ints or booleans)
+     * @param node the array assignment expression node
+     * @return null
+     */
+    public Object visit(ArrayAssignExpr node) {
+        node.getIndex().accept(this);
+        node.getExpr().accept(this);
+        String exprType = String.valueOf(node.getExpr().getExprType());
+        ClassLayout exprLayout;
+        if (exprType.endsWith("[]")) {
+            //an array of objects checks as its element type, and an array of ints
+            //or booleans as Object, so that it can be stored in an Object[]
+            exprLayout = this.layouts.get(exprType.substring(0, exprType.length() - 2));
+            if (exprLayout == null) {
+                exprLayout = this.layouts.get("Object");
+            }
+        }
+        else {
+            exprLayout = this.layouts.get(exprType);
+        }
+        node.setExprClassId(exprLayout == null ? -1 : exprLayout.getClassId());
+        if (node.getRefName() == null) {
+            node.setSlot(this.lookup(node.getName()));
+        }
+        if (node.getSlot() < 0) {
+            node.setFieldIndex(this.lookupField(node.getRefName(), node.getName()));
+        }
+        return null;
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * File: StringData.java
+ * Author: Phoebe Hughes, Siyuan Li, Joseph Malionek
+ * Date: 10/18/26
+ */
+
+package bantam.interp;
+
+/**
+ * An ObjectData representation for a String.  Strings are immutable, so the value is
+ * held directly instead of in fields, and one object can be shared by every evaluation
+ * of a string literal.
+ */
+public class StringData extends ObjectData {
+
+    /**
+     * The value of the string
+     */
+    private final String value;
+
+    /**
+     * Creates a new String object
+     * @param value the value of the string
+     * @param methods the method table of String
+     */
+    public StringData(String value, MethodTable methods){
+        super("String", 0, methods);
+        this.value = value;
+    }
+
+    /**
+     * Gets the value of the string
+     * @return the value
+     */
+    public String getValue(){
+        return this.value;
+    }
+}
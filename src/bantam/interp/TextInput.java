@@ -0,0 +1,226 @@
+/*
+ * File: TextInput.java
+ * Author: Phoebe Hughes, Siyuan Li, Joseph Malionek
+ * Date: 10/18/26
+ */
+
+package bantam.interp;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A buffered text input of TextIO, reading lines from a channel.  Lines are split
+ * directly on the bytes read and ints are parsed from them without building strings.
+ * Like Scanner, it treats errors as the end of the input.
+ */
+class TextInput {
+
+    /**
+     * The size of the buffer in bytes
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * The channel read from
+     */
+    private ReadableByteChannel channel;
+
+    /**
+     * The output flushed before waiting for more input, so a prompt is shown before the
+     * program waits for its answer (standard output for standard input), or null
+     */
+    private TextOutput before;
+
+    /**
+     * The buffer
+     */
+    private byte[] buffer = new byte[BUFFER_SIZE];
+
+    /**
+     * The index of the next byte to read in the buffer
+     */
+    private int position;
+
+    /**
+     * The number of bytes in the buffer
+     */
+    private int limit;
+
+    /**
+     * Whether the end of the input has been reached
+     */
+    private boolean atEnd;
+
+    /**
+     * The bytes of the last line read
+     */
+    private byte[] line = new byte[128];
+
+    /**
+     * The number of bytes of the last line read
+     */
+    private int lineLength;
+
+    /**
+     * Creates an input reading from a stream
+     * @param stream the stream (System.in)
+     * @param before the output flushed before waiting for more input, or null
+     */
+    TextInput(InputStream stream, TextOutput before) {
+        this.channel = Channels.newChannel(stream);
+        this.before = before;
+    }
+
+    /**
+     * Creates an input reading from a file
+     * @param path the path of the file
+     * @throws IOException if the file cannot be opened
+     */
+    TextInput(Path path) throws IOException {
+        this.channel = FileChannel.open(path);
+    }
+
+    /**
+     * Reads the next line, as Scanner.nextLine does
+     * @return the line, without its line separator
+     * @throws NoSuchElementException if there are no more lines
+     */
+    String readLine() {
+        this.nextLine();
+        return new String(this.line, 0, this.lineLength, Charset.defaultCharset());
+    }
+
+    /**
+     * Reads the next line as an int, as Integer.parseInt would parse it
+     * @return the int, or 0 if the line is not an int
+     * @throws NoSuchElementException if there are no more lines
+     */
+    int readInt() {
+        this.nextLine();
+        int i = 0;
+        boolean negative = false;
+        if (this.lineLength > 0 && (this.line[0] == '-' || this.line[0] == '+')) {
+            negative = this.line[0] == '-';
+            i++;
+        }
+        if (i == this.lineLength) {
+            return 0;
+        }
+        //accumulated negatively, since the range of negative ints is larger
+        long value = 0;
+        for (; i < this.lineLength; i++) {
+            int digit = this.line[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return 0;
+            }
+            value = value * 10 - digit;
+            if (value < Integer.MIN_VALUE) {
+                return 0;
+            }
+        }
+        if (!negative) {
+            value = -value;
+            if (value > Integer.MAX_VALUE) {
+                return 0;
+            }
+        }
+        return (int) value;
+    }
+
+    /**
+     * Reads the next line into the line buffer, dropping its line separator ("\n" or
+     * "\r\n")
+     * @throws NoSuchElementException if there are no more lines
+     */
+    private void nextLine() {
+        this.lineLength = 0;
+        boolean any = false;
+        while (true) {
+            if (this.position == this.limit) {
+                this.fill();
+                if (this.atEnd) {
+                    if (!any) {
+                        throw new NoSuchElementException("No line found");
+                    }
+                    break;
+                }
+            }
+            any = true;
+            int start = this.position;
+            int end = start;
+            while (end < this.limit && this.buffer[end] != '\n') {
+                end++;
+            }
+            this.appendLine(start, end);
+            if (end < this.limit) {
+                this.position = end + 1;
+                break;
+            }
+            this.position = end;
+        }
+        if (this.lineLength > 0 && this.line[this.lineLength - 1] == '\r') {
+            this.lineLength--;
+        }
+    }
+
+    /**
+     * Appends bytes of the buffer to the line buffer
+     * @param start the index of the first byte
+     * @param end the index after the last byte
+     */
+    private void appendLine(int start, int end) {
+        int length = end - start;
+        if (this.lineLength + length > this.line.length) {
+            this.line = Arrays.copyOf(this.line,
+                    Math.max(2 * this.line.length, this.lineLength + length));
+        }
+        System.arraycopy(this.buffer, start, this.line, this.lineLength, length);
+        this.lineLength += length;
+    }
+
+    /**
+     * Refills the empty buffer from the channel
+     */
+    private void fill() {
+        if (this.atEnd) {
+            return;
+        }
+        if (this.before != null) {
+            this.before.flush();
+        }
+        ByteBuffer bytes = ByteBuffer.wrap(this.buffer);
+        int read;
+        try {
+            do {
+                read = this.channel.read(bytes);
+            } while (read == 0);
+        }
+        catch (IOException e) {
+            read = -1;
+        }
+        this.position = 0;
+        this.limit = Math.max(read, 0);
+        this.atEnd = read < 0;
+    }
+
+    /**
+     * Closes the channel
+     */
+    void close() {
+        try {
+            this.channel.close();
+        }
+        catch (IOException e) {
+            //nothing more is read from it
+        }
+    }
+}
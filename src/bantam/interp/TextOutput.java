@@ -0,0 +1,206 @@
+/*
+ * File: TextOutput.java
+ * Author: Phoebe Hughes, Siyuan Li, Joseph Malionek
+ * Date: 10/18/26
+ */
+
+package bantam.interp;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A buffered text output of TextIO, writing to a channel.  Text is collected in a large
+ * buffer and written out when the buffer fills or the output is flushed, so printing
+ * does not cost a system call per putString or putInt.  Errors are ignored, as
+ * PrintStream ignores them.
+ */
+class TextOutput {
+
+    /**
+     * The size of the buffer in bytes
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * The channel written to
+     */
+    private WritableByteChannel channel;
+
+    /**
+     * The output flushed before anything is written to this one, so that text written
+     * to the two stays in order (standard output for standard error), or null
+     */
+    private TextOutput before;
+
+    /**
+     * Whether the output is flushed after every write
+     */
+    private boolean autoFlush;
+
+    /**
+     * The buffer
+     */
+    private byte[] buffer = new byte[BUFFER_SIZE];
+
+    /**
+     * The number of bytes in the buffer
+     */
+    private int count;
+
+    /**
+     * Creates an output writing to a stream
+     * @param stream the stream (System.out or System.err)
+     * @param before the output flushed before anything is written to this one, or null
+     * @param autoFlush whether the output is flushed after every write
+     */
+    TextOutput(OutputStream stream, TextOutput before, boolean autoFlush) {
+        this.channel = Channels.newChannel(stream);
+        this.before = before;
+        this.autoFlush = autoFlush;
+    }
+
+    /**
+     * Creates an output writing to a file, replacing its contents
+     * @param path the path of the file
+     * @throws IOException if the file cannot be opened
+     */
+    TextOutput(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    /**
+     * Writes a string
+     * @param string the string
+     */
+    void print(String string) {
+        if (this.before != null) {
+            this.before.flush();
+        }
+        int length = string.length();
+        for (int i = 0; i < length; i++) {
+            char c = string.charAt(i);
+            if (c >= 0x80) {
+                //not ASCII, so the rest is encoded in the platform's charset
+                this.write(string.substring(i).getBytes(Charset.defaultCharset()));
+                break;
+            }
+            if (this.count == this.buffer.length) {
+                this.drain();
+            }
+            this.buffer[this.count++] = (byte) c;
+        }
+        if (this.autoFlush) {
+            this.flush();
+        }
+    }
+
+    /**
+     * Writes an int in decimal
+     * @param value the int
+     */
+    void print(int value) {
+        if (this.before != null) {
+            this.before.flush();
+        }
+        //an int takes at most 11 characters
+        if (this.count > this.buffer.length - 11) {
+            this.drain();
+        }
+        if (value == Integer.MIN_VALUE) {
+            this.write("-2147483648".getBytes(Charset.defaultCharset()));
+        }
+        else {
+            if (value < 0) {
+                this.buffer[this.count++] = '-';
+                value = -value;
+            }
+            int end = this.count + stringSize(value);
+            for (int i = end - 1; i >= this.count; i--) {
+                this.buffer[i] = (byte) ('0' + value % 10);
+                value /= 10;
+            }
+            this.count = end;
+        }
+        if (this.autoFlush) {
+            this.flush();
+        }
+    }
+
+    /**
+     * Gets the number of digits of a non-negative int
+     * @param value the int
+     * @return the number of digits
+     */
+    private static int stringSize(int value) {
+        int size = 1;
+        while (value >= 10) {
+            value /= 10;
+            size++;
+        }
+        return size;
+    }
+
+    /**
+     * Writes bytes, through the buffer
+     * @param bytes the bytes
+     */
+    private void write(byte[] bytes) {
+        int offset = 0;
+        while (offset < bytes.length) {
+            if (this.count == this.buffer.length) {
+                this.drain();
+            }
+            int length = Math.min(bytes.length - offset, this.buffer.length - this.count);
+            System.arraycopy(bytes, offset, this.buffer, this.count, length);
+            this.count += length;
+            offset += length;
+        }
+    }
+
+    /**
+     * Writes the contents of the buffer to the channel, emptying the buffer
+     */
+    private void drain() {
+        ByteBuffer bytes = ByteBuffer.wrap(this.buffer, 0, this.count);
+        try {
+            while (bytes.hasRemaining()) {
+                this.channel.write(bytes);
+            }
+        }
+        catch (IOException e) {
+            //dropped, as PrintStream would
+        }
+        this.count = 0;
+    }
+
+    /**
+     * Writes out everything written so far
+     */
+    void flush() {
+        if (this.count > 0) {
+            this.drain();
+        }
+    }
+
+    /**
+     * Flushes the output and closes its channel
+     */
+    void close() {
+        this.flush();
+        try {
+            this.channel.close();
+        }
+        catch (IOException e) {
+            //dropped, as PrintStream would
+        }
+    }
+}
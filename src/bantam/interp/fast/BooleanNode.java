@@ -0,0 +1,20 @@
+/*
+ * File: BooleanNode.java
+ * Author: Phoebe Hughes, Siyuan Li, Joseph Malionek
+ * Date: 10/18/26
+ */
+
+package bantam.interp.fast;
+
+/**
+ * A compiled expression whose static type is boolean, evaluated without boxing its value.
+ */
+public interface BooleanNode {
+
+    /**
+     * Evaluates the expression
+     * @param frame the frame of the method the expression is in
+     * @return the value of the expression
+     */
+    public boolean eval(Frame frame);
+}
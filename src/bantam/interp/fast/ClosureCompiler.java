@@ -0,0 +1,1071 @@
+/*
+ * File: ClosureCompiler.java
+ * Author: Phoebe Hughes, Siyuan Li, Joseph Malionek
+ * Date: 10/18/26
+ */
+
+package bantam.interp.fast;
+
+import bantam.ast.*;
+import bantam.interp.*;
+import bantam.util.ClassTreeNode;
+import bantam.visitor.Visitor;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Compiles the methods and field initializers of a typed, slot resolved AST into trees
+ * of executable nodes.  Each visit method returns the node its AST node compiles to:
+ * a StmtNode for statements, and an IntNode, BooleanNode or ObjectNode for expressions,
+ * depending on how the value of the expression is best computed.  Everything that
+ * does not change while the program runs (slots, field indices, method table indices,
+ * constants and error messages) is worked out here rather than in the nodes.
+ */
+public class ClosureCompiler extends Visitor {
+
+    /**
+     * The statement that does nothing
+     */
+    private static final StmtNode NO_OP = frame -> null;
+
+    /**
+     * The engine the compiled nodes run in
+     */
+    private FastInterpreter engine;
+
+    /**
+     * The generator of the members of the builtin classes
+     */
+    private BuiltInMemberGenerator memberGenerator;
+
+    /**
+     * The layout of the class being compiled
+     */
+    private ClassLayout layout;
+
+    /**
+     * The String objects of the string constants, shared by every constant with
+     * the same value
+     */
+    private HashMap<String, StringData> stringConstants;
+
+    /**
+     * Creates a new closure compiler
+     * @param engine the engine the compiled nodes run in
+     */
+    public ClosureCompiler(FastInterpreter engine) {
+        this.engine = engine;
+        this.memberGenerator = engine.getMemberGenerator();
+        this.stringConstants = new HashMap<>();
+    }
+
+    /**
+     * Compiles the methods and field initializers of a class and all of its subclasses
+     * @param classTreeNode the root of the (sub)tree of classes
+     */
+    public void compile(ClassTreeNode classTreeNode) {
+        this.compile(classTreeNode, new ArrayList<>());
+    }
+
+    /**
+     * Compiles the methods and field initializers of a class and all of its subclasses
+     * @param classTreeNode the root of the (sub)tree of classes
+     * @param inherited the compiled initializers of the fields of the ancestors
+     */
+    private void compile(ClassTreeNode classTreeNode, List<StmtNode> inherited) {
+        String className = classTreeNode.getName();
+        this.layout = this.engine.getClassLayout(className);
+        List<StmtNode> initializers = new ArrayList<>(inherited);
+        for (ASTNode member : classTreeNode.getASTNode().getMemberList()) {
+            if (member instanceof Field) {
+                initializers.add((StmtNode) member.accept(this));
+            }
+            else if (!classTreeNode.isBuiltIn()) {
+                member.accept(this);
+            }
+        }
+
+        //A separate class handles the hidden fields of built-ins
+        if (BuiltInMemberGenerator.getHiddenFields(className).length > 0) {
+            initializers.add(frame -> {
+                this.memberGenerator.initHiddenFields(className, frame.thisObject);
+                return null;
+            });
+        }
+        this.engine.getInstantiator(className)
+                .setInitializers(initializers.toArray(new StmtNode[0]));
+
+        Iterator<ClassTreeNode> children = classTreeNode.getChildrenList();
+        while (children.hasNext()) {
+            this.compile(children.next(), initializers);
+        }
+    }
+
+    /**
+     * Compiles an expression whose static type is int
+     * @param node the expression node
+     * @return the compiled expression
+     */
+    private IntNode compileInt(Expr node) {
+        Object compiled = node.accept(this);
+        if (compiled instanceof IntNode) {
+            return (IntNode) compiled;
+        }
+        ObjectNode value = (ObjectNode) compiled;
+        return frame -> (int) value.eval(frame);
+    }
+
+    /**
+     * Compiles an expression whose static type is boolean
+     * @param node the expression node
+     * @return the compiled expression
+     */
+    private BooleanNode compileBoolean(Expr node) {
+        Object compiled = node.accept(this);
+        if (compiled instanceof BooleanNode) {
+            return (BooleanNode) compiled;
+        }
+        ObjectNode value = (ObjectNode) compiled;
+        return frame -> (boolean) value.eval(frame);
+    }
+
+    /**
+     * Compiles an expression whose value is needed as an object, boxing ints and booleans
+     * @param node the expression node
+     * @return the compiled expression
+     */
+    private ObjectNode compileObject(Expr node) {
+        Object compiled = node.accept(this);
+        if (compiled instanceof IntNode) {
+            IntNode value = (IntNode) compiled;
+            return frame -> value.eval(frame);
+        }
+        else if (compiled instanceof BooleanNode) {
+            BooleanNode value = (BooleanNode) compiled;
+            return frame -> value.eval(frame);
+        }
+        return (ObjectNode) compiled;
+    }
+
+    /**
+     * Compiles an expression evaluated only for its side effects, without boxing its value
+     * @param node the expression node
+     * @return the compiled expression, as a statement
+     */
+    private StmtNode compileEffect(Expr node) {
+        Object compiled = node.accept(this);
+        if (compiled instanceof IntNode) {
+            IntNode value = (IntNode) compiled;
+            return frame -> {
+                value.eval(frame);
+                return null;
+            };
+        }
+        else if (compiled instanceof BooleanNode) {
+            BooleanNode value = (BooleanNode) compiled;
+            return frame -> {
+                value.eval(frame);
+                return null;
+            };
+        }
+        ObjectNode value = (ObjectNode) compiled;
+        return frame -> {
+            value.eval(frame);
+            return null;
+        };
+    }
+
+    /**
+     * Compiles a list of statements
+     * @param node the statement list node
+     * @return the compiled statements, as one statement
+     */
+    private StmtNode compileStmts(StmtList node) {
+        StmtNode[] stmts = new StmtNode[node.getSize()];
+        for (int i = 0; i < stmts.length; i++) {
+            stmts[i] = (StmtNode) node.get(i).accept(this);
+        }
+        if (stmts.length == 0) {
+            return NO_OP;
+        }
+        else if (stmts.length == 1) {
+            return stmts[0];
+        }
+        return frame -> {
+            for (StmtNode stmt : stmts) {
+                Completion completion = stmt.exec(frame);
+                if (completion != null) {
+                    return completion;
+                }
+            }
+            return null;
+        };
+    }
+
+    /**
+     * Compiles the actual parameters of a call
+     * @param node the expression list node
+     * @return the compiled actual parameters
+     */
+    private ObjectNode[] compileArgs(ExprList node) {
+        ObjectNode[] args = new ObjectNode[node.getSize()];
+        for (int i = 0; i < args.length; i++) {
+            args[i] = this.compileObject((Expr) node.get(i));
+        }
+        return args;
+    }
+
+    /**
+     * Evaluates the actual parameters of a call in the caller's frame
+     * @param args the compiled actual parameters
+     * @param frame the frame of the caller
+     * @return the values of the actual parameters
+     */
+    private static Object[] evalArgs(ObjectNode[] args, Frame frame) {
+        Object[] values = new Object[args.length];
+        for (int i = 0; i < args.length; i++) {
+            values[i] = args[i].eval(frame);
+        }
+        return values;
+    }
+
+    /**
+     * Compiles the lookup of the array named by an array expression or array assignment,
+     * throwing a NullPointerException if the array is null
+     * @param slot the slot of the array if it is a local variable, otherwise -1
+     * @param fieldIndex the field index of the array if it is a field
+     * @param name the name of the array
+     * @param lineNum the line number of the expression
+     * @return the compiled lookup, whose value is an ArrayData
+     */
+    private ObjectNode compileArray(int slot, int fieldIndex, String name, int lineNum) {
+        String message = "Array " + name + " on line " + lineNum + " is null";
+        if (slot >= 0) {
+            return frame -> {
+                Object array = frame.locals[slot];
+                if (array == null) {
+                    throw this.engine.newException("NullPointerException", message);
+                }
+                return array;
+            };
+        }
+        return frame -> {
+            Object array = frame.thisObject.getField(fieldIndex);
+            if (array == null) {
+                throw this.engine.newException("NullPointerException", message);
+            }
+            return array;
+        };
+    }
+
+    /**
+     * Throws an ArrayIndexOutOfBoundsException if an index is out of the bounds of an array
+     * @param array the array
+     * @param index the index
+     */
+    private void checkBounds(ArrayData array, int index) {
+        if (index >= array.getLength() || index < 0) {
+            throw this.engine.newException("ArrayIndexOutOfBoundsException",
+                    "Index " + index + " out of bounds.");
+        }
+    }
+
+    /**
+     * Compiles a field, to the initializer of the field run on new objects
+     * @param node the field node
+     * @return the compiled initializer
+     */
+    public Object visit(Field node) {
+        int index = this.layout.getFieldIndex(node.getName());
+        Object defaultValue = null;
+        if (node.getType().equals("int")) {
+            defaultValue = 0;
+        }
+        else if (node.getType().equals("boolean")) {
+            defaultValue = false;
+        }
+        Object value = defaultValue;
+
+        if (node.getInit() == null) {
+            return (StmtNode) frame -> {
+                frame.thisObject.setField(index, value);
+                return null;
+            };
+        }
+        ObjectNode init = this.compileObject(node.getInit());
+        return (StmtNode) frame -> {
+            frame.thisObject.setField(index, value);
+            frame.thisObject.setField(index, init.eval(frame));
+            return null;
+        };
+    }
+
+    /**
+     * Compiles a method, giving its compiled method in the method table its body
+     * @param node the method node
+     * @return null
+     */
+    public Object visit(Method node) {
+        CompiledMethod method = (CompiledMethod) this.layout.getMethods().get(node.getName());
+        method.setBody(this.compileStmts(node.getStmtList()));
+        return null;
+    }
+
+    /**
+     * Compiles a declaration statement node
+     * @param node the declaration statement node
+     * @return the compiled statement
+     */
+    public Object visit(DeclStmt node) {
+        int slot = node.getSlot();
+        if (node.getType().equals("int")) {
+            IntNode init = this.compileInt(node.getInit());
+            return (StmtNode) frame -> {
+                frame.ints[slot] = init.eval(frame);
+                return null;
+            };
+        }
+        else if (node.getType().equals("boolean")) {
+            BooleanNode init = this.compileBoolean(node.getInit());
+            return (StmtNode) frame -> {
+                frame.ints[slot] = init.eval(frame) ? 1 : 0;
+                return null;
+            };
+        }
+        ObjectNode init = this.compileObject(node.getInit());
+        return (StmtNode) frame -> {
+            frame.locals[slot] = init.eval(frame);
+            return null;
+        };
+    }
+
+    /**
+     * Compiles an expression statement node
+     * @param node the expression statement node
+     * @return the compiled statement
+     */
+    public Object visit(ExprStmt node) {
+        return this.compileEffect(node.getExpr());
+    }
+
+    /**
+     * Compiles an if statement node
+     * @param node the if statement node
+     * @return the compiled statement
+     */
+    public Object visit(IfStmt node) {
+        BooleanNode pred = this.compileBoolean(node.getPredExpr());
+        StmtNode thenStmt = (StmtNode) node.getThenStmt().accept(this);
+        if (node.getElseStmt() == null) {
+            return (StmtNode) frame -> pred.eval(frame) ? thenStmt.exec(frame) : null;
+        }
+        StmtNode elseStmt = (StmtNode) node.getElseStmt().accept(this);
+        return (StmtNode) frame -> pred.eval(frame) ? thenStmt.exec(frame) : elseStmt.exec(frame);
+    }
+
+    /**
+     * Compiles a while statement node
+     * @param node the while statement node
+     * @return the compiled statement
+     */
+    public Object visit(WhileStmt node) {
+        BooleanNode pred = this.compileBoolean(node.getPredExpr());
+        StmtNode body = (StmtNode) node.getBodyStmt().accept(this);
+        return (StmtNode) frame -> {
+            while (pred.eval(frame)) {
+                Completion completion = body.exec(frame);
+                if (completion == Completion.BREAK) {
+                    break;
+                }
+                else if (completion != null) {
+                    return completion;
+                }
+            }
+            return null;
+        };
+    }
+
+    /**
+     * Compiles a for statement node
+     * @param node the for statement node
+     * @return the compiled statement
+     */
+    public Object visit(ForStmt node) {
+        StmtNode init = node.getInitExpr() == null ? NO_OP : this.compileEffect(node.getInitExpr());
+        BooleanNode pred = node.getPredExpr() == null ? frame -> true
+                : this.compileBoolean(node.getPredExpr());
+        StmtNode update = node.getUpdateExpr() == null ? NO_OP
+                : this.compileEffect(node.getUpdateExpr());
+        StmtNode body = (StmtNode) node.getBodyStmt().accept(this);
+        return (StmtNode) frame -> {
+            init.exec(frame);
+            while (pred.eval(frame)) {
+                Completion completion = body.exec(frame);
+                if (completion == Completion.BREAK) {
+                    break;
+                }
+                else if (completion != null) {
+                    return completion;
+                }
+                update.exec(frame);
+            }
+            return null;
+        };
+    }
+
+    /**
+     * Compiles a break statement node
+     * @param node the break statement node
+     * @return the compiled statement
+     */
+    public Object visit(BreakStmt node) {
+        return (StmtNode) frame -> Completion.BREAK;
+    }
+
+    /**
+     * Compiles a return statement node
+     * @param node the return statement node
+     * @return the compiled statement
+     */
+    public Object visit(ReturnStmt node) {
+        if (node.getExpr() == null) {
+            return (StmtNode) frame -> {
+                frame.returnValue = null;
+                return Completion.RETURN;
+            };
+        }
+        ObjectNode expr = this.compileObject(node.getExpr());
+        return (StmtNode) frame -> {
+            frame.returnValue = expr.eval(frame);
+            return Completion.RETURN;
+        };
+    }
+
+    /**
+     * Compiles a block statement node
+     * @param node the block statement node
+     * @return the compiled statement
+     */
+    public Object visit(BlockStmt node) {
+        return this.compileStmts(node.getStmtList());
+    }
+
+    /**
+     * Compiles a try statement node, along with its catch statements
+     * @param node the try statement node
+     * @return the compiled statement
+     */
+    public Object visit(TryStmt node) {
+        StmtNode body = this.compileStmts(node.getStmtList());
+        CatchList catchList = node.getCatchList();
+        String[] types = new String[catchList.getSize()];
+        int[] slots = new int[catchList.getSize()];
+        StmtNode[] catchBodies = new StmtNode[catchList.getSize()];
+        for (int i = 0; i < types.length; i++) {
+            CatchStmt catchStmt = (CatchStmt) catchList.get(i);
+            types[i] = catchStmt.getFormal().getType();
+            slots[i] = catchStmt.getFormal().getSlot();
+            catchBodies[i] = this.compileStmts(catchStmt.getStmtList());
+        }
+        return (StmtNode) frame -> {
+            try {
+                return body.exec(frame);
+            }
+            catch (BantamException e) {
+                ObjectData exception = e.getExceptionObject();
+                for (int i = 0; i < types.length; i++) {
+                    if (this.engine.isAncestorOf(types[i], exception.getType())) {
+                        frame.locals[slots[i]] = exception;
+                        return catchBodies[i].exec(frame);
+                    }
+                }
+                throw this.memberGenerator.getException(exception);
+            }
+        };
+    }
+
+    /**
+     * Compiles a throw statement node
+     * @param node the throw statement node
+     * @return the compiled statement
+     */
+    public Object visit(ThrowStmt node) {
+        ObjectNode expr = this.compileObject(node.getExpr());
+        String message = "The value null was thrown on line " + node.getLineNum();
+        return (StmtNode) frame -> {
+            ObjectData data = (ObjectData) expr.eval(frame);
+            if (data == null) {
+                throw this.engine.newException("NullPointerException", message);
+            }
+            throw this.memberGenerator.getException(data);
+        };
+    }
+
+    /**
+     * Compiles a dispatch expression node.  Unless it is a 'super' dispatch, which always
+     * calls the same method, the method is looked up by its index in the method table
+     * of the static type of the receiver.
+     * @param node the dispatch expression node
+     * @return the compiled expression
+     */
+    public Object visit(DispatchExpr node) {
+        String methodName = node.getMethodName();
+        Expr refExpr = node.getRefExpr();
+        if (node.getSuperClassName() != null) {
+            ObjectNode[] args = this.compileArgs(node.getActualList());
+            MethodBody methodBody = this.engine.getClassLayout(node.getSuperClassName())
+                    .getMethods().get(methodName);
+            return (ObjectNode) frame ->
+                    methodBody.execute(frame.thisObject, evalArgs(args, frame));
+        }
+        else if (refExpr == null || (refExpr instanceof VarExpr
+                && ((VarExpr) refExpr).getName().equals("this"))) {
+            ObjectNode[] args = this.compileArgs(node.getActualList());
+            int index = this.layout.getMethods().getIndex(methodName);
+            return (ObjectNode) frame -> frame.thisObject.getMethod(index)
+                    .execute(frame.thisObject, evalArgs(args, frame));
+        }
+
+        //a different object
+        ObjectNode ref = this.compileObject(refExpr);
+        ObjectNode[] args = this.compileArgs(node.getActualList());
+        String staticType = refExpr.getExprType();
+        MethodTable methods = staticType.endsWith("[]") ? this.engine.getArrayMethods()
+                : this.engine.getClassLayout(staticType).getMethods();
+        int index = methods.getIndex(methodName);
+        String message = "Reference object of call to " + methodName + " on line "
+                + node.getLineNum() + " is null";
+        return (ObjectNode) frame -> {
+            ObjectData receiver = (ObjectData) ref.eval(frame);
+            if (receiver == null) {
+                throw this.engine.newException("NullPointerException", message);
+            }
+            return receiver.getMethod(index).execute(receiver, evalArgs(args, frame));
+        };
+    }
+
+    /**
+     * Compiles a new expression node
+     * @param node the new expression node
+     * @return the compiled expression
+     */
+    public Object visit(NewExpr node) {
+        if (node.getType().equals("String")) {
+            return (ObjectNode) frame -> this.memberGenerator.newString("");
+        }
+        Instantiator instantiator = this.engine.getInstantiator(node.getType());
+        return (ObjectNode) frame -> instantiator.instantiate();
+    }
+
+    /**
+     * Compiles a new array expression node
+     * @param node the new array expression node
+     * @return the compiled expression
+     */
+    public Object visit(NewArrayExpr node) {
+        IntNode sizeExpr = this.compileInt(node.getSize());
+        String type = node.getType();
+        int maxLength = this.engine.getMaxArrayLength();
+        String message = "Size must be in range 0 to " + maxLength + ".";
+        return (ObjectNode) frame -> {
+            int size = sizeExpr.eval(frame);
+            if (size > maxLength || size < 0) {
+                throw this.engine.newException("ArraySizeException", message);
+            }
+            return this.engine.newArray(type, size);
+        };
+    }
+
+    /**
+     * Compiles an instanceof expression node
+     * @param node the instanceof expression node
+     * @return the compiled expression
+     */
+    public Object visit(InstanceofExpr node) {
+        ObjectNode expr = this.compileObject(node.getExpr());
+        if (node.getUpCheck()) {
+            return (BooleanNode) frame -> {
+                expr.eval(frame);
+                return true;
+            };
+        }
+        String type = node.getType();
+        return (BooleanNode) frame -> {
+            ObjectData obj = (ObjectData) expr.eval(frame);
+            return obj == null || this.engine.isAncestorOf(type, obj.getType());
+        };
+    }
+
+    /**
+     * Compiles a cast expression node
+     * @param node the cast expression node
+     * @return the compiled expression
+     */
+    public Object visit(CastExpr node) {
+        ObjectNode expr = this.compileObject(node.getExpr());
+        if (node.getUpCast()) {
+            return expr;
+        }
+        String type = node.getType();
+        int lineNum = node.getLineNum();
+        return (ObjectNode) frame -> {
+            ObjectData obj = (ObjectData) expr.eval(frame);
+            if (obj != null && !this.engine.isAncestorOf(type, obj.getType())) {
+                throw this.engine.newException("ClassCastException", "Cannot cast object of type "
+                        + obj.getType() + " to type " + type + " on line " + lineNum);
+            }
+            return obj;
+        };
+    }
+
+    /**
+     * Compiles an assignment expression node
+     * @param node the assignment expression node
+     * @return the compiled expression
+     */
+    public Object visit(AssignExpr node) {
+        int slot = node.getSlot();
+        if (slot >= 0 && "int".equals(node.getExprType())) {
+            IntNode expr = this.compileInt(node.getExpr());
+            return (IntNode) frame -> frame.ints[slot] = expr.eval(frame);
+        }
+        else if (slot >= 0 && "boolean".equals(node.getExprType())) {
+            BooleanNode expr = this.compileBoolean(node.getExpr());
+            return (BooleanNode) frame -> {
+                boolean value = expr.eval(frame);
+                frame.ints[slot] = value ? 1 : 0;
+                return value;
+            };
+        }
+        ObjectNode expr = this.compileObject(node.getExpr());
+        if (slot >= 0) {
+            return (ObjectNode) frame -> frame.locals[slot] = expr.eval(frame);
+        }
+        int fieldIndex = node.getFieldIndex();
+        return (ObjectNode) frame -> {
+            Object value = expr.eval(frame);
+            frame.thisObject.setField(fieldIndex, value);
+            return value;
+        };
+    }
+
+    /**
+     * Compiles an array assignment expression node
+     * @param node the array assignment expression node
+     * @return the compiled expression
+     */
+    public Object visit(ArrayAssignExpr node) {
+        IntNode indexExpr = this.compileInt(node.getIndex());
+        ObjectNode arrayExpr = this.compileArray(node.getSlot(), node.getFieldIndex(),
+                node.getName(), node.getLineNum());
+        String exprType = node.getExpr().getExprType();
+
+        //ints and booleans can only be stored in arrays of their own type
+        if ("int".equals(exprType)) {
+            IntNode expr = this.compileInt(node.getExpr());
+            return (IntNode) frame -> {
+                int index = indexExpr.eval(frame);
+                int value = expr.eval(frame);
+                IntArrayData array = (IntArrayData) arrayExpr.eval(frame);
+                this.checkBounds(array, index);
+                array.setInt(index, value);
+                return value;
+            };
+        }
+        else if ("boolean".equals(exprType)) {
+            BooleanNode expr = this.compileBoolean(node.getExpr());
+            return (BooleanNode) frame -> {
+                int index = indexExpr.eval(frame);
+                boolean value = expr.eval(frame);
+                BooleanArrayData array = (BooleanArrayData) arrayExpr.eval(frame);
+                this.checkBounds(array, index);
+                array.setBoolean(index, value);
+                return value;
+            };
+        }
+
+        ObjectNode expr = this.compileObject(node.getExpr());
+        int exprClassId = node.getExprClassId();
+        return (ObjectNode) frame -> {
+            int index = indexExpr.eval(frame);
+            Object value = expr.eval(frame);
+            ObjectArrayData array = (ObjectArrayData) arrayExpr.eval(frame);
+            if (!array.canStore(exprClassId)) {
+                throw this.engine.newException("ArrayStoreException",
+                        "Cannot assign an array element of type " + exprType
+                                + " to an array of dynamic type " + array.getType() + ".");
+            }
+            this.checkBounds(array, index);
+            array.setItem(index, value);
+            return value;
+        };
+    }
+
+    /**
+     * Compiles an array expression node
+     * @param node the array expression node
+     * @return the compiled expression
+     */
+    public Object visit(ArrayExpr node) {
+        ObjectNode arrayExpr = this.compileArray(node.getSlot(), node.getFieldIndex(),
+                node.getName(), node.getLineNum());
+        IntNode indexExpr = this.compileInt(node.getIndex());
+        if ("int".equals(node.getExprType())) {
+            return (IntNode) frame -> {
+                IntArrayData array = (IntArrayData) arrayExpr.eval(frame);
+                int index = indexExpr.eval(frame);
+                this.checkBounds(array, index);
+                return array.getInt(index);
+            };
+        }
+        else if ("boolean".equals(node.getExprType())) {
+            return (BooleanNode) frame -> {
+                BooleanArrayData array = (BooleanArrayData) arrayExpr.eval(frame);
+                int index = indexExpr.eval(frame);
+                this.checkBounds(array, index);
+                return array.getBoolean(index);
+            };
+        }
+        return (ObjectNode) frame -> {
+            ArrayData array = (ArrayData) arrayExpr.eval(frame);
+            int index = indexExpr.eval(frame);
+            this.checkBounds(array, index);
+            return array.getItem(index);
+        };
+    }
+
+    /**
+     * Compiles a variable expression node
+     * @param node the variable expression node
+     * @return the compiled expression
+     */
+    public Object visit(VarExpr node) {
+        int slot = node.getSlot();
+        if (slot >= 0) {
+            if ("int".equals(node.getExprType())) {
+                return (IntNode) frame -> frame.ints[slot];
+            }
+            else if ("boolean".equals(node.getExprType())) {
+                return (BooleanNode) frame -> frame.ints[slot] != 0;
+            }
+            return (ObjectNode) frame -> frame.locals[slot];
+        }
+        String name = node.getName();
+        if (name.equals("this")) {
+            return (ObjectNode) frame -> frame.thisObject;
+        }
+        else if (name.equals("null")) {
+            return (ObjectNode) frame -> null;
+        }
+
+        String refName = node.getRef() == null ? null : ((VarExpr) node.getRef()).getName();
+        //if array.length
+        if (name.equals("length") && refName != null && !"super".equals(refName)
+                && !"this".equals(refName)) {
+            ObjectNode ref = this.compileObject(node.getRef());
+            String message = "Array " + refName + " on line " + node.getLineNum() + " is null";
+            return (IntNode) frame -> {
+                ArrayData array = (ArrayData) ref.eval(frame);
+                if (array == null) {
+                    throw this.engine.newException("NullPointerException", message);
+                }
+                return array.getLength();
+            };
+        }
+        int fieldIndex = node.getFieldIndex();
+        return (ObjectNode) frame -> frame.thisObject.getField(fieldIndex);
+    }
+
+    /**
+     * Compiles an int constant expression node
+     * @param node the int constant expression node
+     * @return the compiled expression
+     */
+    public Object visit(ConstIntExpr node) {
+        int value = Integer.parseInt(node.getConstant());
+        return (IntNode) frame -> value;
+    }
+
+    /**
+     * Compiles a boolean constant expression node
+     * @param node the boolean constant expression node
+     * @return the compiled expression
+     */
+    public Object visit(ConstBooleanExpr node) {
+        boolean value = Boolean.parseBoolean(node.getConstant());
+        return (BooleanNode) frame -> value;
+    }
+
+    /**
+     * Compiles a string constant expression node
+     * @param node the string constant expression node
+     * @return the compiled expression
+     */
+    public Object visit(ConstStringExpr node) {
+        StringData value = this.stringConstants.get(node.getValue());
+        if (value == null) {
+            value = this.memberGenerator.newString(node.getValue());
+            this.stringConstants.put(node.getValue(), value);
+        }
+        StringData constant = value;
+        return (ObjectNode) frame -> constant;
+    }
+
+    /**
+     * Compiles an equality comparison, comparing ints and booleans by value
+     * and objects by reference
+     * @param node the == or != expression node
+     * @return the compiled comparison, true if the two operands are equal
+     */
+    private BooleanNode compileEquals(BinaryCompExpr node) {
+        Expr left = node.getLeftExpr();
+        Expr right = node.getRightExpr();
+        if ("int".equals(left.getExprType())) {
+            IntNode leftExpr = this.compileInt(left);
+            IntNode rightExpr = this.compileInt(right);
+            return frame -> leftExpr.eval(frame) == rightExpr.eval(frame);
+        }
+        else if ("boolean".equals(left.getExprType())) {
+            BooleanNode leftExpr = this.compileBoolean(left);
+            BooleanNode rightExpr = this.compileBoolean(right);
+            return frame -> leftExpr.eval(frame) == rightExpr.eval(frame);
+        }
+        ObjectNode leftExpr = this.compileObject(left);
+        ObjectNode rightExpr = this.compileObject(right);
+        return frame -> leftExpr.eval(frame) == rightExpr.eval(frame);
+    }
+
+    /**
+     * Compiles a binary comparison equals expression node
+     * @param node the binary comparison equals expression node
+     * @return the compiled expression
+     */
+    public Object visit(BinaryCompEqExpr node) {
+        return this.compileEquals(node);
+    }
+
+    /**
+     * Compiles a binary comparison not equals expression node
+     * @param node the binary comparison not equals expression node
+     * @return the compiled expression
+     */
+    public Object visit(BinaryCompNeExpr node) {
+        BooleanNode equal = this.compileEquals(node);
+        return (BooleanNode) frame -> !equal.eval(frame);
+    }
+
+    /**
+     * Compiles a binary comparison less than expression node
+     * @param node the binary comparison less than expression node
+     * @return the compiled expression
+     */
+    public Object visit(BinaryCompLtExpr node) {
+        IntNode left = this.compileInt(node.getLeftExpr());
+        IntNode right = this.compileInt(node.getRightExpr());
+        return (BooleanNode) frame -> left.eval(frame) < right.eval(frame);
+    }
+
+    /**
+     * Compiles a binary comparison less than or equal to expression node
+     * @param node the binary comparison less than or equal to expression node
+     * @return the compiled expression
+     */
+    public Object visit(BinaryCompLeqExpr node) {
+        IntNode left = this.compileInt(node.getLeftExpr());
+        IntNode right = this.compileInt(node.getRightExpr());
+        return (BooleanNode) frame -> left.eval(frame) <= right.eval(frame);
+    }
+
+    /**
+     * Compiles a binary comparison greater than expression node
+     * @param node the binary comparison greater than expression node
+     * @return the compiled expression
+     */
+    public Object visit(BinaryCompGtExpr node) {
+        IntNode left = this.compileInt(node.getLeftExpr());
+        IntNode right = this.compileInt(node.getRightExpr());
+        return (BooleanNode) frame -> left.eval(frame) > right.eval(frame);
+    }
+
+    /**
+     * Compiles a binary comparison greater than or equal to expression node
+     * @param node the binary comparison greater than or equal to expression node
+     * @return the compiled expression
+     */
+    public Object visit(BinaryCompGeqExpr node) {
+        IntNode left = this.compileInt(node.getLeftExpr());
+        IntNode right = this.compileInt(node.getRightExpr());
+        return (BooleanNode) frame -> left.eval(frame) >= right.eval(frame);
+    }
+
+    /**
+     * Compiles a binary arithmetic plus expression node
+     * @param node the binary arithmetic plus expression node
+     * @return the compiled expression
+     */
+    public Object visit(BinaryArithPlusExpr node) {
+        IntNode left = this.compileInt(node.getLeftExpr());
+        IntNode right = this.compileInt(node.getRightExpr());
+        return (IntNode) frame -> left.eval(frame) + right.eval(frame);
+    }
+
+    /**
+     * Compiles a binary arithmetic minus expression node
+     * @param node the binary arithmetic minus expression node
+     * @return the compiled expression
+     */
+    public Object visit(BinaryArithMinusExpr node) {
+        IntNode left = this.compileInt(node.getLeftExpr());
+        IntNode right = this.compileInt(node.getRightExpr());
+        return (IntNode) frame -> left.eval(frame) - right.eval(frame);
+    }
+
+    /**
+     * Compiles a binary arithmetic times expression node
+     * @param node the binary arithmetic times expression node
+     * @return the compiled expression
+     */
+    public Object visit(BinaryArithTimesExpr node) {
+        IntNode left = this.compileInt(node.getLeftExpr());
+        IntNode right = this.compileInt(node.getRightExpr());
+        return (IntNode) frame -> left.eval(frame) * right.eval(frame);
+    }
+
+    /**
+     * Compiles a binary arithmetic divide expression node
+     * @param node the binary arithmetic divide expression node
+     * @return the compiled expression
+     */
+    public Object visit(BinaryArithDivideExpr node) {
+        IntNode left = this.compileInt(node.getLeftExpr());
+        IntNode right = this.compileInt(node.getRightExpr());
+        String message = "Divisor is 0 on line " + node.getLineNum();
+        return (IntNode) frame -> {
+            int dividend = left.eval(frame);
+            int divisor = right.eval(frame);
+            if (divisor == 0) {
+                throw this.engine.newException("DivideByZeroException", message);
+            }
+            return dividend / divisor;
+        };
+    }
+
+    /**
+     * Compiles a binary arithmetic modulus expression node
+     * @param node the binary arithmetic modulus expression node
+     * @return the compiled expression
+     */
+    public Object visit(BinaryArithModulusExpr node) {
+        IntNode left = this.compileInt(node.getLeftExpr());
+        IntNode right = this.compileInt(node.getRightExpr());
+        String message = "Divisor is 0 on line " + node.getLineNum();
+        return (IntNode) frame -> {
+            int dividend = left.eval(frame);
+            int divisor = right.eval(frame);
+            if (divisor == 0) {
+                throw this.engine.newException("DivideByZeroException", message);
+            }
+            return dividend % divisor;
+        };
+    }
+
+    /**
+     * Compiles a binary logical AND expression node
+     * @param node the binary logical AND expression node
+     * @return the compiled expression
+     */
+    public Object visit(BinaryLogicAndExpr node) {
+        BooleanNode left = this.compileBoolean(node.getLeftExpr());
+        BooleanNode right = this.compileBoolean(node.getRightExpr());
+        return (BooleanNode) frame -> left.eval(frame) && right.eval(frame);
+    }
+
+    /**
+     * Compiles a binary logical OR expression node
+     * @param node the binary logical OR expression node
+     * @return the compiled expression
+     */
+    public Object visit(BinaryLogicOrExpr node) {
+        BooleanNode left = this.compileBoolean(node.getLeftExpr());
+        BooleanNode right = this.compileBoolean(node.getRightExpr());
+        return (BooleanNode) frame -> left.eval(frame) || right.eval(frame);
+    }
+
+    /**
+     * Compiles a unary negation expression node
+     * @param node the unary negation expression node
+     * @return the compiled expression
+     */
+    public Object visit(UnaryNegExpr node) {
+        IntNode expr = this.compileInt(node.getExpr());
+        return (IntNode) frame -> -expr.eval(frame);
+    }
+
+    /**
+     * Compiles a unary NOT expression node
+     * @param node the unary NOT expression node
+     * @return the compiled expression
+     */
+    public Object visit(UnaryNotExpr node) {
+        BooleanNode expr = this.compileBoolean(node.getExpr());
+        return (BooleanNode) frame -> !expr.eval(frame);
+    }
+
+    /**
+     * Compiles a unary increment expression node
+     * @param node the unary increment expression node
+     * @return the compiled expression
+     */
+    public Object visit(UnaryIncrExpr node) {
+        return this.compileIncrDecr(node, 1);
+    }
+
+    /**
+     * Compiles a unary decrement expression node
+     * @param node the unary decrement expression node
+     * @return the compiled expression
+     */
+    public Object visit(UnaryDecrExpr node) {
+        return this.compileIncrDecr(node, -1);
+    }
+
+    /**
+     * Compiles an increment or decrement of a variable, field or array element
+     * @param node the increment or decrement expression node
+     * @param incrementValue the value to increment or decrement by
+     * @return the compiled expression
+     */
+    private IntNode compileIncrDecr(UnaryExpr node, int incrementValue) {
+        //the value of a postfix expression is the old value
+        int resultOffset = node.isPostfix() ? -incrementValue : 0;
+        if (node.getExpr() instanceof ArrayExpr) {
+            ArrayExpr expr = (ArrayExpr) node.getExpr();
+            ObjectNode arrayExpr = this.compileArray(expr.getSlot(), expr.getFieldIndex(),
+                    expr.getName(), node.getLineNum());
+            IntNode indexExpr = this.compileInt(expr.getIndex());
+            return frame -> {
+                IntArrayData array = (IntArrayData) arrayExpr.eval(frame);
+                int index = indexExpr.eval(frame);
+                this.checkBounds(array, index);
+                int newValue = array.getInt(index) + incrementValue;
+                array.setInt(index, newValue);
+                return newValue + resultOffset;
+            };
+        }
+
+        VarExpr expr = (VarExpr) node.getExpr();
+        int slot = expr.getSlot();
+        if (slot >= 0) {
+            return frame -> (frame.ints[slot] += incrementValue) + resultOffset;
+        }
+        int fieldIndex = expr.getFieldIndex();
+        return frame -> {
+            int newValue = (int) frame.thisObject.getField(fieldIndex) + incrementValue;
+            frame.thisObject.setField(fieldIndex, newValue);
+            return newValue + resultOffset;
+        };
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * File: CompiledMethod.java
+ * Author: Phoebe Hughes, Siyuan Li, Joseph Malionek
+ * Date: 10/18/26
+ */
+
+package bantam.interp.fast;
+
+import bantam.ast.Formal;
+import bantam.ast.Method;
+import bantam.interp.Completion;
+import bantam.interp.MethodBody;
+import bantam.interp.ObjectData;
+
+/**
+ * A method declared in a Bantam Java class, compiled to a tree of nodes.  The method
+ * is put in its class's method table before any body is compiled, so calls to it can
+ * be resolved while compiling; its body is filled in afterwards.
+ */
+class CompiledMethod implements MethodBody {
+
+    /**
+     * The number of slots the method needs in its frame
+     */
+    private int numSlots;
+
+    /**
+     * The slots of the formal parameters
+     */
+    private int[] formalSlots;
+
+    /**
+     * The types of the formal parameters
+     */
+    private String[] formalTypes;
+
+    /**
+     * The compiled body of the method
+     */
+    private StmtNode body;
+
+    /**
+     * Creates a new compiled method, whose body is compiled later
+     * @param node the method node
+     */
+    CompiledMethod(Method node) {
+        this.numSlots = node.getNumSlots();
+        int numFormals = node.getFormalList().getSize();
+        this.formalSlots = new int[numFormals];
+        this.formalTypes = new String[numFormals];
+        for (int i = 0; i < numFormals; i++) {
+            Formal formal = (Formal) node.getFormalList().get(i);
+            this.formalSlots[i] = formal.getSlot();
+            this.formalTypes[i] = formal.getType();
+        }
+    }
+
+    /**
+     * Sets the compiled body of the method
+     * @param body the compiled body
+     */
+    void setBody(StmtNode body) {
+        this.body = body;
+    }
+
+    /**
+     * Executes the method in a new frame
+     * @param receiver the object the method is called on
+     * @param args the values of the actual parameters of the method
+     * @return the return value of the method
+     */
+    @Override
+    public Object execute(ObjectData receiver, Object[] args) {
+        Frame frame = new Frame(receiver, this.numSlots);
+        for (int i = 0; i < args.length; i++) {
+            if (this.formalTypes[i].equals("int")) {
+                frame.ints[this.formalSlots[i]] = (int) args[i];
+            }
+            else if (this.formalTypes[i].equals("boolean")) {
+                frame.ints[this.formalSlots[i]] = (boolean) args[i] ? 1 : 0;
+            }
+            else {
+                frame.locals[this.formalSlots[i]] = args[i];
+            }
+        }
+        if (this.body.exec(frame) == Completion.RETURN) {
+            return frame.returnValue;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,234 @@
+/*
+ * File: FastInterpreter.java
+ * Author: Phoebe Hughes, Siyuan Li, Joseph Malionek
+ * Date: 10/18/26
+ */
+
+package bantam.interp.fast;
+
+import bantam.ast.ASTNode;
+import bantam.ast.Method;
+import bantam.interp.*;
+import bantam.util.ClassHierarchy;
+import bantam.util.ClassTreeNode;
+
+import java.util.Hashtable;
+import java.util.Iterator;
+
+/**
+ * Interprets Bantam Java programs by first compiling the typed AST into trees of
+ * executable nodes.  Every variable, field, method call and constant is resolved once
+ * while compiling, so running the program never has to look at the AST again.
+ * The program behaves exactly as it does under the {@link Interpreter}.
+ */
+public class FastInterpreter implements ObjectAllocator {
+
+    /** Root of the class hierarchy tree */
+    private ClassTreeNode root;
+
+    /** Boolean indicating whether debugging is enabled */
+    private boolean debug;
+
+    /**
+     * The index of the class hierarchy, for subtype checks
+     */
+    private ClassHierarchy hierarchy;
+
+    /**
+     * The map of classes and the layouts of their fields and methods
+     */
+    private Hashtable<String, ClassLayout> layouts;
+
+    /**
+     * The map of classes and the instantiators creating their objects
+     */
+    private Hashtable<String, Instantiator> instantiators;
+
+    /**
+     * The generator of the members of the builtin classes
+     */
+    private BuiltInMemberGenerator memberGenerator;
+
+    /**
+     * The method table shared by all arrays
+     */
+    private MethodTable arrayMethods;
+
+    /**
+     * The largest array length a program may create
+     */
+    private int maxArrayLength = ArrayData.DEFAULT_MAX_LENGTH;
+
+    /**
+     * Creates a new fast interpreter
+     * @param root root of the class hierarchy tree
+     * @param debug boolean indicating whether debugging is enabled
+     */
+    public FastInterpreter(ClassTreeNode root, boolean debug) {
+        this.root = root;
+        this.debug = debug;
+    }
+
+    /**
+     * Sets the largest array length a program may create
+     * @param maxArrayLength the largest array length
+     */
+    public void setMaxArrayLength(int maxArrayLength) {
+        this.maxArrayLength = maxArrayLength;
+    }
+
+    /**
+     * Compiles and runs the program
+     * @return the exit status of the program (0 unless it called Sys.exit)
+     */
+    public int interpret() {
+        this.hierarchy = this.root.getHierarchy();
+        this.layouts = new Hashtable<>();
+        ClassLayout.buildLayouts(this.root, null, this.layouts);
+        new SlotResolverVisitor(this.layouts).resolve(this.root);
+
+        //the method tables are filled before any method is compiled,
+        //so that calls can be resolved to their method tables
+        this.instantiators = new Hashtable<>();
+        this.memberGenerator = new BuiltInMemberGenerator(this);
+        this.buildClasses(this.root);
+        this.arrayMethods = new MethodTable();
+        this.arrayMethods.putAll(this.layouts.get("Object").getMethods());
+        this.memberGenerator.genArrayMembers(this.arrayMethods);
+        new ClosureCompiler(this).compile(this.root);
+
+        int status = 0;
+        try {
+            ObjectData mainObject = this.newObject("Main");
+            mainObject.getMethod("main").execute(mainObject, new Object[0]);
+        }
+        catch (BantamException e){
+            this.memberGenerator.printError(e.getMessage());
+        }
+        catch (ProgramExit e){
+            status = e.getStatus();
+        }
+        catch (StackOverflowError e){
+            //each call nests several Java calls; only the virtual machine keeps deep
+            //calls on a frame stack of its own
+            this.memberGenerator.printError("StackOverflowError: the call stack is too deep");
+            status = 1;
+        }
+        finally {
+            this.memberGenerator.flushOutput();
+        }
+        return status;
+    }
+
+    /**
+     * Builds the method tables and instantiators of a class and all of its subclasses.
+     * The methods declared in Bantam Java classes are left to be compiled.
+     * @param classTreeNode the root of the (sub)tree of classes
+     */
+    private void buildClasses(ClassTreeNode classTreeNode) {
+        ClassLayout layout = this.layouts.get(classTreeNode.getName());
+        MethodTable methods = layout.getMethods();
+        if (layout.getParent() != null) {
+            methods.putAll(layout.getParent().getMethods());
+        }
+
+        if (classTreeNode.isBuiltIn()) {
+            this.memberGenerator.genMembers(classTreeNode.getName(), methods);
+        }
+        else {
+            for (ASTNode member : classTreeNode.getASTNode().getMemberList()) {
+                if (member instanceof Method) {
+                    methods.put(((Method) member).getName(), new CompiledMethod((Method) member));
+                }
+            }
+        }
+        this.instantiators.put(classTreeNode.getName(), new Instantiator(layout));
+
+        Iterator<ClassTreeNode> children = classTreeNode.getChildrenList();
+        while (children.hasNext()) {
+            this.buildClasses(children.next());
+        }
+    }
+
+    /**
+     * Gets the layout of the fields and methods of a class
+     * @param className the name of the class
+     * @return the class layout
+     */
+    public ClassLayout getClassLayout(String className) {
+        return this.layouts.get(className);
+    }
+
+    /**
+     * Creates a new object of a class, initializing its fields
+     * @param type the name of the class
+     * @return the new object
+     */
+    public ObjectData newObject(String type) {
+        return this.instantiators.get(type).instantiate();
+    }
+
+    /**
+     * Creates a new array
+     * @param type the type of the array
+     * @param length the length of the array
+     * @return the new array
+     */
+    public ArrayData newArray(String type, int length) {
+        return ArrayData.newArray(type, length, this.arrayMethods, this.layouts);
+    }
+
+    /**
+     * Gets the largest array length a program may create
+     * @return the largest array length
+     */
+    int getMaxArrayLength() {
+        return this.maxArrayLength;
+    }
+
+    /**
+     * Gets the instantiator creating the objects of a class
+     * @param className the name of the class
+     * @return the instantiator
+     */
+    Instantiator getInstantiator(String className) {
+        return this.instantiators.get(className);
+    }
+
+    /**
+     * Gets the generator of the members of the builtin classes
+     * @return the member generator
+     */
+    BuiltInMemberGenerator getMemberGenerator() {
+        return this.memberGenerator;
+    }
+
+    /**
+     * Gets the method table shared by all arrays
+     * @return the method table of arrays
+     */
+    MethodTable getArrayMethods() {
+        return this.arrayMethods;
+    }
+
+    /**
+     * Returns if type1 is an ancestor of type2
+     * @param type1 the possible ancestor
+     * @param type2 the object type being checked
+     */
+    boolean isAncestorOf(String type1, String type2) {
+        return InterpreterVisitor.isAncestorOf(this.hierarchy, type1, type2);
+    }
+
+    /**
+     * Creates a new BantamException and its corresponding Exception object
+     * @param type the type of the Exception
+     * @param message the Exception message
+     * @return the Java exception, to be thrown by the caller
+     */
+    BantamException newException(String type, String message) {
+        ObjectData error = this.newObject(type);
+        this.memberGenerator.setMessage(error, this.memberGenerator.newString(message));
+        return this.memberGenerator.getException(error);
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * File: Frame.java
+ * Author: Phoebe Hughes, Siyuan Li, Joseph Malionek
+ * Date: 10/18/26
+ */
+
+package bantam.interp.fast;
+
+import bantam.interp.ObjectData;
+
+/**
+ * The frame of a call to a compiled method.  It is passed to every node the method's
+ * body is compiled to, so nothing about the running method is kept in the engine itself.
+ */
+public class Frame {
+
+    /**
+     * The object the method was called on
+     */
+    final ObjectData thisObject;
+
+    /**
+     * The object parameters and local variables, indexed by their slots
+     */
+    final Object[] locals;
+
+    /**
+     * The int and boolean parameters and local variables (booleans as 0 or 1),
+     * indexed by their slots
+     */
+    final int[] ints;
+
+    /**
+     * The value of the return statement whose completion is being passed up to the method
+     */
+    Object returnValue;
+
+    /**
+     * Creates a new frame
+     * @param thisObject the object the method was called on
+     * @param numSlots the number of slots the method needs
+     */
+    Frame(ObjectData thisObject, int numSlots) {
+        this.thisObject = thisObject;
+        this.locals = new Object[numSlots];
+        this.ints = new int[numSlots];
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * File: Instantiator.java
+ * Author: Phoebe Hughes, Siyuan Li, Joseph Malionek
+ * Date: 10/18/26
+ */
+
+package bantam.interp.fast;
+
+import bantam.interp.ClassLayout;
+import bantam.interp.ObjectData;
+
+/**
+ * Creates the objects of a class.  The initializers of the fields of the class and of
+ * its ancestors are compiled into one list, run in the order the fields are declared,
+ * starting with the fields of Object.
+ */
+class Instantiator {
+
+    /**
+     * The layout of the class
+     */
+    private ClassLayout layout;
+
+    /**
+     * The compiled initializers of the fields, run on the new object
+     */
+    private StmtNode[] initializers;
+
+    /**
+     * Creates a new instantiator, whose initializers are compiled later
+     * @param layout the layout of the class
+     */
+    Instantiator(ClassLayout layout) {
+        this.layout = layout;
+        this.initializers = new StmtNode[0];
+    }
+
+    /**
+     * Sets the compiled initializers of the fields
+     * @param initializers the initializers, in the order they are run
+     */
+    void setInitializers(StmtNode[] initializers) {
+        this.initializers = initializers;
+    }
+
+    /**
+     * Creates a new object of the class, initializing its fields
+     * @return the new object
+     */
+    ObjectData instantiate() {
+        ObjectData objectData = new ObjectData(this.layout.getName(),
+                this.layout.getNumFields(), this.layout.getMethods());
+        //field initializers cannot refer to local variables, so their frame has no slots
+        Frame frame = new Frame(objectData, 0);
+        for (StmtNode initializer : this.initializers) {
+            initializer.exec(frame);
+        }
+        return objectData;
+    }
+}
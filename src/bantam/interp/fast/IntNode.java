@@ -0,0 +1,20 @@
+/*
+ * File: IntNode.java
+ * Author: Phoebe Hughes, Siyuan Li, Joseph Malionek
+ * Date: 10/18/26
+ */
+
+package bantam.interp.fast;
+
+/**
+ * A compiled expression whose static type is int, evaluated without boxing its value.
+ */
+public interface IntNode {
+
+    /**
+     * Evaluates the expression
+     * @param frame the frame of the method the expression is in
+     * @return the value of the expression
+     */
+    public int eval(Frame frame);
+}
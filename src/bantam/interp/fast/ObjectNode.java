@@ -0,0 +1,20 @@
+/*
+ * File: ObjectNode.java
+ * Author: Phoebe Hughes, Siyuan Li, Joseph Malionek
+ * Date: 10/18/26
+ */
+
+package bantam.interp.fast;
+
+/**
+ * A compiled expression whose value is an object (or a boxed int or boolean).
+ */
+public interface ObjectNode {
+
+    /**
+     * Evaluates the expression
+     * @param frame the frame of the method the expression is in
+     * @return the value of the expression
+     */
+    public Object eval(Frame frame);
+}
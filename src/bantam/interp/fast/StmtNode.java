@@ -0,0 +1,22 @@
+/*
+ * File: StmtNode.java
+ * Author: Phoebe Hughes, Siyuan Li, Joseph Malionek
+ * Date: 10/18/26
+ */
+
+package bantam.interp.fast;
+
+import bantam.interp.Completion;
+
+/**
+ * A compiled statement.
+ */
+public interface StmtNode {
+
+    /**
+     * Executes the statement
+     * @param frame the frame of the method the statement is in
+     * @return the completion of the statement (null if it completed normally)
+     */
+    public Completion exec(Frame frame);
+}
@@ -0,0 +1,573 @@
+/*
+ * File: FastLexer.java
+ * Author: Phoebe Hughes, Siyuan Li, Joseph Malionek
+ * Date: 10/18/26
+ */
+
+package bantam.lexer;
+
+import bantam.parser.TokenIds;
+import java_cup.runtime.Symbol;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+/**
+ * A hand written lexer of Bantam Java, which scans the same tokens as the JLex generated
+ * Lexer (with the same errors and line numbers) but faster.  Each file is read into
+ * one char array with a single read, and tokens are scanned directly from the array
+ * instead of being copied into the small buffer of the generated lexer one match at a
+ * time.  Names and keywords are looked up in a NameTable by the characters they span,
+ * so a name that has been seen before is not copied again and all its tokens share one
+ * String, and keywords are told from identifiers by the same lookup.
+ *
+ * The rules are those of lexer.jlex, applying the longest match rule by hand where
+ * rules overlap (block comments, strings and numbers).
+ */
+public class FastLexer implements SourceScanner {
+
+    /**
+     * The longest string constant allowed, with its quotes
+     */
+    private static final int MAX_STRING_SIZE = 5000;
+
+    /**
+     * The names of the tokens, indexed by their ids
+     */
+    private static final String[] TOKEN_NAMES = new String[TokenIds.STRING_CONST + 1];
+
+    static {
+        TOKEN_NAMES[TokenIds.CLASS] = "CLASS";
+        TOKEN_NAMES[TokenIds.EXTENDS] = "EXTENDS";
+        TOKEN_NAMES[TokenIds.NEW] = "NEW";
+        TOKEN_NAMES[TokenIds.INSTANCEOF] = "INSTANCEOF";
+        TOKEN_NAMES[TokenIds.FOR] = "FOR";
+        TOKEN_NAMES[TokenIds.WHILE] = "WHILE";
+        TOKEN_NAMES[TokenIds.IF] = "IF";
+        TOKEN_NAMES[TokenIds.ELSE] = "ELSE";
+        TOKEN_NAMES[TokenIds.RETURN] = "RETURN";
+        TOKEN_NAMES[TokenIds.BREAK] = "BREAK";
+        TOKEN_NAMES[TokenIds.TRY] = "TRY";
+        TOKEN_NAMES[TokenIds.CATCH] = "CATCH";
+        TOKEN_NAMES[TokenIds.THROW] = "THROW";
+        TOKEN_NAMES[TokenIds.SEMI] = "SEMI";
+        TOKEN_NAMES[TokenIds.COMMA] = "COMMA";
+        TOKEN_NAMES[TokenIds.DOT] = "DOT";
+        TOKEN_NAMES[TokenIds.LPAREN] = "LPAREN";
+        TOKEN_NAMES[TokenIds.RPAREN] = "RPAREN";
+        TOKEN_NAMES[TokenIds.LSQBRACE] = "LSQBRACE";
+        TOKEN_NAMES[TokenIds.RSQBRACE] = "RSQBRACE";
+        TOKEN_NAMES[TokenIds.LBRACE] = "LBRACE";
+        TOKEN_NAMES[TokenIds.RBRACE] = "RBRACE";
+        TOKEN_NAMES[TokenIds.MINUS] = "MINUS";
+        TOKEN_NAMES[TokenIds.PLUS] = "PLUS";
+        TOKEN_NAMES[TokenIds.DIVIDE] = "DIVIDE";
+        TOKEN_NAMES[TokenIds.TIMES] = "TIMES";
+        TOKEN_NAMES[TokenIds.MODULUS] = "MODULUS";
+        TOKEN_NAMES[TokenIds.DECR] = "DECR";
+        TOKEN_NAMES[TokenIds.INCR] = "INCR";
+        TOKEN_NAMES[TokenIds.LT] = "LT";
+        TOKEN_NAMES[TokenIds.GT] = "GT";
+        TOKEN_NAMES[TokenIds.LEQ] = "LEQ";
+        TOKEN_NAMES[TokenIds.GEQ] = "GEQ";
+        TOKEN_NAMES[TokenIds.ASSIGN] = "ASSIGN";
+        TOKEN_NAMES[TokenIds.EQ] = "EQ";
+        TOKEN_NAMES[TokenIds.NE] = "NE";
+        TOKEN_NAMES[TokenIds.NOT] = "NOT";
+        TOKEN_NAMES[TokenIds.AND] = "AND";
+        TOKEN_NAMES[TokenIds.OR] = "OR";
+    }
+
+    /**
+     * The names of the files being scanned
+     */
+    private String[] filenames;
+
+    /**
+     * The index of the file being scanned
+     */
+    private int fileCnt = 0;
+
+    /**
+     * The characters of the file being scanned (null until it is read)
+     */
+    private char[] chars;
+
+    /**
+     * The number of characters of the file being scanned
+     */
+    private int end;
+
+    /**
+     * The index of the next character to scan
+     */
+    private int position;
+
+    /**
+     * The line of the next character to scan
+     */
+    private int line = 1;
+
+    /**
+     * Whether the file before the one being scanned ended with '\r', so that a '\n'
+     * starting this file does not start a new line (as in the generated lexer)
+     */
+    private boolean afterCr;
+
+    /**
+     * The line of the last token scanned
+     */
+    private int tokenLine = 1;
+
+    /**
+     * The names and keywords seen so far
+     */
+    private NameTable names = new NameTable();
+
+    /**
+     * Creates a lexer of the given files, which are scanned one after the other
+     * @param filenames list of filename strings
+     */
+    public FastLexer(String[] filenames) {
+        if (filenames.length == 0) {
+            throw new RuntimeException("Must specify at least one filename to scan");
+        }
+        for (String filename : filenames) {
+            File file = new File(filename);
+            if (!file.isFile() || !file.canRead()) {
+                System.err.println("Error: file '" + filename + "' not found");
+                System.exit(1);
+            }
+        }
+        this.filenames = filenames;
+
+        this.names.add("class", TokenIds.CLASS);
+        this.names.add("extends", TokenIds.EXTENDS);
+        this.names.add("new", TokenIds.NEW);
+        this.names.add("instanceof", TokenIds.INSTANCEOF);
+        this.names.add("for", TokenIds.FOR);
+        this.names.add("while", TokenIds.WHILE);
+        this.names.add("if", TokenIds.IF);
+        this.names.add("else", TokenIds.ELSE);
+        this.names.add("return", TokenIds.RETURN);
+        this.names.add("break", TokenIds.BREAK);
+        this.names.add("try", TokenIds.TRY);
+        this.names.add("catch", TokenIds.CATCH);
+        this.names.add("throw", TokenIds.THROW);
+        this.names.add("true", TokenIds.BOOLEAN_CONST);
+        this.names.add("false", TokenIds.BOOLEAN_CONST);
+    }
+
+    /**
+     * Gets the line of the last token scanned
+     * @return current line number
+     */
+    public int getCurrLineNum() {
+        return this.tokenLine;
+    }
+
+    /**
+     * Gets the name of the file being scanned
+     * @return current filename string
+     */
+    public String getCurrFilename() {
+        return this.filenames[this.fileCnt];
+    }
+
+    /**
+     * Prints all of the tokens, with the names of the files they are in
+     * @throws IOException if a file cannot be read
+     */
+    public void printTokens() throws IOException {
+        int prevFileCnt = -1;
+        while (true) {
+            Symbol symbol = this.next_token();
+            if (prevFileCnt != this.fileCnt) {
+                System.out.println("# " + this.filenames[this.fileCnt]);
+                prevFileCnt = this.fileCnt;
+            }
+            System.out.println((Token) symbol.value);
+            if (symbol.sym == TokenIds.EOF) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Reads the file being scanned into the character array
+     * @throws IOException if the file cannot be read
+     */
+    private void read() throws IOException {
+        byte[] bytes = Files.readAllBytes(Paths.get(this.filenames[this.fileCnt]));
+        CharBuffer charBuffer = Charset.defaultCharset().decode(ByteBuffer.wrap(bytes));
+        this.chars = charBuffer.array();
+        this.end = charBuffer.limit();
+        this.position = 0;
+        this.line = 1;
+    }
+
+    /**
+     * Scans the next token
+     * @return the symbol of the token
+     * @throws IOException if a file cannot be read
+     */
+    public Symbol next_token() throws IOException {
+        while (true) {
+            if (this.chars == null) {
+                this.read();
+            }
+            char[] chars = this.chars;
+            int p = this.position;
+            while (p < this.end) {
+                char c = chars[p];
+                if (c == '\n') {
+                    if (p == 0 ? !this.afterCr : chars[p - 1] != '\r') {
+                        this.line++;
+                    }
+                }
+                else if (c == '\r') {
+                    this.line++;
+                }
+                else if (c != ' ' && c != '\t' && c != '\f') {
+                    break;
+                }
+                p++;
+            }
+            this.position = p;
+            this.tokenLine = this.line;
+
+            if (p == this.end) {
+                if (this.fileCnt < this.filenames.length - 1) {
+                    if (this.end > 0) {
+                        this.afterCr = chars[this.end - 1] == '\r';
+                    }
+                    this.fileCnt++;
+                    this.chars = null;
+                    continue;
+                }
+                return new Symbol(TokenIds.EOF, new Token("EOF", this.tokenLine));
+            }
+
+            char c = chars[p];
+            char next = p + 1 < this.end ? chars[p + 1] : 0;
+            if (isLetter(c)) {
+                return this.scanName(p);
+            }
+            else if (isDigit(c) || c == '_') {
+                return this.scanNumber(p);
+            }
+            switch (c) {
+                case '"':
+                    return this.scanString(p);
+                case '/':
+                    if (next == '*') {
+                        Symbol symbol = this.scanComment(p);
+                        if (symbol != null) {
+                            return symbol;
+                        }
+                        continue;
+                    }
+                    else if (next == '/') {
+                        //the comment ends before the line separator, which is whitespace
+                        p += 2;
+                        while (p < this.end && chars[p] != '\n' && chars[p] != '\r') {
+                            p++;
+                        }
+                        this.position = p;
+                        continue;
+                    }
+                    return this.symbol(TokenIds.DIVIDE, 1);
+                case ';':
+                    return this.symbol(TokenIds.SEMI, 1);
+                case ',':
+                    return this.symbol(TokenIds.COMMA, 1);
+                case '.':
+                    return this.symbol(TokenIds.DOT, 1);
+                case '(':
+                    return this.symbol(TokenIds.LPAREN, 1);
+                case ')':
+                    return this.symbol(TokenIds.RPAREN, 1);
+                case '[':
+                    return this.symbol(TokenIds.LSQBRACE, 1);
+                case ']':
+                    return this.symbol(TokenIds.RSQBRACE, 1);
+                case '{':
+                    return this.symbol(TokenIds.LBRACE, 1);
+                case '}':
+                    return this.symbol(TokenIds.RBRACE, 1);
+                case '*':
+                    return this.symbol(TokenIds.TIMES, 1);
+                case '%':
+                    return this.symbol(TokenIds.MODULUS, 1);
+                case '-':
+                    return next == '-' ? this.symbol(TokenIds.DECR, 2)
+                            : this.symbol(TokenIds.MINUS, 1);
+                case '+':
+                    return next == '+' ? this.symbol(TokenIds.INCR, 2)
+                            : this.symbol(TokenIds.PLUS, 1);
+                case '<':
+                    return next == '=' ? this.symbol(TokenIds.LEQ, 2)
+                            : this.symbol(TokenIds.LT, 1);
+                case '>':
+                    return next == '=' ? this.symbol(TokenIds.GEQ, 2)
+                            : this.symbol(TokenIds.GT, 1);
+                case '=':
+                    return next == '=' ? this.symbol(TokenIds.EQ, 2)
+                            : this.symbol(TokenIds.ASSIGN, 1);
+                case '!':
+                    return next == '=' ? this.symbol(TokenIds.NE, 2)
+                            : this.symbol(TokenIds.NOT, 1);
+                case '&':
+                    if (next == '&') {
+                        return this.symbol(TokenIds.AND, 2);
+                    }
+                    break;
+                case '|':
+                    if (next == '|') {
+                        return this.symbol(TokenIds.OR, 2);
+                    }
+                    break;
+                default:
+                    break;
+            }
+            this.position = p + 1;
+            return this.error(c + " is an illegal character.");
+        }
+    }
+
+    /**
+     * Returns if a character is an ASCII letter
+     * @param c the character
+     * @return true if the character is a letter
+     */
+    private static boolean isLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    /**
+     * Returns if a character is an ASCII digit
+     * @param c the character
+     * @return true if the character is a digit
+     */
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * Returns if a character can be part of an identifier after its first character
+     * @param c the character
+     * @return true if the character is a letter, a digit or an underscore
+     */
+    private static boolean isNameChar(char c) {
+        return isLetter(c) || isDigit(c) || c == '_';
+    }
+
+    /**
+     * Makes the symbol of a token without an attribute, skipping its characters
+     * @param tokenId the id of the token
+     * @param length the number of characters of the token
+     * @return the symbol
+     */
+    private Symbol symbol(int tokenId, int length) {
+        this.position += length;
+        return new Symbol(tokenId, new Token(TOKEN_NAMES[tokenId], this.tokenLine));
+    }
+
+    /**
+     * Makes the symbol of a lexical error
+     * @param message the error message
+     * @return the symbol
+     */
+    private Symbol error(String message) {
+        return new Symbol(TokenIds.LEX_ERROR, new Token("LEX_ERROR", message, this.tokenLine));
+    }
+
+    /**
+     * Counts the line separators of the characters of a token that has been scanned,
+     * as the generated lexer does ("\r\n" is one separator)
+     * @param start the index of the first character of the token
+     * @param end the index after the last character of the token
+     */
+    private void countLines(int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (this.chars[i] == '\r'
+                    || (this.chars[i] == '\n'
+                        && (i == 0 ? !this.afterCr : this.chars[i - 1] != '\r'))) {
+                this.line++;
+            }
+        }
+    }
+
+    /**
+     * Scans an identifier or a keyword
+     * @param start the index of its first character
+     * @return the symbol of the token
+     */
+    private Symbol scanName(int start) {
+        int p = start + 1;
+        while (p < this.end && isNameChar(this.chars[p])) {
+            p++;
+        }
+        this.position = p;
+        String name = this.names.lookup(this.chars, start, p - start, TokenIds.ID);
+        int tokenId = this.names.getTokenId();
+        if (tokenId == TokenIds.ID) {
+            return new Symbol(TokenIds.ID, new Token("ID", name, this.tokenLine));
+        }
+        else if (tokenId == TokenIds.BOOLEAN_CONST) {
+            return new Symbol(TokenIds.BOOLEAN_CONST,
+                    new Token("BOOLEAN_CONST", name, this.tokenLine));
+        }
+        else if (tokenId == TokenIds.CLASS) {
+            return new Symbol(TokenIds.CLASS,
+                    new Token("CLASS", null, this.tokenLine, this.getCurrFilename()));
+        }
+        return new Symbol(tokenId, new Token(TOKEN_NAMES[tokenId], this.tokenLine));
+    }
+
+    /**
+     * Scans an integer constant, or an illegal identifier starting with a digit or an
+     * underscore
+     * @param start the index of its first character
+     * @return the symbol of the token
+     */
+    private Symbol scanNumber(int start) {
+        int p = start;
+        while (p < this.end && isDigit(this.chars[p])) {
+            p++;
+        }
+        int q = Math.max(p, start + 1);
+        while (q < this.end && isNameChar(this.chars[q])) {
+            q++;
+        }
+        if (q > p) {
+            this.position = q;
+            return this.error("Identifier " + new String(this.chars, start, q - start)
+                    + " cannot start with _ or 0-9.");
+        }
+
+        this.position = p;
+        String text = this.names.lookup(this.chars, start, p - start, TokenIds.INT_CONST);
+        if (Long.parseLong(text) < Math.pow(2, 31)) {
+            return new Symbol(TokenIds.INT_CONST, new Token("INT_CONST", text, this.tokenLine));
+        }
+        return this.error("Integer " + text + " is larger than 2^31 -1.");
+    }
+
+    /**
+     * Scans a string constant.  A string ends at its closing quote; it is unterminated
+     * if the end of a line (or of the file) comes first, unless one of its escape sequences is illegal,
+     * in which case the generated lexer does not match it and fails.
+     * @param start the index of its opening quote
+     * @return the symbol of the token
+     */
+    private Symbol scanString(int start) {
+        char[] chars = this.chars;
+        int p = start + 1;
+        boolean legal = true;
+        //the end of the longest unterminated string matched so far, before a line
+        //separator ('\r' may also be part of a string, if it is terminated later)
+        int unterminatedEnd = -1;
+        while (p < this.end) {
+            char c = chars[p];
+            if (c == '"') {
+                this.position = p + 1;
+                this.countLines(start, this.position);
+                String text = new String(chars, start, p + 1 - start);
+                if (!legal) {
+                    return this.error(text + " contains an illegal escape character.");
+                }
+                else if (text.length() > MAX_STRING_SIZE) {
+                    return this.error("String " + text + " is longer than "
+                            + MAX_STRING_SIZE + " characters.");
+                }
+                return new Symbol(TokenIds.STRING_CONST,
+                        new Token("STRING_CONST", text, this.tokenLine));
+            }
+            else if (c == '\n' || c == '\r') {
+                if (legal) {
+                    unterminatedEnd = p;
+                }
+                if (c == '\n') {
+                    break;
+                }
+                p++;
+            }
+            else if (c == '\\') {
+                char escaped = p + 1 < this.end ? chars[p + 1] : '\n';
+                if (escaped == '\n' || escaped == '\r') {
+                    break;
+                }
+                legal &= escaped == 't' || escaped == 'f' || escaped == 'n'
+                        || escaped == 'r' || escaped == '\\' || escaped == '"';
+                p += 2;
+            }
+            else {
+                p++;
+            }
+        }
+
+        if (p >= this.end && legal) {
+            //the end of the file also ends the last line
+            unterminatedEnd = this.end;
+        }
+        if (unterminatedEnd < 0) {
+            throw new RuntimeException("Unmatched lexeme \" at line " + this.tokenLine);
+        }
+        this.position = unterminatedEnd;
+        this.countLines(start, unterminatedEnd);
+        return this.error("Unterminated string.");
+    }
+
+    /**
+     * Scans a block comment, skipping it.  As with the rule of the generated lexer, the
+     * longest match is taken, so a comment closed by two or more stars and a slash goes
+     * on to a later close, if there is one.  A comment that is never closed is an error,
+     * which ends before any stars at the end of the file.
+     * @param start the index of its first character
+     * @return null if the comment is closed, otherwise the symbol of the error
+     */
+    private Symbol scanComment(int start) {
+        //the states of the automaton of the rule /\*(\*[^/]|[^\*])*(\*)+/ after its
+        //first two characters: in the body, after a star (which may start \*[^/] or
+        //the closing stars), after two or more stars, closed, and closed but
+        //continuing in the body
+        final int body = 0, star = 1, stars = 2, closed = 3, closedBody = 4;
+        char[] chars = this.chars;
+        int state = body;
+        int closeEnd = -1;
+        for (int p = start + 2; p < this.end && state != closed; p++) {
+            char c = chars[p];
+            if (c == '*') {
+                state = state == star ? stars : star;
+            }
+            else if (c == '/' && (state == star || state == stars)) {
+                state = state == star ? closed : closedBody;
+            }
+            else {
+                state = body;
+            }
+            if (state == closed || state == closedBody) {
+                closeEnd = p + 1;
+            }
+        }
+
+        if (closeEnd >= 0) {
+            this.countLines(start, closeEnd);
+            this.position = closeEnd;
+            return null;
+        }
+        int unclosedEnd = this.end;
+        while (unclosedEnd > start + 2 && chars[unclosedEnd - 1] == '*') {
+            unclosedEnd--;
+        }
+        this.countLines(start, unclosedEnd);
+        this.position = unclosedEnd;
+        return this.error("Unterminated comment.");
+    }
+}
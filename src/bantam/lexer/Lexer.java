@@ -32,7 +32,7 @@ import bantam.parser.TokenIds;
 import java_cup.runtime.Symbol;
 
 
-public class Lexer implements java_cup.runtime.Scanner {
+public class Lexer implements SourceScanner {
 	private final int YY_BUFFER_SIZE = 512;
 	private final int YY_F = -1;
 	private final int YY_NO_STATE = -1;
@@ -0,0 +1,157 @@
+/*
+ * File: NameTable.java
+ * Author: Phoebe Hughes, Siyuan Li, Joseph Malionek
+ * Date: 10/18/26
+ */
+
+package bantam.lexer;
+
+/**
+ * The table of the names (and keywords) the FastLexer has seen, which makes one String
+ * for each name.  A name is looked up by the characters it spans in the source, so a
+ * name that has been seen before is found without copying it, and every token with that
+ * name gets the same String, whose hash code is only computed once and which String.equals
+ * finds equal by identity.  Each name has the id of the token it scans as (ID, or the id
+ * of a keyword).
+ */
+class NameTable {
+
+    /**
+     * The initial number of entries of the table (a power of 2)
+     */
+    private static final int INITIAL_SIZE = 1 << 10;
+
+    /**
+     * The names of the entries (null for an empty entry)
+     */
+    private String[] names = new String[INITIAL_SIZE];
+
+    /**
+     * The hash codes of the names of the entries
+     */
+    private int[] hashes = new int[INITIAL_SIZE];
+
+    /**
+     * The token ids of the names of the entries
+     */
+    private int[] tokenIds = new int[INITIAL_SIZE];
+
+    /**
+     * The number of names in the table
+     */
+    private int size;
+
+    /**
+     * The index of the entry of the last name looked up
+     */
+    private int lastIndex;
+
+    /**
+     * Adds a name (a keyword) with the id of the token it scans as
+     * @param name the name
+     * @param tokenId the token id
+     */
+    void add(String name, int tokenId) {
+        this.lookup(name.toCharArray(), 0, name.length(), tokenId);
+    }
+
+    /**
+     * Looks up the name spanning some characters, adding it as an identifier if it is
+     * not in the table.  The id of its token is then given by getTokenId.
+     * @param chars the characters
+     * @param start the index of the first character of the name
+     * @param length the length of the name
+     * @param tokenId the id of the token the name scans as if it is added
+     * @return the name
+     */
+    String lookup(char[] chars, int start, int length, int tokenId) {
+        //the same hash as String.hashCode
+        int hash = 0;
+        for (int i = start; i < start + length; i++) {
+            hash = 31 * hash + chars[i];
+        }
+        int mask = this.names.length - 1;
+        int index = (hash ^ hash >>> 16) & mask;
+        while (this.names[index] != null) {
+            if (this.hashes[index] == hash && matches(this.names[index], chars, start, length)) {
+                this.lastIndex = index;
+                return this.names[index];
+            }
+            index = (index + 1) & mask;
+        }
+
+        if (this.size >= this.names.length / 2) {
+            this.grow();
+            index = this.findFree(hash);
+        }
+        String name = new String(chars, start, length);
+        this.names[index] = name;
+        this.hashes[index] = hash;
+        this.tokenIds[index] = tokenId;
+        this.lastIndex = index;
+        this.size++;
+        return name;
+    }
+
+    /**
+     * Gets the id of the token the last name looked up scans as
+     * @return the token id
+     */
+    int getTokenId() {
+        return this.tokenIds[this.lastIndex];
+    }
+
+    /**
+     * Returns if a name spans the given characters
+     * @param name the name
+     * @param chars the characters
+     * @param start the index of the first character
+     * @param length the number of characters
+     * @return true if the name is the same as the characters
+     */
+    private static boolean matches(String name, char[] chars, int start, int length) {
+        if (name.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (name.charAt(i) != chars[start + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Doubles the number of entries of the table
+     */
+    private void grow() {
+        String[] oldNames = this.names;
+        int[] oldHashes = this.hashes;
+        int[] oldTokenIds = this.tokenIds;
+        this.names = new String[2 * oldNames.length];
+        this.hashes = new int[this.names.length];
+        this.tokenIds = new int[this.names.length];
+        for (int i = 0; i < oldNames.length; i++) {
+            if (oldNames[i] != null) {
+                int index = this.findFree(oldHashes[i]);
+                this.names[index] = oldNames[i];
+                this.hashes[index] = oldHashes[i];
+                this.tokenIds[index] = oldTokenIds[i];
+            }
+        }
+    }
+
+    /**
+     * Finds the first empty entry a name with the given hash code can go in
+     * @param hash the hash code of the name
+     * @return the index of the entry
+     */
+    private int findFree(int hash) {
+        int mask = this.names.length - 1;
+        int index = (hash ^ hash >>> 16) & mask;
+        while (this.names[index] != null) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * File: SourceScanner.java
+ * Author: Phoebe Hughes, Siyuan Li, Joseph Malionek
+ * Date: 10/18/26
+ */
+
+package bantam.lexer;
+
+import java_cup.runtime.Scanner;
+
+/**
+ * A scanner of Bantam Java source files, which the parser gets its tokens from.  Besides
+ * the tokens, it tells the parser where it is in the source, for error messages and the
+ * line numbers of the AST nodes.  Both the JLex generated Lexer and the FastLexer
+ * implement it.
+ */
+public interface SourceScanner extends Scanner {
+
+    /**
+     * Gets the line of the last token scanned
+     * @return current line number
+     */
+    int getCurrLineNum();
+
+    /**
+     * Gets the name of the file being scanned
+     * @return current filename string
+     */
+    String getCurrFilename();
+
+    /**
+     * Prints all of the tokens, with the names of the files they are in
+     * @throws java.io.IOException if a file cannot be read
+     */
+    void printTokens() throws java.io.IOException;
+}
@@ -0,0 +1,262 @@
+/*
+ * File: ParallelParser.java
+ * Author: Phoebe Hughes, Siyuan Li, Joseph Malionek
+ * Date: 10/18/26
+ */
+
+package bantam.parser;
+
+import bantam.ast.ASTNode;
+import bantam.ast.ClassList;
+import bantam.ast.Program;
+import bantam.lexer.FastLexer;
+import bantam.lexer.Lexer;
+import bantam.lexer.SourceScanner;
+import bantam.util.ErrorHandler;
+import java_cup.runtime.Symbol;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lexes and parses the source files of a program each on its own, several at once on a
+ * pool of threads, and then puts the classes of all of the files together into one
+ * Program, in the order the files were given.  Every file has its own lexer, parser and
+ * error handler, so parsing one file shares no mutable state with parsing another.
+ *
+ * The errors of the files are then registered with one error handler in the order of
+ * the files, so they are reported in the same order as when the files are parsed as
+ * one stream of tokens.  Since each file is parsed on its own, the first syntax error
+ * of every file is reported, rather than only the first one of the program, and a
+ * class cannot start in one file and end in the next.  A file without any tokens
+ * declares no classes, unless all of the files are empty, which is an error as before.
+ */
+public class ParallelParser {
+
+    /**
+     * The source files of the program
+     */
+    private String[] filenames;
+
+    /**
+     * The number of threads of the pool
+     */
+    private int numThreads;
+
+    /**
+     * Whether the files are scanned with the FastLexer instead of the JLex generated Lexer
+     */
+    private boolean fastLex;
+
+    /**
+     * The error handler the errors of all of the files are registered with
+     */
+    private ErrorHandler errorHandler = new ErrorHandler();
+
+    /**
+     * The result of parsing one file
+     */
+    private static class FileResult {
+        /** The classes of the file (null if the file has errors) */
+        private ClassList classList;
+        /** The error handler of the file's parser */
+        private ErrorHandler errorHandler;
+        /** Whether the file has no tokens */
+        private boolean empty;
+    }
+
+    /**
+     * A scanner that records whether the first token of its file is EOF, so a file
+     * without any tokens can be told apart once it has been parsed
+     */
+    private static class FirstTokenScanner implements SourceScanner {
+        /** The scanner of the file */
+        private SourceScanner scanner;
+        /** Whether a token has been scanned */
+        private boolean started;
+        /** Whether the first token scanned was EOF */
+        private boolean empty;
+
+        /**
+         * Creates a scanner that records the first token of another
+         * @param scanner the scanner of the file
+         */
+        private FirstTokenScanner(SourceScanner scanner) {
+            this.scanner = scanner;
+        }
+
+        /**
+         * Returns if the first token scanned was EOF
+         * @return true if the file has no tokens
+         */
+        private boolean isEmpty() {
+            return this.empty;
+        }
+
+        @Override
+        public Symbol next_token() throws Exception {
+            Symbol symbol = this.scanner.next_token();
+            if (!this.started) {
+                this.started = true;
+                this.empty = symbol.sym == TokenIds.EOF;
+            }
+            return symbol;
+        }
+
+        @Override
+        public int getCurrLineNum() {
+            return this.scanner.getCurrLineNum();
+        }
+
+        @Override
+        public String getCurrFilename() {
+            return this.scanner.getCurrFilename();
+        }
+
+        @Override
+        public void printTokens() throws IOException {
+            this.scanner.printTokens();
+        }
+    }
+
+    /**
+     * Creates a parser of the given files
+     * @param filenames the source files of the program
+     * @param numThreads the number of threads of the pool
+     * @param fastLex whether the files are scanned with the FastLexer
+     */
+    public ParallelParser(String[] filenames, int numThreads, boolean fastLex) {
+        this.filenames = filenames;
+        this.numThreads = numThreads;
+        this.fastLex = fastLex;
+    }
+
+    /**
+     * Gets the error handler the errors of all of the files are registered with
+     * @return the error handler
+     */
+    public ErrorHandler getErrorHandler() {
+        return this.errorHandler;
+    }
+
+    /**
+     * Lexes and parses all of the files
+     * @return the program, with the classes of all of the files
+     * @throws RuntimeException if there are lexing or parsing errors (which are
+     *                          registered with the error handler)
+     * @throws FileNotFoundException if a file is missing
+     * @throws Exception if a parser fails
+     */
+    public Program parse() throws Exception {
+        //the lexers exit the JVM if a file is missing, which is checked here so that
+        //it is the first missing file that is reported
+        for (String filename : this.filenames) {
+            if (!new File(filename).isFile()) {
+                throw new FileNotFoundException("file '" + filename + "' not found");
+            }
+        }
+
+        List<FileResult> results = new ArrayList<>();
+        int poolSize = Math.min(this.numThreads, this.filenames.length);
+        if (poolSize <= 1) {
+            for (String filename : this.filenames) {
+                results.add(this.parseFile(filename));
+            }
+        }
+        else {
+            ExecutorService executor = newExecutor(poolSize);
+            List<Future<FileResult>> futures = new ArrayList<>();
+            for (String filename : this.filenames) {
+                futures.add(executor.submit(() -> this.parseFile(filename)));
+            }
+            try {
+                for (Future<FileResult> future : futures) {
+                    results.add(future.get());
+                }
+            }
+            catch (ExecutionException e) {
+                throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+            }
+            finally {
+                executor.shutdown();
+            }
+        }
+
+        ClassList classList = new ClassList(0);
+        boolean allEmpty = true;
+        for (FileResult result : results) {
+            allEmpty &= result.empty;
+        }
+        for (int i = 0; i < results.size(); i++) {
+            FileResult result = results.get(i);
+            if (result.empty && !(allEmpty && i == results.size() - 1)) {
+                continue;
+            }
+            this.errorHandler.registerAll(result.errorHandler);
+            if (result.classList != null) {
+                for (ASTNode node : result.classList) {
+                    classList.addElement(node);
+                }
+            }
+        }
+        this.errorHandler.checkErrors();
+        return new Program(0, classList);
+    }
+
+    /**
+     * Lexes and parses one file
+     * @param filename the file
+     * @return the result of parsing it
+     * @throws Exception if the parser fails
+     */
+    private FileResult parseFile(String filename) throws Exception {
+        FirstTokenScanner scanner = new FirstTokenScanner(this.newScanner(filename));
+        Parser parser = new Parser(scanner);
+        FileResult result = new FileResult();
+        try {
+            result.classList = ((Program) parser.parse().value).getClassList();
+        }
+        catch (RuntimeException e) {
+            //an empty file is a syntax error on its own, so it is told apart from
+            //other errors by its first token
+            result.empty = scanner.isEmpty();
+        }
+        //the parser creates its error handler when it starts parsing
+        result.errorHandler = parser.getErrorHandler();
+        return result;
+    }
+
+    /**
+     * Creates a scanner of one file
+     * @param filename the file
+     * @return the scanner
+     */
+    private SourceScanner newScanner(String filename) {
+        String[] filenames = {filename};
+        return this.fastLex ? new FastLexer(filenames) : new Lexer(filenames, false);
+    }
+
+    /**
+     * Creates the executor the files are parsed on
+     * @param numThreads the number of threads of the pool
+     * @return the executor
+     */
+    private static ExecutorService newExecutor(int numThreads) {
+        AtomicInteger count = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "bantam-parser-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return Executors.newFixedThreadPool(numThreads, threadFactory);
+    }
+}
@@ -1096,7 +1096,7 @@ public class Parser extends java_cup.runtime.lr_parser {
   public java_cup.runtime.Symbol do_action(
     int                        act_num,
     java_cup.runtime.lr_parser parser,
-    java.util.Stack            stack,
+    java_cup.runtime.Symbol[]  stack,
     int                        top)
     throws java.lang.Exception
   {
@@ -1180,12 +1180,12 @@ class CUP$Parser$actions {
 
     /* returns the current line number from the scanner */
     public int getCurrLineNum() {
-	return ((Lexer)parser.getScanner()).getCurrLineNum();
+	return ((SourceScanner)parser.getScanner()).getCurrLineNum();
     }
 
     /* returns the current file name from the scanner */
     public String getCurrFilename() {
-	return ((Lexer)parser.getScanner()).getCurrFilename();
+	return ((SourceScanner)parser.getScanner()).getCurrFilename();
     }
 
   private final Parser parser;
@@ -1199,7 +1199,7 @@ class CUP$Parser$actions {
   public final java_cup.runtime.Symbol CUP$Parser$do_action(
     int                        CUP$Parser$act_num,
     java_cup.runtime.lr_parser CUP$Parser$parser,
-    java.util.Stack            CUP$Parser$stack,
+    java_cup.runtime.Symbol[]  CUP$Parser$stack,
     int                        CUP$Parser$top)
     throws java.lang.Exception
     {
@@ -1213,8 +1213,8 @@ class CUP$Parser$actions {
           case 129: // catch_list ::= catch_list catch_stmt 
             {
               CatchList RESULT = null;
-		CatchList cl = (CatchList)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
-		CatchStmt cat = (CatchStmt)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		CatchList cl = (CatchList)CUP$Parser$stack[CUP$Parser$top-1].value;
+		CatchStmt cat = (CatchStmt)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = (CatchList)cl.addElement(cat); 
               CUP$Parser$result = new java_cup.runtime.Symbol(43/*catch_list*/, RESULT);
             }
@@ -1224,7 +1224,7 @@ class CUP$Parser$actions {
           case 128: // catch_list ::= catch_stmt 
             {
               CatchList RESULT = null;
-		CatchStmt cat = (CatchStmt)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		CatchStmt cat = (CatchStmt)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = (CatchList)(new CatchList(cat.getLineNum())).addElement(cat); 
               CUP$Parser$result = new java_cup.runtime.Symbol(43/*catch_list*/, RESULT);
             }
@@ -1234,8 +1234,8 @@ class CUP$Parser$actions {
           case 127: // catch_stmt ::= CATCH LPAREN formal RPAREN LBRACE stmt_list RBRACE 
             {
               CatchStmt RESULT = null;
-		Formal f = (Formal)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-4)).value;
-		StmtList sl = (StmtList)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		Formal f = (Formal)CUP$Parser$stack[CUP$Parser$top-4].value;
+		StmtList sl = (StmtList)CUP$Parser$stack[CUP$Parser$top-1].value;
 		 RESULT = new CatchStmt(f.getLineNum(), f, sl); 
               CUP$Parser$result = new java_cup.runtime.Symbol(42/*catch_stmt*/, RESULT);
             }
@@ -1245,8 +1245,8 @@ class CUP$Parser$actions {
           case 126: // try_stmt ::= TRY LBRACE stmt_list RBRACE catch_list 
             {
               TryStmt RESULT = null;
-		StmtList sl = (StmtList)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
-		CatchList cl = (CatchList)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		StmtList sl = (StmtList)CUP$Parser$stack[CUP$Parser$top-2].value;
+		CatchList cl = (CatchList)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = new TryStmt(sl.getLineNum(), sl, cl); 
               CUP$Parser$result = new java_cup.runtime.Symbol(41/*try_stmt*/, RESULT);
             }
@@ -1256,7 +1256,7 @@ class CUP$Parser$actions {
           case 125: // throw_stmt ::= THROW expr SEMI 
             {
               ThrowStmt RESULT = null;
-		Expr e = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		Expr e = (Expr)CUP$Parser$stack[CUP$Parser$top-1].value;
 		 RESULT = new ThrowStmt(e.getLineNum(), e); 
               CUP$Parser$result = new java_cup.runtime.Symbol(44/*throw_stmt*/, RESULT);
             }
@@ -1266,9 +1266,9 @@ class CUP$Parser$actions {
           case 124: // array_expr ::= ID DOT ID LSQBRACE expr RSQBRACE 
             {
               ArrayExpr RESULT = null;
-		Token ref = (Token)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-5)).value;
-		Token name = (Token)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-3)).value;
-		Expr index = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		Token ref = (Token)CUP$Parser$stack[CUP$Parser$top-5].value;
+		Token name = (Token)CUP$Parser$stack[CUP$Parser$top-3].value;
+		Expr index = (Expr)CUP$Parser$stack[CUP$Parser$top-1].value;
 		 RESULT = new ArrayExpr(name.getLineNum(),
                                   new VarExpr(ref.getLineNum(), null, ref.getAttribute()),
                                   name.getAttribute(), index); 
@@ -1280,8 +1280,8 @@ class CUP$Parser$actions {
           case 123: // array_expr ::= ID LSQBRACE expr RSQBRACE 
             {
               ArrayExpr RESULT = null;
-		Token name = (Token)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-3)).value;
-		Expr index = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		Token name = (Token)CUP$Parser$stack[CUP$Parser$top-3].value;
+		Expr index = (Expr)CUP$Parser$stack[CUP$Parser$top-1].value;
 		 RESULT = new ArrayExpr(name.getLineNum(), null, name.getAttribute(), index);
               CUP$Parser$result = new java_cup.runtime.Symbol(40/*array_expr*/, RESULT);
             }
@@ -1291,8 +1291,8 @@ class CUP$Parser$actions {
           case 122: // var_expr ::= ID DOT ID 
             {
               VarExpr RESULT = null;
-		Token ref = (Token)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
-		Token name = (Token)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		Token ref = (Token)CUP$Parser$stack[CUP$Parser$top-2].value;
+		Token name = (Token)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = new VarExpr(ref.getLineNum(), new VarExpr(ref.getLineNum(), null,
                                 ref.getAttribute()) , name.getAttribute()); 
               CUP$Parser$result = new java_cup.runtime.Symbol(39/*var_expr*/, RESULT);
@@ -1303,7 +1303,7 @@ class CUP$Parser$actions {
           case 121: // var_expr ::= ID 
             {
               VarExpr RESULT = null;
-		Token name = (Token)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		Token name = (Token)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = new VarExpr(name.getLineNum(), null, name.getAttribute() ); 
               CUP$Parser$result = new java_cup.runtime.Symbol(39/*var_expr*/, RESULT);
             }
@@ -1313,7 +1313,7 @@ class CUP$Parser$actions {
           case 120: // unary_decr_expr ::= array_expr DECR 
             {
               UnaryDecrExpr RESULT = null;
-		ArrayExpr ae = (ArrayExpr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		ArrayExpr ae = (ArrayExpr)CUP$Parser$stack[CUP$Parser$top-1].value;
 		 RESULT = new UnaryDecrExpr(ae.getLineNum(), ae, true); 
               CUP$Parser$result = new java_cup.runtime.Symbol(38/*unary_decr_expr*/, RESULT);
             }
@@ -1323,7 +1323,7 @@ class CUP$Parser$actions {
           case 119: // unary_decr_expr ::= DECR array_expr 
             {
               UnaryDecrExpr RESULT = null;
-		ArrayExpr ae = (ArrayExpr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		ArrayExpr ae = (ArrayExpr)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = new UnaryDecrExpr(ae.getLineNum(), ae, false); 
               CUP$Parser$result = new java_cup.runtime.Symbol(38/*unary_decr_expr*/, RESULT);
             }
@@ -1333,7 +1333,7 @@ class CUP$Parser$actions {
           case 118: // unary_decr_expr ::= var_expr DECR 
             {
               UnaryDecrExpr RESULT = null;
-		VarExpr ve = (VarExpr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		VarExpr ve = (VarExpr)CUP$Parser$stack[CUP$Parser$top-1].value;
 		 RESULT = new UnaryDecrExpr(ve.getLineNum(), ve, true); 
               CUP$Parser$result = new java_cup.runtime.Symbol(38/*unary_decr_expr*/, RESULT);
             }
@@ -1343,7 +1343,7 @@ class CUP$Parser$actions {
           case 117: // unary_decr_expr ::= DECR var_expr 
             {
               UnaryDecrExpr RESULT = null;
-		VarExpr ve = (VarExpr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		VarExpr ve = (VarExpr)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = new UnaryDecrExpr(ve.getLineNum(), ve, false); 
               CUP$Parser$result = new java_cup.runtime.Symbol(38/*unary_decr_expr*/, RESULT);
             }
@@ -1353,7 +1353,7 @@ class CUP$Parser$actions {
           case 116: // unary_incr_expr ::= array_expr INCR 
             {
               UnaryIncrExpr RESULT = null;
-		ArrayExpr ae = (ArrayExpr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		ArrayExpr ae = (ArrayExpr)CUP$Parser$stack[CUP$Parser$top-1].value;
 		 RESULT = new UnaryIncrExpr(ae.getLineNum(), ae, true); 
               CUP$Parser$result = new java_cup.runtime.Symbol(37/*unary_incr_expr*/, RESULT);
             }
@@ -1363,7 +1363,7 @@ class CUP$Parser$actions {
           case 115: // unary_incr_expr ::= INCR array_expr 
             {
               UnaryIncrExpr RESULT = null;
-		ArrayExpr ae = (ArrayExpr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		ArrayExpr ae = (ArrayExpr)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = new UnaryIncrExpr(ae.getLineNum(), ae, false); 
               CUP$Parser$result = new java_cup.runtime.Symbol(37/*unary_incr_expr*/, RESULT);
             }
@@ -1373,7 +1373,7 @@ class CUP$Parser$actions {
           case 114: // unary_incr_expr ::= var_expr INCR 
             {
               UnaryIncrExpr RESULT = null;
-		VarExpr ve = (VarExpr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		VarExpr ve = (VarExpr)CUP$Parser$stack[CUP$Parser$top-1].value;
 		 RESULT = new UnaryIncrExpr(ve.getLineNum(), ve, true); 
               CUP$Parser$result = new java_cup.runtime.Symbol(37/*unary_incr_expr*/, RESULT);
             }
@@ -1383,7 +1383,7 @@ class CUP$Parser$actions {
           case 113: // unary_incr_expr ::= INCR var_expr 
             {
               UnaryIncrExpr RESULT = null;
-		VarExpr ve = (VarExpr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		VarExpr ve = (VarExpr)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = new UnaryIncrExpr(ve.getLineNum(), ve, false); 
               CUP$Parser$result = new java_cup.runtime.Symbol(37/*unary_incr_expr*/, RESULT);
             }
@@ -1393,7 +1393,7 @@ class CUP$Parser$actions {
           case 112: // unary_not_expr ::= NOT expr 
             {
               UnaryNotExpr RESULT = null;
-		Expr e = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		Expr e = (Expr)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = new UnaryNotExpr(e.getLineNum(), e); 
               CUP$Parser$result = new java_cup.runtime.Symbol(36/*unary_not_expr*/, RESULT);
             }
@@ -1403,7 +1403,7 @@ class CUP$Parser$actions {
           case 111: // unary_neg_expr ::= MINUS expr 
             {
               UnaryNegExpr RESULT = null;
-		Expr e = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		Expr e = (Expr)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = new UnaryNegExpr(e.getLineNum(), e); 
               CUP$Parser$result = new java_cup.runtime.Symbol(35/*unary_neg_expr*/, RESULT);
             }
@@ -1413,8 +1413,8 @@ class CUP$Parser$actions {
           case 110: // binary_logic_expr ::= expr OR expr 
             {
               BinaryLogicExpr RESULT = null;
-		Expr e1 = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
-		Expr e2 = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		Expr e1 = (Expr)CUP$Parser$stack[CUP$Parser$top-2].value;
+		Expr e2 = (Expr)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = new BinaryLogicOrExpr(e1.getLineNum(), e1, e2); 
               CUP$Parser$result = new java_cup.runtime.Symbol(34/*binary_logic_expr*/, RESULT);
             }
@@ -1424,8 +1424,8 @@ class CUP$Parser$actions {
           case 109: // binary_logic_expr ::= expr AND expr 
             {
               BinaryLogicExpr RESULT = null;
-		Expr e1 = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
-		Expr e2 = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		Expr e1 = (Expr)CUP$Parser$stack[CUP$Parser$top-2].value;
+		Expr e2 = (Expr)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = new BinaryLogicAndExpr(e1.getLineNum(), e1, e2); 
               CUP$Parser$result = new java_cup.runtime.Symbol(34/*binary_logic_expr*/, RESULT);
             }
@@ -1435,8 +1435,8 @@ class CUP$Parser$actions {
           case 108: // binary_comp_expr ::= expr GEQ expr 
             {
               BinaryCompExpr RESULT = null;
-		Expr e1 = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
-		Expr e2 = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		Expr e1 = (Expr)CUP$Parser$stack[CUP$Parser$top-2].value;
+		Expr e2 = (Expr)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = new BinaryCompGeqExpr(e1.getLineNum(), e1, e2); 
               CUP$Parser$result = new java_cup.runtime.Symbol(33/*binary_comp_expr*/, RESULT);
             }
@@ -1446,8 +1446,8 @@ class CUP$Parser$actions {
           case 107: // binary_comp_expr ::= expr GT expr 
             {
               BinaryCompExpr RESULT = null;
-		Expr e1 = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
-		Expr e2 = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		Expr e1 = (Expr)CUP$Parser$stack[CUP$Parser$top-2].value;
+		Expr e2 = (Expr)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = new BinaryCompGtExpr(e1.getLineNum(), e1, e2); 
               CUP$Parser$result = new java_cup.runtime.Symbol(33/*binary_comp_expr*/, RESULT);
             }
@@ -1457,8 +1457,8 @@ class CUP$Parser$actions {
           case 106: // binary_comp_expr ::= expr LEQ expr 
             {
               BinaryCompExpr RESULT = null;
-		Expr e1 = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
-		Expr e2 = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		Expr e1 = (Expr)CUP$Parser$stack[CUP$Parser$top-2].value;
+		Expr e2 = (Expr)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = new BinaryCompLeqExpr(e1.getLineNum(), e1, e2); 
               CUP$Parser$result = new java_cup.runtime.Symbol(33/*binary_comp_expr*/, RESULT);
             }
@@ -1468,8 +1468,8 @@ class CUP$Parser$actions {
           case 105: // binary_comp_expr ::= expr LT expr 
             {
               BinaryCompExpr RESULT = null;
-		Expr e1 = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
-		Expr e2 = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		Expr e1 = (Expr)CUP$Parser$stack[CUP$Parser$top-2].value;
+		Expr e2 = (Expr)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = new BinaryCompLtExpr(e1.getLineNum(), e1, e2); 
               CUP$Parser$result = new java_cup.runtime.Symbol(33/*binary_comp_expr*/, RESULT);
             }
@@ -1479,8 +1479,8 @@ class CUP$Parser$actions {
           case 104: // binary_comp_expr ::= expr NE expr 
             {
               BinaryCompExpr RESULT = null;
-		Expr e1 = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
-		Expr e2 = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		Expr e1 = (Expr)CUP$Parser$stack[CUP$Parser$top-2].value;
+		Expr e2 = (Expr)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = new BinaryCompNeExpr(e1.getLineNum(), e1, e2); 
               CUP$Parser$result = new java_cup.runtime.Symbol(33/*binary_comp_expr*/, RESULT);
             }
@@ -1490,8 +1490,8 @@ class CUP$Parser$actions {
           case 103: // binary_comp_expr ::= expr EQ expr 
             {
               BinaryCompExpr RESULT = null;
-		Expr e1 = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
-		Expr e2 = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		Expr e1 = (Expr)CUP$Parser$stack[CUP$Parser$top-2].value;
+		Expr e2 = (Expr)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = new BinaryCompEqExpr(e1.getLineNum(), e1, e2); 
               CUP$Parser$result = new java_cup.runtime.Symbol(33/*binary_comp_expr*/, RESULT);
             }
@@ -1501,8 +1501,8 @@ class CUP$Parser$actions {
           case 102: // binary_arith_expr ::= expr MODULUS expr 
             {
               BinaryArithExpr RESULT = null;
-		Expr e1 = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
-		Expr e2 = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		Expr e1 = (Expr)CUP$Parser$stack[CUP$Parser$top-2].value;
+		Expr e2 = (Expr)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = new BinaryArithModulusExpr(e1.getLineNum(), e1, e2); 
               CUP$Parser$result = new java_cup.runtime.Symbol(32/*binary_arith_expr*/, RESULT);
             }
@@ -1512,8 +1512,8 @@ class CUP$Parser$actions {
           case 101: // binary_arith_expr ::= expr DIVIDE expr 
             {
               BinaryArithExpr RESULT = null;
-		Expr e1 = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
-		Expr e2 = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		Expr e1 = (Expr)CUP$Parser$stack[CUP$Parser$top-2].value;
+		Expr e2 = (Expr)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = new BinaryArithDivideExpr(e1.getLineNum(), e1, e2); 
               CUP$Parser$result = new java_cup.runtime.Symbol(32/*binary_arith_expr*/, RESULT);
             }
@@ -1523,8 +1523,8 @@ class CUP$Parser$actions {
           case 100: // binary_arith_expr ::= expr TIMES expr 
             {
               BinaryArithExpr RESULT = null;
-		Expr e1 = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
-		Expr e2 = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		Expr e1 = (Expr)CUP$Parser$stack[CUP$Parser$top-2].value;
+		Expr e2 = (Expr)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = new BinaryArithTimesExpr(e1.getLineNum(), e1, e2); 
               CUP$Parser$result = new java_cup.runtime.Symbol(32/*binary_arith_expr*/, RESULT);
             }
@@ -1534,8 +1534,8 @@ class CUP$Parser$actions {
           case 99: // binary_arith_expr ::= expr MINUS expr 
             {
               BinaryArithExpr RESULT = null;
-		Expr e1 = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
-		Expr e2 = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		Expr e1 = (Expr)CUP$Parser$stack[CUP$Parser$top-2].value;
+		Expr e2 = (Expr)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = new BinaryArithMinusExpr(e1.getLineNum(), e1, e2); 
               CUP$Parser$result = new java_cup.runtime.Symbol(32/*binary_arith_expr*/, RESULT);
             }
@@ -1545,8 +1545,8 @@ class CUP$Parser$actions {
           case 98: // binary_arith_expr ::= expr PLUS expr 
             {
               BinaryArithExpr RESULT = null;
-		Expr e1 = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
-		Expr e2 = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		Expr e1 = (Expr)CUP$Parser$stack[CUP$Parser$top-2].value;
+		Expr e2 = (Expr)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = new BinaryArithPlusExpr(e1.getLineNum(), e1, e2); 
               CUP$Parser$result = new java_cup.runtime.Symbol(32/*binary_arith_expr*/, RESULT);
             }
@@ -1556,7 +1556,7 @@ class CUP$Parser$actions {
           case 97: // const_expr ::= STRING_CONST 
             {
               ConstExpr RESULT = null;
-		Token str = (Token)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		Token str = (Token)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 String string = str.getAttribute().substring(1, str.getAttribute().length()-1);
            RESULT = new ConstStringExpr(str.getLineNum(), string); 
               CUP$Parser$result = new java_cup.runtime.Symbol(31/*const_expr*/, RESULT);
@@ -1567,7 +1567,7 @@ class CUP$Parser$actions {
           case 96: // const_expr ::= BOOLEAN_CONST 
             {
               ConstExpr RESULT = null;
-		Token bool = (Token)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		Token bool = (Token)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = new ConstBooleanExpr(bool.getLineNum(), bool.getAttribute()); 
               CUP$Parser$result = new java_cup.runtime.Symbol(31/*const_expr*/, RESULT);
             }
@@ -1577,7 +1577,7 @@ class CUP$Parser$actions {
           case 95: // const_expr ::= INT_CONST 
             {
               ConstExpr RESULT = null;
-		Token num = (Token)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		Token num = (Token)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = new ConstIntExpr(num.getLineNum(), num.getAttribute()); 
               CUP$Parser$result = new java_cup.runtime.Symbol(31/*const_expr*/, RESULT);
             }
@@ -1587,7 +1587,7 @@ class CUP$Parser$actions {
           case 94: // unary_expr ::= unary_decr_expr 
             {
               UnaryExpr RESULT = null;
-		UnaryDecrExpr ude = (UnaryDecrExpr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		UnaryDecrExpr ude = (UnaryDecrExpr)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = ude; 
               CUP$Parser$result = new java_cup.runtime.Symbol(30/*unary_expr*/, RESULT);
             }
@@ -1597,7 +1597,7 @@ class CUP$Parser$actions {
           case 93: // unary_expr ::= unary_incr_expr 
             {
               UnaryExpr RESULT = null;
-		UnaryIncrExpr uie = (UnaryIncrExpr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		UnaryIncrExpr uie = (UnaryIncrExpr)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = uie; 
               CUP$Parser$result = new java_cup.runtime.Symbol(30/*unary_expr*/, RESULT);
             }
@@ -1607,7 +1607,7 @@ class CUP$Parser$actions {
           case 92: // unary_expr ::= unary_not_expr 
             {
               UnaryExpr RESULT = null;
-		UnaryNotExpr unote = (UnaryNotExpr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		UnaryNotExpr unote = (UnaryNotExpr)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = unote; 
               CUP$Parser$result = new java_cup.runtime.Symbol(30/*unary_expr*/, RESULT);
             }
@@ -1617,7 +1617,7 @@ class CUP$Parser$actions {
           case 91: // unary_expr ::= unary_neg_expr 
             {
               UnaryExpr RESULT = null;
-		UnaryNegExpr une = (UnaryNegExpr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		UnaryNegExpr une = (UnaryNegExpr)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = une; 
               CUP$Parser$result = new java_cup.runtime.Symbol(30/*unary_expr*/, RESULT);
             }
@@ -1627,7 +1627,7 @@ class CUP$Parser$actions {
           case 90: // binary_expr ::= binary_logic_expr 
             {
               BinaryExpr RESULT = null;
-		BinaryLogicExpr ble = (BinaryLogicExpr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		BinaryLogicExpr ble = (BinaryLogicExpr)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = ble; 
               CUP$Parser$result = new java_cup.runtime.Symbol(29/*binary_expr*/, RESULT);
             }
@@ -1637,7 +1637,7 @@ class CUP$Parser$actions {
           case 89: // binary_expr ::= binary_comp_expr 
             {
               BinaryExpr RESULT = null;
-		BinaryCompExpr bce = (BinaryCompExpr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		BinaryCompExpr bce = (BinaryCompExpr)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = bce; 
               CUP$Parser$result = new java_cup.runtime.Symbol(29/*binary_expr*/, RESULT);
             }
@@ -1647,7 +1647,7 @@ class CUP$Parser$actions {
           case 88: // binary_expr ::= binary_arith_expr 
             {
               BinaryExpr RESULT = null;
-		BinaryArithExpr bae = (BinaryArithExpr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		BinaryArithExpr bae = (BinaryArithExpr)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = bae; 
               CUP$Parser$result = new java_cup.runtime.Symbol(29/*binary_expr*/, RESULT);
             }
@@ -1657,8 +1657,8 @@ class CUP$Parser$actions {
           case 87: // cast_expr ::= LPAREN ID LSQBRACE RSQBRACE RPAREN LPAREN expr RPAREN 
             {
               CastExpr RESULT = null;
-		Token type = (Token)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-6)).value;
-		Expr e = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		Token type = (Token)CUP$Parser$stack[CUP$Parser$top-6].value;
+		Expr e = (Expr)CUP$Parser$stack[CUP$Parser$top-1].value;
 		 RESULT = new CastExpr(type.getLineNum(), type.getAttribute()+"[]", e); 
               CUP$Parser$result = new java_cup.runtime.Symbol(28/*cast_expr*/, RESULT);
             }
@@ -1668,8 +1668,8 @@ class CUP$Parser$actions {
           case 86: // cast_expr ::= LPAREN ID RPAREN LPAREN expr RPAREN 
             {
               CastExpr RESULT = null;
-		Token type = (Token)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-4)).value;
-		Expr e = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		Token type = (Token)CUP$Parser$stack[CUP$Parser$top-4].value;
+		Expr e = (Expr)CUP$Parser$stack[CUP$Parser$top-1].value;
 		 RESULT = new CastExpr(type.getLineNum(), type.getAttribute(), e); 
               CUP$Parser$result = new java_cup.runtime.Symbol(28/*cast_expr*/, RESULT);
             }
@@ -1679,8 +1679,8 @@ class CUP$Parser$actions {
           case 85: // instance_of_expr ::= expr INSTANCEOF ID LSQBRACE RSQBRACE 
             {
               InstanceofExpr RESULT = null;
-		Expr e = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-4)).value;
-		Token type = (Token)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
+		Expr e = (Expr)CUP$Parser$stack[CUP$Parser$top-4].value;
+		Token type = (Token)CUP$Parser$stack[CUP$Parser$top-2].value;
 		 RESULT = new InstanceofExpr(e.getLineNum(), e, type.getAttribute()+ "[]"); 
               CUP$Parser$result = new java_cup.runtime.Symbol(27/*instance_of_expr*/, RESULT);
             }
@@ -1690,8 +1690,8 @@ class CUP$Parser$actions {
           case 84: // instance_of_expr ::= expr INSTANCEOF ID 
             {
               InstanceofExpr RESULT = null;
-		Expr e = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
-		Token type = (Token)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		Expr e = (Expr)CUP$Parser$stack[CUP$Parser$top-2].value;
+		Token type = (Token)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = new InstanceofExpr(e.getLineNum(), e, type.getAttribute()); 
               CUP$Parser$result = new java_cup.runtime.Symbol(27/*instance_of_expr*/, RESULT);
             }
@@ -1701,8 +1701,8 @@ class CUP$Parser$actions {
           case 83: // new_array_expr ::= NEW ID LSQBRACE expr RSQBRACE 
             {
               NewArrayExpr RESULT = null;
-		Token type = (Token)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-3)).value;
-		Expr e = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		Token type = (Token)CUP$Parser$stack[CUP$Parser$top-3].value;
+		Expr e = (Expr)CUP$Parser$stack[CUP$Parser$top-1].value;
 		 RESULT = new NewArrayExpr(type.getLineNum(), type.getAttribute()+"[]", e); 
               CUP$Parser$result = new java_cup.runtime.Symbol(26/*new_array_expr*/, RESULT);
             }
@@ -1712,7 +1712,7 @@ class CUP$Parser$actions {
           case 82: // new_expr ::= NEW ID LPAREN RPAREN 
             {
               NewExpr RESULT = null;
-		Token type = (Token)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
+		Token type = (Token)CUP$Parser$stack[CUP$Parser$top-2].value;
 		 RESULT = new NewExpr(type.getLineNum(), type.getAttribute()); 
               CUP$Parser$result = new java_cup.runtime.Symbol(25/*new_expr*/, RESULT);
             }
@@ -1722,9 +1722,9 @@ class CUP$Parser$actions {
           case 81: // dispatch_expr ::= ID DOT ID LPAREN expr_list RPAREN 
             {
               DispatchExpr RESULT = null;
-		Token ref = (Token)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-5)).value;
-		Token name = (Token)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-3)).value;
-		ExprList el = (ExprList)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		Token ref = (Token)CUP$Parser$stack[CUP$Parser$top-5].value;
+		Token name = (Token)CUP$Parser$stack[CUP$Parser$top-3].value;
+		ExprList el = (ExprList)CUP$Parser$stack[CUP$Parser$top-1].value;
 		 RESULT = new DispatchExpr(el.getLineNum(), new VarExpr(ref.getLineNum(), null,
                                      ref.getAttribute()), name.getAttribute(), el); 
               CUP$Parser$result = new java_cup.runtime.Symbol(23/*dispatch_expr*/, RESULT);
@@ -1735,9 +1735,9 @@ class CUP$Parser$actions {
           case 80: // dispatch_expr ::= expr DOT ID LPAREN expr_list RPAREN 
             {
               DispatchExpr RESULT = null;
-		Expr e = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-5)).value;
-		Token name = (Token)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-3)).value;
-		ExprList el = (ExprList)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		Expr e = (Expr)CUP$Parser$stack[CUP$Parser$top-5].value;
+		Token name = (Token)CUP$Parser$stack[CUP$Parser$top-3].value;
+		ExprList el = (ExprList)CUP$Parser$stack[CUP$Parser$top-1].value;
 		 RESULT = new DispatchExpr(el.getLineNum(), e, name.getAttribute(), el); 
               CUP$Parser$result = new java_cup.runtime.Symbol(23/*dispatch_expr*/, RESULT);
             }
@@ -1747,8 +1747,8 @@ class CUP$Parser$actions {
           case 79: // dispatch_expr ::= ID LPAREN expr_list RPAREN 
             {
               DispatchExpr RESULT = null;
-		Token name = (Token)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-3)).value;
-		ExprList el = (ExprList)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		Token name = (Token)CUP$Parser$stack[CUP$Parser$top-3].value;
+		ExprList el = (ExprList)CUP$Parser$stack[CUP$Parser$top-1].value;
 		 RESULT = new DispatchExpr(el.getLineNum(), null, name.getAttribute(), el); 
               CUP$Parser$result = new java_cup.runtime.Symbol(23/*dispatch_expr*/, RESULT);
             }
@@ -1758,10 +1758,10 @@ class CUP$Parser$actions {
           case 78: // array_assign_expr ::= ID DOT ID LSQBRACE expr RSQBRACE ASSIGN expr 
             {
               ArrayAssignExpr RESULT = null;
-		Token ref = (Token)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-7)).value;
-		Token name = (Token)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-5)).value;
-		Expr index = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-3)).value;
-		Expr e = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		Token ref = (Token)CUP$Parser$stack[CUP$Parser$top-7].value;
+		Token name = (Token)CUP$Parser$stack[CUP$Parser$top-5].value;
+		Expr index = (Expr)CUP$Parser$stack[CUP$Parser$top-3].value;
+		Expr e = (Expr)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = new ArrayAssignExpr(name.getLineNum(), ref.getAttribute(),
                                         name.getAttribute(), index, e); 
               CUP$Parser$result = new java_cup.runtime.Symbol(22/*array_assign_expr*/, RESULT);
@@ -1772,9 +1772,9 @@ class CUP$Parser$actions {
           case 77: // array_assign_expr ::= ID LSQBRACE expr RSQBRACE ASSIGN expr 
             {
               ArrayAssignExpr RESULT = null;
-		Token name = (Token)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-5)).value;
-		Expr index = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-3)).value;
-		Expr e = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		Token name = (Token)CUP$Parser$stack[CUP$Parser$top-5].value;
+		Expr index = (Expr)CUP$Parser$stack[CUP$Parser$top-3].value;
+		Expr e = (Expr)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = new ArrayAssignExpr(name.getLineNum(), null,
                                         name.getAttribute(), index, e); 
               CUP$Parser$result = new java_cup.runtime.Symbol(22/*array_assign_expr*/, RESULT);
@@ -1785,9 +1785,9 @@ class CUP$Parser$actions {
           case 76: // assign_expr ::= ID DOT ID ASSIGN expr 
             {
               AssignExpr RESULT = null;
-		Token ref = (Token)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-4)).value;
-		Token name = (Token)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
-		Expr e = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		Token ref = (Token)CUP$Parser$stack[CUP$Parser$top-4].value;
+		Token name = (Token)CUP$Parser$stack[CUP$Parser$top-2].value;
+		Expr e = (Expr)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = new AssignExpr(name.getLineNum(),  ref.getAttribute(),
                                    name.getAttribute(), e); 
               CUP$Parser$result = new java_cup.runtime.Symbol(21/*assign_expr*/, RESULT);
@@ -1798,8 +1798,8 @@ class CUP$Parser$actions {
           case 75: // assign_expr ::= ID ASSIGN expr 
             {
               AssignExpr RESULT = null;
-		Token name = (Token)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
-		Expr e = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		Token name = (Token)CUP$Parser$stack[CUP$Parser$top-2].value;
+		Expr e = (Expr)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = new AssignExpr(name.getLineNum(), null, name.getAttribute(), e); 
               CUP$Parser$result = new java_cup.runtime.Symbol(21/*assign_expr*/, RESULT);
             }
@@ -1809,7 +1809,7 @@ class CUP$Parser$actions {
           case 74: // expr ::= array_expr 
             {
               Expr RESULT = null;
-		ArrayExpr aye = (ArrayExpr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		ArrayExpr aye = (ArrayExpr)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = aye; 
               CUP$Parser$result = new java_cup.runtime.Symbol(20/*expr*/, RESULT);
             }
@@ -1819,7 +1819,7 @@ class CUP$Parser$actions {
           case 73: // expr ::= LPAREN expr RPAREN 
             {
               Expr RESULT = null;
-		Expr e = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		Expr e = (Expr)CUP$Parser$stack[CUP$Parser$top-1].value;
 		 RESULT = e; 
               CUP$Parser$result = new java_cup.runtime.Symbol(20/*expr*/, RESULT);
             }
@@ -1829,7 +1829,7 @@ class CUP$Parser$actions {
           case 72: // expr ::= var_expr 
             {
               Expr RESULT = null;
-		VarExpr ve = (VarExpr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		VarExpr ve = (VarExpr)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = ve; 
               CUP$Parser$result = new java_cup.runtime.Symbol(20/*expr*/, RESULT);
             }
@@ -1839,7 +1839,7 @@ class CUP$Parser$actions {
           case 71: // expr ::= const_expr 
             {
               Expr RESULT = null;
-		ConstExpr conste = (ConstExpr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		ConstExpr conste = (ConstExpr)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = conste; 
               CUP$Parser$result = new java_cup.runtime.Symbol(20/*expr*/, RESULT);
             }
@@ -1849,7 +1849,7 @@ class CUP$Parser$actions {
           case 70: // expr ::= unary_expr 
             {
               Expr RESULT = null;
-		UnaryExpr ue = (UnaryExpr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		UnaryExpr ue = (UnaryExpr)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = ue; 
               CUP$Parser$result = new java_cup.runtime.Symbol(20/*expr*/, RESULT);
             }
@@ -1859,7 +1859,7 @@ class CUP$Parser$actions {
           case 69: // expr ::= binary_expr 
             {
               Expr RESULT = null;
-		BinaryExpr be = (BinaryExpr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		BinaryExpr be = (BinaryExpr)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = be; 
               CUP$Parser$result = new java_cup.runtime.Symbol(20/*expr*/, RESULT);
             }
@@ -1869,7 +1869,7 @@ class CUP$Parser$actions {
           case 68: // expr ::= cast_expr 
             {
               Expr RESULT = null;
-		CastExpr ce = (CastExpr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		CastExpr ce = (CastExpr)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = ce; 
               CUP$Parser$result = new java_cup.runtime.Symbol(20/*expr*/, RESULT);
             }
@@ -1879,7 +1879,7 @@ class CUP$Parser$actions {
           case 67: // expr ::= instance_of_expr 
             {
               Expr RESULT = null;
-		InstanceofExpr ioe = (InstanceofExpr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		InstanceofExpr ioe = (InstanceofExpr)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = ioe; 
               CUP$Parser$result = new java_cup.runtime.Symbol(20/*expr*/, RESULT);
             }
@@ -1889,7 +1889,7 @@ class CUP$Parser$actions {
           case 66: // expr ::= new_array_expr 
             {
               Expr RESULT = null;
-		NewArrayExpr nae = (NewArrayExpr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		NewArrayExpr nae = (NewArrayExpr)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = nae; 
               CUP$Parser$result = new java_cup.runtime.Symbol(20/*expr*/, RESULT);
             }
@@ -1899,7 +1899,7 @@ class CUP$Parser$actions {
           case 65: // expr ::= new_expr 
             {
               Expr RESULT = null;
-		NewExpr ne = (NewExpr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		NewExpr ne = (NewExpr)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = ne; 
               CUP$Parser$result = new java_cup.runtime.Symbol(20/*expr*/, RESULT);
             }
@@ -1909,7 +1909,7 @@ class CUP$Parser$actions {
           case 64: // expr ::= dispatch_expr 
             {
               Expr RESULT = null;
-		DispatchExpr de = (DispatchExpr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		DispatchExpr de = (DispatchExpr)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = de; 
               CUP$Parser$result = new java_cup.runtime.Symbol(20/*expr*/, RESULT);
             }
@@ -1919,7 +1919,7 @@ class CUP$Parser$actions {
           case 63: // expr ::= array_assign_expr 
             {
               Expr RESULT = null;
-		ArrayAssignExpr aae = (ArrayAssignExpr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		ArrayAssignExpr aae = (ArrayAssignExpr)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = aae; 
               CUP$Parser$result = new java_cup.runtime.Symbol(20/*expr*/, RESULT);
             }
@@ -1929,7 +1929,7 @@ class CUP$Parser$actions {
           case 62: // expr ::= assign_expr 
             {
               Expr RESULT = null;
-		AssignExpr ae = (AssignExpr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		AssignExpr ae = (AssignExpr)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = ae; 
               CUP$Parser$result = new java_cup.runtime.Symbol(20/*expr*/, RESULT);
             }
@@ -1939,8 +1939,8 @@ class CUP$Parser$actions {
           case 61: // expr_list ::= expr_list COMMA expr 
             {
               ExprList RESULT = null;
-		ExprList el = (ExprList)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
-		Expr e = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		ExprList el = (ExprList)CUP$Parser$stack[CUP$Parser$top-2].value;
+		Expr e = (Expr)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = (ExprList)el.addElement(e); 
               CUP$Parser$result = new java_cup.runtime.Symbol(24/*expr_list*/, RESULT);
             }
@@ -1950,7 +1950,7 @@ class CUP$Parser$actions {
           case 60: // expr_list ::= expr 
             {
               ExprList RESULT = null;
-		Expr e = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		Expr e = (Expr)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = (ExprList)(new ExprList(e.getLineNum())).addElement(e); 
               CUP$Parser$result = new java_cup.runtime.Symbol(24/*expr_list*/, RESULT);
             }
@@ -1969,7 +1969,7 @@ class CUP$Parser$actions {
           case 58: // block_stmt ::= LBRACE stmt_list RBRACE 
             {
               BlockStmt RESULT = null;
-		StmtList sl = (StmtList)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		StmtList sl = (StmtList)CUP$Parser$stack[CUP$Parser$top-1].value;
 		 RESULT = new BlockStmt(getCurrLineNum(), sl); 
               CUP$Parser$result = new java_cup.runtime.Symbol(19/*block_stmt*/, RESULT);
             }
@@ -1988,7 +1988,7 @@ class CUP$Parser$actions {
           case 56: // return_stmt ::= RETURN expr SEMI 
             {
               ReturnStmt RESULT = null;
-		Expr e = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		Expr e = (Expr)CUP$Parser$stack[CUP$Parser$top-1].value;
 		 RESULT = new ReturnStmt(getCurrLineNum(),e); 
               CUP$Parser$result = new java_cup.runtime.Symbol(18/*return_stmt*/, RESULT);
             }
@@ -2007,10 +2007,10 @@ class CUP$Parser$actions {
           case 54: // for_stmt ::= FOR LPAREN expr SEMI expr SEMI expr RPAREN stmt 
             {
               ForStmt RESULT = null;
-		Expr init = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-6)).value;
-		Expr pred = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-4)).value;
-		Expr update = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
-		Stmt body = (Stmt)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		Expr init = (Expr)CUP$Parser$stack[CUP$Parser$top-6].value;
+		Expr pred = (Expr)CUP$Parser$stack[CUP$Parser$top-4].value;
+		Expr update = (Expr)CUP$Parser$stack[CUP$Parser$top-2].value;
+		Stmt body = (Stmt)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = new ForStmt(getCurrLineNum(),init,pred,update,body); 
               CUP$Parser$result = new java_cup.runtime.Symbol(16/*for_stmt*/, RESULT);
             }
@@ -2020,9 +2020,9 @@ class CUP$Parser$actions {
           case 53: // for_stmt ::= FOR LPAREN SEMI expr SEMI expr RPAREN stmt 
             {
               ForStmt RESULT = null;
-		Expr pred = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-4)).value;
-		Expr update = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
-		Stmt body = (Stmt)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		Expr pred = (Expr)CUP$Parser$stack[CUP$Parser$top-4].value;
+		Expr update = (Expr)CUP$Parser$stack[CUP$Parser$top-2].value;
+		Stmt body = (Stmt)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = new ForStmt(getCurrLineNum(),null,pred,update,body); 
               CUP$Parser$result = new java_cup.runtime.Symbol(16/*for_stmt*/, RESULT);
             }
@@ -2032,9 +2032,9 @@ class CUP$Parser$actions {
           case 52: // for_stmt ::= FOR LPAREN expr SEMI SEMI expr RPAREN stmt 
             {
               ForStmt RESULT = null;
-		Expr init = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-5)).value;
-		Expr update = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
-		Stmt body = (Stmt)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		Expr init = (Expr)CUP$Parser$stack[CUP$Parser$top-5].value;
+		Expr update = (Expr)CUP$Parser$stack[CUP$Parser$top-2].value;
+		Stmt body = (Stmt)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = new ForStmt(getCurrLineNum(),init,null,update,body); 
               CUP$Parser$result = new java_cup.runtime.Symbol(16/*for_stmt*/, RESULT);
             }
@@ -2044,8 +2044,8 @@ class CUP$Parser$actions {
           case 51: // for_stmt ::= FOR LPAREN SEMI SEMI expr RPAREN stmt 
             {
               ForStmt RESULT = null;
-		Expr update = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
-		Stmt body = (Stmt)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		Expr update = (Expr)CUP$Parser$stack[CUP$Parser$top-2].value;
+		Stmt body = (Stmt)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = new ForStmt(getCurrLineNum(),null,null,update,body); 
               CUP$Parser$result = new java_cup.runtime.Symbol(16/*for_stmt*/, RESULT);
             }
@@ -2055,9 +2055,9 @@ class CUP$Parser$actions {
           case 50: // for_stmt ::= FOR LPAREN expr SEMI expr SEMI RPAREN stmt 
             {
               ForStmt RESULT = null;
-		Expr init = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-5)).value;
-		Expr pred = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-3)).value;
-		Stmt body = (Stmt)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		Expr init = (Expr)CUP$Parser$stack[CUP$Parser$top-5].value;
+		Expr pred = (Expr)CUP$Parser$stack[CUP$Parser$top-3].value;
+		Stmt body = (Stmt)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = new ForStmt(getCurrLineNum(),init,pred,null,body); 
               CUP$Parser$result = new java_cup.runtime.Symbol(16/*for_stmt*/, RESULT);
             }
@@ -2067,8 +2067,8 @@ class CUP$Parser$actions {
           case 49: // for_stmt ::= FOR LPAREN SEMI expr SEMI RPAREN stmt 
             {
               ForStmt RESULT = null;
-		Expr pred = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-3)).value;
-		Stmt body = (Stmt)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		Expr pred = (Expr)CUP$Parser$stack[CUP$Parser$top-3].value;
+		Stmt body = (Stmt)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = new ForStmt(getCurrLineNum(),null,pred,null,body); 
               CUP$Parser$result = new java_cup.runtime.Symbol(16/*for_stmt*/, RESULT);
             }
@@ -2078,8 +2078,8 @@ class CUP$Parser$actions {
           case 48: // for_stmt ::= FOR LPAREN expr SEMI SEMI RPAREN stmt 
             {
               ForStmt RESULT = null;
-		Expr init = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-4)).value;
-		Stmt body = (Stmt)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		Expr init = (Expr)CUP$Parser$stack[CUP$Parser$top-4].value;
+		Stmt body = (Stmt)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = new ForStmt(getCurrLineNum(),init,null,null,body); 
               CUP$Parser$result = new java_cup.runtime.Symbol(16/*for_stmt*/, RESULT);
             }
@@ -2089,7 +2089,7 @@ class CUP$Parser$actions {
           case 47: // for_stmt ::= FOR LPAREN SEMI SEMI RPAREN stmt 
             {
               ForStmt RESULT = null;
-		Stmt body = (Stmt)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		Stmt body = (Stmt)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = new ForStmt(getCurrLineNum(),null,null,null,body); 
               CUP$Parser$result = new java_cup.runtime.Symbol(16/*for_stmt*/, RESULT);
             }
@@ -2099,8 +2099,8 @@ class CUP$Parser$actions {
           case 46: // while_stmt ::= WHILE LPAREN expr RPAREN stmt 
             {
               WhileStmt RESULT = null;
-		Expr cond = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
-		Stmt body = (Stmt)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		Expr cond = (Expr)CUP$Parser$stack[CUP$Parser$top-2].value;
+		Stmt body = (Stmt)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = new WhileStmt(cond.getLineNum(), cond, body); 
               CUP$Parser$result = new java_cup.runtime.Symbol(15/*while_stmt*/, RESULT);
             }
@@ -2110,9 +2110,9 @@ class CUP$Parser$actions {
           case 45: // if_stmt ::= IF LPAREN expr RPAREN stmt ELSE stmt 
             {
               IfStmt RESULT = null;
-		Expr cond = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-4)).value;
-		Stmt then_stmt = (Stmt)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
-		Stmt else_stmt = (Stmt)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		Expr cond = (Expr)CUP$Parser$stack[CUP$Parser$top-4].value;
+		Stmt then_stmt = (Stmt)CUP$Parser$stack[CUP$Parser$top-2].value;
+		Stmt else_stmt = (Stmt)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = new IfStmt(cond.getLineNum(), cond, then_stmt, else_stmt); 
               CUP$Parser$result = new java_cup.runtime.Symbol(14/*if_stmt*/, RESULT);
             }
@@ -2122,8 +2122,8 @@ class CUP$Parser$actions {
           case 44: // if_stmt ::= IF LPAREN expr RPAREN stmt 
             {
               IfStmt RESULT = null;
-		Expr cond = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
-		Stmt then_stmt = (Stmt)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		Expr cond = (Expr)CUP$Parser$stack[CUP$Parser$top-2].value;
+		Stmt then_stmt = (Stmt)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = new IfStmt(cond.getLineNum(), cond, then_stmt, null); 
               CUP$Parser$result = new java_cup.runtime.Symbol(14/*if_stmt*/, RESULT);
             }
@@ -2133,9 +2133,9 @@ class CUP$Parser$actions {
           case 43: // decl_stmt ::= ID ID ASSIGN expr SEMI 
             {
               DeclStmt RESULT = null;
-		Token type = (Token)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-4)).value;
-		Token name = (Token)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-3)).value;
-		Expr e = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		Token type = (Token)CUP$Parser$stack[CUP$Parser$top-4].value;
+		Token name = (Token)CUP$Parser$stack[CUP$Parser$top-3].value;
+		Expr e = (Expr)CUP$Parser$stack[CUP$Parser$top-1].value;
 		 RESULT = new DeclStmt(type.getLineNum(), type.getAttribute(),
                                  name.getAttribute(), e); 
               CUP$Parser$result = new java_cup.runtime.Symbol(13/*decl_stmt*/, RESULT);
@@ -2146,9 +2146,9 @@ class CUP$Parser$actions {
           case 42: // decl_stmt ::= ID LSQBRACE RSQBRACE ID ASSIGN expr SEMI 
             {
               DeclStmt RESULT = null;
-		Token type = (Token)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-6)).value;
-		Token name = (Token)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-3)).value;
-		Expr e = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		Token type = (Token)CUP$Parser$stack[CUP$Parser$top-6].value;
+		Token name = (Token)CUP$Parser$stack[CUP$Parser$top-3].value;
+		Expr e = (Expr)CUP$Parser$stack[CUP$Parser$top-1].value;
 		 RESULT = new DeclStmt(type.getLineNum(), type.getAttribute() + "[]",
                                  name.getAttribute(), e); 
               CUP$Parser$result = new java_cup.runtime.Symbol(13/*decl_stmt*/, RESULT);
@@ -2159,7 +2159,7 @@ class CUP$Parser$actions {
           case 41: // expr_stmt ::= dispatch_expr SEMI 
             {
               ExprStmt RESULT = null;
-		DispatchExpr de = (DispatchExpr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		DispatchExpr de = (DispatchExpr)CUP$Parser$stack[CUP$Parser$top-1].value;
 		 RESULT = new ExprStmt(de.getLineNum(), de);
               CUP$Parser$result = new java_cup.runtime.Symbol(12/*expr_stmt*/, RESULT);
             }
@@ -2169,7 +2169,7 @@ class CUP$Parser$actions {
           case 40: // expr_stmt ::= new_array_expr SEMI 
             {
               ExprStmt RESULT = null;
-		NewArrayExpr nae = (NewArrayExpr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		NewArrayExpr nae = (NewArrayExpr)CUP$Parser$stack[CUP$Parser$top-1].value;
 		 RESULT = new ExprStmt(nae.getLineNum(), nae);
               CUP$Parser$result = new java_cup.runtime.Symbol(12/*expr_stmt*/, RESULT);
             }
@@ -2179,7 +2179,7 @@ class CUP$Parser$actions {
           case 39: // expr_stmt ::= new_expr SEMI 
             {
               ExprStmt RESULT = null;
-		NewExpr ne = (NewExpr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		NewExpr ne = (NewExpr)CUP$Parser$stack[CUP$Parser$top-1].value;
 		 RESULT = new ExprStmt(ne.getLineNum(), ne);
               CUP$Parser$result = new java_cup.runtime.Symbol(12/*expr_stmt*/, RESULT);
             }
@@ -2189,7 +2189,7 @@ class CUP$Parser$actions {
           case 38: // expr_stmt ::= unary_decr_expr SEMI 
             {
               ExprStmt RESULT = null;
-		UnaryDecrExpr ude = (UnaryDecrExpr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		UnaryDecrExpr ude = (UnaryDecrExpr)CUP$Parser$stack[CUP$Parser$top-1].value;
 		 RESULT = new ExprStmt(ude.getLineNum(), ude);
               CUP$Parser$result = new java_cup.runtime.Symbol(12/*expr_stmt*/, RESULT);
             }
@@ -2199,7 +2199,7 @@ class CUP$Parser$actions {
           case 37: // expr_stmt ::= unary_incr_expr SEMI 
             {
               ExprStmt RESULT = null;
-		UnaryIncrExpr uie = (UnaryIncrExpr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		UnaryIncrExpr uie = (UnaryIncrExpr)CUP$Parser$stack[CUP$Parser$top-1].value;
 		 RESULT = new ExprStmt(uie.getLineNum(), uie);
               CUP$Parser$result = new java_cup.runtime.Symbol(12/*expr_stmt*/, RESULT);
             }
@@ -2209,7 +2209,7 @@ class CUP$Parser$actions {
           case 36: // expr_stmt ::= array_assign_expr SEMI 
             {
               ExprStmt RESULT = null;
-		ArrayAssignExpr aae = (ArrayAssignExpr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		ArrayAssignExpr aae = (ArrayAssignExpr)CUP$Parser$stack[CUP$Parser$top-1].value;
 		 RESULT = new ExprStmt(aae.getLineNum(), aae);
               CUP$Parser$result = new java_cup.runtime.Symbol(12/*expr_stmt*/, RESULT);
             }
@@ -2219,7 +2219,7 @@ class CUP$Parser$actions {
           case 35: // expr_stmt ::= assign_expr SEMI 
             {
               ExprStmt RESULT = null;
-		AssignExpr ae = (AssignExpr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		AssignExpr ae = (AssignExpr)CUP$Parser$stack[CUP$Parser$top-1].value;
 		 RESULT = new ExprStmt(ae.getLineNum(), ae);
               CUP$Parser$result = new java_cup.runtime.Symbol(12/*expr_stmt*/, RESULT);
             }
@@ -2229,7 +2229,7 @@ class CUP$Parser$actions {
           case 34: // stmt ::= throw_stmt 
             {
               Stmt RESULT = null;
-		ThrowStmt th = (ThrowStmt)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		ThrowStmt th = (ThrowStmt)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = th; 
               CUP$Parser$result = new java_cup.runtime.Symbol(11/*stmt*/, RESULT);
             }
@@ -2239,7 +2239,7 @@ class CUP$Parser$actions {
           case 33: // stmt ::= try_stmt 
             {
               Stmt RESULT = null;
-		TryStmt tr = (TryStmt)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		TryStmt tr = (TryStmt)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = tr; 
               CUP$Parser$result = new java_cup.runtime.Symbol(11/*stmt*/, RESULT);
             }
@@ -2249,7 +2249,7 @@ class CUP$Parser$actions {
           case 32: // stmt ::= block_stmt 
             {
               Stmt RESULT = null;
-		BlockStmt bks = (BlockStmt)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		BlockStmt bks = (BlockStmt)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = bks; 
               CUP$Parser$result = new java_cup.runtime.Symbol(11/*stmt*/, RESULT);
             }
@@ -2259,7 +2259,7 @@ class CUP$Parser$actions {
           case 31: // stmt ::= return_stmt 
             {
               Stmt RESULT = null;
-		ReturnStmt rs = (ReturnStmt)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		ReturnStmt rs = (ReturnStmt)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = rs; 
               CUP$Parser$result = new java_cup.runtime.Symbol(11/*stmt*/, RESULT);
             }
@@ -2269,7 +2269,7 @@ class CUP$Parser$actions {
           case 30: // stmt ::= break_stmt 
             {
               Stmt RESULT = null;
-		BreakStmt bs = (BreakStmt)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		BreakStmt bs = (BreakStmt)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = bs; 
               CUP$Parser$result = new java_cup.runtime.Symbol(11/*stmt*/, RESULT);
             }
@@ -2279,7 +2279,7 @@ class CUP$Parser$actions {
           case 29: // stmt ::= for_stmt 
             {
               Stmt RESULT = null;
-		ForStmt fs = (ForStmt)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		ForStmt fs = (ForStmt)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = fs; 
               CUP$Parser$result = new java_cup.runtime.Symbol(11/*stmt*/, RESULT);
             }
@@ -2289,7 +2289,7 @@ class CUP$Parser$actions {
           case 28: // stmt ::= while_stmt 
             {
               Stmt RESULT = null;
-		WhileStmt ws = (WhileStmt)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		WhileStmt ws = (WhileStmt)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = ws; 
               CUP$Parser$result = new java_cup.runtime.Symbol(11/*stmt*/, RESULT);
             }
@@ -2299,7 +2299,7 @@ class CUP$Parser$actions {
           case 27: // stmt ::= if_stmt 
             {
               Stmt RESULT = null;
-		IfStmt is = (IfStmt)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		IfStmt is = (IfStmt)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = is; 
               CUP$Parser$result = new java_cup.runtime.Symbol(11/*stmt*/, RESULT);
             }
@@ -2309,7 +2309,7 @@ class CUP$Parser$actions {
           case 26: // stmt ::= decl_stmt 
             {
               Stmt RESULT = null;
-		DeclStmt ds = (DeclStmt)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		DeclStmt ds = (DeclStmt)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = ds; 
               CUP$Parser$result = new java_cup.runtime.Symbol(11/*stmt*/, RESULT);
             }
@@ -2319,7 +2319,7 @@ class CUP$Parser$actions {
           case 25: // stmt ::= expr_stmt 
             {
               Stmt RESULT = null;
-		ExprStmt es = (ExprStmt)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		ExprStmt es = (ExprStmt)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = es; 
               CUP$Parser$result = new java_cup.runtime.Symbol(11/*stmt*/, RESULT);
             }
@@ -2329,8 +2329,8 @@ class CUP$Parser$actions {
           case 24: // stmt_list ::= stmt_list stmt 
             {
               StmtList RESULT = null;
-		StmtList sl = (StmtList)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
-		Stmt s = (Stmt)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		StmtList sl = (StmtList)CUP$Parser$stack[CUP$Parser$top-1].value;
+		Stmt s = (Stmt)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = (StmtList) sl.addElement(s); 
               CUP$Parser$result = new java_cup.runtime.Symbol(10/*stmt_list*/, RESULT);
             }
@@ -2340,7 +2340,7 @@ class CUP$Parser$actions {
           case 23: // stmt_list ::= stmt 
             {
               StmtList RESULT = null;
-		Stmt s = (Stmt)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		Stmt s = (Stmt)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = (StmtList)(new StmtList(s.getLineNum())).addElement(s); 
               CUP$Parser$result = new java_cup.runtime.Symbol(10/*stmt_list*/, RESULT);
             }
@@ -2359,8 +2359,8 @@ class CUP$Parser$actions {
           case 21: // formal ::= ID ID 
             {
               Formal RESULT = null;
-		Token type = (Token)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
-		Token name = (Token)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		Token type = (Token)CUP$Parser$stack[CUP$Parser$top-1].value;
+		Token name = (Token)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = new Formal(type.getLineNum(), type.getAttribute(),
                                name.getAttribute()); 
               CUP$Parser$result = new java_cup.runtime.Symbol(9/*formal*/, RESULT);
@@ -2371,8 +2371,8 @@ class CUP$Parser$actions {
           case 20: // formal ::= ID LSQBRACE RSQBRACE ID 
             {
               Formal RESULT = null;
-		Token type = (Token)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-3)).value;
-		Token name = (Token)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		Token type = (Token)CUP$Parser$stack[CUP$Parser$top-3].value;
+		Token name = (Token)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = new Formal(type.getLineNum(), type.getAttribute() + "[]",
                                name.getAttribute()); 
               CUP$Parser$result = new java_cup.runtime.Symbol(9/*formal*/, RESULT);
@@ -2383,8 +2383,8 @@ class CUP$Parser$actions {
           case 19: // formal_list ::= formal_list COMMA formal 
             {
               FormalList RESULT = null;
-		FormalList fl = (FormalList)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
-		Formal f = (Formal)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		FormalList fl = (FormalList)CUP$Parser$stack[CUP$Parser$top-2].value;
+		Formal f = (Formal)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = (FormalList)fl.addElement(f); 
               CUP$Parser$result = new java_cup.runtime.Symbol(8/*formal_list*/, RESULT);
             }
@@ -2394,7 +2394,7 @@ class CUP$Parser$actions {
           case 18: // formal_list ::= formal 
             {
               FormalList RESULT = null;
-		Formal f = (Formal)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		Formal f = (Formal)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = (FormalList)(new FormalList(f.getLineNum())).addElement(f); 
               CUP$Parser$result = new java_cup.runtime.Symbol(8/*formal_list*/, RESULT);
             }
@@ -2413,9 +2413,9 @@ class CUP$Parser$actions {
           case 16: // field ::= ID LSQBRACE RSQBRACE ID ASSIGN expr SEMI 
             {
               Field RESULT = null;
-		Token type = (Token)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-6)).value;
-		Token name = (Token)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-3)).value;
-		Expr e = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		Token type = (Token)CUP$Parser$stack[CUP$Parser$top-6].value;
+		Token name = (Token)CUP$Parser$stack[CUP$Parser$top-3].value;
+		Expr e = (Expr)CUP$Parser$stack[CUP$Parser$top-1].value;
 		 RESULT = new Field(type.getLineNum(), type.getAttribute() + "[]",
                               name.getAttribute(), e); 
               CUP$Parser$result = new java_cup.runtime.Symbol(7/*field*/, RESULT);
@@ -2426,8 +2426,8 @@ class CUP$Parser$actions {
           case 15: // field ::= ID LSQBRACE RSQBRACE ID SEMI 
             {
               Field RESULT = null;
-		Token type = (Token)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-4)).value;
-		Token name = (Token)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		Token type = (Token)CUP$Parser$stack[CUP$Parser$top-4].value;
+		Token name = (Token)CUP$Parser$stack[CUP$Parser$top-1].value;
 		 RESULT = new Field(type.getLineNum(), type.getAttribute() + "[]",
                               name.getAttribute(), null); 
               CUP$Parser$result = new java_cup.runtime.Symbol(7/*field*/, RESULT);
@@ -2438,9 +2438,9 @@ class CUP$Parser$actions {
           case 14: // field ::= ID ID ASSIGN expr SEMI 
             {
               Field RESULT = null;
-		Token type = (Token)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-4)).value;
-		Token name = (Token)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-3)).value;
-		Expr e = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		Token type = (Token)CUP$Parser$stack[CUP$Parser$top-4].value;
+		Token name = (Token)CUP$Parser$stack[CUP$Parser$top-3].value;
+		Expr e = (Expr)CUP$Parser$stack[CUP$Parser$top-1].value;
 		 RESULT = new Field(type.getLineNum(), type.getAttribute(),
                               name.getAttribute(), e); 
               CUP$Parser$result = new java_cup.runtime.Symbol(7/*field*/, RESULT);
@@ -2451,8 +2451,8 @@ class CUP$Parser$actions {
           case 13: // field ::= ID ID SEMI 
             {
               Field RESULT = null;
-		Token type = (Token)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
-		Token name = (Token)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		Token type = (Token)CUP$Parser$stack[CUP$Parser$top-2].value;
+		Token name = (Token)CUP$Parser$stack[CUP$Parser$top-1].value;
 		 RESULT = new Field(type.getLineNum(), type.getAttribute(),
                               name.getAttribute(), null); 
               CUP$Parser$result = new java_cup.runtime.Symbol(7/*field*/, RESULT);
@@ -2463,10 +2463,10 @@ class CUP$Parser$actions {
           case 12: // method ::= ID LSQBRACE RSQBRACE ID LPAREN formal_list RPAREN LBRACE stmt_list RBRACE 
             {
               Method RESULT = null;
-		Token type = (Token)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-9)).value;
-		Token name = (Token)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-6)).value;
-		FormalList fl = (FormalList)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-4)).value;
-		StmtList sl = (StmtList)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		Token type = (Token)CUP$Parser$stack[CUP$Parser$top-9].value;
+		Token name = (Token)CUP$Parser$stack[CUP$Parser$top-6].value;
+		FormalList fl = (FormalList)CUP$Parser$stack[CUP$Parser$top-4].value;
+		StmtList sl = (StmtList)CUP$Parser$stack[CUP$Parser$top-1].value;
 		 RESULT = new Method(name.getLineNum(), type.getAttribute()+"[]",
                                name.getAttribute(), fl, sl); 
               CUP$Parser$result = new java_cup.runtime.Symbol(6/*method*/, RESULT);
@@ -2477,10 +2477,10 @@ class CUP$Parser$actions {
           case 11: // method ::= ID ID LPAREN formal_list RPAREN LBRACE stmt_list RBRACE 
             {
               Method RESULT = null;
-		Token type = (Token)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-7)).value;
-		Token name = (Token)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-6)).value;
-		FormalList fl = (FormalList)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-4)).value;
-		StmtList sl = (StmtList)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		Token type = (Token)CUP$Parser$stack[CUP$Parser$top-7].value;
+		Token name = (Token)CUP$Parser$stack[CUP$Parser$top-6].value;
+		FormalList fl = (FormalList)CUP$Parser$stack[CUP$Parser$top-4].value;
+		StmtList sl = (StmtList)CUP$Parser$stack[CUP$Parser$top-1].value;
 		 RESULT = new Method(name.getLineNum(), type.getAttribute(),
                                name.getAttribute(), fl, sl); 
               CUP$Parser$result = new java_cup.runtime.Symbol(6/*method*/, RESULT);
@@ -2491,7 +2491,7 @@ class CUP$Parser$actions {
           case 10: // member ::= field 
             {
               Member RESULT = null;
-		Field f = (Field)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		Field f = (Field)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = f; 
               CUP$Parser$result = new java_cup.runtime.Symbol(5/*member*/, RESULT);
             }
@@ -2501,7 +2501,7 @@ class CUP$Parser$actions {
           case 9: // member ::= method 
             {
               Member RESULT = null;
-		Method meth = (Method)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		Method meth = (Method)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = meth; 
               CUP$Parser$result = new java_cup.runtime.Symbol(5/*member*/, RESULT);
             }
@@ -2511,8 +2511,8 @@ class CUP$Parser$actions {
           case 8: // member_list ::= member_list member 
             {
               MemberList RESULT = null;
-		MemberList ml = (MemberList)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
-		Member m = (Member)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		MemberList ml = (MemberList)CUP$Parser$stack[CUP$Parser$top-1].value;
+		Member m = (Member)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = (MemberList)ml.addElement(m); 
               CUP$Parser$result = new java_cup.runtime.Symbol(4/*member_list*/, RESULT);
             }
@@ -2522,7 +2522,7 @@ class CUP$Parser$actions {
           case 7: // member_list ::= member 
             {
               MemberList RESULT = null;
-		Member m = (Member)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		Member m = (Member)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = (MemberList)(new MemberList(m.getLineNum())).addElement(m); 
               CUP$Parser$result = new java_cup.runtime.Symbol(4/*member_list*/, RESULT);
             }
@@ -2541,10 +2541,10 @@ class CUP$Parser$actions {
           case 5: // class ::= CLASS ID EXTENDS ID LBRACE member_list RBRACE 
             {
               Class_ RESULT = null;
-		Token t = (Token)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-6)).value;
-		Token name = (Token)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-5)).value;
-		Token parent = (Token)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-3)).value;
-		MemberList ml = (MemberList)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		Token t = (Token)CUP$Parser$stack[CUP$Parser$top-6].value;
+		Token name = (Token)CUP$Parser$stack[CUP$Parser$top-5].value;
+		Token parent = (Token)CUP$Parser$stack[CUP$Parser$top-3].value;
+		MemberList ml = (MemberList)CUP$Parser$stack[CUP$Parser$top-1].value;
 		 RESULT = new Class_(t.getLineNum(), t.getFilename(),
                name.getAttribute(),
                parent.getAttribute(), ml); 
@@ -2556,9 +2556,9 @@ class CUP$Parser$actions {
           case 4: // class ::= CLASS ID LBRACE member_list RBRACE 
             {
               Class_ RESULT = null;
-		Token t = (Token)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-4)).value;
-		Token name = (Token)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-3)).value;
-		MemberList ml = (MemberList)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		Token t = (Token)CUP$Parser$stack[CUP$Parser$top-4].value;
+		Token name = (Token)CUP$Parser$stack[CUP$Parser$top-3].value;
+		MemberList ml = (MemberList)CUP$Parser$stack[CUP$Parser$top-1].value;
 		 RESULT = new Class_(t.getLineNum(), t.getFilename(),
                name.getAttribute(), "Object", ml); 
               CUP$Parser$result = new java_cup.runtime.Symbol(3/*class*/, RESULT);
@@ -2569,8 +2569,8 @@ class CUP$Parser$actions {
           case 3: // class_list ::= class_list class 
             {
               ClassList RESULT = null;
-		ClassList cl = (ClassList)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
-		Class_ c = (Class_)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		ClassList cl = (ClassList)CUP$Parser$stack[CUP$Parser$top-1].value;
+		Class_ c = (Class_)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = (ClassList)cl.addElement(c); 
               CUP$Parser$result = new java_cup.runtime.Symbol(2/*class_list*/, RESULT);
             }
@@ -2580,7 +2580,7 @@ class CUP$Parser$actions {
           case 2: // class_list ::= class 
             {
               ClassList RESULT = null;
-		Class_ c = (Class_)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		Class_ c = (Class_)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = (ClassList)(new ClassList(0)).addElement(c); 
               CUP$Parser$result = new java_cup.runtime.Symbol(2/*class_list*/, RESULT);
             }
@@ -2590,7 +2590,7 @@ class CUP$Parser$actions {
           case 1: // $START ::= program EOF 
             {
               Object RESULT = null;
-		Program start_val = (Program)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		Program start_val = (Program)CUP$Parser$stack[CUP$Parser$top-1].value;
 		RESULT = start_val;
               CUP$Parser$result = new java_cup.runtime.Symbol(0/*$START*/, RESULT);
             }
@@ -2602,7 +2602,7 @@ class CUP$Parser$actions {
           case 0: // program ::= class_list 
             {
               Program RESULT = null;
-		ClassList cl = (ClassList)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-0)).value;
+		ClassList cl = (ClassList)CUP$Parser$stack[CUP$Parser$top-0].value;
 		 RESULT = new Program(0, cl); 
               CUP$Parser$result = new java_cup.runtime.Symbol(1/*program*/, RESULT);
             }
@@ -0,0 +1,314 @@
+/*
+ * File: AnalysisCache.java
+ * Author: Phoebe Hughes, Siyuan Li, Joseph Malionek
+ * Date: 10/18/26
+ */
+
+package bantam.semant;
+
+import bantam.ast.Program;
+import bantam.lexer.FastLexer;
+import bantam.lexer.Lexer;
+import bantam.parser.Parser;
+import bantam.util.ClassHierarchy;
+import bantam.util.ClassTreeNode;
+import bantam.util.SymbolTable;
+import bantam.visitor.MemberAdderVisitor;
+import bantam.visitor.TypeCheckVisitor;
+import bantam.visitor.Visitor;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * A directory of programs that have been lexed, parsed and semantically analyzed, so
+ * that compiling a program again can start from its analyzed form.  Each program is
+ * kept in a file named by a hash of the names and contents of its source files, the
+ * flags that affect the front end, the version of the format and the class files of
+ * the front end (so a program whose sources change, or that a changed compiler would
+ * analyze differently, is analyzed again).  Only programs without errors are kept.
+ * Each file starts with a hash of the rest of it, so a file that was cut short or
+ * corrupted is analyzed again rather than loaded.
+ *
+ * The analyzed form is the AST of the program and of the built-in classes, with the
+ * types of the expressions and the other annotations of the type checker, the class
+ * hierarchy tree, and the symbol tables of the classes, as the SemanticAnalyzer
+ * leaves them (see AnalysisWriter).  It is written before any later phase changes them.
+ * A file is written under another name and then renamed, so several compilers can
+ * share the directory.
+ */
+public class AnalysisCache {
+
+    /**
+     * The first int of an analyzed program ("BNTM")
+     */
+    static final int MAGIC = 0x424E544D;
+
+    /**
+     * The version of the format, which must change when the format changes (changes
+     * to the front end change the hash of its class files instead)
+     */
+    static final int VERSION = 2;
+
+    /**
+     * The name of the hash function of the keys and of the contents of the files
+     */
+    private static final String DIGEST = "SHA-256";
+
+    /**
+     * The number of bytes of a hash
+     */
+    private static final int DIGEST_LENGTH = 32;
+
+    /**
+     * The hash of the class files of the front end (null if they cannot be read, which
+     * turns caching off)
+     */
+    private static final byte[] FRONT_END_DIGEST = digestFrontEnd();
+
+    /** The tag written instead of a null node */
+    static final int NULL = 0;
+    /** The tags of the kinds of AST nodes */
+    static final int CLASS = 1, MEMBER_LIST = 2, FIELD = 3, METHOD = 4, FORMAL_LIST = 5,
+            FORMAL = 6, STMT_LIST = 7, DECL_STMT = 8, EXPR_STMT = 9, IF_STMT = 10,
+            WHILE_STMT = 11, FOR_STMT = 12, BREAK_STMT = 13, BLOCK_STMT = 14,
+            RETURN_STMT = 15, TRY_STMT = 16, CATCH_LIST = 17, CATCH_STMT = 18,
+            THROW_STMT = 19, EXPR_LIST = 20, DISPATCH_EXPR = 21, NEW_EXPR = 22,
+            NEW_ARRAY_EXPR = 23, INSTANCEOF_EXPR = 24, CAST_EXPR = 25, ASSIGN_EXPR = 26,
+            ARRAY_ASSIGN_EXPR = 27, COMP_EQ_EXPR = 28, COMP_NE_EXPR = 29,
+            COMP_LT_EXPR = 30, COMP_LEQ_EXPR = 31, COMP_GT_EXPR = 32, COMP_GEQ_EXPR = 33,
+            ARITH_PLUS_EXPR = 34, ARITH_MINUS_EXPR = 35, ARITH_TIMES_EXPR = 36,
+            ARITH_DIVIDE_EXPR = 37, ARITH_MODULUS_EXPR = 38, LOGIC_AND_EXPR = 39,
+            LOGIC_OR_EXPR = 40, NEG_EXPR = 41, NOT_EXPR = 42, INCR_EXPR = 43,
+            DECR_EXPR = 44, VAR_EXPR = 45, ARRAY_EXPR = 46, CONST_INT_EXPR = 47,
+            CONST_BOOLEAN_EXPR = 48, CONST_STRING_EXPR = 49;
+
+    /** The kinds of values of symbols: a type (of a field) or the signature of a method */
+    static final int TYPE_SYMBOL = 1, METHOD_SYMBOL = 2;
+
+    /**
+     * The directory the analyzed programs are kept in
+     */
+    private Path directory;
+
+    /**
+     * The source files of the program
+     */
+    private String[] filenames;
+
+    /**
+     * The flags that affect the front end
+     */
+    private String flags;
+
+    /**
+     * The file the analyzed program is kept in (null if a source file cannot be read)
+     */
+    private Path file;
+
+    /**
+     * The root of the AST of the program loaded
+     */
+    private Program program;
+
+    /**
+     * Creates the cache of a program
+     * @param directory the directory the analyzed programs are kept in
+     * @param filenames the source files of the program
+     * @param flags the flags that affect the front end
+     */
+    public AnalysisCache(String directory, String[] filenames, String flags) {
+        this.directory = Paths.get(directory);
+        this.filenames = filenames;
+        this.flags = flags;
+    }
+
+    /**
+     * Loads the analyzed program, if it is in the cache
+     * @return the root of its class hierarchy tree, or null if it is not in the cache
+     *         (or its file cannot be read)
+     */
+    public ClassTreeNode load() {
+        Path file = this.getFile();
+        if (file == null || !Files.isRegularFile(file)) {
+            return null;
+        }
+        try {
+            byte[] bytes = Files.readAllBytes(file);
+            if (bytes.length < DIGEST_LENGTH || !MessageDigest.isEqual(
+                    Arrays.copyOf(bytes, DIGEST_LENGTH),
+                    newDigest().digest(Arrays.copyOfRange(bytes, DIGEST_LENGTH,
+                            bytes.length)))) {
+                return null;
+            }
+            AnalysisReader reader = new AnalysisReader(new ByteArrayInputStream(bytes,
+                    DIGEST_LENGTH, bytes.length - DIGEST_LENGTH));
+            ClassTreeNode root = reader.read();
+            this.program = reader.getProgram();
+            return root;
+        }
+        catch (IOException | RuntimeException e) {
+            //a file that cannot be read is analyzed again, and then replaced
+            return null;
+        }
+    }
+
+    /**
+     * Gets the root of the AST of the program loaded
+     * @return the program
+     */
+    public Program getProgram() {
+        return this.program;
+    }
+
+    /**
+     * Saves a program that has been analyzed without errors.  A program that cannot
+     * be saved is reported and otherwise ignored.
+     * @param semanticAnalyzer the semantic analyzer that analyzed the program
+     */
+    public void save(SemanticAnalyzer semanticAnalyzer) {
+        Path file = this.getFile();
+        if (file == null) {
+            return;
+        }
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            new AnalysisWriter(bytes).write(semanticAnalyzer.getProgram(),
+                    semanticAnalyzer.getClassNodes());
+            byte[] payload = bytes.toByteArray();
+            Files.createDirectories(this.directory);
+            Path tempFile = Files.createTempFile(this.directory, "analysis", ".tmp");
+            try {
+                Files.write(tempFile, newDigest().digest(payload));
+                Files.write(tempFile, payload, StandardOpenOption.APPEND);
+                try {
+                    Files.move(tempFile, file, StandardCopyOption.ATOMIC_MOVE);
+                }
+                catch (AtomicMoveNotSupportedException e) {
+                    Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            finally {
+                Files.deleteIfExists(tempFile);
+            }
+        }
+        catch (IOException | UncheckedIOException | IllegalArgumentException e) {
+            System.err.println("Warning: could not cache the analyzed program: "
+                    + e.getMessage());
+        }
+    }
+
+    /**
+     * Gets the file the analyzed program is kept in, named by the hash of the source
+     * files, flags and front end
+     * @return the file, or null if a source file or the front end cannot be read
+     */
+    Path getFile() {
+        if (this.file == null && FRONT_END_DIGEST != null) {
+            try {
+                MessageDigest digest = newDigest();
+                update(digest, Integer.toString(VERSION).getBytes(StandardCharsets.UTF_8));
+                update(digest, FRONT_END_DIGEST);
+                update(digest, this.flags.getBytes(StandardCharsets.UTF_8));
+                for (String filename : this.filenames) {
+                    update(digest, filename.getBytes(StandardCharsets.UTF_8));
+                    update(digest, Files.readAllBytes(Paths.get(filename)));
+                }
+                StringBuilder name = new StringBuilder();
+                for (byte b : digest.digest()) {
+                    name.append(String.format("%02x", b));
+                }
+                this.file = this.directory.resolve(name.append(".bta").toString());
+            }
+            catch (IOException | RuntimeException e) {
+                //the front end reports a source file that cannot be read
+                return null;
+            }
+        }
+        return this.file;
+    }
+
+    /**
+     * Hashes the class files of the front end: the lexers and parser, the AST node
+     * classes (the classes the Visitor visits), the semantic analyzer and the classes
+     * it annotates the program with, and the classes that write and read the cache
+     * @return the hash, or null if a class file cannot be read
+     */
+    private static byte[] digestFrontEnd() {
+        TreeMap<String, Class<?>> classes = new TreeMap<>();
+        for (Method method : Visitor.class.getDeclaredMethods()) {
+            for (Class<?> parameterType : method.getParameterTypes()) {
+                classes.put(parameterType.getName(), parameterType);
+            }
+        }
+        for (Class<?> frontEndClass : Arrays.asList(Lexer.class, FastLexer.class,
+                Parser.class, SemanticAnalyzer.class, MemberAdderVisitor.class,
+                TypeCheckVisitor.class, ClassTreeNode.class, ClassHierarchy.class,
+                SymbolTable.class, AnalysisCache.class, AnalysisWriter.class,
+                AnalysisReader.class)) {
+            classes.put(frontEndClass.getName(), frontEndClass);
+        }
+
+        MessageDigest digest = newDigest();
+        byte[] buffer = new byte[8192];
+        for (Class<?> frontEndClass : classes.values()) {
+            String name = frontEndClass.getName();
+            digest.update(name.getBytes(StandardCharsets.UTF_8));
+            try (InputStream in = frontEndClass.getResourceAsStream(
+                    name.substring(name.lastIndexOf('.') + 1) + ".class")) {
+                if (in == null) {
+                    return null;
+                }
+                for (int n = in.read(buffer); n >= 0; n = in.read(buffer)) {
+                    digest.update(buffer, 0, n);
+                }
+            }
+            catch (IOException e) {
+                return null;
+            }
+        }
+        return digest.digest();
+    }
+
+    /**
+     * Creates a hash of the keys and contents of the files
+     * @return the hash
+     */
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(DIGEST);
+        }
+        catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Adds some bytes to a hash, after their number, so that the bytes of different
+     * sequences of arrays are never the same
+     * @param digest the hash
+     * @param bytes the bytes
+     */
+    private static void update(MessageDigest digest, byte[] bytes) {
+        int length = bytes.length;
+        digest.update(new byte[]{(byte) (length >>> 24), (byte) (length >>> 16),
+                (byte) (length >>> 8), (byte) length});
+        digest.update(bytes);
+    }
+}
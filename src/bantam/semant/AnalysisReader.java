@@ -0,0 +1,410 @@
+/*
+ * File: AnalysisReader.java
+ * Author: Phoebe Hughes, Siyuan Li, Joseph Malionek
+ * Date: 10/18/26
+ */
+
+package bantam.semant;
+
+import bantam.ast.*;
+import bantam.util.ClassHierarchy;
+import bantam.util.ClassTreeNode;
+import bantam.util.SymbolTable;
+import javafx.util.Pair;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Hashtable;
+import java.util.List;
+
+/**
+ * Reads an analyzed program written by the AnalysisWriter, rebuilding its AST (with the
+ * types of the expressions), the class hierarchy tree and the symbol tables of the
+ * classes, as the SemanticAnalyzer left them.
+ */
+class AnalysisReader {
+
+    /**
+     * The stream the program is read from
+     */
+    private DataInputStream in;
+
+    /**
+     * The strings read so far, by index
+     */
+    private List<String> strings = new ArrayList<>();
+
+    /**
+     * The root of the AST of the program read
+     */
+    private Program program;
+
+    /**
+     * Creates a reader
+     * @param in the stream the program is read from
+     */
+    AnalysisReader(InputStream in) {
+        this.in = new DataInputStream(in);
+    }
+
+    /**
+     * Gets the root of the AST of the program read
+     * @return the program
+     */
+    Program getProgram() {
+        return this.program;
+    }
+
+    /**
+     * Reads an analyzed program
+     * @return the root of the class hierarchy tree
+     * @throws IOException if the program cannot be read or was not written in this
+     *                     version of the format
+     */
+    ClassTreeNode read() throws IOException {
+        if (this.in.readInt() != AnalysisCache.MAGIC
+                || this.in.readInt() != AnalysisCache.VERSION) {
+            throw new IOException("not an analyzed program of this version");
+        }
+
+        //the class map is filled in the order it was, so that it iterates in that order
+        Hashtable<String, ClassTreeNode> classMap = new Hashtable<>();
+        ClassTreeNode[] classNodes = new ClassTreeNode[this.readInt()];
+        for (int i = 0; i < classNodes.length; i++) {
+            boolean builtin = this.in.readBoolean();
+            boolean extendable = this.in.readBoolean();
+            Class_ astNode = (Class_) this.readNode();
+            classNodes[i] = new ClassTreeNode(astNode, builtin, extendable, classMap);
+            classMap.put(astNode.getName(), classNodes[i]);
+        }
+
+        int lineNum = this.readInt();
+        ClassList classList = new ClassList(this.readInt());
+        int numClasses = this.readInt();
+        for (int i = 0; i < numClasses; i++) {
+            classList.addElement(classNodes[this.readInt()].getASTNode());
+        }
+        this.program = new Program(lineNum, classList);
+
+        int[][] children = new int[classNodes.length][];
+        int rootIndex = -1;
+        for (int i = 0; i < classNodes.length; i++) {
+            children[i] = new int[this.readInt()];
+            for (int j = 0; j < children[i].length; j++) {
+                children[i][j] = this.readInt();
+            }
+            if (classNodes[i].getName().equals("Object")) {
+                rootIndex = i;
+            }
+        }
+        this.link(rootIndex, classNodes, children);
+        ClassTreeNode root = classNodes[rootIndex];
+
+        for (ClassTreeNode classNode : classNodes) {
+            this.readSymbolTable(classNode.getVarSymbolTable());
+            this.readSymbolTable(classNode.getMethodSymbolTable());
+        }
+
+        ClassHierarchy hierarchy = new ClassHierarchy(root);
+        for (ClassTreeNode classNode : classNodes) {
+            classNode.setHierarchy(hierarchy);
+        }
+        return root;
+    }
+
+    /**
+     * Links the children of a class to it, and then the children of each child
+     * @param index the index of the class
+     * @param classNodes the class tree nodes, by index
+     * @param children the indices of the children of each class, by index
+     */
+    private void link(int index, ClassTreeNode[] classNodes, int[][] children) {
+        for (int child : children[index]) {
+            classNodes[child].setParent(classNodes[index]);
+        }
+        for (int child : children[index]) {
+            this.link(child, classNodes, children);
+        }
+    }
+
+    /**
+     * Reads the scopes of a symbol table into it
+     * @param table the symbol table, which has no scopes
+     * @throws IOException if the table cannot be read
+     */
+    private void readSymbolTable(SymbolTable table) throws IOException {
+        int numScopes = this.readInt();
+        for (int scope = 0; scope < numScopes; scope++) {
+            table.enterScope();
+            int numSymbols = this.readInt();
+            for (int i = 0; i < numSymbols; i++) {
+                String name = this.readString();
+                int kind = this.in.readByte();
+                if (kind == AnalysisCache.TYPE_SYMBOL) {
+                    table.add(name, this.readString());
+                }
+                else if (kind == AnalysisCache.METHOD_SYMBOL) {
+                    String returnType = this.readString();
+                    int numParams = this.readInt();
+                    List<String> paramTypes = new ArrayList<>(numParams);
+                    for (int j = 0; j < numParams; j++) {
+                        paramTypes.add(this.readString());
+                    }
+                    table.add(name, new Pair<>(returnType, paramTypes));
+                }
+                else {
+                    throw new IOException("unknown kind of symbol " + kind);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads an int written in one to five bytes
+     * @return the int
+     * @throws IOException if the int cannot be read
+     */
+    private int readInt() throws IOException {
+        int bits = 0;
+        for (int shift = 0; ; shift += 7) {
+            int b = this.in.readUnsignedByte();
+            bits |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                break;
+            }
+        }
+        return (bits >>> 1) ^ -(bits & 1);
+    }
+
+    /**
+     * Reads a string, or null
+     * @return the string (null if null was written)
+     * @throws IOException if the string cannot be read
+     */
+    private String readString() throws IOException {
+        int index = this.readInt();
+        if (index == 0) {
+            return null;
+        }
+        if (index > 1) {
+            return this.strings.get(index - 2);
+        }
+        byte[] bytes = new byte[this.readInt()];
+        this.in.readFully(bytes);
+        String s = new String(bytes, StandardCharsets.UTF_8);
+        this.strings.add(s);
+        return s;
+    }
+
+    /**
+     * Reads the elements of a list into it
+     * @param list the list
+     * @return the list
+     * @throws IOException if the list cannot be read
+     */
+    private ListNode readList(ListNode list) throws IOException {
+        int size = this.readInt();
+        for (int i = 0; i < size; i++) {
+            list.addElement(this.readNode());
+        }
+        return list;
+    }
+
+    /**
+     * Reads a node, or null
+     * @return the node (null if null was written)
+     * @throws IOException if the node cannot be read
+     */
+    private ASTNode readNode() throws IOException {
+        int tag = this.readInt();
+        if (tag == AnalysisCache.NULL) {
+            return null;
+        }
+        int lineNum = this.readInt();
+        switch (tag) {
+            case AnalysisCache.CLASS:
+                return new Class_(lineNum, this.readString(), this.readString(),
+                        this.readString(), (MemberList) this.readNode());
+            case AnalysisCache.MEMBER_LIST:
+                return this.readList(new MemberList(lineNum));
+            case AnalysisCache.FIELD:
+                return new Field(lineNum, this.readString(), this.readString(),
+                        (Expr) this.readNode());
+            case AnalysisCache.METHOD:
+                return new Method(lineNum, this.readString(), this.readString(),
+                        (FormalList) this.readNode(), (StmtList) this.readNode());
+            case AnalysisCache.FORMAL_LIST:
+                return this.readList(new FormalList(lineNum));
+            case AnalysisCache.FORMAL:
+                return new Formal(lineNum, this.readString(), this.readString());
+            case AnalysisCache.STMT_LIST:
+                return this.readList(new StmtList(lineNum));
+            case AnalysisCache.DECL_STMT:
+                return new DeclStmt(lineNum, this.readString(), this.readString(),
+                        (Expr) this.readNode());
+            case AnalysisCache.EXPR_STMT:
+                return new ExprStmt(lineNum, (Expr) this.readNode());
+            case AnalysisCache.IF_STMT:
+                return new IfStmt(lineNum, (Expr) this.readNode(), (Stmt) this.readNode(),
+                        (Stmt) this.readNode());
+            case AnalysisCache.WHILE_STMT:
+                return new WhileStmt(lineNum, (Expr) this.readNode(), (Stmt) this.readNode());
+            case AnalysisCache.FOR_STMT:
+                return new ForStmt(lineNum, (Expr) this.readNode(), (Expr) this.readNode(),
+                        (Expr) this.readNode(), (Stmt) this.readNode());
+            case AnalysisCache.BREAK_STMT:
+                return new BreakStmt(lineNum);
+            case AnalysisCache.BLOCK_STMT:
+                return new BlockStmt(lineNum, (StmtList) this.readNode());
+            case AnalysisCache.RETURN_STMT:
+                return new ReturnStmt(lineNum, (Expr) this.readNode());
+            case AnalysisCache.TRY_STMT:
+                return new TryStmt(lineNum, (StmtList) this.readNode(),
+                        (CatchList) this.readNode());
+            case AnalysisCache.CATCH_LIST:
+                return this.readList(new CatchList(lineNum));
+            case AnalysisCache.CATCH_STMT:
+                return new CatchStmt(lineNum, (Formal) this.readNode(),
+                        (StmtList) this.readNode());
+            case AnalysisCache.THROW_STMT:
+                return new ThrowStmt(lineNum, (Expr) this.readNode());
+            case AnalysisCache.EXPR_LIST:
+                return this.readList(new ExprList(lineNum));
+            default:
+                return this.readExpr(tag, lineNum);
+        }
+    }
+
+    /**
+     * Reads the rest of an expression, after its tag and line number
+     * @param tag the tag of the kind of expression
+     * @param lineNum the line number of the expression
+     * @return the expression, with its type
+     * @throws IOException if the expression cannot be read
+     */
+    private Expr readExpr(int tag, int lineNum) throws IOException {
+        String exprType = this.readString();
+        Expr expr;
+        switch (tag) {
+            case AnalysisCache.DISPATCH_EXPR:
+                DispatchExpr dispatchExpr = new DispatchExpr(lineNum, (Expr) this.readNode(),
+                        this.readString(), (ExprList) this.readNode());
+                dispatchExpr.setSuperClassName(this.readString());
+                expr = dispatchExpr;
+                break;
+            case AnalysisCache.NEW_EXPR:
+                expr = new NewExpr(lineNum, this.readString());
+                break;
+            case AnalysisCache.NEW_ARRAY_EXPR:
+                expr = new NewArrayExpr(lineNum, this.readString(), (Expr) this.readNode());
+                break;
+            case AnalysisCache.INSTANCEOF_EXPR:
+                InstanceofExpr instanceofExpr = new InstanceofExpr(lineNum,
+                        (Expr) this.readNode(), this.readString());
+                instanceofExpr.setUpCheck(this.readInt() != 0);
+                expr = instanceofExpr;
+                break;
+            case AnalysisCache.CAST_EXPR:
+                CastExpr castExpr = new CastExpr(lineNum, this.readString(),
+                        (Expr) this.readNode());
+                castExpr.setUpCast(this.readInt() != 0);
+                expr = castExpr;
+                break;
+            case AnalysisCache.ASSIGN_EXPR:
+                expr = new AssignExpr(lineNum, this.readString(), this.readString(),
+                        (Expr) this.readNode());
+                break;
+            case AnalysisCache.ARRAY_ASSIGN_EXPR:
+                expr = new ArrayAssignExpr(lineNum, this.readString(), this.readString(),
+                        (Expr) this.readNode(), (Expr) this.readNode());
+                break;
+            case AnalysisCache.COMP_EQ_EXPR:
+                expr = new BinaryCompEqExpr(lineNum, (Expr) this.readNode(),
+                        (Expr) this.readNode());
+                break;
+            case AnalysisCache.COMP_NE_EXPR:
+                expr = new BinaryCompNeExpr(lineNum, (Expr) this.readNode(),
+                        (Expr) this.readNode());
+                break;
+            case AnalysisCache.COMP_LT_EXPR:
+                expr = new BinaryCompLtExpr(lineNum, (Expr) this.readNode(),
+                        (Expr) this.readNode());
+                break;
+            case AnalysisCache.COMP_LEQ_EXPR:
+                expr = new BinaryCompLeqExpr(lineNum, (Expr) this.readNode(),
+                        (Expr) this.readNode());
+                break;
+            case AnalysisCache.COMP_GT_EXPR:
+                expr = new BinaryCompGtExpr(lineNum, (Expr) this.readNode(),
+                        (Expr) this.readNode());
+                break;
+            case AnalysisCache.COMP_GEQ_EXPR:
+                expr = new BinaryCompGeqExpr(lineNum, (Expr) this.readNode(),
+                        (Expr) this.readNode());
+                break;
+            case AnalysisCache.ARITH_PLUS_EXPR:
+                expr = new BinaryArithPlusExpr(lineNum, (Expr) this.readNode(),
+                        (Expr) this.readNode());
+                break;
+            case AnalysisCache.ARITH_MINUS_EXPR:
+                expr = new BinaryArithMinusExpr(lineNum, (Expr) this.readNode(),
+                        (Expr) this.readNode());
+                break;
+            case AnalysisCache.ARITH_TIMES_EXPR:
+                expr = new BinaryArithTimesExpr(lineNum, (Expr) this.readNode(),
+                        (Expr) this.readNode());
+                break;
+            case AnalysisCache.ARITH_DIVIDE_EXPR:
+                expr = new BinaryArithDivideExpr(lineNum, (Expr) this.readNode(),
+                        (Expr) this.readNode());
+                break;
+            case AnalysisCache.ARITH_MODULUS_EXPR:
+                expr = new BinaryArithModulusExpr(lineNum, (Expr) this.readNode(),
+                        (Expr) this.readNode());
+                break;
+            case AnalysisCache.LOGIC_AND_EXPR:
+                expr = new BinaryLogicAndExpr(lineNum, (Expr) this.readNode(),
+                        (Expr) this.readNode());
+                break;
+            case AnalysisCache.LOGIC_OR_EXPR:
+                expr = new BinaryLogicOrExpr(lineNum, (Expr) this.readNode(),
+                        (Expr) this.readNode());
+                break;
+            case AnalysisCache.NEG_EXPR:
+                expr = new UnaryNegExpr(lineNum, (Expr) this.readNode());
+                break;
+            case AnalysisCache.NOT_EXPR:
+                expr = new UnaryNotExpr(lineNum, (Expr) this.readNode());
+                break;
+            case AnalysisCache.INCR_EXPR:
+                expr = new UnaryIncrExpr(lineNum, (Expr) this.readNode(), this.readInt() != 0);
+                break;
+            case AnalysisCache.DECR_EXPR:
+                expr = new UnaryDecrExpr(lineNum, (Expr) this.readNode(), this.readInt() != 0);
+                break;
+            case AnalysisCache.VAR_EXPR:
+                expr = new VarExpr(lineNum, (Expr) this.readNode(), this.readString());
+                break;
+            case AnalysisCache.ARRAY_EXPR:
+                expr = new ArrayExpr(lineNum, (Expr) this.readNode(), this.readString(),
+                        (Expr) this.readNode());
+                break;
+            case AnalysisCache.CONST_INT_EXPR:
+                expr = new ConstIntExpr(lineNum, this.readString());
+                break;
+            case AnalysisCache.CONST_BOOLEAN_EXPR:
+                expr = new ConstBooleanExpr(lineNum, this.readString());
+                break;
+            case AnalysisCache.CONST_STRING_EXPR:
+                expr = new ConstStringExpr(lineNum, this.readString());
+                break;
+            default:
+                throw new IOException("unknown kind of node " + tag);
+        }
+        expr.setExprType(exprType);
+        return expr;
+    }
+}
@@ -0,0 +1,603 @@
+/*
+ * File: AnalysisWriter.java
+ * Author: Phoebe Hughes, Siyuan Li, Joseph Malionek
+ * Date: 10/18/26
+ */
+
+package bantam.semant;
+
+import bantam.ast.*;
+import bantam.util.ClassTreeNode;
+import bantam.util.SymbolTable;
+import bantam.visitor.Visitor;
+import javafx.util.Pair;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes an analyzed program in the binary form of the AnalysisCache: the classes (the
+ * built-in ones too) with their ASTs, the AST of the program, the class hierarchy tree
+ * and the symbol tables of the classes.
+ *
+ * An AST node is written in preorder as its tag, its line number and its fields, an
+ * expression with the type the type checker gave it.  Ints are written in a variable
+ * number of bytes, and each string is written once and then referred to by its index.
+ */
+class AnalysisWriter extends Visitor {
+
+    /**
+     * The stream the program is written to
+     */
+    private DataOutputStream out;
+
+    /**
+     * Maps the strings written so far to their indices
+     */
+    private Map<String, Integer> strings = new HashMap<>();
+
+    /**
+     * Creates a writer
+     * @param out the stream the program is written to
+     */
+    AnalysisWriter(OutputStream out) {
+        this.out = new DataOutputStream(out);
+    }
+
+    /**
+     * Writes an analyzed program
+     * @param program the root of the AST of the program
+     * @param classNodes the class tree nodes, in the order they were added to the
+     *                   class map
+     * @throws IOException if the program cannot be written
+     */
+    void write(Program program, List<ClassTreeNode> classNodes) throws IOException {
+        this.out.writeInt(AnalysisCache.MAGIC);
+        this.out.writeInt(AnalysisCache.VERSION);
+
+        Map<ClassTreeNode, Integer> classIndices = new IdentityHashMap<>();
+        Map<Class_, Integer> astIndices = new IdentityHashMap<>();
+        this.writeInt(classNodes.size());
+        for (ClassTreeNode classNode : classNodes) {
+            Class_ astNode = classNode.getASTNode();
+            int classIndex = classIndices.size();
+            classIndices.put(classNode, classIndex);
+            astIndices.put(astNode, classIndex);
+            this.out.writeBoolean(classNode.isBuiltIn());
+            this.out.writeBoolean(classNode.isExtendable());
+            astNode.accept(this);
+        }
+
+        //the program is the list of its classes, which were written above
+        ClassList classList = program.getClassList();
+        this.writeInt(program.getLineNum());
+        this.writeInt(classList.getLineNum());
+        this.writeInt(classList.getSize());
+        for (ASTNode node : classList) {
+            this.writeInt(astIndices.get(node));
+        }
+
+        //the children of each class, in order, so that linking them in preorder
+        //builds the same tree
+        for (ClassTreeNode classNode : classNodes) {
+            this.writeInt(classNode.getNumChildren());
+            Iterator<ClassTreeNode> children = classNode.getChildrenList();
+            while (children.hasNext()) {
+                this.writeInt(classIndices.get(children.next()));
+            }
+        }
+
+        for (ClassTreeNode classNode : classNodes) {
+            this.writeSymbolTable(classNode.getVarSymbolTable());
+            this.writeSymbolTable(classNode.getMethodSymbolTable());
+        }
+        this.out.flush();
+    }
+
+    /**
+     * Writes the scopes of a symbol table (not those of its parent tables), whose
+     * values are types or the signatures of methods
+     * @param table the symbol table
+     * @throws IOException if the table cannot be written
+     */
+    private void writeSymbolTable(SymbolTable table) throws IOException {
+        this.writeInt(table.getNumScopes());
+        for (int scope = 0; scope < table.getNumScopes(); scope++) {
+            Map<String, Object> symbols = table.getScope(scope);
+            this.writeInt(symbols.size());
+            for (Map.Entry<String, Object> symbol : symbols.entrySet()) {
+                this.writeString(symbol.getKey());
+                Object value = symbol.getValue();
+                if (value instanceof String) {
+                    this.out.writeByte(AnalysisCache.TYPE_SYMBOL);
+                    this.writeString((String) value);
+                }
+                else if (value instanceof Pair) {
+                    //a method's return type and the types of its parameters
+                    Pair<?, ?> method = (Pair<?, ?>) value;
+                    List<?> paramTypes = (List<?>) method.getValue();
+                    this.out.writeByte(AnalysisCache.METHOD_SYMBOL);
+                    this.writeString((String) method.getKey());
+                    this.writeInt(paramTypes.size());
+                    for (Object paramType : paramTypes) {
+                        this.writeString((String) paramType);
+                    }
+                }
+                else {
+                    throw new IllegalArgumentException("Symbol " + symbol.getKey()
+                            + " has a value that cannot be written: " + value);
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes an int in one to five bytes, seven bits at a time (small negative ints,
+     * such as the line numbers of the built-in classes, are written as small ints)
+     * @param n the int
+     */
+    private void writeInt(int n) {
+        int bits = (n << 1) ^ (n >> 31);
+        try {
+            while ((bits & ~0x7F) != 0) {
+                this.out.writeByte((bits & 0x7F) | 0x80);
+                bits >>>= 7;
+            }
+            this.out.writeByte(bits);
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes a string, or null: 0 for null, 1 and the UTF-8 bytes of a string that has
+     * not been written before, and otherwise 2 more than the index of the string
+     * @param s the string (may be null)
+     */
+    private void writeString(String s) {
+        if (s == null) {
+            this.writeInt(0);
+            return;
+        }
+        Integer index = this.strings.get(s);
+        if (index != null) {
+            this.writeInt(index + 2);
+            return;
+        }
+        this.strings.put(s, this.strings.size());
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        this.writeInt(1);
+        this.writeInt(bytes.length);
+        try {
+            this.out.write(bytes);
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes the tag and line number of a node
+     * @param tag the tag of the kind of node
+     * @param node the node
+     */
+    private void writeHeader(int tag, ASTNode node) {
+        this.writeInt(tag);
+        this.writeInt(node.getLineNum());
+    }
+
+    /**
+     * Writes the tag, line number and type of an expression
+     * @param tag the tag of the kind of expression
+     * @param node the expression
+     */
+    private void writeHeader(int tag, Expr node) {
+        this.writeHeader(tag, (ASTNode) node);
+        this.writeString(node.getExprType());
+    }
+
+    /**
+     * Writes a node that may be null
+     * @param node the node
+     */
+    private void writeNode(ASTNode node) {
+        if (node == null) {
+            this.writeInt(AnalysisCache.NULL);
+        }
+        else {
+            node.accept(this);
+        }
+    }
+
+    /**
+     * Writes the size and elements of a list
+     * @param tag the tag of the kind of list
+     * @param node the list
+     * @return null
+     */
+    private Object writeList(int tag, ListNode node) {
+        this.writeHeader(tag, node);
+        this.writeInt(node.getSize());
+        for (ASTNode element : node) {
+            element.accept(this);
+        }
+        return null;
+    }
+
+    /**
+     * Writes the operands of a binary expression
+     * @param tag the tag of the kind of expression
+     * @param node the expression
+     * @return null
+     */
+    private Object writeBinary(int tag, BinaryExpr node) {
+        this.writeHeader(tag, node);
+        node.getLeftExpr().accept(this);
+        node.getRightExpr().accept(this);
+        return null;
+    }
+
+    /**
+     * Writes the operand of a unary expression
+     * @param tag the tag of the kind of expression
+     * @param node the expression
+     * @return null
+     */
+    private Object writeUnary(int tag, UnaryExpr node) {
+        this.writeHeader(tag, node);
+        node.getExpr().accept(this);
+        return null;
+    }
+
+    /**
+     * Writes the constant of a constant expression
+     * @param tag the tag of the kind of expression
+     * @param node the expression
+     * @return null
+     */
+    private Object writeConst(int tag, ConstExpr node) {
+        this.writeHeader(tag, node);
+        this.writeString(node.getConstant());
+        return null;
+    }
+
+    @Override
+    public Object visit(Class_ node) {
+        this.writeHeader(AnalysisCache.CLASS, node);
+        this.writeString(node.getFilename());
+        this.writeString(node.getName());
+        this.writeString(node.getParent());
+        node.getMemberList().accept(this);
+        return null;
+    }
+
+    @Override
+    public Object visit(MemberList node) {
+        return this.writeList(AnalysisCache.MEMBER_LIST, node);
+    }
+
+    @Override
+    public Object visit(Field node) {
+        this.writeHeader(AnalysisCache.FIELD, node);
+        this.writeString(node.getType());
+        this.writeString(node.getName());
+        this.writeNode(node.getInit());
+        return null;
+    }
+
+    @Override
+    public Object visit(Method node) {
+        this.writeHeader(AnalysisCache.METHOD, node);
+        this.writeString(node.getReturnType());
+        this.writeString(node.getName());
+        node.getFormalList().accept(this);
+        node.getStmtList().accept(this);
+        return null;
+    }
+
+    @Override
+    public Object visit(FormalList node) {
+        return this.writeList(AnalysisCache.FORMAL_LIST, node);
+    }
+
+    @Override
+    public Object visit(Formal node) {
+        this.writeHeader(AnalysisCache.FORMAL, node);
+        this.writeString(node.getType());
+        this.writeString(node.getName());
+        return null;
+    }
+
+    @Override
+    public Object visit(StmtList node) {
+        return this.writeList(AnalysisCache.STMT_LIST, node);
+    }
+
+    @Override
+    public Object visit(DeclStmt node) {
+        this.writeHeader(AnalysisCache.DECL_STMT, node);
+        this.writeString(node.getType());
+        this.writeString(node.getName());
+        this.writeNode(node.getInit());
+        return null;
+    }
+
+    @Override
+    public Object visit(ExprStmt node) {
+        this.writeHeader(AnalysisCache.EXPR_STMT, node);
+        node.getExpr().accept(this);
+        return null;
+    }
+
+    @Override
+    public Object visit(IfStmt node) {
+        this.writeHeader(AnalysisCache.IF_STMT, node);
+        node.getPredExpr().accept(this);
+        node.getThenStmt().accept(this);
+        this.writeNode(node.getElseStmt());
+        return null;
+    }
+
+    @Override
+    public Object visit(WhileStmt node) {
+        this.writeHeader(AnalysisCache.WHILE_STMT, node);
+        node.getPredExpr().accept(this);
+        node.getBodyStmt().accept(this);
+        return null;
+    }
+
+    @Override
+    public Object visit(ForStmt node) {
+        this.writeHeader(AnalysisCache.FOR_STMT, node);
+        this.writeNode(node.getInitExpr());
+        this.writeNode(node.getPredExpr());
+        this.writeNode(node.getUpdateExpr());
+        node.getBodyStmt().accept(this);
+        return null;
+    }
+
+    @Override
+    public Object visit(BreakStmt node) {
+        this.writeHeader(AnalysisCache.BREAK_STMT, node);
+        return null;
+    }
+
+    @Override
+    public Object visit(BlockStmt node) {
+        this.writeHeader(AnalysisCache.BLOCK_STMT, node);
+        node.getStmtList().accept(this);
+        return null;
+    }
+
+    @Override
+    public Object visit(ReturnStmt node) {
+        this.writeHeader(AnalysisCache.RETURN_STMT, node);
+        this.writeNode(node.getExpr());
+        return null;
+    }
+
+    @Override
+    public Object visit(TryStmt node) {
+        this.writeHeader(AnalysisCache.TRY_STMT, node);
+        node.getStmtList().accept(this);
+        node.getCatchList().accept(this);
+        return null;
+    }
+
+    @Override
+    public Object visit(CatchList node) {
+        return this.writeList(AnalysisCache.CATCH_LIST, node);
+    }
+
+    @Override
+    public Object visit(CatchStmt node) {
+        this.writeHeader(AnalysisCache.CATCH_STMT, node);
+        node.getFormal().accept(this);
+        node.getStmtList().accept(this);
+        return null;
+    }
+
+    @Override
+    public Object visit(ThrowStmt node) {
+        this.writeHeader(AnalysisCache.THROW_STMT, node);
+        node.getExpr().accept(this);
+        return null;
+    }
+
+    @Override
+    public Object visit(ExprList node) {
+        return this.writeList(AnalysisCache.EXPR_LIST, node);
+    }
+
+    @Override
+    public Object visit(DispatchExpr node) {
+        this.writeHeader(AnalysisCache.DISPATCH_EXPR, node);
+        this.writeNode(node.getRefExpr());
+        this.writeString(node.getMethodName());
+        node.getActualList().accept(this);
+        this.writeString(node.getSuperClassName());
+        return null;
+    }
+
+    @Override
+    public Object visit(NewExpr node) {
+        this.writeHeader(AnalysisCache.NEW_EXPR, node);
+        this.writeString(node.getType());
+        return null;
+    }
+
+    @Override
+    public Object visit(NewArrayExpr node) {
+        this.writeHeader(AnalysisCache.NEW_ARRAY_EXPR, node);
+        this.writeString(node.getType());
+        node.getSize().accept(this);
+        return null;
+    }
+
+    @Override
+    public Object visit(InstanceofExpr node) {
+        this.writeHeader(AnalysisCache.INSTANCEOF_EXPR, node);
+        node.getExpr().accept(this);
+        this.writeString(node.getType());
+        this.writeInt(node.getUpCheck() ? 1 : 0);
+        return null;
+    }
+
+    @Override
+    public Object visit(CastExpr node) {
+        this.writeHeader(AnalysisCache.CAST_EXPR, node);
+        this.writeString(node.getType());
+        node.getExpr().accept(this);
+        this.writeInt(node.getUpCast() ? 1 : 0);
+        return null;
+    }
+
+    @Override
+    public Object visit(AssignExpr node) {
+        this.writeHeader(AnalysisCache.ASSIGN_EXPR, node);
+        this.writeString(node.getRefName());
+        this.writeString(node.getName());
+        node.getExpr().accept(this);
+        return null;
+    }
+
+    @Override
+    public Object visit(ArrayAssignExpr node) {
+        this.writeHeader(AnalysisCache.ARRAY_ASSIGN_EXPR, node);
+        this.writeString(node.getRefName());
+        this.writeString(node.getName());
+        node.getIndex().accept(this);
+        node.getExpr().accept(this);
+        return null;
+    }
+
+    @Override
+    public Object visit(BinaryCompEqExpr node) {
+        return this.writeBinary(AnalysisCache.COMP_EQ_EXPR, node);
+    }
+
+    @Override
+    public Object visit(BinaryCompNeExpr node) {
+        return this.writeBinary(AnalysisCache.COMP_NE_EXPR, node);
+    }
+
+    @Override
+    public Object visit(BinaryCompLtExpr node) {
+        return this.writeBinary(AnalysisCache.COMP_LT_EXPR, node);
+    }
+
+    @Override
+    public Object visit(BinaryCompLeqExpr node) {
+        return this.writeBinary(AnalysisCache.COMP_LEQ_EXPR, node);
+    }
+
+    @Override
+    public Object visit(BinaryCompGtExpr node) {
+        return this.writeBinary(AnalysisCache.COMP_GT_EXPR, node);
+    }
+
+    @Override
+    public Object visit(BinaryCompGeqExpr node) {
+        return this.writeBinary(AnalysisCache.COMP_GEQ_EXPR, node);
+    }
+
+    @Override
+    public Object visit(BinaryArithPlusExpr node) {
+        return this.writeBinary(AnalysisCache.ARITH_PLUS_EXPR, node);
+    }
+
+    @Override
+    public Object visit(BinaryArithMinusExpr node) {
+        return this.writeBinary(AnalysisCache.ARITH_MINUS_EXPR, node);
+    }
+
+    @Override
+    public Object visit(BinaryArithTimesExpr node) {
+        return this.writeBinary(AnalysisCache.ARITH_TIMES_EXPR, node);
+    }
+
+    @Override
+    public Object visit(BinaryArithDivideExpr node) {
+        return this.writeBinary(AnalysisCache.ARITH_DIVIDE_EXPR, node);
+    }
+
+    @Override
+    public Object visit(BinaryArithModulusExpr node) {
+        return this.writeBinary(AnalysisCache.ARITH_MODULUS_EXPR, node);
+    }
+
+    @Override
+    public Object visit(BinaryLogicAndExpr node) {
+        return this.writeBinary(AnalysisCache.LOGIC_AND_EXPR, node);
+    }
+
+    @Override
+    public Object visit(BinaryLogicOrExpr node) {
+        return this.writeBinary(AnalysisCache.LOGIC_OR_EXPR, node);
+    }
+
+    @Override
+    public Object visit(UnaryNegExpr node) {
+        return this.writeUnary(AnalysisCache.NEG_EXPR, node);
+    }
+
+    @Override
+    public Object visit(UnaryNotExpr node) {
+        return this.writeUnary(AnalysisCache.NOT_EXPR, node);
+    }
+
+    @Override
+    public Object visit(UnaryIncrExpr node) {
+        this.writeUnary(AnalysisCache.INCR_EXPR, node);
+        this.writeInt(node.isPostfix() ? 1 : 0);
+        return null;
+    }
+
+    @Override
+    public Object visit(UnaryDecrExpr node) {
+        this.writeUnary(AnalysisCache.DECR_EXPR, node);
+        this.writeInt(node.isPostfix() ? 1 : 0);
+        return null;
+    }
+
+    @Override
+    public Object visit(VarExpr node) {
+        this.writeHeader(AnalysisCache.VAR_EXPR, node);
+        this.writeNode(node.getRef());
+        this.writeString(node.getName());
+        return null;
+    }
+
+    @Override
+    public Object visit(ArrayExpr node) {
+        this.writeHeader(AnalysisCache.ARRAY_EXPR, node);
+        this.writeNode(node.getRef());
+        this.writeString(node.getName());
+        node.getIndex().accept(this);
+        return null;
+    }
+
+    @Override
+    public Object visit(ConstIntExpr node) {
+        return this.writeConst(AnalysisCache.CONST_INT_EXPR, node);
+    }
+
+    @Override
+    public Object visit(ConstBooleanExpr node) {
+        return this.writeConst(AnalysisCache.CONST_BOOLEAN_EXPR, node);
+    }
+
+    @Override
+    public Object visit(ConstStringExpr node) {
+        return this.writeConst(AnalysisCache.CONST_STRING_EXPR, node);
+    }
+}
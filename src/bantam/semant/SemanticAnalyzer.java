@@ -40,6 +40,10 @@ import bantam.visitor.MemberAdderVisitor;
 import bantam.visitor.TypeCheckVisitor;
 
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 /** The <tt>SemanticAnalyzer</tt> class performs semantic analysis.
  * In particular this class is able to perform (via the <tt>analyze()</tt>
@@ -57,9 +61,15 @@ public class SemanticAnalyzer {
 	/** Root of the class hierarchy tree */
 	private ClassTreeNode root;
 
+	/** Index of the class hierarchy tree */
+	private ClassHierarchy hierarchy;
+
 	/** Maps class names to ClassTreeNode objects describing the class */
 	private Hashtable<String,ClassTreeNode> classMap = new Hashtable<String,ClassTreeNode>();
 
+	/** The names of the classes, in the order they were first added to the class map */
+	private List<String> classNames = new ArrayList<>();
+
 	/**
 	 * Set of classes that are not in a loop
 	 */
@@ -71,6 +81,9 @@ public class SemanticAnalyzer {
 	/** Boolean indicating whether debugging is enabled */
 	private boolean debug = false;
 
+	/** Number of threads the classes are type checked on */
+	private int numThreads = 1;
+
 	/** Maximum number of inherited and non-inherited fields
 	 * that can be defined for any one class */
 	private final int MAX_NUM_FIELDS = 1500;
@@ -81,6 +94,16 @@ public class SemanticAnalyzer {
 	 */
 	private Set<String> disallowedNames;
 
+	/**
+	 * The result of type checking one class
+	 */
+	private static class ClassCheck {
+		/** The error handler the errors of the class are registered with */
+		private ErrorHandler errorHandler = new ErrorHandler();
+		/** The exception the check of the class failed with (null if it did not) */
+		private RuntimeException failure;
+	}
+
 	/** SemanticAnalyzer constructor
 	 * @param program root of the AST
 	 * @param debug boolean indicating whether debugging is enabled
@@ -92,6 +115,16 @@ public class SemanticAnalyzer {
 						new String[]{"null", "void", "super", "this", "boolean", "int"}));
 	}
 
+	/** SemanticAnalyzer constructor
+	 * @param program root of the AST
+	 * @param debug boolean indicating whether debugging is enabled
+	 * @param numThreads number of threads the classes are type checked on
+	 * */
+	public SemanticAnalyzer(Program program, boolean debug, int numThreads) {
+		this(program, debug);
+		this.numThreads = numThreads;
+	}
+
 	/** Analyze the AST checking for semantic errors and annotating the tree
 	 * Also builds an auxiliary class hierarchy tree
 	 * @return root of the class hierarchy tree (needed for code generation)
@@ -112,6 +145,7 @@ public class SemanticAnalyzer {
 		// 2 - build and check the class hierarchy tree
 		this.buildTree();
 		this.checkHierarchy();
+		this.indexHierarchy();
 
 		// 3 - build the environment for each class (adding class members only) and check
 		// that members are declared properly
@@ -150,7 +184,7 @@ public class SemanticAnalyzer {
                         classNode.getLineNum(),
                         "Class " + className + " already declared.");
             }
-            this.classMap.put(className, classTreeNode);
+            this.addClass(className, classTreeNode);
 		}
 
 		//update parent nodes/descendants
@@ -212,6 +246,17 @@ public class SemanticAnalyzer {
         }
 	}
 
+	/**
+	 * Builds the index of the class hierarchy tree used for subtype checks,
+	 * shared by all of the classes
+	 */
+	private void indexHierarchy(){
+		this.hierarchy = new ClassHierarchy(this.root);
+		for (ClassTreeNode node: this.classMap.values()){
+			node.setHierarchy(this.hierarchy);
+		}
+	}
+
 	/**
 	 * Builds the symbol table.
 	 */
@@ -255,13 +300,111 @@ public class SemanticAnalyzer {
 	}
 
 	/**
-	 * Checks to make sure that the types are compatible
+	 * Checks to make sure that the types are compatible.  Once the environment is
+	 * built, the classes only read the symbol tables of the classes, so they are
+	 * checked on their own, several at once if there is more than one thread.  Each
+	 * class is checked with its own visitor and error handler, and the errors of the
+	 * classes are then registered in the order of the classes in the source, so the
+	 * errors are the same however many threads there are.
 	 */
 	private void checkTypes(){
-		TypeCheckVisitor typeCheckVisitor = new TypeCheckVisitor(
-				this.errorHandler, this.disallowedNames);
-		for(ClassTreeNode treeNode : this.nonLoopClasses){
-			typeCheckVisitor.checkTypes(treeNode);
+		//the built-in classes, and then the classes of the program in the order of the
+		//source files
+		List<ClassTreeNode> classes = new ArrayList<>();
+		for (String className : this.hierarchy.getClassNames()){
+			ClassTreeNode treeNode = this.classMap.get(className);
+			if (treeNode.isBuiltIn() && this.nonLoopClasses.contains(treeNode)){
+				classes.add(treeNode);
+			}
+		}
+		for (ASTNode node : this.program.getClassList()){
+			ClassTreeNode treeNode = this.classMap.get(((Class_) node).getName());
+			if (treeNode != null && treeNode.getASTNode() == node
+					&& this.nonLoopClasses.contains(treeNode)){
+				classes.add(treeNode);
+			}
+		}
+
+		List<Callable<ClassCheck>> tasks = new ArrayList<>();
+		for (ClassTreeNode treeNode : classes){
+			tasks.add(() -> {
+				ClassCheck check = new ClassCheck();
+				TypeCheckVisitor typeCheckVisitor = new TypeCheckVisitor(
+						check.errorHandler, this.disallowedNames);
+				try {
+					typeCheckVisitor.checkTypes(treeNode);
+				}
+				catch (RuntimeException e) {
+					check.failure = e;
+				}
+				return check;
+			});
+		}
+
+		List<ClassCheck> checks = new ArrayList<>();
+		int poolSize = Math.min(this.numThreads, tasks.size());
+		if (poolSize <= 1){
+			for (Callable<ClassCheck> task : tasks){
+				checks.add(this.call(task));
+			}
+		}
+		else {
+			ForkJoinPool pool = new ForkJoinPool(poolSize);
+			try {
+				for (Future<ClassCheck> future : pool.invokeAll(tasks)){
+					checks.add(this.get(future));
+				}
+			}
+			finally {
+				pool.shutdown();
+			}
+		}
+
+		//a check that failed ends the analysis after its errors, as it would if the
+		//classes were checked one after another
+		for (ClassCheck check : checks){
+			this.errorHandler.registerAll(check.errorHandler);
+			if (check.failure != null){
+				throw check.failure;
+			}
+		}
+	}
+
+	/**
+	 * Runs the type check of a class on this thread
+	 * @param task the task checking the class
+	 * @return the result of the check
+	 */
+	private ClassCheck call(Callable<ClassCheck> task){
+		try {
+			return task.call();
+		}
+		catch (RuntimeException e) {
+			throw e;
+		}
+		catch (Exception e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * Waits for the type check of a class run on the pool
+	 * @param future the future of the task checking the class
+	 * @return the result of the check
+	 */
+	private ClassCheck get(Future<ClassCheck> future){
+		try {
+			return future.get();
+		}
+		catch (ExecutionException e) {
+			if (e.getCause() instanceof Error) {
+				throw (Error) e.getCause();
+			}
+			throw new RuntimeException(e.getCause());
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(e);
 		}
 	}
 
@@ -270,6 +413,35 @@ public class SemanticAnalyzer {
 	 */
 	public ErrorHandler getErrorHandler() { return errorHandler; }
 
+	/**
+	 * @return the root of the AST
+	 */
+	Program getProgram() { return program; }
+
+	/**
+	 * Gets the class tree nodes in the order they were first added to the class map,
+	 * which is the order that gives a Hashtable with the same iteration order
+	 * @return the class tree nodes
+	 */
+	List<ClassTreeNode> getClassNodes() {
+		List<ClassTreeNode> classNodes = new ArrayList<>();
+		for (String className : this.classNames) {
+			classNodes.add(this.classMap.get(className));
+		}
+		return classNodes;
+	}
+
+	/**
+	 * Adds a class to the class map, replacing a class with the same name
+	 * @param className the name of the class
+	 * @param classTreeNode the class tree node of the class
+	 */
+	private void addClass(String className, ClassTreeNode classTreeNode) {
+		if (this.classMap.put(className, classTreeNode) == null) {
+			this.classNames.add(className);
+		}
+	}
+
 	/**
 	 * Add built in classes to the class tree
 	 */
@@ -298,7 +470,7 @@ public class SemanticAnalyzer {
 		root = new ClassTreeNode(astNode, /*built-in?*/true,
 				/*extendable?*/true, classMap);
 		// add object class tree node to the mapping
-		classMap.put("Object", root);
+		addClass("Object", root);
 
 		// note: String, TextIO, and Sys all have fields that are not shown below. Because
 		// these classes cannot be extended and fields are protected,
@@ -351,7 +523,7 @@ public class SemanticAnalyzer {
 												.addElement(new ReturnStmt(-1,
 														new VarExpr(-1, null,"null"))))));
 		// create class tree node for String, add it to the mapping
-		classMap.put("String", new ClassTreeNode(astNode, /*built-in?*/true,
+		addClass("String", new ClassTreeNode(astNode, /*built-in?*/true,
 				/*extendable?*/false, classMap));
 
 		// create AST node for TextIO
@@ -412,7 +584,7 @@ public class SemanticAnalyzer {
 												.addElement(new ReturnStmt(-1,
 														new VarExpr(-1, null, "null"))))));
 		// create class tree node for TextIO, add it to the mapping
-		classMap.put("TextIO", new ClassTreeNode(astNode, /*built-in?*/true,
+		addClass("TextIO", new ClassTreeNode(astNode, /*built-in?*/true,
 				/*extendable?*/false, classMap));
 
 		// create AST node for Sys
@@ -443,7 +615,7 @@ public class SemanticAnalyzer {
 														new ConstIntExpr(-1, "0")))))
 				);
 		// create class tree node for Sys, add it to the mapping
-		classMap.put("Sys", new ClassTreeNode(astNode, /*built-in?*/true,
+		addClass("Sys", new ClassTreeNode(astNode, /*built-in?*/true,
 				/*extendable?*/false, classMap));
 
 		// create AST node for Exception
@@ -468,43 +640,43 @@ public class SemanticAnalyzer {
 																		null, "m")))))));
 
 		//create class tree node for Exception, add it to the mapping
-		classMap.put("Exception", new ClassTreeNode(astNode, /*built-in?*/true,
+		addClass("Exception", new ClassTreeNode(astNode, /*built-in?*/true,
 				/*extendable?*/true, classMap));
 
 		//create AST node & class tree node for NullPointerException. then add to the mapping
 		astNode = new Class_(-1, "<built-in class>", "NullPointerException", "Exception",
 				(MemberList) (new MemberList(-1)));
-		classMap.put("NullPointerException",
+		addClass("NullPointerException",
                 new ClassTreeNode(astNode, /*built-in?*/true, false, classMap));
 
 		//create AST node & class tree node for DivideByZeroException. then add to the mapping
 		astNode = new Class_(-1, "<built-in class>", "DivideByZeroException", "Exception",
 				(MemberList) (new MemberList(-1)));
-		classMap.put("DivideByZeroException",
+		addClass("DivideByZeroException",
                 new ClassTreeNode(astNode, /*built-in?*/true, false, classMap));
 
 		//create AST node & class tree node for ClassCastException. then add to the mapping
 		astNode = new Class_(-1, "<built-in class>", "ClassCastException", "Exception",
 				(MemberList) (new MemberList(-1)));
-		classMap.put("ClassCastException",
+		addClass("ClassCastException",
 				new ClassTreeNode(astNode, true, false, classMap));
 
 		//create AST node & class tree node for ArrayIndexOutOfBoundsException. then add to the mapping
 		astNode = new Class_(-1, "<built-in class>", "ArrayIndexOutOfBoundsException",
 				"Exception", (MemberList) (new MemberList(-1)));
-		classMap.put("ArrayIndexOutOfBoundsException",
+		addClass("ArrayIndexOutOfBoundsException",
                 new ClassTreeNode(astNode, true, false, classMap));
 
 		//create AST node & class tree node for ArraySizeException. then add to the mapping
 		astNode = new Class_(-1, "<built-in class>", "ArraySizeException", "Exception",
 				(MemberList) (new MemberList(-1)));
-		classMap.put("ArraySizeException",
+		addClass("ArraySizeException",
 				new ClassTreeNode(astNode, /*built-in?*/true, false, classMap));
 
 		//create AST node & class tree node for ArrayStoreException. then add to the mapping
 		astNode = new Class_(-1, "<built-in class>", "ArrayStoreException", "Exception",
 				(MemberList) (new MemberList(-1)));
-		classMap.put("ArrayStoreException",
+		addClass("ArrayStoreException",
 				new ClassTreeNode(astNode, /*built-in?*/true, false, classMap));
 
 	}
@@ -0,0 +1,160 @@
+/*
+ * File: ClassHierarchy.java
+ * Author: Phoebe Hughes, Siyuan Li, Joseph Malionek
+ * Date: 10/18/26
+ */
+
+package bantam.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An index of the class hierarchy tree that answers subtype questions in constant time.
+ * Every class reachable from Object gets a dense id, its position in a preorder walk of
+ * the tree, so the ids of a class and of all its descendants form the interval from the
+ * class's id to the id of its last descendant (the class's preorder number and the
+ * number of descendants together encode its postorder number).  A class is a subclass
+ * of another exactly when its id lies in the other's interval.
+ *
+ * The children of each class are walked with String first (the runtime expects it to
+ * be 1, right after Object), then the other built-in classes and then by name, so the
+ * ids do not depend on the order the classes were declared in.
+ *
+ * @see bantam.semant.SemanticAnalyzer
+ */
+public class ClassHierarchy {
+
+    /**
+     * Maps the names of the classes to their ids
+     */
+    private Map<String, Integer> classIds = new HashMap<>();
+
+    /**
+     * The names of the classes, in id order
+     */
+    private List<String> classNames = new ArrayList<>();
+
+    /**
+     * The largest id of a descendant of each class, in id order
+     */
+    private int[] lastDescendantIds;
+
+    /**
+     * Builds the index of a class hierarchy tree
+     * @param root the root of the class hierarchy tree (Object)
+     */
+    public ClassHierarchy(ClassTreeNode root) {
+        this.lastDescendantIds = new int[root.getClassMap().size()];
+        this.number(root);
+    }
+
+    /**
+     * Numbers a class and its descendants in preorder
+     * @param classTreeNode the class
+     */
+    private void number(ClassTreeNode classTreeNode) {
+        int classId = this.classNames.size();
+        this.classIds.put(classTreeNode.getName(), classId);
+        this.classNames.add(classTreeNode.getName());
+
+        List<ClassTreeNode> children = new ArrayList<>();
+        Iterator<ClassTreeNode> childrenIterator = classTreeNode.getChildrenList();
+        while (childrenIterator.hasNext()) {
+            children.add(childrenIterator.next());
+        }
+        children.sort((c1, c2) -> rank(c1) != rank(c2) ? rank(c1) - rank(c2)
+                : c1.getName().compareTo(c2.getName()));
+        for (ClassTreeNode child : children) {
+            //a class in a cycle of the tree would already be numbered
+            if (!this.classIds.containsKey(child.getName())) {
+                this.number(child);
+            }
+        }
+        this.lastDescendantIds[classId] = this.classNames.size() - 1;
+    }
+
+    /**
+     * Ranks a class among its siblings: String first, then the other built-in classes,
+     * then the classes declared by the program
+     * @param classTreeNode the class
+     * @return the rank of the class
+     */
+    private static int rank(ClassTreeNode classTreeNode) {
+        if (classTreeNode.getName().equals("String")) {
+            return 0;
+        }
+        return classTreeNode.isBuiltIn() ? 1 : 2;
+    }
+
+    /**
+     * Gets the number of classes in the index
+     * @return the number of classes
+     */
+    public int getNumClasses() {
+        return this.classNames.size();
+    }
+
+    /**
+     * Gets the id of a class
+     * @param className the name of the class
+     * @return the id of the class, or -1 if it is not a class in the hierarchy
+     */
+    public int getClassId(String className) {
+        Integer classId = this.classIds.get(className);
+        return classId == null ? -1 : classId;
+    }
+
+    /**
+     * Gets the name of a class
+     * @param classId the id of the class
+     * @return the name of the class
+     */
+    public String getClassName(int classId) {
+        return this.classNames.get(classId);
+    }
+
+    /**
+     * Gets the names of all of the classes, in id order
+     * @return the list of class names
+     */
+    public List<String> getClassNames() {
+        return new ArrayList<>(this.classNames);
+    }
+
+    /**
+     * Gets the largest id of a descendant of a class (its own id if it has no
+     * descendants)
+     * @param classId the id of the class
+     * @return the id of the last descendant
+     */
+    public int getLastDescendantId(int classId) {
+        return this.lastDescendantIds[classId];
+    }
+
+    /**
+     * Returns if a class is a subclass of another class (or the class itself)
+     * @param classId the id of the possible subclass
+     * @param ancestorId the id of the possible ancestor
+     * @return true if the class is the ancestor or one of its descendants
+     */
+    public boolean isSubclassOf(int classId, int ancestorId) {
+        return ancestorId <= classId && classId <= this.lastDescendantIds[ancestorId];
+    }
+
+    /**
+     * Returns if a class is a subclass of another class (or the class itself)
+     * @param className the name of the possible subclass
+     * @param ancestorName the name of the possible ancestor
+     * @return true if both are classes and the first is the second or one of its
+     *         descendants
+     */
+    public boolean isSubclassOf(String className, String ancestorName) {
+        int classId = this.getClassId(className);
+        int ancestorId = this.getClassId(ancestorName);
+        return classId >= 0 && ancestorId >= 0 && this.isSubclassOf(classId, ancestorId);
+    }
+}
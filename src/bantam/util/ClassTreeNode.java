@@ -88,6 +88,12 @@ public class ClassTreeNode {
      */
     private SymbolTable methodSymbolTable = new SymbolTable();
 
+    /**
+     * The index of the class hierarchy tree this class belongs to (null until the tree
+     * has been built and checked)
+     */
+    private ClassHierarchy hierarchy;
+
     /**
      * ClassTreeNode constructor
      *
@@ -259,6 +265,24 @@ public class ClassTreeNode {
         return methodSymbolTable;
     }
 
+    /**
+     * Get the index of the class hierarchy tree
+     *
+     * @return the class hierarchy index (null if not built yet)
+     */
+    public ClassHierarchy getHierarchy() {
+        return hierarchy;
+    }
+
+    /**
+     * Set the index of the class hierarchy tree
+     *
+     * @param hierarchy the class hierarchy index
+     */
+    public void setHierarchy(ClassHierarchy hierarchy) {
+        this.hierarchy = hierarchy;
+    }
+
     /**
      * Lookup a class tree node
      *
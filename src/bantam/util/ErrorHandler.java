@@ -31,6 +31,10 @@ import java.util.List;
 
 /**
  * The <tt>ErrorHandler</tt> class performs error handling.
+ * All of its methods are synchronized, so errors can be registered with one handler
+ * from several threads.  The order of the errors then depends on the order they are
+ * registered in, so a phase that runs on several threads gives each thread its own
+ * handler and adds their errors to the shared one (with registerAll) in a fixed order.
  */
 public class ErrorHandler {
 	/**
@@ -60,7 +64,7 @@ public class ErrorHandler {
 	 *
 	 * @param error the error object
 	 */
-	private void register(Error error) {
+	private synchronized void register(Error error) {
 		// insert a new error into the error list
 		insert(error);
 		// update numErrors, if 100 then call checkErrors (which will halt)
@@ -95,10 +99,23 @@ public class ErrorHandler {
 		register((new Error(type, null, -1, errorMessage)));
 	}
 
+	/**
+	 * Register all of the errors of another error handler, in the order they are in
+	 * its list of errors
+	 *
+	 * @param errorHandler the other error handler
+	 */
+	public void registerAll(ErrorHandler errorHandler) {
+		for (Error error : errorHandler.getErrorList()) {
+			register(error.getType(), error.getFilename(), error.getLineNum(),
+					error.getMessage());
+		}
+	}
+
 	/**
 	 * Check the errors - throws an exception if there are any registered errors
 	 */
-	public void checkErrors() {
+	public synchronized void checkErrors() {
 		// if errors have been registered then throw an exception to end compilation
 		if (numErrors > 0) {
 			String parserOrChecker = errorList.get(0).getType()==PARSE_ERROR ?
@@ -151,14 +168,14 @@ public class ErrorHandler {
 	/**
 	 * @return the list of errors currently registered with the ErrorHandler
 	 */
-	public List<Error> getErrorList() {
-		return errorList;
+	public synchronized List<Error> getErrorList() {
+		return new ArrayList<Error>(errorList);
 	}
 
 	/**
 	 * Print the error messages
 	 */
-	public void printErrors() {
+	public synchronized void printErrors() {
 		for (Error e : errorList) {
 			System.err.println(e.toString() + "\n");
 		}
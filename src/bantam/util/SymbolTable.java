@@ -24,26 +24,84 @@
    PARTICULAR PURPOSE. 
 */
 
+
 package bantam.util;
 
-import java.util.Enumeration;
 import java.util.Hashtable;
-import java.util.Vector;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Class for representing a class symbol table
+ *
+ * The symbols of all of the scopes of a table are kept in one open addressing hash
+ * table, which maps each name to the chain of its bindings, innermost scope first, so a
+ * lookup is one probe of the table rather than one per scope.  Entering a scope allocates
+ * nothing, and the names added in each scope are kept in an undo log, so exiting a scope
+ * removes just those bindings.  A level of an ancestor table is found by walking up the
+ * chain of parent tables, subtracting the number of scopes of each, since the tables of
+ * the ancestor classes can still enter and exit scopes after their subclasses' tables are
+ * linked to them.
  */
 public class SymbolTable {
     /**
-     * Hash table that maps strings to Objects.  The object value corresponds to
-     * the type of the variable or method.  For variables it will be a String and
-     * for methods it will be an AST node.
+     * The initial number of entries of the hash table (a power of 2)
+     */
+    private static final int INITIAL_SIZE = 16;
+
+    /**
+     * The binding of a name in one scope of a table
+     */
+    private static final class Binding {
+        /** The value of the symbol (i.e., type) */
+        private Object value;
+        /** The index of the scope in this table (0 for the outermost scope) */
+        private int scope;
+        /** The binding of the same name in an enclosing scope (null if none) */
+        private Binding next;
+
+        /**
+         * Creates a binding
+         * @param value the value of the symbol
+         * @param scope the index of the scope in the table
+         * @param next the binding of the name in an enclosing scope
+         */
+        private Binding(Object value, int scope, Binding next) {
+            this.value = value;
+            this.scope = scope;
+            this.next = next;
+        }
+    }
+
+    /**
+     * The names of the entries of the hash table (null for an empty entry).  A name
+     * stays in the table once all of its bindings are removed.
      */
-    private Hashtable<String, Object> hash;
+    private String[] names;
     /**
-     * List that holds each scope
+     * The innermost binding of the name of each entry (null if it has none)
      */
-    private Vector<Hashtable<String, Object>> scopes;
+    private Binding[] bindings;
+    /**
+     * The number of names in the hash table
+     */
+    private int numNames;
+    /**
+     * The undo log: the names added in each scope, in the order they were added
+     */
+    private String[] log;
+    /**
+     * The number of names in the undo log
+     */
+    private int logSize;
+    /**
+     * The index in the undo log of the first name added in each scope
+     */
+    private int[] scopeStarts;
+    /**
+     * The number of scopes of this table
+     */
+    private int numScopes;
     /**
      * Parent class symbol table (may be null)
      * If lookup fails in this symbol table should lookup in parent
@@ -55,29 +113,11 @@ public class SymbolTable {
      * create an empty symbol table
      */
     public SymbolTable() {
-        hash = null;
-        scopes = new Vector<Hashtable<String, Object>>();
-        parent = null;
-    }
-
-    /**
-     * SymbolTable constructor
-     * create a symbol table from an existing one
-     * (used internally for cloning symbol tables
-     *
-     * @param scopes the scopes of symbols
-     * @param parent parent symbol table
-     */
-    private SymbolTable(Vector<Hashtable<String, Object>> scopes,
-                        SymbolTable parent) {
-        this.scopes = scopes;
-        if (scopes.size() > 0) {
-            this.hash = scopes.elementAt(scopes.size() - 1);
-        }
-        else {
-            this.hash = null;
-        }
-        this.parent = parent;
+        this.names = new String[INITIAL_SIZE];
+        this.bindings = new Binding[INITIAL_SIZE];
+        this.log = new String[INITIAL_SIZE];
+        this.scopeStarts = new int[4];
+        this.parent = null;
     }
 
     /**
@@ -93,23 +133,27 @@ public class SymbolTable {
      * Enter a new scope
      */
     public void enterScope() {
-        hash = new Hashtable<String, Object>();
-        scopes.add(hash);
+        if (this.numScopes == this.scopeStarts.length) {
+            int[] scopeStarts = new int[2 * this.numScopes];
+            System.arraycopy(this.scopeStarts, 0, scopeStarts, 0, this.numScopes);
+            this.scopeStarts = scopeStarts;
+        }
+        this.scopeStarts[this.numScopes++] = this.logSize;
     }
 
     /**
      * Exit a scope
      */
     public void exitScope() {
-        if (scopes.size() == 0) {
+        if (this.numScopes == 0) {
             throw new RuntimeException("No scope to exit");
         }
-        scopes.removeElementAt(scopes.size() - 1);
-        if (scopes.size() > 0) {
-            hash = scopes.elementAt(scopes.size() - 1);
-        }
-        else {
-            hash = null;
+        int start = this.scopeStarts[--this.numScopes];
+        while (this.logSize > start) {
+            String s = this.log[--this.logSize];
+            this.log[this.logSize] = null;
+            int index = this.indexOf(s);
+            this.bindings[index] = this.bindings[index].next;
         }
     }
 
@@ -121,10 +165,29 @@ public class SymbolTable {
      * @param value value of symbol (i.e., type)
      */
     public void add(String s, Object value) {
-        if (scopes.size() == 0) {
+        if (this.numScopes == 0) {
             throw new RuntimeException("Must enter a scope before adding to table");
         }
-        hash.put(s, value);
+        if (value == null) {
+            throw new NullPointerException();
+        }
+        int index = this.indexOf(s);
+        if (index < 0) {
+            index = this.insert(s);
+        }
+        Binding binding = this.bindings[index];
+        int scope = this.numScopes - 1;
+        if (binding != null && binding.scope == scope) {
+            binding.value = value;
+            return;
+        }
+        this.bindings[index] = new Binding(value, scope, binding);
+        if (this.logSize == this.log.length) {
+            String[] log = new String[2 * this.logSize];
+            System.arraycopy(this.log, 0, log, 0, this.logSize);
+            this.log = log;
+        }
+        this.log[this.logSize++] = s;
     }
 
     /**
@@ -134,20 +197,14 @@ public class SymbolTable {
      * @return value of symbol (i.e., type), null if not found
      */
     public Object lookup(String s) {
-        if (scopes.size() == 0) {
-            throw new RuntimeException("Must enter a scope before looking up in table");
-        }
-
-        for (int i = scopes.size() - 1; i >= 0; i--) {
-            Hashtable<String, Object> h = scopes.elementAt(i);
-            Object value = h.get(s);
-            if (value != null) {
-                return value;
+        for (SymbolTable st = this; st != null; st = st.parent) {
+            if (st.numScopes == 0) {
+                throw new RuntimeException("Must enter a scope before looking up in table");
+            }
+            Binding binding = st.getBinding(s);
+            if (binding != null) {
+                return binding.value;
             }
-        }
-
-        if (parent != null) {
-            return parent.lookup(s);
         }
         return null;
     }
@@ -163,53 +220,18 @@ public class SymbolTable {
      * @return value of symbol (i.e., type), null if not found in particular scope level
      */
     public Object lookup(String s, int level) {
-        int lastLevel = getCurrScopeLevel();
+        this.checkLevel("lookup(sym,level)", "looking up in", level);
 
-        // some error checking
-        if (scopes.size() == 0) {
-            throw new RuntimeException("Must enter a scope before looking up in table");
-        }
-        else if (level < 0 || level >= lastLevel) {
-            throw new IllegalArgumentException("SymbolTable.lookup(sym,level) called" +
-                    " with level (" + level + ") that is not" +
-                    " between 0 and current level (" +
-                    lastLevel + ") minus one");
+        SymbolTable st = this.getTableOf(level);
+        Binding binding = st.getBinding(s, level - st.getBaseLevel());
+        if (binding != null) {
+            return binding.value;
         }
-
-        // get an ordered list of ancestor symbol tables
-        // (starts from Object's table and ends with current class's table)
-        Vector<SymbolTable> tableList = new Vector<SymbolTable>();
-        for (SymbolTable st = this; st != null; st = st.parent)
-            tableList.add(0, st);
-
-        // find the right scope
-        for (int i = 0; i < tableList.size(); i++) {
-            SymbolTable st = tableList.elementAt(i);
-
-            // if level within the next table then do lookup
-            if (level < st.scopes.size()) {
-                // lookup in this scope and earlier scopes until we find
-                // symbol or run out of scopes
-                for (int l = level; l >= 0; l--) {
-                    Hashtable<String, Object> h = st.scopes.elementAt(l);
-                    if (h.get(s) != null) {
-                        return h.get(s);
-                    }
-                }
-                // if we make it here then we try looking up in parent table
-                // (if one exists)
-                if (st.parent != null) {
-                    return st.parent.lookup(s);
-                }
-                // otherwise we return null (not found)
-                return null;
-            }
-
-            // otherwise decrement level and proceed to next table
-            level = level - st.scopes.size();
+        // if we make it here then we try looking up in parent table
+        // (if one exists)
+        if (st.parent != null) {
+            return st.parent.lookup(s);
         }
-
-        // we should never get here
         return null;
     }
 
@@ -220,10 +242,11 @@ public class SymbolTable {
      * @return value of symbol (i.e., type), null if not found
      */
     public Object peek(String s) {
-        if (scopes.size() == 0) {
+        if (this.numScopes == 0) {
             throw new RuntimeException("Must enter a scope before peeking in table");
         }
-        return hash.get(s);
+        Binding binding = this.getBinding(s);
+        return binding != null && binding.scope == this.numScopes - 1 ? binding.value : null;
     }
 
     /**
@@ -236,41 +259,12 @@ public class SymbolTable {
      * @return value of symbol (i.e., type), null if not found in particular scope level
      */
     public Object peek(String s, int level) {
-        int lastLevel = getCurrScopeLevel();
+        this.checkLevel("peek(sym,level)", "peeking in", level);
 
-        // some error checking
-        if (scopes.size() == 0) {
-            throw new RuntimeException("Must enter a scope before peeking in table");
-        }
-        else if (level < 0 || level >= lastLevel) {
-            throw new IllegalArgumentException("SymbolTable.peek(sym,level) called" +
-                    " with level (" + level + ") that is not" +
-                    " between 0 and current level (" +
-                    lastLevel + ") minus one");
-        }
-
-        // get an ordered list of ancestor symbol tables
-        // (starts from Object's table and ends with current class's table)
-        Vector<SymbolTable> tableList = new Vector<SymbolTable>();
-        for (SymbolTable st = this; st != null; st = st.parent)
-            tableList.add(0, st);
-
-        // find the right scope
-        for (int i = 0; i < tableList.size(); i++) {
-            SymbolTable st = tableList.elementAt(i);
-
-            // if level within the next table then do lookup
-            if (level < st.scopes.size()) {
-                Hashtable<String, Object> h = st.scopes.elementAt(level);
-                return h.get(s);
-            }
-
-            // otherwise decrement level and proceed to next table
-            level = level - st.scopes.size();
-        }
-
-        // we should never get here
-        return null;
+        SymbolTable st = this.getTableOf(level);
+        int scope = level - st.getBaseLevel();
+        Binding binding = st.getBinding(s, scope);
+        return binding != null && binding.scope == scope ? binding.value : null;
     }
 
     /**
@@ -280,18 +274,18 @@ public class SymbolTable {
      * @param val value to set the symbol to
      */
     public void set(String s, Object val) {
-        if (scopes.size() == 0) {
+        if (this.numScopes == 0) {
             throw new RuntimeException("Must enter a scope before setting in table");
         }
+        if (val == null) {
+            throw new NullPointerException();
+        }
 
         for (SymbolTable st = this; st != null; st = st.parent) {
-            for (int i = st.scopes.size() - 1; i >= 0; i--) {
-                Hashtable<String, Object> h = st.scopes.elementAt(i);
-                if (h.get(s) != null) {
-                    h.remove(s);
-                    h.put(s, val);
-                    return;
-                }
+            Binding binding = st.getBinding(s);
+            if (binding != null) {
+                binding.value = val;
+                return;
             }
         }
 
@@ -308,50 +302,20 @@ public class SymbolTable {
      * @param level scope level containing symbol to be set
      */
     public void set(String s, Object val, int level) {
-        int lastLevel = getCurrScopeLevel();
-
-        if (scopes.size() == 0) {
-            throw new RuntimeException("Must enter a scope before setting in table");
+        this.checkLevel("set(sym,val,level)", "setting in", level);
+        if (val == null) {
+            throw new NullPointerException();
         }
-        else if (level < 0 || level >= lastLevel) {
-            throw new IllegalArgumentException("SymbolTable.set(sym,val,level) called" +
-                    " with level (" + level + ") that is not" +
-                    " between 0 and current level (" +
-                    lastLevel + ") minus one");
-        }
-
-        // get an ordered list of ancestor symbol tables
-        // (starts from Object's table and ends with current class's table)
-        Vector<SymbolTable> tableList = new Vector<SymbolTable>();
-        for (SymbolTable st = this; st != null; st = st.parent)
-            tableList.add(0, st);
-
-        // find the right scope
-        for (int i = 0; i < tableList.size(); i++) {
-            SymbolTable st = tableList.elementAt(i);
-
-            // if level within the next table then do lookup
-            if (level < st.scopes.size()) {
-                // look in this scope and earlier scopes until we find
-                // symbol or run out of scopes
-                for (int l = level; l >= 0; l--) {
-                    Hashtable<String, Object> h = st.scopes.elementAt(l);
-                    if (h.get(s) != null) {
-                        h.remove(s);
-                        h.put(s, val);
-                        return;
-                    }
-                }
-                // if we make it here then we try setting in parent table
-                // (if one exists)
-                if (st.parent != null) {
-                    st.parent.set(s, val);
-                }
-                return;
-            }
 
-            // otherwise decrement level and proceed to next table
-            level = level - st.scopes.size();
+        SymbolTable st = this.getTableOf(level);
+        Binding binding = st.getBinding(s, level - st.getBaseLevel());
+        if (binding != null) {
+            binding.value = val;
+        }
+        // if we make it here then we try setting in parent table
+        // (if one exists)
+        else if (st.parent != null) {
+            st.parent.set(s, val);
         }
     }
 
@@ -363,26 +327,15 @@ public class SymbolTable {
      * @return scope level
      */
     public int getScopeLevel(String s) {
-        if (scopes.size() == 0) {
-            throw new RuntimeException("Must enter a scope before looking up in table");
-        }
-
-        for (int i = scopes.size() - 1; i >= 0; i--) {
-            Hashtable<String, Object> h = scopes.elementAt(i);
-            if (h.get(s) != null) {
-                if (parent == null) {
-                    return (i + 1);
-                }
-                else {
-                    return (i + 1) + parent.getCurrScopeLevel();
-                }
+        for (SymbolTable st = this; st != null; st = st.parent) {
+            if (st.numScopes == 0) {
+                throw new RuntimeException("Must enter a scope before looking up in table");
+            }
+            Binding binding = st.getBinding(s);
+            if (binding != null) {
+                return (binding.scope + 1) + st.getBaseLevel();
             }
         }
-
-        if (parent != null) {
-            return parent.getScopeLevel(s);
-        }
-
         return -1;
     }
 
@@ -394,12 +347,8 @@ public class SymbolTable {
      */
     public int getSize() {
         int size = 0;
-
-        for (int i = 0; i < scopes.size(); i++)
-            size += scopes.elementAt(i).size();
-
-        if (parent != null) {
-            return parent.getSize() + size;
+        for (SymbolTable st = this; st != null; st = st.parent) {
+            size += st.logSize;
         }
         return size;
     }
@@ -410,12 +359,10 @@ public class SymbolTable {
      * @return size of current scope
      */
     public int getCurrScopeSize() {
-        if (hash != null) {
-            return hash.size();
-        }
-        else {
+        if (this.numScopes == 0) {
             return 0;
         }
+        return this.logSize - this.scopeStarts[this.numScopes - 1];
     }
 
     /**
@@ -425,36 +372,61 @@ public class SymbolTable {
      * @return current scope level
      */
     public int getCurrScopeLevel() {
-        if (parent != null) {
-            return scopes.size() + parent.getCurrScopeLevel();
+        int level = 0;
+        for (SymbolTable st = this; st != null; st = st.parent) {
+            level += st.numScopes;
         }
-        return scopes.size();
+        return level;
+    }
+
+    /**
+     * Gets the number of scopes of this table, not counting the scopes of its
+     * parent tables
+     *
+     * @return the number of scopes
+     */
+    public int getNumScopes() {
+        return this.numScopes;
+    }
+
+    /**
+     * Gets the symbols of a scope of this table, in the order they were added
+     *
+     * @param scope the index of the scope in this table (0 for the outermost scope)
+     * @return map from the names of the symbols to their values
+     */
+    public Map<String, Object> getScope(int scope) {
+        Map<String, Object> symbols = new LinkedHashMap<String, Object>();
+        int end = scope + 1 < this.numScopes ? this.scopeStarts[scope + 1] : this.logSize;
+        for (int i = this.scopeStarts[scope]; i < end; i++) {
+            symbols.put(this.log[i], this.getBinding(this.log[i], scope).value);
+        }
+        return symbols;
     }
 
     /**
      * clone this symbol table as well as all parent symbol tables
      * Note: does a shallow clone, does not copy keys or values
-     * Note also: this is an expensive operation
      *
      * @return cloned symbol table
      */
     public SymbolTable clone() {
+        SymbolTable st = new SymbolTable();
         // clone parent symbol table (as well as all other ancestors)
-        SymbolTable newParent = null;
-        if (parent != null) {
-            newParent = parent.clone();
+        if (this.parent != null) {
+            st.parent = this.parent.clone();
         }
-
-        // create new set of clone scopes
-        Vector<Hashtable<String, Object>> newScopes
-                = new Vector<Hashtable<String, Object>>();
-        for (int i = 0; i < scopes.size(); i++)
-            newScopes.add((Hashtable<String, Object>) scopes.elementAt(i).clone());
-
-        // use these to create a new symbol table
-        SymbolTable st = new SymbolTable(newScopes, newParent);
-
-        // return cloned symbol table
+        // the bindings are copied, since setting a symbol changes its binding
+        st.names = this.names.clone();
+        st.bindings = new Binding[this.bindings.length];
+        for (int i = 0; i < this.bindings.length; i++) {
+            st.bindings[i] = copy(this.bindings[i]);
+        }
+        st.numNames = this.numNames;
+        st.log = this.log.clone();
+        st.logSize = this.logSize;
+        st.scopeStarts = this.scopeStarts.clone();
+        st.numScopes = this.numScopes;
         return st;
     }
 
@@ -464,12 +436,165 @@ public class SymbolTable {
      * towards the lowest scope level (current level)
      */
     public void dump() {
-        if (parent != null) {
-            parent.dump();
+        if (this.parent != null) {
+            this.parent.dump();
         }
 
-        Enumeration e = scopes.elements();
-        while (e.hasMoreElements())
-            System.out.println(e.nextElement());
+        for (int scope = 0; scope < this.numScopes; scope++) {
+            System.out.println(new Hashtable<String, Object>(this.getScope(scope)));
+        }
+    }
+
+    /**
+     * Throws an exception if a level is not a scope level of the symbol table
+     *
+     * @param method the name of the method the level is passed to
+     * @param action what the method does with the table, for the error message
+     * @param level  the level
+     */
+    private void checkLevel(String method, String action, int level) {
+        int lastLevel = this.getCurrScopeLevel();
+
+        // some error checking
+        if (this.numScopes == 0) {
+            throw new RuntimeException("Must enter a scope before " + action + " table");
+        }
+        else if (level < 0 || level >= lastLevel) {
+            throw new IllegalArgumentException("SymbolTable." + method + " called" +
+                    " with level (" + level + ") that is not" +
+                    " between 0 and current level (" +
+                    lastLevel + ") minus one");
+        }
+    }
+
+    /**
+     * Gets the scope level of the outermost scope of this table, which is the number of
+     * scopes of the ancestor tables
+     *
+     * @return the level of the first scope of this table
+     */
+    private int getBaseLevel() {
+        return this.parent == null ? 0 : this.parent.getCurrScopeLevel();
+    }
+
+    /**
+     * Gets the table (this one or an ancestor) that has the scope of a level
+     *
+     * @param level a scope level of the table
+     * @return the table with the scope of that level
+     */
+    private SymbolTable getTableOf(int level) {
+        int base = this.getCurrScopeLevel();
+        SymbolTable st = this;
+        while (st.parent != null) {
+            base -= st.numScopes;
+            if (level >= base) {
+                break;
+            }
+            st = st.parent;
+        }
+        return st;
+    }
+
+    /**
+     * Gets the innermost binding of a name in this table
+     *
+     * @param s the name
+     * @return the binding, or null if the name is not in this table
+     */
+    private Binding getBinding(String s) {
+        int index = this.indexOf(s);
+        return index < 0 ? null : this.bindings[index];
+    }
+
+    /**
+     * Gets the innermost binding of a name in a scope of this table or the scopes
+     * enclosing it
+     *
+     * @param s     the name
+     * @param scope the index of the scope in this table
+     * @return the binding, or null if the name is not in those scopes
+     */
+    private Binding getBinding(String s, int scope) {
+        Binding binding = this.getBinding(s);
+        while (binding != null && binding.scope > scope) {
+            binding = binding.next;
+        }
+        return binding;
+    }
+
+    /**
+     * Finds the entry of a name in the hash table
+     *
+     * @param s the name
+     * @return the index of the entry, or -1 if the name is not in the hash table
+     */
+    private int indexOf(String s) {
+        int hash = s.hashCode();
+        int mask = this.names.length - 1;
+        int index = (hash ^ hash >>> 16) & mask;
+        String name;
+        while ((name = this.names[index]) != null) {
+            if (name == s || name.equals(s)) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Adds a name that is not in the hash table to it
+     *
+     * @param s the name
+     * @return the index of its entry
+     */
+    private int insert(String s) {
+        if (this.numNames >= this.names.length / 2) {
+            String[] oldNames = this.names;
+            Binding[] oldBindings = this.bindings;
+            this.names = new String[2 * oldNames.length];
+            this.bindings = new Binding[this.names.length];
+            for (int i = 0; i < oldNames.length; i++) {
+                if (oldNames[i] != null) {
+                    int index = this.findFree(oldNames[i]);
+                    this.names[index] = oldNames[i];
+                    this.bindings[index] = oldBindings[i];
+                }
+            }
+        }
+        int index = this.findFree(s);
+        this.names[index] = s;
+        this.numNames++;
+        return index;
+    }
+
+    /**
+     * Finds the first empty entry of the hash table a name can go in
+     *
+     * @param s the name
+     * @return the index of the entry
+     */
+    private int findFree(String s) {
+        int hash = s.hashCode();
+        int mask = this.names.length - 1;
+        int index = (hash ^ hash >>> 16) & mask;
+        while (this.names[index] != null) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    /**
+     * Copies a chain of bindings
+     *
+     * @param binding the innermost binding of the chain
+     * @return the copy
+     */
+    private static Binding copy(Binding binding) {
+        if (binding == null) {
+            return null;
+        }
+        return new Binding(binding.value, binding.scope, copy(binding.next));
     }
 }
@@ -8,6 +8,7 @@
 package bantam.visitor;
 
 import bantam.ast.*;
+import bantam.util.ClassHierarchy;
 import bantam.util.ClassTreeNode;
 import bantam.util.ErrorHandler;
 import bantam.util.ErrorHandlerUtilities;
@@ -31,6 +32,11 @@ public class TypeCheckVisitor extends Visitor {
      */
     private ClassTreeNode classTreeNode;
 
+    /**
+     * The symbol table of the local variables, whose parent is the class's table
+     */
+    private SymbolTable varSymbolTable;
+
     /**
      * The return type of the method that is currently checked.
      */
@@ -77,6 +83,11 @@ public class TypeCheckVisitor extends Visitor {
         Class_ classASTNode = this.classTreeNode.getASTNode();
         this.fieldScope = this.classTreeNode.getVarSymbolTable()
                 .getCurrScopeLevel() -1;
+        //the local variables go in scopes of a table of this check's own, so the
+        //tables of the classes are only read, and classes can be checked concurrently
+        this.varSymbolTable = new SymbolTable();
+        this.varSymbolTable.setParent(this.classTreeNode.getVarSymbolTable());
+        this.varSymbolTable.enterScope();
         this.methodScope = this.classTreeNode.getMethodSymbolTable()
                 .getCurrScopeLevel() -1;
         classASTNode.accept(this);
@@ -117,14 +128,23 @@ public class TypeCheckVisitor extends Visitor {
         ClassTreeNode type2Node = this.classTreeNode.getClassMap().get(type2);
         if (type2Node != null){
             //At this point, we know type2 is a class and so if type1 is Object, it's valid
-            if(type1.equals("Object")){
+            if (type1.equals("Object")) {
                 return true;
             }
-            if (type2Node.getParent() == null) { //object
-                return false;
-            } else {
-                return this.compatibleType(type1, type2Node.getParent().getName());
+            ClassHierarchy hierarchy = this.classTreeNode.getHierarchy();
+            if (hierarchy.getClassId(type2) >= 0) {
+                return hierarchy.isSubclassOf(type2, type1);
             }
+            //a class in a cycle of the tree is not indexed, so its ancestors are walked
+            //(at most once around the cycle)
+            for (int i = 0; i < this.classTreeNode.getClassMap().size()
+                    && type2Node != null; i++) {
+                if (type2Node.getName().equals(type1)) {
+                    return true;
+                }
+                type2Node = type2Node.getParent();
+            }
+            return false;
         }
         else{ //undeclared type
             return false;
@@ -194,15 +214,15 @@ public class TypeCheckVisitor extends Visitor {
         Object type = null;
         //finding the type of the variable
         if (refName == null){
-            type = this.classTreeNode.getVarSymbolTable().lookup(name);
+            type = this.varSymbolTable.lookup(name);
         }
         else{ //refName != null
             if (refName.equals("this")){
-                type = this.classTreeNode.getVarSymbolTable()
+                type = this.varSymbolTable
                         .lookup(name,this.fieldScope);
             }
             else if (refName.equals("super")){
-                type = this.classTreeNode.getVarSymbolTable()
+                type = this.varSymbolTable
                         .lookup(name,this.fieldScope-1);
             }
             else{
@@ -485,7 +505,7 @@ public class TypeCheckVisitor extends Visitor {
      * @param lineNum the line number it occurs on
      */
     private void registerErrorIfLocalVarAlreadyDeclared(String name, int lineNum) {
-        SymbolTable varSymbolTable = this.classTreeNode.getVarSymbolTable();
+        SymbolTable varSymbolTable = this.varSymbolTable;
         for (int i = varSymbolTable.getCurrScopeLevel() - 1; i > this.fieldScope; i--) {
             if (varSymbolTable.peek(name, i) != null) {
                 this.errorUtil.registerError(lineNum, "Variable already declared");
@@ -520,7 +540,7 @@ public class TypeCheckVisitor extends Visitor {
     @Override
     public Object visit(Method method) {
         this.currentMethodReturnType = method.getReturnType();
-        SymbolTable varSymbolTable = this.classTreeNode.getVarSymbolTable();
+        SymbolTable varSymbolTable = this.varSymbolTable;
         varSymbolTable.enterScope();
         method.getFormalList().accept(this);
         StmtList stmtList = method.getStmtList();
@@ -546,10 +566,10 @@ public class TypeCheckVisitor extends Visitor {
         int lineNum = formal.getLineNum();
         this.errorUtil.registerErrorIfReservedName(formal.getName(), lineNum);
         this.errorUtil.registerErrorIfInvalidType(formal.getType(), lineNum);
-        if (this.classTreeNode.getVarSymbolTable().peek(formal.getName())!= null){
+        if (this.varSymbolTable.peek(formal.getName())!= null){
             this.errorUtil.registerError(lineNum, "Parameter already exists with same name.");
         }
-        this.classTreeNode.getVarSymbolTable().add(formal.getName(), formal.getType());
+        this.varSymbolTable.add(formal.getName(), formal.getType());
         return null;
     }
 
@@ -567,7 +587,7 @@ public class TypeCheckVisitor extends Visitor {
         this.errorUtil.registerErrorIfReservedName(stmt.getName(), lineNum);
         stmt.getInit().accept(this);
         this.registerErrorIfLocalVarAlreadyDeclared(stmt.getName(), lineNum);
-        this.classTreeNode.getVarSymbolTable().add(stmt.getName(), type);
+        this.varSymbolTable.add(stmt.getName(), type);
         if (!compatibleType(type, stmt.getInit().getExprType())) {
             this.errorUtil.registerError(lineNum,
                     "Type of variable incompatible with assignment.");
@@ -589,7 +609,7 @@ public class TypeCheckVisitor extends Visitor {
                     "If statement conditional must be a boolean.");
         }
 
-        SymbolTable varSymbolTable = this.classTreeNode.getVarSymbolTable();
+        SymbolTable varSymbolTable = this.varSymbolTable;
         varSymbolTable.enterScope();
         ifStmt.getThenStmt().accept(this);
         varSymbolTable.exitScope();
@@ -617,7 +637,7 @@ public class TypeCheckVisitor extends Visitor {
                     "While statement conditional must be a boolean.");
         }
 
-        SymbolTable varSymbolTable = this.classTreeNode.getVarSymbolTable();
+        SymbolTable varSymbolTable = this.varSymbolTable;
         varSymbolTable.enterScope();
         boolean priorInLoop = this.inLoop;
         this.inLoop = true;
@@ -651,7 +671,7 @@ public class TypeCheckVisitor extends Visitor {
             forStmt.getUpdateExpr().accept(this);
         }
 
-        SymbolTable varSymbolTable = this.classTreeNode.getVarSymbolTable();
+        SymbolTable varSymbolTable = this.varSymbolTable;
         varSymbolTable.enterScope();
         boolean priorInLoop = this.inLoop;
         this.inLoop = true;
@@ -715,7 +735,7 @@ public class TypeCheckVisitor extends Visitor {
      */
     @Override
     public Object visit(BlockStmt blockStmt){
-        SymbolTable varSymbolTable = this.classTreeNode.getVarSymbolTable();
+        SymbolTable varSymbolTable = this.varSymbolTable;
         varSymbolTable.enterScope();
         blockStmt.getStmtList().accept(this);
         varSymbolTable.exitScope();
@@ -1297,7 +1317,7 @@ public class TypeCheckVisitor extends Visitor {
      * @return null
      */
     public Object visit(TryStmt node) {
-        SymbolTable varSymbolTable = this.classTreeNode.getVarSymbolTable();
+        SymbolTable varSymbolTable = this.varSymbolTable;
         varSymbolTable.enterScope();
         node.getStmtList().accept(this);
         varSymbolTable.exitScope();
@@ -1329,7 +1349,7 @@ public class TypeCheckVisitor extends Visitor {
      */
     @Override
     public Object visit(CatchStmt node) {
-        SymbolTable varSymbolTable = this.classTreeNode.getVarSymbolTable();
+        SymbolTable varSymbolTable = this.varSymbolTable;
         varSymbolTable.enterScope();
         Formal formal = node.getFormal();
         this.registerErrorIfLocalVarAlreadyDeclared(formal.getName(), node.getLineNum());
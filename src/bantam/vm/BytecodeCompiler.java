@@ -0,0 +1,1222 @@
+/*
+ * File: BytecodeCompiler.java
+ * Author: Phoebe Hughes, Siyuan Li, Joseph Malionek
+ * Date: 10/18/26
+ */
+
+package bantam.vm;
+
+import bantam.ast.*;
+import bantam.interp.*;
+import bantam.util.ClassTreeNode;
+import bantam.visitor.Visitor;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static bantam.vm.Opcodes.*;
+
+/**
+ * Compiles the methods and field initializers of a typed, slot resolved AST into the
+ * register based code of the virtual machine (see {@link Opcodes}).  Each visit method
+ * of an expression emits the code computing its value and returns the register holding
+ * the value; local variables are read straight from their registers.  Conditions are
+ * compiled to conditional jumps instead of boolean values wherever they are tested.
+ */
+public class BytecodeCompiler extends Visitor {
+
+    /**
+     * The virtual machine the code runs in
+     */
+    private VirtualMachine vm;
+
+    /**
+     * The layout of the class being compiled
+     */
+    private ClassLayout layout;
+
+    /**
+     * The String objects of the string constants, shared by every constant with
+     * the same value
+     */
+    private HashMap<String, StringData> stringConstants;
+
+    /**
+     * The code of the method being compiled
+     */
+    private int[] code;
+
+    /**
+     * The length of the code of the method being compiled
+     */
+    private int codeLength;
+
+    /**
+     * The constant pool of the method being compiled
+     */
+    private List<Object> constants;
+
+    /**
+     * Maps the constants of the method being compiled to their indices in the pool
+     */
+    private Map<Object, Integer> constantIndices;
+
+    /**
+     * The exception handlers of the method being compiled
+     */
+    private List<Integer> handlers;
+
+    /**
+     * The offsets the labels of the method being compiled are placed at (-1 until placed)
+     */
+    private List<Integer> labels;
+
+    /**
+     * The jump targets waiting for their labels to be placed, as pairs of the offset of
+     * the target in the code and the label
+     */
+    private List<Integer> fixups;
+
+    /**
+     * The labels the break statements of the enclosing loops jump to
+     */
+    private Deque<Integer> breakLabels;
+
+    /**
+     * The number of slots of the method being compiled, which are the registers of its
+     * parameters and local variables
+     */
+    private int numSlots;
+
+    /**
+     * The next free int and object temporary registers
+     */
+    private int nextIntTemp;
+    private int nextRefTemp;
+
+    /**
+     * The number of int and object registers the method being compiled needs so far
+     */
+    private int numIntRegisters;
+    private int numRefRegisters;
+
+    /**
+     * Creates a new bytecode compiler
+     * @param vm the virtual machine the code runs in
+     */
+    public BytecodeCompiler(VirtualMachine vm) {
+        this.vm = vm;
+        this.stringConstants = new HashMap<>();
+    }
+
+    /**
+     * Compiles the methods and field initializers of a class and all of its subclasses
+     * @param classTreeNode the root of the (sub)tree of classes
+     */
+    public void compile(ClassTreeNode classTreeNode) {
+        this.layout = this.vm.getClassLayout(classTreeNode.getName());
+        VMMethod fieldInitializer = this.vm.getFieldInitializer(classTreeNode.getName());
+        if (fieldInitializer != null) {
+            this.startMethod(0);
+            for (ASTNode member : classTreeNode.getASTNode().getMemberList()) {
+                if (member instanceof Field) {
+                    this.compileStmt(member);
+                }
+            }
+            this.finishMethod(fieldInitializer);
+        }
+        if (!classTreeNode.isBuiltIn()) {
+            for (ASTNode member : classTreeNode.getASTNode().getMemberList()) {
+                if (member instanceof Method) {
+                    member.accept(this);
+                }
+            }
+        }
+
+        Iterator<ClassTreeNode> children = classTreeNode.getChildrenList();
+        while (children.hasNext()) {
+            this.compile(children.next());
+        }
+    }
+
+    /**
+     * Starts compiling a method
+     * @param numSlots the number of slots of the method
+     */
+    private void startMethod(int numSlots) {
+        this.code = new int[64];
+        this.codeLength = 0;
+        this.constants = new ArrayList<>();
+        this.constantIndices = new HashMap<>();
+        this.handlers = new ArrayList<>();
+        this.labels = new ArrayList<>();
+        this.fixups = new ArrayList<>();
+        this.breakLabels = new ArrayDeque<>();
+        this.numSlots = numSlots;
+        this.nextIntTemp = numSlots;
+        this.nextRefTemp = numSlots;
+        this.numIntRegisters = numSlots;
+        this.numRefRegisters = numSlots;
+    }
+
+    /**
+     * Finishes compiling a method, giving the compiled method its code
+     * @param method the compiled method
+     */
+    private void finishMethod(VMMethod method) {
+        this.emit(RETN);
+        for (int i = 0; i < this.fixups.size(); i += 2) {
+            this.code[this.fixups.get(i)] = this.labels.get(this.fixups.get(i + 1));
+        }
+        int[] handlerArray = new int[this.handlers.size()];
+        for (int i = 0; i < handlerArray.length; i++) {
+            handlerArray[i] = this.handlers.get(i);
+        }
+        method.setCode(Arrays.copyOf(this.code, this.codeLength), this.constants.toArray(),
+                handlerArray, this.numIntRegisters, this.numRefRegisters);
+    }
+
+    /**
+     * Appends words to the code
+     * @param words the opcode and operands of an instruction (or part of one)
+     */
+    private void emit(int... words) {
+        if (this.codeLength + words.length > this.code.length) {
+            this.code = Arrays.copyOf(this.code, 2 * this.code.length + words.length);
+        }
+        System.arraycopy(words, 0, this.code, this.codeLength, words.length);
+        this.codeLength += words.length;
+    }
+
+    /**
+     * Gets the index of a constant in the constant pool, adding it if it is not there
+     * @param constant the constant
+     * @return the index of the constant
+     */
+    private int constant(Object constant) {
+        Integer index = this.constantIndices.get(constant);
+        if (index == null) {
+            index = this.constants.size();
+            this.constants.add(constant);
+            this.constantIndices.put(constant, index);
+        }
+        return index;
+    }
+
+    /**
+     * Creates a new label
+     * @return the label
+     */
+    private int newLabel() {
+        this.labels.add(-1);
+        return this.labels.size() - 1;
+    }
+
+    /**
+     * Places a label at the end of the code
+     * @param label the label
+     */
+    private void placeLabel(int label) {
+        this.labels.set(label, this.codeLength);
+    }
+
+    /**
+     * Appends the target of a jump, to be filled in with the offset of a label
+     * @param label the label jumped to
+     */
+    private void emitTarget(int label) {
+        this.fixups.add(this.codeLength);
+        this.fixups.add(label);
+        this.emit(-1);
+    }
+
+    /**
+     * Allocates an int temporary register
+     * @return the register
+     */
+    private int newIntTemp() {
+        int register = this.nextIntTemp++;
+        this.numIntRegisters = Math.max(this.numIntRegisters, this.nextIntTemp);
+        return register;
+    }
+
+    /**
+     * Allocates an object temporary register
+     * @return the register
+     */
+    private int newRefTemp() {
+        int register = this.nextRefTemp++;
+        this.numRefRegisters = Math.max(this.numRefRegisters, this.nextRefTemp);
+        return register;
+    }
+
+    /**
+     * Allocates a temporary register for a value of a kind
+     * @param kind the kind of the value
+     * @return the register
+     */
+    private int newTemp(int kind) {
+        return kind == REF ? this.newRefTemp() : this.newIntTemp();
+    }
+
+    /**
+     * Appends a move between registers of a kind, unless they are the same register
+     * @param kind the kind of the value moved
+     * @param dest the destination register
+     * @param source the source register
+     */
+    private void emitMove(int kind, int dest, int source) {
+        if (dest != source) {
+            this.emit(kind == REF ? MOVE_REF : MOVE_INT, dest, source);
+        }
+    }
+
+    /**
+     * Compiles a statement (or field), freeing the temporaries it uses afterwards
+     * @param node the statement node
+     */
+    private void compileStmt(ASTNode node) {
+        int savedIntTemp = this.nextIntTemp;
+        int savedRefTemp = this.nextRefTemp;
+        node.accept(this);
+        this.nextIntTemp = savedIntTemp;
+        this.nextRefTemp = savedRefTemp;
+    }
+
+    /**
+     * Compiles a list of statements
+     * @param node the statement list node
+     */
+    private void compileStmts(StmtList node) {
+        for (ASTNode stmt : node) {
+            this.compileStmt(stmt);
+        }
+    }
+
+    /**
+     * Compiles an expression
+     * @param node the expression node
+     * @return the register holding the value of the expression
+     */
+    private int compileExpr(Expr node) {
+        return (Integer) node.accept(this);
+    }
+
+    /**
+     * Returns if evaluating an expression cannot change a local variable
+     * @param node the expression node
+     * @return true if the expression is a variable or a constant
+     */
+    private boolean isSimple(Expr node) {
+        return (node instanceof VarExpr && ((VarExpr) node).getRef() == null)
+                || node instanceof ConstExpr;
+    }
+
+    /**
+     * Copies the value of an operand into a temporary if it is held by a local variable
+     * that the operands evaluated after it might change
+     * @param register the register holding the operand
+     * @param kind the kind of the operand
+     * @param later the operands evaluated after it
+     * @return the register to use for the operand
+     */
+    private int protect(int register, int kind, Expr... later) {
+        if (register >= this.numSlots) {
+            return register;
+        }
+        for (Expr expr : later) {
+            if (!this.isSimple(expr)) {
+                int temp = this.newTemp(kind);
+                this.emitMove(kind, temp, register);
+                return temp;
+            }
+        }
+        return register;
+    }
+
+    /**
+     * Compiles the actual parameters of a call
+     * @param node the expression list node
+     * @return the kinds and registers of the parameters, as pairs
+     */
+    private int[] compileArgs(ExprList node) {
+        int[] args = new int[2 * node.getSize()];
+        for (int i = 0; i < node.getSize(); i++) {
+            Expr expr = (Expr) node.get(i);
+            int kind = kindOf(expr.getExprType());
+            Expr[] later = new Expr[node.getSize() - i - 1];
+            for (int j = 0; j < later.length; j++) {
+                later[j] = (Expr) node.get(i + 1 + j);
+            }
+            args[2 * i] = kind;
+            args[2 * i + 1] = this.protect(this.compileExpr(expr), kind, later);
+        }
+        return args;
+    }
+
+    /**
+     * Compiles an expression evaluated only for its side effects
+     * @param node the expression node
+     */
+    private void compileEffect(Expr node) {
+        if ((node instanceof UnaryIncrExpr || node instanceof UnaryDecrExpr)
+                && ((UnaryExpr) node).getExpr() instanceof VarExpr
+                && ((VarExpr) ((UnaryExpr) node).getExpr()).getSlot() >= 0) {
+            int slot = ((VarExpr) ((UnaryExpr) node).getExpr()).getSlot();
+            this.emit(ADDI, slot, slot, node instanceof UnaryIncrExpr ? 1 : -1);
+        }
+        else {
+            node.accept(this);
+        }
+    }
+
+    /**
+     * Compiles a condition to a jump taken when the condition has a given value
+     * @param node the boolean expression node
+     * @param when the value of the condition for which the jump is taken
+     * @param label the label jumped to
+     */
+    private void compileBranch(Expr node, boolean when, int label) {
+        if (node instanceof BinaryLogicAndExpr || node instanceof BinaryLogicOrExpr) {
+            BinaryExpr binaryExpr = (BinaryExpr) node;
+            //an AND jumps when it is false as soon as one operand is false,
+            //and an OR jumps when it is true as soon as one operand is true
+            boolean shortCircuit = node instanceof BinaryLogicOrExpr;
+            if (when == shortCircuit) {
+                this.compileBranch(binaryExpr.getLeftExpr(), when, label);
+                this.compileBranch(binaryExpr.getRightExpr(), when, label);
+            }
+            else {
+                int skip = this.newLabel();
+                this.compileBranch(binaryExpr.getLeftExpr(), shortCircuit, skip);
+                this.compileBranch(binaryExpr.getRightExpr(), when, label);
+                this.placeLabel(skip);
+            }
+        }
+        else if (node instanceof UnaryNotExpr) {
+            this.compileBranch(((UnaryNotExpr) node).getExpr(), !when, label);
+        }
+        else if (node instanceof ConstBooleanExpr) {
+            if (Boolean.parseBoolean(((ConstBooleanExpr) node).getConstant()) == when) {
+                this.emit(JUMP);
+                this.emitTarget(label);
+            }
+        }
+        else if (node instanceof BinaryCompExpr) {
+            BinaryCompExpr compExpr = (BinaryCompExpr) node;
+            int opcode = this.getCompareOpcode(compExpr);
+            if (!when) {
+                opcode = this.negateCompareOpcode(opcode);
+            }
+            int[] operands = this.compileOperands(compExpr);
+            //the conditional jumps are in the same order as the comparisons
+            this.emit(opcode - EQ + IF_EQ, operands[0], operands[1]);
+            this.emitTarget(label);
+        }
+        else {
+            int register = this.compileExpr(node);
+            this.emit(when ? IF_TRUE : IF_FALSE, register);
+            this.emitTarget(label);
+        }
+    }
+
+    /**
+     * Gets the opcode computing a comparison as a value
+     * @param node the comparison node
+     * @return the opcode (EQ to GE, or REF_EQ and REF_NE for objects)
+     */
+    private int getCompareOpcode(BinaryCompExpr node) {
+        boolean refs = kindOf(node.getLeftExpr().getExprType()) == REF;
+        if (node instanceof BinaryCompEqExpr) {
+            return refs ? REF_EQ : EQ;
+        }
+        else if (node instanceof BinaryCompNeExpr) {
+            return refs ? REF_NE : NE;
+        }
+        else if (node instanceof BinaryCompLtExpr) {
+            return LT;
+        }
+        else if (node instanceof BinaryCompLeqExpr) {
+            return LE;
+        }
+        else if (node instanceof BinaryCompGtExpr) {
+            return GT;
+        }
+        return GE;
+    }
+
+    /**
+     * Gets the comparison opcode testing the opposite condition
+     * @param opcode the comparison opcode
+     * @return the negated comparison opcode
+     */
+    private int negateCompareOpcode(int opcode) {
+        switch (opcode) {
+            case EQ:
+                return NE;
+            case NE:
+                return EQ;
+            case LT:
+                return GE;
+            case LE:
+                return GT;
+            case GT:
+                return LE;
+            case GE:
+                return LT;
+            case REF_EQ:
+                return REF_NE;
+            default:
+                return REF_EQ;
+        }
+    }
+
+    /**
+     * Compiles the two operands of a binary expression, in order
+     * @param node the binary expression node
+     * @return the registers of the left and right operands
+     */
+    private int[] compileOperands(BinaryExpr node) {
+        int kind = kindOf(node.getLeftExpr().getExprType());
+        int left = this.protect(this.compileExpr(node.getLeftExpr()), kind, node.getRightExpr());
+        int right = this.compileExpr(node.getRightExpr());
+        return new int[]{left, right};
+    }
+
+    /**
+     * Compiles a binary operation on ints
+     * @param node the binary expression node
+     * @param opcode the opcode of the operation
+     * @return the register holding the result
+     */
+    private int compileBinary(BinaryExpr node, int opcode) {
+        int[] operands = this.compileOperands(node);
+        int result = this.newIntTemp();
+        this.emit(opcode, result, operands[0], operands[1]);
+        return result;
+    }
+
+    /**
+     * Compiles the lookup of the array named by an array expression or array assignment,
+     * checking that it is not null
+     * @param slot the slot of the array if it is a local variable, otherwise -1
+     * @param fieldIndex the field index of the array if it is a field
+     * @param name the name of the array
+     * @param lineNum the line number of the expression
+     * @return the register holding the array
+     */
+    private int compileArray(int slot, int fieldIndex, String name, int lineNum) {
+        int array = slot;
+        if (slot < 0) {
+            array = this.newRefTemp();
+            this.emit(LDFIELD_REF, array, fieldIndex);
+        }
+        this.emit(NULLCHECK, array,
+                this.constant("Array " + name + " on line " + lineNum + " is null"));
+        return array;
+    }
+
+    /**
+     * Compiles a field into the field initializer of its class
+     * @param node the field node
+     * @return null
+     */
+    public Object visit(Field node) {
+        int index = this.layout.getFieldIndex(node.getName());
+        int kind = kindOf(node.getType());
+        int register = this.newTemp(kind);
+        if (kind == REF) {
+            this.emit(LDCONST_REF, register, this.constant(null));
+        }
+        else {
+            this.emit(LDCONST_INT, register, 0);
+        }
+        int store = kind == INT ? STFIELD_INT : kind == BOOLEAN ? STFIELD_BOOLEAN : STFIELD_REF;
+        this.emit(store, index, register);
+        if (node.getInit() != null) {
+            this.emit(store, index, this.compileExpr(node.getInit()));
+        }
+        return null;
+    }
+
+    /**
+     * Compiles a method, giving its compiled method in the method table its code
+     * @param node the method node
+     * @return null
+     */
+    public Object visit(Method node) {
+        this.startMethod(node.getNumSlots());
+        this.compileStmts(node.getStmtList());
+        this.finishMethod((VMMethod) this.layout.getMethods().get(node.getName()));
+        return null;
+    }
+
+    /**
+     * Compiles a declaration statement node
+     * @param node the declaration statement node
+     * @return null
+     */
+    public Object visit(DeclStmt node) {
+        this.emitMove(kindOf(node.getType()), node.getSlot(), this.compileExpr(node.getInit()));
+        return null;
+    }
+
+    /**
+     * Compiles an expression statement node
+     * @param node the expression statement node
+     * @return null
+     */
+    public Object visit(ExprStmt node) {
+        this.compileEffect(node.getExpr());
+        return null;
+    }
+
+    /**
+     * Compiles an if statement node
+     * @param node the if statement node
+     * @return null
+     */
+    public Object visit(IfStmt node) {
+        int elseLabel = this.newLabel();
+        this.compileBranch(node.getPredExpr(), false, elseLabel);
+        this.compileStmt(node.getThenStmt());
+        if (node.getElseStmt() == null) {
+            this.placeLabel(elseLabel);
+            return null;
+        }
+        int endLabel = this.newLabel();
+        this.emit(JUMP);
+        this.emitTarget(endLabel);
+        this.placeLabel(elseLabel);
+        this.compileStmt(node.getElseStmt());
+        this.placeLabel(endLabel);
+        return null;
+    }
+
+    /**
+     * Compiles a while statement node, with the condition after the body
+     * @param node the while statement node
+     * @return null
+     */
+    public Object visit(WhileStmt node) {
+        int bodyLabel = this.newLabel();
+        int predLabel = this.newLabel();
+        int breakLabel = this.newLabel();
+        this.emit(JUMP);
+        this.emitTarget(predLabel);
+        this.placeLabel(bodyLabel);
+        this.breakLabels.push(breakLabel);
+        this.compileStmt(node.getBodyStmt());
+        this.breakLabels.pop();
+        this.placeLabel(predLabel);
+        this.compileBranch(node.getPredExpr(), true, bodyLabel);
+        this.placeLabel(breakLabel);
+        return null;
+    }
+
+    /**
+     * Compiles a for statement node, with the condition after the body
+     * @param node the for statement node
+     * @return null
+     */
+    public Object visit(ForStmt node) {
+        int bodyLabel = this.newLabel();
+        int predLabel = this.newLabel();
+        int breakLabel = this.newLabel();
+        if (node.getInitExpr() != null) {
+            this.compileEffect(node.getInitExpr());
+        }
+        this.emit(JUMP);
+        this.emitTarget(predLabel);
+        this.placeLabel(bodyLabel);
+        this.breakLabels.push(breakLabel);
+        this.compileStmt(node.getBodyStmt());
+        this.breakLabels.pop();
+        if (node.getUpdateExpr() != null) {
+            this.compileEffect(node.getUpdateExpr());
+        }
+        this.placeLabel(predLabel);
+        if (node.getPredExpr() != null) {
+            this.compileBranch(node.getPredExpr(), true, bodyLabel);
+        }
+        else {
+            this.emit(JUMP);
+            this.emitTarget(bodyLabel);
+        }
+        this.placeLabel(breakLabel);
+        return null;
+    }
+
+    /**
+     * Compiles a break statement node
+     * @param node the break statement node
+     * @return null
+     */
+    public Object visit(BreakStmt node) {
+        this.emit(JUMP);
+        this.emitTarget(this.breakLabels.peek());
+        return null;
+    }
+
+    /**
+     * Compiles a return statement node
+     * @param node the return statement node
+     * @return null
+     */
+    public Object visit(ReturnStmt node) {
+        if (node.getExpr() == null) {
+            this.emit(RETN);
+        }
+        else {
+            int kind = kindOf(node.getExpr().getExprType());
+            this.emit(kind == REF ? RETN_REF : RETN_INT, this.compileExpr(node.getExpr()));
+        }
+        return null;
+    }
+
+    /**
+     * Compiles a block statement node
+     * @param node the block statement node
+     * @return null
+     */
+    public Object visit(BlockStmt node) {
+        this.compileStmts(node.getStmtList());
+        return null;
+    }
+
+    /**
+     * Compiles a try statement node.  Each catch statement becomes an exception handler
+     * covering the code of the try's body.
+     * @param node the try statement node
+     * @return null
+     */
+    public Object visit(TryStmt node) {
+        int start = this.codeLength;
+        this.compileStmts(node.getStmtList());
+        int end = this.codeLength;
+        int endLabel = this.newLabel();
+        this.emit(JUMP);
+        this.emitTarget(endLabel);
+        for (ASTNode catchNode : node.getCatchList()) {
+            CatchStmt catchStmt = (CatchStmt) catchNode;
+            this.handlers.add(start);
+            this.handlers.add(end);
+            this.handlers.add(this.codeLength);
+            this.handlers.add(this.constant(catchStmt.getFormal().getType()));
+            this.handlers.add(catchStmt.getFormal().getSlot());
+            this.compileStmts(catchStmt.getStmtList());
+            this.emit(JUMP);
+            this.emitTarget(endLabel);
+        }
+        this.placeLabel(endLabel);
+        return null;
+    }
+
+    /**
+     * Compiles a throw statement node
+     * @param node the throw statement node
+     * @return null
+     */
+    public Object visit(ThrowStmt node) {
+        this.emit(THROW, this.compileExpr(node.getExpr()), node.getLineNum());
+        return null;
+    }
+
+    /**
+     * Compiles a dispatch expression node.  Unless it is a 'super' dispatch, which always
+     * calls the same method, the method is looked up by its index in the method table
+     * of the static type of the receiver.
+     * @param node the dispatch expression node
+     * @return the register holding the result (-1 for a void method)
+     */
+    public Object visit(DispatchExpr node) {
+        String methodName = node.getMethodName();
+        Expr refExpr = node.getRefExpr();
+        int opcode = INDIRCALL;
+        int target;
+        int receiver;
+        if (node.getSuperClassName() != null) {
+            opcode = DIRCALL;
+            target = this.constant(this.vm.getClassLayout(node.getSuperClassName())
+                    .getMethods().get(methodName));
+            receiver = this.newRefTemp();
+            this.emit(LDTHIS, receiver);
+        }
+        else if (refExpr == null || (refExpr instanceof VarExpr
+                && ((VarExpr) refExpr).getName().equals("this"))) {
+            target = this.layout.getMethods().getIndex(methodName);
+            receiver = this.newRefTemp();
+            this.emit(LDTHIS, receiver);
+        }
+        else {
+            //a different object
+            String staticType = refExpr.getExprType();
+            MethodTable methods = staticType.endsWith("[]") ? this.vm.getArrayMethods()
+                    : this.vm.getClassLayout(staticType).getMethods();
+            target = methods.getIndex(methodName);
+            Expr[] actuals = new Expr[node.getActualList().getSize()];
+            for (int i = 0; i < actuals.length; i++) {
+                actuals[i] = (Expr) node.getActualList().get(i);
+            }
+            receiver = this.protect(this.compileExpr(refExpr), REF, actuals);
+            this.emit(NULLCHECK, receiver, this.constant("Reference object of call to "
+                    + methodName + " on line " + node.getLineNum() + " is null"));
+        }
+
+        int[] args = this.compileArgs(node.getActualList());
+        int destKind = kindOf(node.getExprType());
+        int dest = destKind == NONE ? -1 : this.newTemp(destKind);
+        this.emit(opcode, dest, destKind, target, receiver, args.length / 2);
+        this.emit(args);
+        return dest;
+    }
+
+    /**
+     * Compiles a new expression node
+     * @param node the new expression node
+     * @return the register holding the new object
+     */
+    public Object visit(NewExpr node) {
+        int result = this.newRefTemp();
+        if (node.getType().equals("String")) {
+            this.emit(NEWSTR, result);
+        }
+        else {
+            this.emit(NEW, result, this.constant(this.vm.getInstantiator(node.getType())));
+        }
+        return result;
+    }
+
+    /**
+     * Compiles a new array expression node
+     * @param node the new array expression node
+     * @return the register holding the new array
+     */
+    public Object visit(NewArrayExpr node) {
+        int size = this.compileExpr(node.getSize());
+        int result = this.newRefTemp();
+        this.emit(NEWARRAY, result, size, this.constant(node.getType()));
+        return result;
+    }
+
+    /**
+     * Compiles an instanceof expression node
+     * @param node the instanceof expression node
+     * @return the register holding the result
+     */
+    public Object visit(InstanceofExpr node) {
+        int expr = this.compileExpr(node.getExpr());
+        int result = this.newIntTemp();
+        if (node.getUpCheck()) {
+            this.emit(LDCONST_INT, result, 1);
+        }
+        else {
+            this.emit(INSTANCEOF, result, expr, this.constant(node.getType()));
+        }
+        return result;
+    }
+
+    /**
+     * Compiles a cast expression node
+     * @param node the cast expression node
+     * @return the register holding the object
+     */
+    public Object visit(CastExpr node) {
+        int expr = this.compileExpr(node.getExpr());
+        if (node.getUpCast()) {
+            return expr;
+        }
+        int result = this.newRefTemp();
+        this.emit(CAST, result, expr, this.constant(node.getType()), node.getLineNum());
+        return result;
+    }
+
+    /**
+     * Compiles an assignment expression node
+     * @param node the assignment expression node
+     * @return the register holding the assigned value
+     */
+    public Object visit(AssignExpr node) {
+        int kind = kindOf(node.getExprType());
+        int value = this.compileExpr(node.getExpr());
+        if (node.getSlot() >= 0) {
+            this.emitMove(kind, node.getSlot(), value);
+            return node.getSlot();
+        }
+        this.emit(kind == INT ? STFIELD_INT : kind == BOOLEAN ? STFIELD_BOOLEAN : STFIELD_REF,
+                node.getFieldIndex(), value);
+        return value;
+    }
+
+    /**
+     * Compiles an array assignment expression node
+     * @param node the array assignment expression node
+     * @return the register holding the assigned value
+     */
+    public Object visit(ArrayAssignExpr node) {
+        int kind = kindOf(node.getExpr().getExprType());
+        int index = this.protect(this.compileExpr(node.getIndex()), INT, node.getExpr());
+        int value = this.compileExpr(node.getExpr());
+        int array = this.compileArray(node.getSlot(), node.getFieldIndex(),
+                node.getName(), node.getLineNum());
+        if (kind == REF) {
+            this.emit(STELEM_REF, array, index, value, node.getExprClassId(),
+                    this.constant(node.getExpr().getExprType()));
+        }
+        else {
+            this.emit(kind == INT ? STELEM_INT : STELEM_BOOLEAN, array, index, value);
+        }
+        return value;
+    }
+
+    /**
+     * Compiles an array expression node
+     * @param node the array expression node
+     * @return the register holding the element
+     */
+    public Object visit(ArrayExpr node) {
+        int kind = kindOf(node.getExprType());
+        int array = this.protect(this.compileArray(node.getSlot(), node.getFieldIndex(),
+                node.getName(), node.getLineNum()), REF, node.getIndex());
+        int index = this.compileExpr(node.getIndex());
+        int result = this.newTemp(kind);
+        this.emit(kind == INT ? LDELEM_INT : kind == BOOLEAN ? LDELEM_BOOLEAN : LDELEM_REF,
+                result, array, index);
+        return result;
+    }
+
+    /**
+     * Compiles a variable expression node
+     * @param node the variable expression node
+     * @return the register holding the value of the variable
+     */
+    public Object visit(VarExpr node) {
+        if (node.getSlot() >= 0) {
+            return node.getSlot();
+        }
+        String name = node.getName();
+        if (name.equals("this")) {
+            int result = this.newRefTemp();
+            this.emit(LDTHIS, result);
+            return result;
+        }
+        else if (name.equals("null")) {
+            int result = this.newRefTemp();
+            this.emit(LDCONST_REF, result, this.constant(null));
+            return result;
+        }
+
+        String refName = node.getRef() == null ? null : ((VarExpr) node.getRef()).getName();
+        //if array.length
+        if (name.equals("length") && refName != null && !"super".equals(refName)
+                && !"this".equals(refName)) {
+            int array = this.compileExpr(node.getRef());
+            this.emit(NULLCHECK, array, this.constant("Array " + refName + " on line "
+                    + node.getLineNum() + " is null"));
+            int result = this.newIntTemp();
+            this.emit(ARRAYLEN, result, array);
+            return result;
+        }
+        int kind = kindOf(node.getExprType());
+        int result = this.newTemp(kind);
+        this.emit(kind == INT ? LDFIELD_INT : kind == BOOLEAN ? LDFIELD_BOOLEAN : LDFIELD_REF,
+                result, node.getFieldIndex());
+        return result;
+    }
+
+    /**
+     * Compiles an int constant expression node
+     * @param node the int constant expression node
+     * @return the register holding the constant
+     */
+    public Object visit(ConstIntExpr node) {
+        int result = this.newIntTemp();
+        this.emit(LDCONST_INT, result, Integer.parseInt(node.getConstant()));
+        return result;
+    }
+
+    /**
+     * Compiles a boolean constant expression node
+     * @param node the boolean constant expression node
+     * @return the register holding the constant
+     */
+    public Object visit(ConstBooleanExpr node) {
+        int result = this.newIntTemp();
+        this.emit(LDCONST_INT, result, Boolean.parseBoolean(node.getConstant()) ? 1 : 0);
+        return result;
+    }
+
+    /**
+     * Compiles a string constant expression node
+     * @param node the string constant expression node
+     * @return the register holding the String object
+     */
+    public Object visit(ConstStringExpr node) {
+        StringData value = this.stringConstants.get(node.getValue());
+        if (value == null) {
+            value = this.vm.getMemberGenerator().newString(node.getValue());
+            this.stringConstants.put(node.getValue(), value);
+        }
+        int result = this.newRefTemp();
+        this.emit(LDCONST_REF, result, this.constant(value));
+        return result;
+    }
+
+    /**
+     * Compiles a comparison as a value
+     * @param node the comparison node
+     * @return the register holding the result
+     */
+    private int compileCompare(BinaryCompExpr node) {
+        return this.compileBinary(node, this.getCompareOpcode(node));
+    }
+
+    /**
+     * Compiles a binary comparison equals expression node
+     * @param node the binary comparison equals expression node
+     * @return the register holding the result
+     */
+    public Object visit(BinaryCompEqExpr node) {
+        return this.compileCompare(node);
+    }
+
+    /**
+     * Compiles a binary comparison not equals expression node
+     * @param node the binary comparison not equals expression node
+     * @return the register holding the result
+     */
+    public Object visit(BinaryCompNeExpr node) {
+        return this.compileCompare(node);
+    }
+
+    /**
+     * Compiles a binary comparison less than expression node
+     * @param node the binary comparison less than expression node
+     * @return the register holding the result
+     */
+    public Object visit(BinaryCompLtExpr node) {
+        return this.compileCompare(node);
+    }
+
+    /**
+     * Compiles a binary comparison less than or equal to expression node
+     * @param node the binary comparison less than or equal to expression node
+     * @return the register holding the result
+     */
+    public Object visit(BinaryCompLeqExpr node) {
+        return this.compileCompare(node);
+    }
+
+    /**
+     * Compiles a binary comparison greater than expression node
+     * @param node the binary comparison greater than expression node
+     * @return the register holding the result
+     */
+    public Object visit(BinaryCompGtExpr node) {
+        return this.compileCompare(node);
+    }
+
+    /**
+     * Compiles a binary comparison greater than or equal to expression node
+     * @param node the binary comparison greater than or equal to expression node
+     * @return the register holding the result
+     */
+    public Object visit(BinaryCompGeqExpr node) {
+        return this.compileCompare(node);
+    }
+
+    /**
+     * Compiles an addition or subtraction, adding constants directly
+     * @param node the binary arithmetic plus or minus expression node
+     * @param sign 1 for an addition, -1 for a subtraction
+     * @return the register holding the result
+     */
+    private int compileAddSub(BinaryArithExpr node, int sign) {
+        if (node.getRightExpr() instanceof ConstIntExpr) {
+            int left = this.compileExpr(node.getLeftExpr());
+            int value = Integer.parseInt(((ConstIntExpr) node.getRightExpr()).getConstant());
+            int result = this.newIntTemp();
+            this.emit(ADDI, result, left, sign * value);
+            return result;
+        }
+        return this.compileBinary(node, sign > 0 ? ADD : SUB);
+    }
+
+    /**
+     * Compiles a binary arithmetic plus expression node
+     * @param node the binary arithmetic plus expression node
+     * @return the register holding the result
+     */
+    public Object visit(BinaryArithPlusExpr node) {
+        return this.compileAddSub(node, 1);
+    }
+
+    /**
+     * Compiles a binary arithmetic minus expression node
+     * @param node the binary arithmetic minus expression node
+     * @return the register holding the result
+     */
+    public Object visit(BinaryArithMinusExpr node) {
+        return this.compileAddSub(node, -1);
+    }
+
+    /**
+     * Compiles a binary arithmetic times expression node
+     * @param node the binary arithmetic times expression node
+     * @return the register holding the result
+     */
+    public Object visit(BinaryArithTimesExpr node) {
+        return this.compileBinary(node, MUL);
+    }
+
+    /**
+     * Compiles a division or modulus, which throws an exception when dividing by 0
+     * @param node the binary arithmetic divide or modulus expression node
+     * @param opcode DIV or MOD
+     * @return the register holding the result
+     */
+    private int compileDivision(BinaryArithExpr node, int opcode) {
+        int[] operands = this.compileOperands(node);
+        int result = this.newIntTemp();
+        this.emit(opcode, result, operands[0], operands[1],
+                this.constant("Divisor is 0 on line " + node.getLineNum()));
+        return result;
+    }
+
+    /**
+     * Compiles a binary arithmetic divide expression node
+     * @param node the binary arithmetic divide expression node
+     * @return the register holding the result
+     */
+    public Object visit(BinaryArithDivideExpr node) {
+        return this.compileDivision(node, DIV);
+    }
+
+    /**
+     * Compiles a binary arithmetic modulus expression node
+     * @param node the binary arithmetic modulus expression node
+     * @return the register holding the result
+     */
+    public Object visit(BinaryArithModulusExpr node) {
+        return this.compileDivision(node, MOD);
+    }
+
+    /**
+     * Compiles a logical AND or OR as a value, evaluating the right operand only if needed
+     * @param node the binary logical expression node
+     * @return the register holding the result
+     */
+    private int compileLogic(BinaryLogicExpr node) {
+        int result = this.newIntTemp();
+        int endLabel = this.newLabel();
+        this.emitMove(INT, result, this.compileExpr(node.getLeftExpr()));
+        this.emit(node instanceof BinaryLogicAndExpr ? IF_FALSE : IF_TRUE, result);
+        this.emitTarget(endLabel);
+        this.emitMove(INT, result, this.compileExpr(node.getRightExpr()));
+        this.placeLabel(endLabel);
+        return result;
+    }
+
+    /**
+     * Compiles a binary logical AND expression node
+     * @param node the binary logical AND expression node
+     * @return the register holding the result
+     */
+    public Object visit(BinaryLogicAndExpr node) {
+        return this.compileLogic(node);
+    }
+
+    /**
+     * Compiles a binary logical OR expression node
+     * @param node the binary logical OR expression node
+     * @return the register holding the result
+     */
+    public Object visit(BinaryLogicOrExpr node) {
+        return this.compileLogic(node);
+    }
+
+    /**
+     * Compiles a unary negation expression node
+     * @param node the unary negation expression node
+     * @return the register holding the result
+     */
+    public Object visit(UnaryNegExpr node) {
+        int expr = this.compileExpr(node.getExpr());
+        int result = this.newIntTemp();
+        this.emit(NEG, result, expr);
+        return result;
+    }
+
+    /**
+     * Compiles a unary NOT expression node
+     * @param node the unary NOT expression node
+     * @return the register holding the result
+     */
+    public Object visit(UnaryNotExpr node) {
+        int expr = this.compileExpr(node.getExpr());
+        int result = this.newIntTemp();
+        this.emit(NOT, result, expr);
+        return result;
+    }
+
+    /**
+     * Compiles a unary increment expression node
+     * @param node the unary increment expression node
+     * @return the register holding the result
+     */
+    public Object visit(UnaryIncrExpr node) {
+        return this.compileIncrDecr(node, 1);
+    }
+
+    /**
+     * Compiles a unary decrement expression node
+     * @param node the unary decrement expression node
+     * @return the register holding the result
+     */
+    public Object visit(UnaryDecrExpr node) {
+        return this.compileIncrDecr(node, -1);
+    }
+
+    /**
+     * Compiles an increment or decrement of a variable, field or array element
+     * @param node the increment or decrement expression node
+     * @param incrementValue the value to increment or decrement by
+     * @return the register holding the result
+     */
+    private int compileIncrDecr(UnaryExpr node, int incrementValue) {
+        int oldValue;
+        int newValue = this.newIntTemp();
+        if (node.getExpr() instanceof ArrayExpr) {
+            ArrayExpr expr = (ArrayExpr) node.getExpr();
+            int array = this.protect(this.compileArray(expr.getSlot(), expr.getFieldIndex(),
+                    expr.getName(), node.getLineNum()), REF, expr.getIndex());
+            int index = this.compileExpr(expr.getIndex());
+            oldValue = this.newIntTemp();
+            this.emit(LDELEM_INT, oldValue, array, index);
+            this.emit(ADDI, newValue, oldValue, incrementValue);
+            this.emit(STELEM_INT, array, index, newValue);
+        }
+        else {
+            VarExpr expr = (VarExpr) node.getExpr();
+            if (expr.getSlot() >= 0) {
+                oldValue = this.newIntTemp();
+                this.emit(MOVE_INT, oldValue, expr.getSlot());
+                this.emit(ADDI, expr.getSlot(), expr.getSlot(), incrementValue);
+                this.emit(MOVE_INT, newValue, expr.getSlot());
+            }
+            else {
+                oldValue = this.newIntTemp();
+                this.emit(LDFIELD_INT, oldValue, expr.getFieldIndex());
+                this.emit(ADDI, newValue, oldValue, incrementValue);
+                this.emit(STFIELD_INT, expr.getFieldIndex(), newValue);
+            }
+        }
+        return node.isPostfix() ? oldValue : newValue;
+    }
+}
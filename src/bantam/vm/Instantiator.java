@@ -0,0 +1,76 @@
+/*
+ * File: Instantiator.java
+ * Author: Phoebe Hughes, Siyuan Li, Joseph Malionek
+ * Date: 10/18/26
+ */
+
+package bantam.vm;
+
+import bantam.interp.ClassLayout;
+import bantam.interp.ObjectData;
+
+/**
+ * Creates the objects of a class.  The field initializers of each class are compiled
+ * into a method of their own; a new object runs those of its class and of all its
+ * ancestors, starting with Object.
+ */
+class Instantiator {
+
+    /**
+     * The virtual machine running the initializers
+     */
+    private VirtualMachine vm;
+
+    /**
+     * The layout of the class
+     */
+    private ClassLayout layout;
+
+    /**
+     * The field initializers of the class and its ancestors, starting with Object's
+     * (null for a class without fields)
+     */
+    private VMMethod[] initializers;
+
+    /**
+     * For each class in the same order, the name of the class if it is a builtin class
+     * with hidden fields to initialize, otherwise null
+     */
+    private String[] hiddenFieldClasses;
+
+    /**
+     * Creates a new instantiator
+     * @param vm the virtual machine running the initializers
+     * @param layout the layout of the class
+     * @param initializers the field initializers of the class and its ancestors
+     * @param hiddenFieldClasses the builtin classes with hidden fields to initialize
+     */
+    Instantiator(VirtualMachine vm, ClassLayout layout, VMMethod[] initializers,
+                 String[] hiddenFieldClasses) {
+        this.vm = vm;
+        this.layout = layout;
+        this.initializers = initializers;
+        this.hiddenFieldClasses = hiddenFieldClasses;
+    }
+
+    /**
+     * Creates a new object of the class, initializing its fields
+     * @return the new object
+     */
+    ObjectData instantiate() {
+        ObjectData objectData = new ObjectData(this.layout.getName(),
+                this.layout.getNumFields(), this.layout.getMethods());
+        for (int i = 0; i < this.initializers.length; i++) {
+            if (this.initializers[i] != null) {
+                VMMethod initializer = this.initializers[i];
+                this.vm.run(initializer, objectData, initializer.newIntRegisters(),
+                        initializer.newRefRegisters());
+            }
+            if (this.hiddenFieldClasses[i] != null) {
+                this.vm.getMemberGenerator()
+                        .initHiddenFields(this.hiddenFieldClasses[i], objectData);
+            }
+        }
+        return objectData;
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * File: Opcodes.java
+ * Author: Phoebe Hughes, Siyuan Li, Joseph Malionek
+ * Date: 10/18/26
+ */
+
+package bantam.vm;
+
+/**
+ * The instruction set of the Bantam virtual machine.  It is the three-address code of
+ * bantam.cfg (see TACInst) encoded as ints, with the operations TAC leaves to the
+ * runtime (allocation, exceptions, type tests) added as instructions of their own.
+ *
+ * Each instruction is an opcode followed by its operands.  Operands named d, s, a
+ * and b are registers: int and boolean values (booleans as 0 or 1) live in the int
+ * registers and objects in the object registers, so no value is ever boxed inside a
+ * method.  The formal parameters and local variables of a method occupy the registers
+ * numbered by their slots; temporaries follow them.  Targets are code offsets and
+ * constants are indices into the method's constant pool.
+ */
+public final class Opcodes {
+
+    /* Value kinds, used for call arguments and results */
+    public static final int NONE = 0;
+    public static final int INT = 1;
+    public static final int BOOLEAN = 2;
+    public static final int REF = 3;
+
+    /* Control transfers (TAC if and jumps) */
+    /** JUMP target */
+    public static final int JUMP = 0;
+    /** IF_TRUE a target: jump if int register a is not 0 */
+    public static final int IF_TRUE = 1;
+    /** IF_FALSE a target: jump if int register a is 0 */
+    public static final int IF_FALSE = 2;
+    /** IF_EQ a b target (and IF_NE to IF_GE): compare int registers, in IfInst order */
+    public static final int IF_EQ = 3;
+    public static final int IF_NE = 4;
+    public static final int IF_LT = 5;
+    public static final int IF_LE = 6;
+    public static final int IF_GT = 7;
+    public static final int IF_GE = 8;
+    /** IF_REF_EQ a b target (and IF_REF_NE): compare object registers by reference */
+    public static final int IF_REF_EQ = 9;
+    public static final int IF_REF_NE = 10;
+
+    /* Calls and returns (TAC indircall, dircall, param and return) */
+    /** INDIRCALL d dkind index recv n (kind reg)*n: call the method at index in the
+        method table of object register recv, storing a result of kind dkind in d */
+    public static final int INDIRCALL = 11;
+    /** DIRCALL d dkind const recv n (kind reg)*n: call the method body held by const */
+    public static final int DIRCALL = 12;
+    /** RETN: return from a void method */
+    public static final int RETN = 13;
+    /** RETN_INT s: return int register s */
+    public static final int RETN_INT = 14;
+    /** RETN_REF s: return object register s */
+    public static final int RETN_REF = 15;
+
+    /* Loads and stores (TAC ldvar, ldconst, ldentry and stentry) */
+    /** MOVE_INT d s */
+    public static final int MOVE_INT = 16;
+    /** MOVE_REF d s */
+    public static final int MOVE_REF = 17;
+    /** LDCONST_INT d value */
+    public static final int LDCONST_INT = 18;
+    /** LDCONST_REF d const */
+    public static final int LDCONST_REF = 19;
+    /** LDTHIS d: load the object the method was called on */
+    public static final int LDTHIS = 20;
+    /** LDFIELD_INT d field (and BOOLEAN, REF): load a field of this object */
+    public static final int LDFIELD_INT = 21;
+    public static final int LDFIELD_BOOLEAN = 22;
+    public static final int LDFIELD_REF = 23;
+    /** STFIELD_INT field s (and BOOLEAN, REF): store into a field of this object */
+    public static final int STFIELD_INT = 24;
+    public static final int STFIELD_BOOLEAN = 25;
+    public static final int STFIELD_REF = 26;
+    /** LDELEM_INT d array index (and BOOLEAN, REF): load an array element */
+    public static final int LDELEM_INT = 27;
+    public static final int LDELEM_BOOLEAN = 28;
+    public static final int LDELEM_REF = 29;
+    /** STELEM_INT array index s (and BOOLEAN): store an array element */
+    public static final int STELEM_INT = 30;
+    public static final int STELEM_BOOLEAN = 31;
+    /** STELEM_REF array index s classId type: store an array element, checking that the
+        class with id classId, the static type named by const type, may be stored in it */
+    public static final int STELEM_REF = 32;
+    /** ARRAYLEN d array */
+    public static final int ARRAYLEN = 33;
+    /** NULLCHECK s message: throw a NullPointerException with the message held by const
+        message if object register s is null */
+    public static final int NULLCHECK = 34;
+
+    /* Unary and binary operations on int registers (TAC unary and binary) */
+    /** NEG d s */
+    public static final int NEG = 35;
+    /** NOT d s */
+    public static final int NOT = 36;
+    /** ADD d a b (and SUB, MUL) */
+    public static final int ADD = 37;
+    public static final int SUB = 38;
+    public static final int MUL = 39;
+    /** DIV d a b message (and MOD): divide, throwing a DivideByZeroException with the
+        message held by const message if b is 0 */
+    public static final int DIV = 40;
+    public static final int MOD = 41;
+    /** ADDI d s value: add an int constant */
+    public static final int ADDI = 42;
+    /** EQ d a b (and NE to GE): compare int registers, in IfInst order */
+    public static final int EQ = 43;
+    public static final int NE = 44;
+    public static final int LT = 45;
+    public static final int LE = 46;
+    public static final int GT = 47;
+    public static final int GE = 48;
+    /** REF_EQ d a b (and REF_NE): compare object registers by reference */
+    public static final int REF_EQ = 49;
+    public static final int REF_NE = 50;
+
+    /* Runtime operations */
+    /** NEW d const: create an object with the instantiator held by const */
+    public static final int NEW = 51;
+    /** NEWSTR d: create an empty String */
+    public static final int NEWSTR = 52;
+    /** NEWARRAY d size type: create an array of the type held by const type */
+    public static final int NEWARRAY = 53;
+    /** INSTANCEOF d s type: test if object register s is null or of the type held by
+        const type */
+    public static final int INSTANCEOF = 54;
+    /** CAST d s type line: check that object register s may be cast to the type held by
+        const type */
+    public static final int CAST = 55;
+    /** THROW s line: throw the Exception in object register s */
+    public static final int THROW = 56;
+
+    /** Number of opcodes */
+    public static final int NUM_OPCODES = 57;
+
+    /**
+     * Gets the kind of the values of a type
+     * @param type the name of the type
+     * @return INT, BOOLEAN, NONE (for void) or REF
+     */
+    public static int kindOf(String type) {
+        if ("int".equals(type)) {
+            return INT;
+        }
+        else if ("boolean".equals(type)) {
+            return BOOLEAN;
+        }
+        else if ("void".equals(type)) {
+            return NONE;
+        }
+        return REF;
+    }
+
+    private Opcodes() {
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * File: VMMethod.java
+ * Author: Phoebe Hughes, Siyuan Li, Joseph Malionek
+ * Date: 10/18/26
+ */
+
+package bantam.vm;
+
+import bantam.ast.Formal;
+import bantam.ast.Method;
+import bantam.interp.MethodBody;
+import bantam.interp.ObjectData;
+
+/**
+ * A method compiled to virtual machine code.  The method is put in its class's method
+ * table before any code is compiled, so calls to it can be resolved while compiling;
+ * its code is filled in afterwards.
+ *
+ * Calls from compiled code pass their arguments straight into the callee's registers;
+ * the execute method, used by the builtin members and to start the program, boxes
+ * and unboxes them instead.
+ */
+public class VMMethod implements MethodBody {
+
+    /** Empty register files, shared by methods that need no registers of a kind */
+    private static final int[] NO_INT_REGISTERS = new int[0];
+    private static final Object[] NO_REF_REGISTERS = new Object[0];
+
+    /**
+     * The virtual machine running the method
+     */
+    private VirtualMachine vm;
+
+    /**
+     * The name of the method (for debugging)
+     */
+    private String name;
+
+    /**
+     * The slots of the formal parameters, which are their registers
+     */
+    private int[] formalSlots;
+
+    /**
+     * The kinds of the formal parameters
+     */
+    private int[] formalKinds;
+
+    /**
+     * The kind of the return value
+     */
+    private int returnKind;
+
+    /**
+     * The code of the method
+     */
+    int[] code;
+
+    /**
+     * The constant pool of the method
+     */
+    Object[] constants;
+
+    /**
+     * The exception handlers of the method, five ints each: the start and end of the
+     * code they cover, the start of the handler, the constant holding the type they
+     * catch and the register the exception is stored in.  Inner handlers come first.
+     */
+    int[] handlers;
+
+    /**
+     * The number of int registers and object registers the method needs
+     */
+    private int numIntRegisters;
+    private int numRefRegisters;
+
+    /**
+     * Creates a new method, whose code is compiled later
+     * @param vm the virtual machine running the method
+     * @param node the method node
+     */
+    VMMethod(VirtualMachine vm, Method node) {
+        this(vm, node.getName(), node.getReturnType());
+        int numFormals = node.getFormalList().getSize();
+        this.formalSlots = new int[numFormals];
+        this.formalKinds = new int[numFormals];
+        for (int i = 0; i < numFormals; i++) {
+            Formal formal = (Formal) node.getFormalList().get(i);
+            this.formalSlots[i] = formal.getSlot();
+            this.formalKinds[i] = Opcodes.kindOf(formal.getType());
+        }
+    }
+
+    /**
+     * Creates a new method without parameters, whose code is compiled later
+     * @param vm the virtual machine running the method
+     * @param name the name of the method
+     * @param returnType the return type of the method
+     */
+    VMMethod(VirtualMachine vm, String name, String returnType) {
+        this.vm = vm;
+        this.name = name;
+        this.returnKind = Opcodes.kindOf(returnType);
+        this.formalSlots = new int[0];
+        this.formalKinds = new int[0];
+    }
+
+    /**
+     * Sets the compiled code of the method
+     * @param code the code
+     * @param constants the constant pool
+     * @param handlers the exception handlers
+     * @param numIntRegisters the number of int registers the code uses
+     * @param numRefRegisters the number of object registers the code uses
+     */
+    void setCode(int[] code, Object[] constants, int[] handlers,
+                 int numIntRegisters, int numRefRegisters) {
+        this.code = code;
+        this.constants = constants;
+        this.handlers = handlers;
+        this.numIntRegisters = numIntRegisters;
+        this.numRefRegisters = numRefRegisters;
+    }
+
+    /**
+     * Gets the name of the method
+     * @return the name
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Gets the register a formal parameter is passed in
+     * @param index the position of the parameter
+     * @return the register (in the int or object registers, depending on its kind)
+     */
+    int getFormalSlot(int index) {
+        return this.formalSlots[index];
+    }
+
+    /**
+     * Creates the int registers of a call to the method
+     * @return the int registers
+     */
+    int[] newIntRegisters() {
+        return this.numIntRegisters == 0 ? NO_INT_REGISTERS : new int[this.numIntRegisters];
+    }
+
+    /**
+     * Creates the object registers of a call to the method
+     * @return the object registers
+     */
+    Object[] newRefRegisters() {
+        return this.numRefRegisters == 0 ? NO_REF_REGISTERS : new Object[this.numRefRegisters];
+    }
+
+    /**
+     * Executes the method with boxed arguments
+     * @param receiver the object the method is called on
+     * @param args the values of the actual parameters of the method
+     * @return the return value of the method
+     */
+    @Override
+    public Object execute(ObjectData receiver, Object[] args) {
+        int[] intRegisters = this.newIntRegisters();
+        Object[] refRegisters = this.newRefRegisters();
+        for (int i = 0; i < args.length; i++) {
+            if (this.formalKinds[i] == Opcodes.INT) {
+                intRegisters[this.formalSlots[i]] = (int) args[i];
+            }
+            else if (this.formalKinds[i] == Opcodes.BOOLEAN) {
+                intRegisters[this.formalSlots[i]] = (boolean) args[i] ? 1 : 0;
+            }
+            else {
+                refRegisters[this.formalSlots[i]] = args[i];
+            }
+        }
+        Object result = this.vm.run(this, receiver, intRegisters, refRegisters);
+        if (this.returnKind == Opcodes.INT) {
+            return this.vm.getIntResult();
+        }
+        else if (this.returnKind == Opcodes.BOOLEAN) {
+            return this.vm.getIntResult() != 0;
+        }
+        return result;
+    }
+}
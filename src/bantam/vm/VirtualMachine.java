@@ -0,0 +1,876 @@
+/*
+ * File: VirtualMachine.java
+ * Author: Phoebe Hughes, Siyuan Li, Joseph Malionek
+ * Date: 10/18/26
+ */
+
+package bantam.vm;
+
+import bantam.ast.ASTNode;
+import bantam.ast.Field;
+import bantam.ast.Method;
+import bantam.interp.*;
+import bantam.util.ClassHierarchy;
+import bantam.util.ClassTreeNode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Hashtable;
+import java.util.Iterator;
+import java.util.List;
+
+import static bantam.vm.Opcodes.*;
+
+/**
+ * Runs Bantam Java programs compiled to the register based code described in
+ * {@link Opcodes}.  Every method is compiled once by the {@link BytecodeCompiler}
+ * and then run by a single dispatch loop, so running the program never looks at
+ * the AST, never boxes a value inside a method and never looks a method up by name.
+ * The program behaves exactly as it does under the {@link Interpreter}.
+ *
+ * Past the first few hundred nested calls, calls between compiled methods do not nest
+ * Java calls: the dispatch loop saves the state of the caller on a frame stack kept in
+ * arrays on the heap and goes on with the callee, so a program can recurse as deep as
+ * its frame budget allows, and running out of frames ends the program with an error
+ * instead of overflowing the Java stack.
+ */
+public class VirtualMachine implements ObjectAllocator {
+
+    /**
+     * The default largest number of frames on the frame stack
+     */
+    public static final int DEFAULT_MAX_FRAMES = 1 << 20;
+
+    /**
+     * The number of frames the frame stack has room for at first
+     */
+    private static final int INITIAL_FRAMES = 64;
+
+    /**
+     * The largest number of calls run in nested runs, on the Java stack
+     */
+    private static final int MAX_NESTED_RUNS = 512;
+
+    /** Root of the class hierarchy tree */
+    private ClassTreeNode root;
+
+    /** Boolean indicating whether debugging is enabled */
+    private boolean debug;
+
+    /**
+     * The index of the class hierarchy, for subtype checks
+     */
+    private ClassHierarchy hierarchy;
+
+    /**
+     * The map of classes and the layouts of their fields and methods
+     */
+    private Hashtable<String, ClassLayout> layouts;
+
+    /**
+     * The map of classes and the methods initializing the fields they declare
+     */
+    private Hashtable<String, VMMethod> fieldInitializers;
+
+    /**
+     * The map of classes and the instantiators creating their objects
+     */
+    private Hashtable<String, Instantiator> instantiators;
+
+    /**
+     * The generator of the members of the builtin classes
+     */
+    private BuiltInMemberGenerator memberGenerator;
+
+    /**
+     * The method table shared by all arrays
+     */
+    private MethodTable arrayMethods;
+
+    /**
+     * The largest array length a program may create
+     */
+    private int maxArrayLength = ArrayData.DEFAULT_MAX_LENGTH;
+
+    /**
+     * The largest number of frames on the frame stack
+     */
+    private int maxFrames = DEFAULT_MAX_FRAMES;
+
+    /**
+     * The frame stack, holding the state of every caller waiting for a call to return:
+     * its method, the object it was called on, its registers and the offset of the call
+     */
+    private VMMethod[] frameMethods = new VMMethod[INITIAL_FRAMES];
+    private ObjectData[] frameObjects = new ObjectData[INITIAL_FRAMES];
+    private int[][] frameIntRegisters = new int[INITIAL_FRAMES][];
+    private Object[][] frameRefRegisters = new Object[INITIAL_FRAMES][];
+    private int[] framePcs = new int[INITIAL_FRAMES];
+
+    /**
+     * The number of frames on the frame stack
+     */
+    private int numFrames;
+
+    /**
+     * The int or boolean value returned by the last method that returned one
+     */
+    private int intResult;
+
+    /**
+     * Creates a new virtual machine
+     * @param root root of the class hierarchy tree
+     * @param debug boolean indicating whether debugging is enabled
+     */
+    public VirtualMachine(ClassTreeNode root, boolean debug) {
+        this.root = root;
+        this.debug = debug;
+    }
+
+    /**
+     * Sets the largest array length a program may create
+     * @param maxArrayLength the largest array length
+     */
+    public void setMaxArrayLength(int maxArrayLength) {
+        this.maxArrayLength = maxArrayLength;
+    }
+
+    /**
+     * Sets the largest number of frames on the frame stack, which limits how deep
+     * the program may recurse
+     * @param maxFrames the largest number of frames
+     */
+    public void setMaxFrames(int maxFrames) {
+        this.maxFrames = maxFrames;
+    }
+
+    /**
+     * Compiles and runs the program
+     * @return the exit status of the program (0 unless it called Sys.exit)
+     */
+    public int interpret() {
+        this.hierarchy = this.root.getHierarchy();
+        this.layouts = new Hashtable<>();
+        ClassLayout.buildLayouts(this.root, null, this.layouts);
+        new SlotResolverVisitor(this.layouts).resolve(this.root);
+
+        //the method tables are filled before any method is compiled,
+        //so that calls can be resolved to their method tables
+        this.fieldInitializers = new Hashtable<>();
+        this.instantiators = new Hashtable<>();
+        this.memberGenerator = new BuiltInMemberGenerator(this);
+        this.buildClasses(this.root, new ArrayList<>(), new ArrayList<>());
+        this.arrayMethods = new MethodTable();
+        this.arrayMethods.putAll(this.layouts.get("Object").getMethods());
+        this.memberGenerator.genArrayMembers(this.arrayMethods);
+        new BytecodeCompiler(this).compile(this.root);
+
+        int status = 0;
+        try {
+            ObjectData mainObject = this.newObject("Main");
+            mainObject.getMethod("main").execute(mainObject, new Object[0]);
+        }
+        catch (BantamException e){
+            this.memberGenerator.printError(e.getMessage());
+        }
+        catch (ProgramExit e){
+            status = e.getStatus();
+        }
+        catch (StackOverflowError e){
+            //the calls made by builtin methods and field initializers still nest Java calls
+            this.memberGenerator.printError("StackOverflowError: the call stack is too deep");
+            status = 1;
+        }
+        finally {
+            this.memberGenerator.flushOutput();
+        }
+        return status;
+    }
+
+    /**
+     * Builds the method tables and instantiators of a class and all of its subclasses.
+     * The methods and field initializers declared in the classes are left to be compiled.
+     * @param classTreeNode the root of the (sub)tree of classes
+     * @param initializers the field initializers of the ancestors
+     * @param hiddenFieldClasses the builtin ancestors with hidden fields
+     */
+    private void buildClasses(ClassTreeNode classTreeNode, List<VMMethod> initializers,
+                              List<String> hiddenFieldClasses) {
+        String className = classTreeNode.getName();
+        ClassLayout layout = this.layouts.get(className);
+        MethodTable methods = layout.getMethods();
+        if (layout.getParent() != null) {
+            methods.putAll(layout.getParent().getMethods());
+        }
+
+        if (classTreeNode.isBuiltIn()) {
+            this.memberGenerator.genMembers(className, methods);
+        }
+        VMMethod fieldInitializer = null;
+        for (ASTNode member : classTreeNode.getASTNode().getMemberList()) {
+            if (member instanceof Method && !classTreeNode.isBuiltIn()) {
+                methods.put(((Method) member).getName(), new VMMethod(this, (Method) member));
+            }
+            else if (member instanceof Field && fieldInitializer == null) {
+                fieldInitializer = new VMMethod(this, className + ".<init>", "void");
+                this.fieldInitializers.put(className, fieldInitializer);
+            }
+        }
+
+        List<VMMethod> classInitializers = new ArrayList<>(initializers);
+        classInitializers.add(fieldInitializer);
+        List<String> classHiddenFields = new ArrayList<>(hiddenFieldClasses);
+        classHiddenFields.add(BuiltInMemberGenerator.getHiddenFields(className).length > 0
+                ? className : null);
+        this.instantiators.put(className, new Instantiator(this, layout,
+                classInitializers.toArray(new VMMethod[0]),
+                classHiddenFields.toArray(new String[0])));
+
+        Iterator<ClassTreeNode> children = classTreeNode.getChildrenList();
+        while (children.hasNext()) {
+            this.buildClasses(children.next(), classInitializers, classHiddenFields);
+        }
+    }
+
+    /**
+     * Gets the layout of the fields and methods of a class
+     * @param className the name of the class
+     * @return the class layout
+     */
+    public ClassLayout getClassLayout(String className) {
+        return this.layouts.get(className);
+    }
+
+    /**
+     * Creates a new object of a class, initializing its fields
+     * @param type the name of the class
+     * @return the new object
+     */
+    public ObjectData newObject(String type) {
+        return this.instantiators.get(type).instantiate();
+    }
+
+    /**
+     * Creates a new array
+     * @param type the type of the array
+     * @param length the length of the array
+     * @return the new array
+     */
+    public ArrayData newArray(String type, int length) {
+        return ArrayData.newArray(type, length, this.arrayMethods, this.layouts);
+    }
+
+    /**
+     * Gets the largest array length a program may create
+     * @return the largest array length
+     */
+    int getMaxArrayLength() {
+        return this.maxArrayLength;
+    }
+
+    /**
+     * Gets the method initializing the fields a class declares
+     * @param className the name of the class
+     * @return the field initializer, or null if the class declares no fields
+     */
+    VMMethod getFieldInitializer(String className) {
+        return this.fieldInitializers.get(className);
+    }
+
+    /**
+     * Gets the instantiator creating the objects of a class
+     * @param className the name of the class
+     * @return the instantiator
+     */
+    Instantiator getInstantiator(String className) {
+        return this.instantiators.get(className);
+    }
+
+    /**
+     * Gets the generator of the members of the builtin classes
+     * @return the member generator
+     */
+    BuiltInMemberGenerator getMemberGenerator() {
+        return this.memberGenerator;
+    }
+
+    /**
+     * Gets the method table shared by all arrays
+     * @return the method table of arrays
+     */
+    MethodTable getArrayMethods() {
+        return this.arrayMethods;
+    }
+
+    /**
+     * Gets the int or boolean value returned by the last method that returned one
+     * @return the value (booleans as 0 or 1)
+     */
+    int getIntResult() {
+        return this.intResult;
+    }
+
+    /**
+     * Creates a new BantamException and its corresponding Exception object
+     * @param type the type of the Exception
+     * @param message the Exception message
+     * @return the Java exception, to be thrown by the caller
+     */
+    private BantamException newException(String type, String message) {
+        ObjectData error = this.newObject(type);
+        this.memberGenerator.setMessage(error, this.memberGenerator.newString(message));
+        return this.memberGenerator.getException(error);
+    }
+
+    /**
+     * Throws an ArrayIndexOutOfBoundsException if an index is out of the bounds of an array
+     * @param array the array
+     * @param index the index
+     */
+    private void checkBounds(ArrayData array, int index) {
+        if (index >= array.getLength() || index < 0) {
+            throw this.newException("ArrayIndexOutOfBoundsException",
+                    "Index " + index + " out of bounds.");
+        }
+    }
+
+    /**
+     * Runs a method, along with all of the compiled methods it calls
+     * @param method the method
+     * @param thisObject the object the method is called on
+     * @param intRegisters the int registers of the call, holding the int and boolean
+     *                     arguments
+     * @param refRegisters the object registers of the call, holding the object arguments
+     * @return the object returned by the method (an int or boolean result is left in
+     *         intResult instead)
+     */
+    Object run(VMMethod method, ObjectData thisObject, int[] intRegisters,
+               Object[] refRegisters) {
+        return this.run(method, thisObject, intRegisters, refRegisters, 0);
+    }
+
+    /**
+     * Runs a method, along with all of the compiled methods it calls.  The first calls
+     * are run in nested runs, on the Java stack, which is the fastest way to run them;
+     * deeper calls go on the frame stack.
+     * @param method the method
+     * @param thisObject the object the method is called on
+     * @param intRegisters the int registers of the call, holding the int and boolean
+     *                     arguments
+     * @param refRegisters the object registers of the call, holding the object arguments
+     * @param nestedRuns the number of runs this run is nested in
+     * @return the object returned by the method (an int or boolean result is left in
+     *         intResult instead)
+     */
+    private Object run(VMMethod method, ObjectData thisObject, int[] intRegisters,
+                       Object[] refRegisters, int nestedRuns) {
+        //the frames below base belong to the runs this run is nested in
+        int base = this.numFrames;
+        int[] code = method.code;
+        Object[] constants = method.constants;
+        int[] iregs = intRegisters;
+        Object[] oregs = refRegisters;
+        int pc = 0;
+        int start = 0;
+        while (true) {
+            try {
+                while (true) {
+                    start = pc;
+                    switch (code[pc]) {
+                        case JUMP:
+                            pc = code[pc + 1];
+                            break;
+                        case IF_TRUE:
+                            pc = iregs[code[pc + 1]] != 0 ? code[pc + 2] : pc + 3;
+                            break;
+                        case IF_FALSE:
+                            pc = iregs[code[pc + 1]] == 0 ? code[pc + 2] : pc + 3;
+                            break;
+                        case IF_EQ:
+                            pc = iregs[code[pc + 1]] == iregs[code[pc + 2]] ? code[pc + 3] : pc + 4;
+                            break;
+                        case IF_NE:
+                            pc = iregs[code[pc + 1]] != iregs[code[pc + 2]] ? code[pc + 3] : pc + 4;
+                            break;
+                        case IF_LT:
+                            pc = iregs[code[pc + 1]] < iregs[code[pc + 2]] ? code[pc + 3] : pc + 4;
+                            break;
+                        case IF_LE:
+                            pc = iregs[code[pc + 1]] <= iregs[code[pc + 2]] ? code[pc + 3] : pc + 4;
+                            break;
+                        case IF_GT:
+                            pc = iregs[code[pc + 1]] > iregs[code[pc + 2]] ? code[pc + 3] : pc + 4;
+                            break;
+                        case IF_GE:
+                            pc = iregs[code[pc + 1]] >= iregs[code[pc + 2]] ? code[pc + 3] : pc + 4;
+                            break;
+                        case IF_REF_EQ:
+                            pc = oregs[code[pc + 1]] == oregs[code[pc + 2]] ? code[pc + 3] : pc + 4;
+                            break;
+                        case IF_REF_NE:
+                            pc = oregs[code[pc + 1]] != oregs[code[pc + 2]] ? code[pc + 3] : pc + 4;
+                            break;
+                        case INDIRCALL:
+                        case DIRCALL: {
+                            ObjectData receiver = (ObjectData) oregs[code[pc + 4]];
+                            MethodBody body = code[pc] == INDIRCALL
+                                    ? receiver.getMethod(code[pc + 3])
+                                    : (MethodBody) constants[code[pc + 3]];
+                            if (nestedRuns < MAX_NESTED_RUNS || !(body instanceof VMMethod)) {
+                                pc = this.call(body, receiver, code, pc, iregs, oregs,
+                                        nestedRuns + 1);
+                                break;
+                            }
+
+                            //the caller waits on the frame stack while the callee runs
+                            VMMethod callee = (VMMethod) body;
+                            int[] calleeIregs = callee.newIntRegisters();
+                            Object[] calleeOregs = callee.newRefRegisters();
+                            passArguments(callee, code, pc, iregs, oregs, calleeIregs,
+                                    calleeOregs);
+                            this.pushFrame(method, thisObject, iregs, oregs, pc);
+                            method = callee;
+                            code = callee.code;
+                            constants = callee.constants;
+                            thisObject = receiver;
+                            iregs = calleeIregs;
+                            oregs = calleeOregs;
+                            pc = 0;
+                            break;
+                        }
+                        case RETN:
+                        case RETN_INT:
+                        case RETN_REF: {
+                            Object result = null;
+                            if (code[pc] == RETN_INT) {
+                                this.intResult = iregs[code[pc + 1]];
+                            }
+                            else if (code[pc] == RETN_REF) {
+                                result = oregs[code[pc + 1]];
+                            }
+                            if (this.numFrames == base) {
+                                return result;
+                            }
+
+                            //back to the caller, storing the result of its call
+                            int frame = --this.numFrames;
+                            method = this.frameMethods[frame];
+                            code = method.code;
+                            constants = method.constants;
+                            thisObject = this.frameObjects[frame];
+                            iregs = this.frameIntRegisters[frame];
+                            oregs = this.frameRefRegisters[frame];
+                            pc = this.framePcs[frame];
+                            int destKind = code[pc + 2];
+                            if (destKind == INT || destKind == BOOLEAN) {
+                                iregs[code[pc + 1]] = this.intResult;
+                            }
+                            else if (destKind == REF) {
+                                oregs[code[pc + 1]] = result;
+                            }
+                            pc += 6 + 2 * code[pc + 5];
+                            break;
+                        }
+                        case MOVE_INT:
+                            iregs[code[pc + 1]] = iregs[code[pc + 2]];
+                            pc += 3;
+                            break;
+                        case MOVE_REF:
+                            oregs[code[pc + 1]] = oregs[code[pc + 2]];
+                            pc += 3;
+                            break;
+                        case LDCONST_INT:
+                            iregs[code[pc + 1]] = code[pc + 2];
+                            pc += 3;
+                            break;
+                        case LDCONST_REF:
+                            oregs[code[pc + 1]] = constants[code[pc + 2]];
+                            pc += 3;
+                            break;
+                        case LDTHIS:
+                            oregs[code[pc + 1]] = thisObject;
+                            pc += 2;
+                            break;
+                        case LDFIELD_INT:
+                            iregs[code[pc + 1]] = (int) thisObject.getField(code[pc + 2]);
+                            pc += 3;
+                            break;
+                        case LDFIELD_BOOLEAN:
+                            iregs[code[pc + 1]] = (boolean) thisObject.getField(code[pc + 2]) ? 1 : 0;
+                            pc += 3;
+                            break;
+                        case LDFIELD_REF:
+                            oregs[code[pc + 1]] = thisObject.getField(code[pc + 2]);
+                            pc += 3;
+                            break;
+                        case STFIELD_INT:
+                            thisObject.setField(code[pc + 1], iregs[code[pc + 2]]);
+                            pc += 3;
+                            break;
+                        case STFIELD_BOOLEAN:
+                            thisObject.setField(code[pc + 1], iregs[code[pc + 2]] != 0);
+                            pc += 3;
+                            break;
+                        case STFIELD_REF:
+                            thisObject.setField(code[pc + 1], oregs[code[pc + 2]]);
+                            pc += 3;
+                            break;
+                        case LDELEM_INT: {
+                            IntArrayData array = (IntArrayData) oregs[code[pc + 2]];
+                            int index = iregs[code[pc + 3]];
+                            this.checkBounds(array, index);
+                            iregs[code[pc + 1]] = array.getInt(index);
+                            pc += 4;
+                            break;
+                        }
+                        case LDELEM_BOOLEAN: {
+                            BooleanArrayData array = (BooleanArrayData) oregs[code[pc + 2]];
+                            int index = iregs[code[pc + 3]];
+                            this.checkBounds(array, index);
+                            iregs[code[pc + 1]] = array.getBoolean(index) ? 1 : 0;
+                            pc += 4;
+                            break;
+                        }
+                        case LDELEM_REF: {
+                            ObjectArrayData array = (ObjectArrayData) oregs[code[pc + 2]];
+                            int index = iregs[code[pc + 3]];
+                            this.checkBounds(array, index);
+                            oregs[code[pc + 1]] = array.getItem(index);
+                            pc += 4;
+                            break;
+                        }
+                        case STELEM_INT: {
+                            IntArrayData array = (IntArrayData) oregs[code[pc + 1]];
+                            int index = iregs[code[pc + 2]];
+                            this.checkBounds(array, index);
+                            array.setInt(index, iregs[code[pc + 3]]);
+                            pc += 4;
+                            break;
+                        }
+                        case STELEM_BOOLEAN: {
+                            BooleanArrayData array = (BooleanArrayData) oregs[code[pc + 1]];
+                            int index = iregs[code[pc + 2]];
+                            this.checkBounds(array, index);
+                            array.setBoolean(index, iregs[code[pc + 3]] != 0);
+                            pc += 4;
+                            break;
+                        }
+                        case STELEM_REF: {
+                            ObjectArrayData array = (ObjectArrayData) oregs[code[pc + 1]];
+                            if (!array.canStore(code[pc + 4])) {
+                                throw this.newException("ArrayStoreException",
+                                        "Cannot assign an array element of type "
+                                                + constants[code[pc + 5]]
+                                                + " to an array of dynamic type "
+                                                + array.getType() + ".");
+                            }
+                            int index = iregs[code[pc + 2]];
+                            this.checkBounds(array, index);
+                            array.setItem(index, oregs[code[pc + 3]]);
+                            pc += 6;
+                            break;
+                        }
+                        case ARRAYLEN:
+                            iregs[code[pc + 1]] = ((ArrayData) oregs[code[pc + 2]]).getLength();
+                            pc += 3;
+                            break;
+                        case NULLCHECK:
+                            if (oregs[code[pc + 1]] == null) {
+                                throw this.newException("NullPointerException",
+                                        (String) constants[code[pc + 2]]);
+                            }
+                            pc += 3;
+                            break;
+                        case NEG:
+                            iregs[code[pc + 1]] = -iregs[code[pc + 2]];
+                            pc += 3;
+                            break;
+                        case NOT:
+                            iregs[code[pc + 1]] = iregs[code[pc + 2]] ^ 1;
+                            pc += 3;
+                            break;
+                        case ADD:
+                            iregs[code[pc + 1]] = iregs[code[pc + 2]] + iregs[code[pc + 3]];
+                            pc += 4;
+                            break;
+                        case SUB:
+                            iregs[code[pc + 1]] = iregs[code[pc + 2]] - iregs[code[pc + 3]];
+                            pc += 4;
+                            break;
+                        case MUL:
+                            iregs[code[pc + 1]] = iregs[code[pc + 2]] * iregs[code[pc + 3]];
+                            pc += 4;
+                            break;
+                        case DIV:
+                        case MOD: {
+                            int divisor = iregs[code[pc + 3]];
+                            if (divisor == 0) {
+                                throw this.newException("DivideByZeroException",
+                                        (String) constants[code[pc + 4]]);
+                            }
+                            iregs[code[pc + 1]] = code[pc] == DIV ? iregs[code[pc + 2]] / divisor
+                                    : iregs[code[pc + 2]] % divisor;
+                            pc += 5;
+                            break;
+                        }
+                        case ADDI:
+                            iregs[code[pc + 1]] = iregs[code[pc + 2]] + code[pc + 3];
+                            pc += 4;
+                            break;
+                        case EQ:
+                            iregs[code[pc + 1]] = iregs[code[pc + 2]] == iregs[code[pc + 3]] ? 1 : 0;
+                            pc += 4;
+                            break;
+                        case NE:
+                            iregs[code[pc + 1]] = iregs[code[pc + 2]] != iregs[code[pc + 3]] ? 1 : 0;
+                            pc += 4;
+                            break;
+                        case LT:
+                            iregs[code[pc + 1]] = iregs[code[pc + 2]] < iregs[code[pc + 3]] ? 1 : 0;
+                            pc += 4;
+                            break;
+                        case LE:
+                            iregs[code[pc + 1]] = iregs[code[pc + 2]] <= iregs[code[pc + 3]] ? 1 : 0;
+                            pc += 4;
+                            break;
+                        case GT:
+                            iregs[code[pc + 1]] = iregs[code[pc + 2]] > iregs[code[pc + 3]] ? 1 : 0;
+                            pc += 4;
+                            break;
+                        case GE:
+                            iregs[code[pc + 1]] = iregs[code[pc + 2]] >= iregs[code[pc + 3]] ? 1 : 0;
+                            pc += 4;
+                            break;
+                        case REF_EQ:
+                            iregs[code[pc + 1]] = oregs[code[pc + 2]] == oregs[code[pc + 3]] ? 1 : 0;
+                            pc += 4;
+                            break;
+                        case REF_NE:
+                            iregs[code[pc + 1]] = oregs[code[pc + 2]] != oregs[code[pc + 3]] ? 1 : 0;
+                            pc += 4;
+                            break;
+                        case NEW:
+                            oregs[code[pc + 1]] = ((Instantiator) constants[code[pc + 2]]).instantiate();
+                            pc += 3;
+                            break;
+                        case NEWSTR:
+                            oregs[code[pc + 1]] = this.memberGenerator.newString("");
+                            pc += 2;
+                            break;
+                        case NEWARRAY: {
+                            int size = iregs[code[pc + 2]];
+                            if (size > this.maxArrayLength || size < 0) {
+                                throw this.newException("ArraySizeException",
+                                        "Size must be in range 0 to " + this.maxArrayLength + ".");
+                            }
+                            oregs[code[pc + 1]] = this.newArray((String) constants[code[pc + 3]], size);
+                            pc += 4;
+                            break;
+                        }
+                        case INSTANCEOF: {
+                            ObjectData obj = (ObjectData) oregs[code[pc + 2]];
+                            iregs[code[pc + 1]] = obj == null || InterpreterVisitor.isAncestorOf(
+                                    this.hierarchy, (String) constants[code[pc + 3]], obj.getType())
+                                    ? 1 : 0;
+                            pc += 4;
+                            break;
+                        }
+                        case CAST: {
+                            ObjectData obj = (ObjectData) oregs[code[pc + 2]];
+                            String type = (String) constants[code[pc + 3]];
+                            if (obj != null && !InterpreterVisitor.isAncestorOf(this.hierarchy,
+                                    type, obj.getType())) {
+                                throw this.newException("ClassCastException",
+                                        "Cannot cast object of type " + obj.getType() + " to type "
+                                                + type + " on line " + code[pc + 4]);
+                            }
+                            oregs[code[pc + 1]] = obj;
+                            pc += 5;
+                            break;
+                        }
+                        case THROW: {
+                            ObjectData data = (ObjectData) oregs[code[pc + 1]];
+                            if (data == null) {
+                                throw this.newException("NullPointerException",
+                                        "The value null was thrown on line " + code[pc + 2]);
+                            }
+                            throw this.memberGenerator.getException(data);
+                        }
+                        default:
+                            throw new IllegalStateException("Bad opcode " + code[pc]
+                                    + " in " + method.getName());
+                    }
+                }
+            }
+            catch (BantamException e) {
+                //unwinding the frame stack until a method catches the exception,
+                //at the call the exception came out of
+                int handler = this.findHandler(method, start, e);
+                while (handler < 0) {
+                    if (this.numFrames == base) {
+                        throw e;
+                    }
+                    int frame = --this.numFrames;
+                    method = this.frameMethods[frame];
+                    code = method.code;
+                    constants = method.constants;
+                    thisObject = this.frameObjects[frame];
+                    iregs = this.frameIntRegisters[frame];
+                    oregs = this.frameRefRegisters[frame];
+                    start = this.framePcs[frame];
+                    handler = this.findHandler(method, start, e);
+                }
+                oregs[method.handlers[handler + 4]] = e.getExceptionObject();
+                pc = method.handlers[handler + 2];
+            }
+        }
+    }
+
+    /**
+     * Pushes the state of a caller onto the frame stack
+     * @param method the calling method
+     * @param thisObject the object the calling method was called on
+     * @param iregs the int registers of the calling method
+     * @param oregs the object registers of the calling method
+     * @param pc the offset of the call instruction
+     */
+    private void pushFrame(VMMethod method, ObjectData thisObject, int[] iregs,
+                           Object[] oregs, int pc) {
+        int frame = this.numFrames;
+        if (frame == this.framePcs.length) {
+            this.growFrames(method);
+        }
+        this.frameMethods[frame] = method;
+        this.frameObjects[frame] = thisObject;
+        this.frameIntRegisters[frame] = iregs;
+        this.frameRefRegisters[frame] = oregs;
+        this.framePcs[frame] = pc;
+        this.numFrames = frame + 1;
+    }
+
+    /**
+     * Doubles the room on the frame stack, up to the frame budget
+     * @param method the calling method (for the error message)
+     */
+    private void growFrames(VMMethod method) {
+        int length = this.framePcs.length;
+        if (length >= this.maxFrames) {
+            this.memberGenerator.printError("StackOverflowError: more than "
+                    + this.maxFrames + " frames on the call stack, calling from "
+                    + method.getName());
+            throw new ProgramExit(1);
+        }
+        length = (int) Math.min(2L * length, this.maxFrames);
+        this.frameMethods = Arrays.copyOf(this.frameMethods, length);
+        this.frameObjects = Arrays.copyOf(this.frameObjects, length);
+        this.frameIntRegisters = Arrays.copyOf(this.frameIntRegisters, length);
+        this.frameRefRegisters = Arrays.copyOf(this.frameRefRegisters, length);
+        this.framePcs = Arrays.copyOf(this.framePcs, length);
+    }
+
+    /**
+     * Finds the handler catching an exception thrown by an instruction
+     * @param method the method the instruction is in
+     * @param pc the offset of the instruction
+     * @param e the exception
+     * @return the index of the handler in the method's handlers, or -1 if no handler
+     *         catches the exception
+     */
+    private int findHandler(VMMethod method, int pc, BantamException e) {
+        int[] handlers = method.handlers;
+        ObjectData exception = e.getExceptionObject();
+        for (int i = 0; i < handlers.length; i += 5) {
+            if (pc >= handlers[i] && pc < handlers[i + 1] && InterpreterVisitor.isAncestorOf(
+                    this.hierarchy, (String) method.constants[handlers[i + 3]],
+                    exception.getType())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Calls a method, passing the arguments of a call instruction.  Compiled methods
+     * get their arguments in their registers and are run in a nested run; other
+     * methods get them boxed.
+     * @param body the method to call
+     * @param receiver the object the method is called on
+     * @param code the code of the calling method
+     * @param pc the offset of the call instruction
+     * @param iregs the int registers of the calling method
+     * @param oregs the object registers of the calling method
+     * @param nestedRuns the number of runs a nested run of the method is nested in
+     * @return the offset of the instruction after the call
+     */
+    private int call(MethodBody body, ObjectData receiver, int[] code, int pc,
+                     int[] iregs, Object[] oregs, int nestedRuns) {
+        int dest = code[pc + 1];
+        int destKind = code[pc + 2];
+        int numArgs = code[pc + 5];
+        int args = pc + 6;
+        Object result;
+        if (body instanceof VMMethod) {
+            VMMethod callee = (VMMethod) body;
+            int[] calleeIregs = callee.newIntRegisters();
+            Object[] calleeOregs = callee.newRefRegisters();
+            passArguments(callee, code, pc, iregs, oregs, calleeIregs, calleeOregs);
+            result = this.run(callee, receiver, calleeIregs, calleeOregs, nestedRuns);
+            if (destKind == INT || destKind == BOOLEAN) {
+                iregs[dest] = this.intResult;
+            }
+        }
+        else {
+            Object[] values = new Object[numArgs];
+            for (int i = 0; i < numArgs; i++) {
+                int reg = code[args + 2 * i + 1];
+                switch (code[args + 2 * i]) {
+                    case INT:
+                        values[i] = iregs[reg];
+                        break;
+                    case BOOLEAN:
+                        values[i] = iregs[reg] != 0;
+                        break;
+                    default:
+                        values[i] = oregs[reg];
+                }
+            }
+            result = body.execute(receiver, values);
+            if (destKind == INT) {
+                iregs[dest] = (int) result;
+            }
+            else if (destKind == BOOLEAN) {
+                iregs[dest] = (boolean) result ? 1 : 0;
+            }
+        }
+        if (destKind == REF) {
+            oregs[dest] = result;
+        }
+        return args + 2 * numArgs;
+    }
+
+    /**
+     * Passes the arguments of a call instruction in the registers of a compiled method
+     * @param callee the method called
+     * @param code the code of the calling method
+     * @param pc the offset of the call instruction
+     * @param iregs the int registers of the calling method
+     * @param oregs the object registers of the calling method
+     * @param calleeIregs the int registers of the call
+     * @param calleeOregs the object registers of the call
+     */
+    private static void passArguments(VMMethod callee, int[] code, int pc, int[] iregs,
+                                      Object[] oregs, int[] calleeIregs,
+                                      Object[] calleeOregs) {
+        int numArgs = code[pc + 5];
+        int args = pc + 6;
+        for (int i = 0; i < numArgs; i++) {
+            int reg = code[args + 2 * i + 1];
+            if (code[args + 2 * i] == REF) {
+                calleeOregs[callee.getFormalSlot(i)] = oregs[reg];
+            }
+            else {
+                calleeIregs[callee.getFormalSlot(i)] = iregs[reg];
+            }
+        }
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * File: BatchRunnerTest.java
+ * Author: Phoebe Hughes, Siyuan Li, Joseph Malionek
+ * Date: 10/18/26
+ */
+
+package bantam;
+
+import bantam.interp.ArrayData;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that a batch finds the input file of each program as the test programs name
+ * them, and compiles the programs with either lexer
+ */
+public class BatchRunnerTest {
+
+    /**
+     * A program which echoes a line and an int of its standard input
+     */
+    private static final String ECHO = "class Main { void main() { "
+            + "TextIO io = new TextIO(); "
+            + "io.putString(io.getString()); io.putInt(io.getInt() + 1); } }";
+
+    /**
+     * The directory of the programs and their input files
+     */
+    private File directory;
+
+    /**
+     * Creates the directory of the programs
+     * @throws Exception if it cannot be created
+     */
+    @Before
+    public void createDirectory() throws Exception {
+        this.directory = Files.createTempDirectory("BatchRunnerTest").toFile();
+    }
+
+    /**
+     * Deletes the directory of the programs
+     */
+    @After
+    public void deleteDirectory() {
+        File[] files = this.directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        this.directory.delete();
+    }
+
+    /**
+     * Writes a file in the directory of the programs
+     * @param name the name of the file
+     * @param contents the contents of the file
+     * @return the file
+     * @throws Exception if the file cannot be written
+     */
+    private File writeFile(String name, String contents) throws Exception {
+        File file = new File(this.directory, name);
+        Files.write(file.toPath(), contents.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    /**
+     * Runs a batch of programs on two threads
+     * @param fastLex whether the programs are scanned with the hand written lexer
+     * @param files the source files of the programs
+     * @return the output of the batch
+     */
+    private String runBatch(boolean fastLex, File... files) {
+        String[] filenames = new String[files.length];
+        for (int i = 0; i < files.length; i++) {
+            filenames[i] = files[i].getPath();
+        }
+        BatchRunner batchRunner = new BatchRunner(filenames, 2,
+                ArrayData.DEFAULT_MAX_LENGTH);
+        batchRunner.setFastLex(fastLex);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        PrintStream oldOut = System.out;
+        PrintStream oldErr = System.err;
+        System.setOut(new PrintStream(output, true));
+        System.setErr(new PrintStream(new ByteArrayOutputStream()));
+        try {
+            batchRunner.run();
+        }
+        finally {
+            System.setOut(oldOut);
+            System.setErr(oldErr);
+        }
+        //the header of each program gives its directory and run time, which change
+        //from run to run (and follows output that does not end its line)
+        return output.toString().replaceAll(
+                "==> [^\\n]*[/\\\\](\\w+\\.btm) \\(exit (\\d+)[^\\n]*", "==> $1 exit $2");
+    }
+
+    /**
+     * Tests that the input file is the one named in lower case with hyphens between
+     * words, and that a file with the program's own name comes first
+     * @throws Exception if the test fails
+     */
+    @Test
+    public void findInputFileTest() throws Exception {
+        File io = this.writeFile("IO.btm", ECHO);
+        File primesSieves = this.writeFile("PrimesSieves.btm", ECHO);
+        File subStringError = this.writeFile("SubStringError1.btm", ECHO);
+        File noInput = this.writeFile("NoInput.btm", ECHO);
+        this.writeFile("io.input", "");
+        this.writeFile("primes-sieves.input", "");
+        this.writeFile("substring-error1.input", "");
+        this.writeFile("PrimesSieves.input", "");
+
+        assertEquals("io.input", BatchRunner.findInputFile(io).getName());
+        assertEquals("PrimesSieves.input",
+                BatchRunner.findInputFile(primesSieves).getName());
+        assertEquals("substring-error1.input",
+                BatchRunner.findInputFile(subStringError).getName());
+        assertNull(BatchRunner.findInputFile(noInput));
+    }
+
+    /**
+     * Tests that programs of a batch read their input files, with either lexer
+     * @throws Exception if the test fails
+     */
+    @Test
+    public void readInputTest() throws Exception {
+        File echoLine = this.writeFile("EchoLine.btm", ECHO);
+        File noInput = this.writeFile("NoInput.btm",
+                "class Main { void main() { new TextIO().putString(\"none\"); } }");
+        this.writeFile("echo-line.input", "hello\n41\n");
+        String expected = "==> EchoLine.btm exit 0\nhello42"
+                + "==> NoInput.btm exit 0\nnone";
+        assertEquals(expected, this.runBatch(false, echoLine, noInput));
+        assertEquals(expected, this.runBatch(true, echoLine, noInput));
+    }
+
+    /**
+     * Tests that a batch scans with the lexer it is given: a character outside the
+     * 7-bit character map of the JLex generated lexer makes it fail, while the hand
+     * written lexer reports an illegal character
+     * @throws Exception if the test fails
+     */
+    @Test
+    public void fastLexTest() throws Exception {
+        File nonAscii = this.writeFile("NonAscii.btm",
+                "class Main { void main() { int \u00e9 = 1; } }");
+        String output = this.runBatch(false, nonAscii);
+        assertTrue(output, output.contains("out of bounds"));
+        output = this.runBatch(true, nonAscii);
+        assertTrue(output, output.startsWith("==> NonAscii.btm exit 1\n"));
+        assertTrue(output, output.contains("is an illegal character"));
+    }
+}
@@ -0,0 +1,335 @@
+/*
+ * File: EngineTest.java
+ * Author: Phoebe Hughes, Siyuan Li, Joseph Malionek
+ * Date: 10/18/26
+ */
+
+package bantam.interp;
+
+import bantam.ast.Program;
+import bantam.interp.fast.FastInterpreter;
+import bantam.lexer.Lexer;
+import bantam.parser.Parser;
+import bantam.semant.SemanticAnalyzer;
+import bantam.util.ClassTreeNode;
+import bantam.vm.VirtualMachine;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that the three execution engines (-int, -int fast and -int vm) run programs
+ * the same way: the same output, errors and exit status.  The test programs that
+ * compile are run on every engine and compared with the plain interpreter, and
+ * smaller programs check casts, array stores, exceptions, dispatch and recursion.
+ */
+public class EngineTest {
+
+    /**
+     * The engines, as named by the -int flag
+     */
+    private static final String[] ENGINES = {"int", "fast", "vm"};
+
+    /**
+     * The stack size of the thread the programs run on, since the plain interpreter
+     * and the closure compiler nest Java calls as deep as the program recurses
+     */
+    private static final long STACK_SIZE = 64L << 20;
+
+    /**
+     * Helper method which creates a Main class whose main method runs the given
+     * statements, with the given members
+     *
+     * @param members The members of the Main class
+     * @param mainBody The statements of the main method
+     * @return the complete string of the class
+     */
+    private String createMain(String members, String mainBody) {
+        return "class Main { " + members + " void main() { TextIO io = new TextIO(); "
+                + mainBody + " } }";
+    }
+
+    /**
+     * Compiles and runs a program with one of the engines, on a thread with a large
+     * stack.  The engines write to the standard streams of the JVM, so they are
+     * replaced while the program runs.
+     *
+     * @param programString The program
+     * @param engine The engine
+     * @param input The standard input of the program
+     * @return The output of the program (standard output and error), followed by
+     *         its exit status
+     * @throws Exception if the program does not compile
+     */
+    private String run(String programString, String engine, String input)
+            throws Exception {
+        Parser parser = new Parser(new Lexer(new StringReader(programString)));
+        Program program = (Program) parser.parse().value;
+        ClassTreeNode root = new SemanticAnalyzer(program, false).analyze();
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        PrintStream out = new PrintStream(output, true);
+        InputStream oldIn = System.in;
+        PrintStream oldOut = System.out;
+        PrintStream oldErr = System.err;
+        System.setIn(new ByteArrayInputStream(input.getBytes()));
+        System.setOut(out);
+        System.setErr(out);
+        FutureTask<Integer> task = new FutureTask<>(() -> {
+            if (engine.equals("fast")) {
+                return new FastInterpreter(root, false).interpret();
+            }
+            else if (engine.equals("vm")) {
+                return new VirtualMachine(root, false).interpret();
+            }
+            else {
+                return new Interpreter(root, false).interpret();
+            }
+        });
+        int status;
+        try {
+            Thread thread = new Thread(null, task, "EngineTest", STACK_SIZE);
+            thread.start();
+            status = task.get();
+        }
+        catch (ExecutionException e) {
+            throw new RuntimeException(engine + " failed", e.getCause());
+        }
+        finally {
+            System.setIn(oldIn);
+            System.setOut(oldOut);
+            System.setErr(oldErr);
+        }
+        out.flush();
+        return output.toString() + "exit " + status;
+    }
+
+    /**
+     * Runs a program with every engine and checks that each gives the expected output
+     *
+     * @param programString The program
+     * @param input The standard input of the program
+     * @param expectedOutput The output the program must print, followed by its exit
+     *                       status
+     * @throws Exception if the test fails
+     */
+    private void checkEngines(String programString, String input, String expectedOutput)
+            throws Exception {
+        for (String engine : ENGINES) {
+            assertEquals(engine, expectedOutput, this.run(programString, engine, input));
+        }
+    }
+
+    /**
+     * Runs a test program with every engine and checks that they give the same output
+     * as the plain interpreter, apart from the hash codes of objects (and, for a
+     * program using the time or random numbers of Sys, all numbers)
+     *
+     * @param filename The test program
+     * @param input The standard input of the program
+     * @param maskNumbers Whether the numbers of the output are ignored
+     * @throws Exception if the test fails
+     */
+    private void checkTestFile(String filename, String input, boolean maskNumbers)
+            throws Exception {
+        String programString = new String(Files.readAllBytes(Paths.get(filename)),
+                StandardCharsets.UTF_8);
+        String expectedOutput = null;
+        for (String engine : ENGINES) {
+            String output = this.run(programString, engine, input)
+                    .replaceAll("@[0-9a-f]+", "@");
+            if (maskNumbers) {
+                output = output.replaceAll("-?[0-9]+", "0");
+            }
+            if (expectedOutput == null) {
+                expectedOutput = output;
+            }
+            assertEquals(filename + " on " + engine, expectedOutput, output);
+        }
+    }
+
+    /**
+     * Tests the test programs that compile: the programs of ourTestFiles and the
+     * programs of testfiles that this grammar parses
+     * @throws Exception if the test fails
+     */
+    @Test
+    public void testTestFiles() throws Exception {
+        this.checkTestFile("testfiles/ourTestFiles/arrayTest.btm", "", false);
+        this.checkTestFile("testfiles/ourTestFiles/exceptionTest.btm", "", false);
+        this.checkTestFile("testfiles/ourTestFiles/generalTest.btm", "", false);
+        this.checkTestFile("testfiles/ourTestFiles/ioTest.btm", "7\n", false);
+        this.checkTestFile("testfiles/ourTestFiles/sysTest.btm", "", true);
+        this.checkTestFile("testfiles/Assign.btm", "", false);
+        this.checkTestFile("testfiles/Clone.btm", "", false);
+        this.checkTestFile("testfiles/EmptyProgram.btm", "", false);
+        this.checkTestFile("testfiles/IO.btm", new String(
+                Files.readAllBytes(Paths.get("testfiles/io.input")),
+                StandardCharsets.UTF_8), false);
+        this.checkTestFile("testfiles/StringEquals.btm", "", false);
+        this.checkTestFile("testfiles/Strings.btm", "", false);
+    }
+
+    /**
+     * Tests casts up and down the class hierarchy, a cast that fails and is caught,
+     * and one that is not caught
+     * @throws Exception if the test fails
+     */
+    @Test
+    public void testCasts() throws Exception {
+        this.checkEngines("class A { int f() { return 1; } } "
+                        + "class B extends A { int f() { return 2; } } "
+                        + "class C extends A { int f() { return 3; } } "
+                        + this.createMain("",
+                        "A a = new B(); B b = (B) (a); io.putInt(b.f()); "
+                                + "Object o = a; A a2 = (A) (o); io.putInt(a2.f()); "
+                                + "try { C c = (C) (a); io.putString(\"bad\"); } "
+                                + "catch (ClassCastException e) { "
+                                + "io.putString(e.getMessage()); } "
+                                + "Object s = \"str\"; io.putString((String) (s)); "
+                                + "if (a instanceof B) { io.putString(\"B\"); } "
+                                + "if (a instanceof C) { io.putString(\"C\"); } "
+                                + "C c2 = (C) (a); io.putString(\"unreached\");"),
+                "", "22Cannot cast object of type B to type C on line 1strB"
+                        + "ClassCastException: Cannot cast object of type B to type C "
+                        + "on line 1\nexit 0");
+    }
+
+    /**
+     * Tests storing in arrays of objects, ints and booleans, and the errors of bad
+     * stores, indexes, sizes and null arrays
+     * @throws Exception if the test fails
+     */
+    @Test
+    public void testArrayStores() throws Exception {
+        this.checkEngines("class A {} class B extends A {} " + this.createMain("",
+                "A[] as = new B[2]; "
+                        + "try { as[0] = new A(); } "
+                        + "catch (ArrayStoreException e) "
+                        + "{ io.putString(e.getMessage()); } "
+                        + "as[1] = new B(); io.putInt(as.length); "
+                        + "int[] ints = new int[5]; int i = 0; "
+                        + "for (i = 0; i < 5; i++) { ints[i] = i * i; ints[i]++; } "
+                        + "io.putInt(ints[4]); "
+                        + "boolean[] bs = new boolean[2]; bs[1] = !bs[0]; "
+                        + "if (bs[1]) { io.putString(\"t\"); } "
+                        + "try { ints[5] = 1; } "
+                        + "catch (ArrayIndexOutOfBoundsException e) "
+                        + "{ io.putString(e.getMessage()); } "
+                        + "try { ints[0 - 1] = 1; } "
+                        + "catch (ArrayIndexOutOfBoundsException e) "
+                        + "{ io.putString(e.getMessage()); } "
+                        + "try { int[] neg = new int[0 - 2]; } "
+                        + "catch (ArraySizeException e) "
+                        + "{ io.putString(e.getMessage()); } "
+                        + "int[] none = null; "
+                        + "try { none[0] = 1; } catch (NullPointerException e) "
+                        + "{ io.putString(e.getMessage()); } "
+                        + "String[] strs = new String[2]; "
+                        + "if (strs[0] == null) { io.putString(\"null\"); }"),
+                "", "Cannot assign an array element of type A to an array of dynamic "
+                        + "type B[].217tIndex 5 out of bounds.Index -1 out of bounds."
+                        + "Size must be in range 0 to 1500.Array none on line 1 is null"
+                        + "nullexit 0");
+    }
+
+    /**
+     * Tests exceptions thrown through several calls, caught in loops and by an outer
+     * try, and one that is not caught
+     * @throws Exception if the test fails
+     */
+    @Test
+    public void testExceptions() throws Exception {
+        this.checkEngines("class MyException extends Exception {} "
+                        + "class Thrower { int depth(int n) { if (n == 0) { "
+                        + "MyException e = new MyException(); e.setMessage(\"deep\"); "
+                        + "throw e; } return depth(n - 1); } } "
+                        + this.createMain("",
+                        "Thrower t = new Thrower(); "
+                                + "try { t.depth(50); } catch (MyException e) "
+                                + "{ io.putString(e.getMessage()); } "
+                                + "int i = 0; for (i = 0; i < 3; i++) { "
+                                + "try { if (i == 1) { throw new Exception(); } "
+                                + "io.putInt(i); } "
+                                + "catch (Exception e) { io.putString(\"e\"); } } "
+                                + "try { try { int x = 1 / 0; } "
+                                + "catch (MyException e) { io.putString(\"wrong\"); } } "
+                                + "catch (DivideByZeroException e) "
+                                + "{ io.putString(\"outer\"); } "
+                                + "t.depth(3); io.putString(\"unreached\");"),
+                "", "deep0e2outerMyException: deep\nexit 0");
+    }
+
+    /**
+     * Tests virtual calls at a site that sees several classes, inherited fields and
+     * methods, and calls through super
+     * @throws Exception if the test fails
+     */
+    @Test
+    public void testDispatch() throws Exception {
+        this.checkEngines("class A { int x = 1; int f() { return x; } "
+                        + "int g() { return f() * 10; } } "
+                        + "class B extends A { int y = 2; int f() { return x + y; } } "
+                        + "class C extends B { int f() { return super.f() + 100; } } "
+                        + this.createMain("",
+                        "A[] as = new A[3]; as[0] = new A(); as[1] = new B(); "
+                                + "as[2] = new C(); int i = 0; int sum = 0; "
+                                + "for (i = 0; i < 30; i++) "
+                                + "{ sum = sum + as[i % 3].g(); } "
+                                + "io.putInt(sum);"),
+                "", "10700exit 0");
+    }
+
+    /**
+     * Tests recursion deeper than the default stack of a Java thread, and recursion
+     * that does not end, which every engine reports as a stack overflow
+     * @throws Exception if the test fails
+     */
+    @Test
+    public void testDeepRecursion() throws Exception {
+        this.checkEngines(this.createMain(
+                "int down(int n) { if (n == 0) { return 0; } return 1 + down(n - 1); }",
+                "io.putInt(down(20000));"), "", "20000exit 0");
+
+        String program = this.createMain("int forever(int n) { return forever(n + 1); }",
+                "io.putString(\"start\"); io.putInt(forever(0));");
+        for (String engine : ENGINES) {
+            //the virtual machine names the limit of its frame stack
+            String output = this.run(program, engine, "");
+            assertTrue(engine + ": " + output,
+                    output.startsWith("startStackOverflowError: "));
+            assertTrue(engine + ": " + output, output.endsWith("\nexit 1"));
+        }
+    }
+
+    /**
+     * Tests that arrays of every type can be stored in an Object[], and that storing
+     * an array in an array of another class still fails
+     * @throws Exception if the test fails
+     */
+    @Test
+    public void testArrayStoreOfArrays() throws Exception {
+        this.checkEngines(this.createMain("",
+                "Object[] objs = new Object[3]; "
+                        + "objs[0] = new int[2]; objs[1] = new boolean[2]; "
+                        + "objs[2] = new String[2]; "
+                        + "int[] ints = (int[]) (objs[0]); ints[1] = 5; "
+                        + "io.putInt(ints.length); io.putInt(ints[1]); "
+                        + "String[] strs = new String[1]; Object[] alias = strs; "
+                        + "try { alias[0] = new int[1]; io.putString(\"stored\"); } "
+                        + "catch (ArrayStoreException e) { io.putString(\"caught\"); }"),
+                "", "25caughtexit 0");
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * File: PurityVisitorTest.java
+ * Author: Phoebe Hughes, Siyuan Li, Joseph Malionek
+ * Date: 10/18/26
+ */
+
+package bantam.interp;
+
+import bantam.ast.ASTNode;
+import bantam.ast.Class_;
+import bantam.ast.Method;
+import bantam.ast.Program;
+import bantam.lexer.Lexer;
+import bantam.parser.Parser;
+import bantam.semant.SemanticAnalyzer;
+import bantam.util.ClassTreeNode;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.StringReader;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that memoization (-memo) never changes what a program does: the methods the
+ * PurityVisitor finds pure give the same output with and without memoization, and the
+ * methods that are not pure are not memoized.
+ */
+public class PurityVisitorTest {
+
+    /**
+     * The program that was last run with memoization
+     */
+    private Program program;
+
+    /**
+     * Helper method which creates a Main class whose main method prints the given ints
+     * after running the given statements, with the given members
+     *
+     * @param members The members of the Main class
+     * @param mainBody The statements of the main method
+     * @return the complete string of the class
+     */
+    private String createMain(String members, String mainBody) {
+        return "class Main { " + members + " void main() { TextIO io = new TextIO(); "
+                + mainBody + " } }";
+    }
+
+    /**
+     * Compiles and interprets a program
+     *
+     * @param programString The program
+     * @param memoize Whether the results of pure methods are memoized
+     * @return The output of the program (standard output and error)
+     * @throws Exception if the program does not compile
+     */
+    private String run(String programString, boolean memoize) throws Exception {
+        Parser parser = new Parser(new Lexer(new StringReader(programString)));
+        Program program = (Program) parser.parse().value;
+        ClassTreeNode root = new SemanticAnalyzer(program, false).analyze();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        PrintStream out = new PrintStream(output, true);
+        Interpreter interpreter = new Interpreter(root, false);
+        interpreter.setMemoize(memoize);
+        interpreter.setStreams(new ByteArrayInputStream(new byte[0]), out, out);
+        interpreter.interpret();
+        out.flush();
+        if (memoize) {
+            this.program = program;
+        }
+        return output.toString();
+    }
+
+    /**
+     * Runs a program with and without memoization and checks that the outputs are the
+     * same
+     *
+     * @param programString The program
+     * @param expectedOutput The output the program must print
+     * @throws Exception if the test fails
+     */
+    private void checkSameOutput(String programString, String expectedOutput)
+            throws Exception {
+        assertEquals(expectedOutput, this.run(programString, false));
+        assertEquals(expectedOutput, this.run(programString, true));
+    }
+
+    /**
+     * Finds whether a method of the program last run with memoization was found pure
+     *
+     * @param className The name of the class declaring the method
+     * @param methodName The name of the method
+     * @return whether the method was found pure
+     */
+    private boolean isPure(String className, String methodName) {
+        for (ASTNode classNode : this.program.getClassList()) {
+            if (((Class_) classNode).getName().equals(className)) {
+                for (ASTNode member : ((Class_) classNode).getMemberList()) {
+                    if (member instanceof Method
+                            && ((Method) member).getName().equals(methodName)) {
+                        return ((Method) member).isPure();
+                    }
+                }
+            }
+        }
+        throw new IllegalArgumentException(className + "." + methodName + " not found");
+    }
+
+    /**
+     * Tests that a method using only its int arguments is memoized and gives the
+     * same results
+     * @throws Exception if the test fails
+     */
+    @Test
+    public void testPureMethod() throws Exception {
+        this.checkSameOutput(this.createMain(
+                "int fib(int n) { if (n < 2) { return n; } "
+                        + "return fib(n - 1) + fib(n - 2); }",
+                "io.putInt(fib(20)); io.putInt(fib(20));"),
+                "67656765");
+        assertTrue(this.isPure("Main", "fib"));
+    }
+
+    /**
+     * Tests that a method writing a field is not memoized
+     * @throws Exception if the test fails
+     */
+    @Test
+    public void testFieldWrite() throws Exception {
+        this.checkSameOutput(this.createMain(
+                "int count = 0; int next(int x) { count = count + 1; return x + count; }",
+                "io.putInt(next(1)); io.putInt(next(1)); io.putInt(count);"),
+                "232");
+        assertFalse(this.isPure("Main", "next"));
+    }
+
+    /**
+     * Tests that a method doing I/O is not memoized
+     * @throws Exception if the test fails
+     */
+    @Test
+    public void testIO() throws Exception {
+        this.checkSameOutput(this.createMain(
+                "int echo(int x) { TextIO out = new TextIO(); out.putInt(x); return x; }",
+                "io.putInt(echo(7)); io.putInt(echo(7));"),
+                "7777");
+        assertFalse(this.isPure("Main", "echo"));
+    }
+
+    /**
+     * Tests that a method creating an object is not memoized
+     * @throws Exception if the test fails
+     */
+    @Test
+    public void testNew() throws Exception {
+        this.checkSameOutput(this.createMain(
+                "int make(int x) { Object o = new Object(); return x; }",
+                "io.putInt(make(3)); io.putInt(make(3));"),
+                "33");
+        assertFalse(this.isPure("Main", "make"));
+    }
+
+    /**
+     * Tests that a method calling a method overridden in a subclass is not memoized,
+     * since the receiver then changes its result
+     * @throws Exception if the test fails
+     */
+    @Test
+    public void testOverriddenCall() throws Exception {
+        this.checkSameOutput("class A { int g(int x) { return x; } "
+                        + "int f(int x) { return g(x); } } "
+                        + "class B extends A { int g(int x) { return x + 100; } } "
+                        + this.createMain("",
+                        "A a = new A(); A b = new B(); "
+                                + "io.putInt(a.f(1)); io.putInt(b.f(1)); "
+                                + "io.putInt(a.f(1));"),
+                "11011");
+        assertFalse(this.isPure("A", "f"));
+        //each body of g only uses its argument
+        assertTrue(this.isPure("A", "g"));
+        assertTrue(this.isPure("B", "g"));
+    }
+
+    /**
+     * Tests that mutually recursive methods are not memoized when one of them calls
+     * an impure method
+     * @throws Exception if the test fails
+     */
+    @Test
+    public void testMutualRecursionThroughImpureCallee() throws Exception {
+        this.checkSameOutput(this.createMain(
+                "int count = 0; "
+                        + "int tick() { count = count + 1; return count; } "
+                        + "int even(int n) { if (n == 0) { return tick(); } "
+                        + "return odd(n - 1); } "
+                        + "int odd(int n) { if (n == 0) { return 0; } "
+                        + "return even(n - 1); }",
+                "io.putInt(even(4)); io.putInt(even(4)); io.putInt(odd(3));"),
+                "123");
+        assertFalse(this.isPure("Main", "tick"));
+        assertFalse(this.isPure("Main", "even"));
+        assertFalse(this.isPure("Main", "odd"));
+    }
+
+    /**
+     * Tests that a call of a pure method that throws is not memoized, so calling it
+     * again throws again
+     * @throws Exception if the test fails
+     */
+    @Test
+    public void testThrowingCall() throws Exception {
+        this.checkSameOutput(this.createMain(
+                "int divide(int x) { return 10 / x; }",
+                "int i = 0; for (i = 0; i < 2; i++) { "
+                        + "try { io.putInt(divide(0)); } "
+                        + "catch (DivideByZeroException e) { io.putString(\"caught\"); } "
+                        + "io.putInt(divide(5)); }"),
+                "caught2caught2");
+        assertTrue(this.isPure("Main", "divide"));
+    }
+}
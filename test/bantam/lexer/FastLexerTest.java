@@ -0,0 +1,232 @@
+/*
+ * File: FastLexerTest.java
+ * Author: Phoebe Hughes, Siyuan Li, Joseph Malionek
+ * Date: 10/18/26
+ */
+
+package bantam.lexer;
+
+import java_cup.runtime.Symbol;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that the FastLexer scans the same tokens as the JLex generated Lexer, token for
+ * token: the same token ids, lexemes and line numbers, including the LEX_ERROR tokens
+ * of malformed input.  Input outside the 7-bit character map of the generated lexer is
+ * not compared, since the generated lexer fails on it with an internal error wherever
+ * its lookahead reaches it, while the FastLexer reports an illegal character.
+ */
+public class FastLexerTest {
+
+    /**
+     * The directory of the test programs
+     */
+    private static final String TEST_FILES = "testfiles";
+
+    /**
+     * Scans all of the tokens of a file, up to and including EOF (or the exception the
+     * lexer fails with, since the generated lexer fails on some malformed input)
+     * @param scanner the scanner of the file
+     * @return the tokens, each as its id, name, lexeme and line number
+     * @throws Exception if the file cannot be read
+     */
+    private List<String> scan(SourceScanner scanner) throws Exception {
+        List<String> tokens = new ArrayList<>();
+        while (true) {
+            Symbol symbol;
+            try {
+                symbol = scanner.next_token();
+            }
+            catch (RuntimeException e) {
+                tokens.add(e.getClass().getName() + ": " + e.getMessage());
+                return tokens;
+            }
+            Token token = (Token) symbol.value;
+            tokens.add(symbol.sym + " " + token.getName() + " [" + token.getLexeme()
+                    + "] line " + token.getLineNum());
+            if (token.getName().equals("EOF")) {
+                return tokens;
+            }
+        }
+    }
+
+    /**
+     * Checks that both lexers scan the same tokens from a file
+     * @param filename the file
+     * @throws Exception if the lexers differ
+     */
+    private void checkFile(String filename) throws Exception {
+        String[] filenames = {filename};
+        assertEquals(filename, this.scan(new Lexer(filenames, false)),
+                this.scan(new FastLexer(filenames)));
+    }
+
+    /**
+     * Checks that both lexers scan the same tokens from the given source
+     * @param source the source
+     * @throws Exception if the lexers differ
+     */
+    private void checkSource(String source) throws Exception {
+        File file = File.createTempFile("FastLexerTest", ".btm");
+        try {
+            Files.write(file.toPath(), source.getBytes(StandardCharsets.UTF_8));
+            this.checkFile(file.getPath());
+        }
+        finally {
+            file.delete();
+        }
+    }
+
+    /**
+     * Repeats a string
+     * @param s the string
+     * @param count the number of times
+     * @return the repeated string
+     */
+    private static String repeat(String s, int count) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            builder.append(s);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Collects the test programs in a directory and its subdirectories
+     * @param directory the directory
+     * @param files the list the programs are added to
+     */
+    private static void findPrograms(File directory, List<String> files) {
+        File[] children = directory.listFiles();
+        if (children == null) {
+            return;
+        }
+        for (File child : children) {
+            if (child.isDirectory()) {
+                findPrograms(child, files);
+            }
+            else if (child.getName().endsWith(".btm")) {
+                files.add(child.getPath());
+            }
+        }
+    }
+
+    /**
+     * Checks every test program
+     * @throws Exception if the lexers differ
+     */
+    @Test
+    public void testFilesToken() throws Exception {
+        List<String> files = new ArrayList<>();
+        findPrograms(new File(TEST_FILES), files);
+        assertTrue("no test programs in " + TEST_FILES, !files.isEmpty());
+        for (String file : files) {
+            this.checkFile(file);
+        }
+    }
+
+    /**
+     * Checks empty input, white space and line endings
+     * @throws Exception if the lexers differ
+     */
+    @Test
+    public void whiteSpaceToken() throws Exception {
+        this.checkSource("");
+        this.checkSource("  \t\f\n\r\n\r  ");
+        this.checkSource("class\r\nMain\r{\n}\r\n");
+    }
+
+    /**
+     * Checks comments, including a comment at the end of the input
+     * @throws Exception if the lexers differ
+     */
+    @Test
+    public void commentToken() throws Exception {
+        this.checkSource("/* class \n while */ if // new \n else");
+        this.checkSource("/* *** class text ****/ if /**/ /***/");
+        this.checkSource("/* /* nested */ */");
+        this.checkSource("if // comment without a newline");
+    }
+
+    /**
+     * Checks comments that are not terminated, with EOF inside them
+     * @throws Exception if the lexers differ
+     */
+    @Test
+    public void unterminatedCommentToken() throws Exception {
+        this.checkSource("class /* never closed");
+        this.checkSource("class /* never \n closed \n");
+        this.checkSource("class /* ends with a star *");
+        this.checkSource("/*");
+    }
+
+    /**
+     * Checks strings, with escapes and errors
+     * @throws Exception if the lexers differ
+     */
+    @Test
+    public void stringToken() throws Exception {
+        this.checkSource("\"\" \"hi\" \"a\\nb\\tc\\\"d\\\\e\\f\"");
+        this.checkSource("\"illegal \\q escape\"");
+        this.checkSource("\"spans \n lines\" x");
+        this.checkSource("\"" + repeat("s", 4998) + "\"");
+        this.checkSource("\"" + repeat("s", 4999) + "\" x");
+        this.checkSource("\"" + repeat("s", 6000) + "\" x");
+    }
+
+    /**
+     * Checks strings that are not terminated
+     * @throws Exception if the lexers differ
+     */
+    @Test
+    public void unterminatedStringToken() throws Exception {
+        this.checkSource("x = \"never closed");
+        this.checkSource("x = \"never closed\n y");
+        this.checkSource("x = \"ends with a backslash\\");
+        this.checkSource("\"" + repeat("s", 6000));
+    }
+
+    /**
+     * Checks ints, including ones too large for an int
+     * @throws Exception if the lexers differ
+     */
+    @Test
+    public void intToken() throws Exception {
+        this.checkSource("0 7 0012 2147483647");
+        this.checkSource("2147483648 99999999999999999999 x");
+        this.checkSource("12abc 3.14");
+    }
+
+    /**
+     * Checks identifiers, keywords and operators
+     * @throws Exception if the lexers differ
+     */
+    @Test
+    public void identifierAndOperatorToken() throws Exception {
+        this.checkSource("class extends new instanceof for while if else break return "
+                + "try catch throw true false null this super void int boolean");
+        this.checkSource("x x1 x_y X classy _x 1x");
+        this.checkSource("+ - * / % = == != < <= > >= && || ! ++ -- += . , ; : "
+                + "( ) [ ] { }");
+        this.checkSource("a+++b a---b a<=b a&&b a||b a!=b");
+    }
+
+    /**
+     * Checks illegal characters
+     * @throws Exception if the lexers differ
+     */
+    @Test
+    public void illegalCharacterToken() throws Exception {
+        this.checkSource("# $ @ ` ~ ^ ? \\ & | '");
+        this.checkSource("x = 1 # y = 2\n z = \u0001 ;\u007f");
+    }
+}
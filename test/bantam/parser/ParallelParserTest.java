@@ -0,0 +1,236 @@
+/*
+ * File: ParallelParserTest.java
+ * Author: Phoebe Hughes, Siyuan Li, Joseph Malionek
+ * Date: 10/18/26
+ */
+
+package bantam.parser;
+
+import bantam.ast.ASTNode;
+import bantam.ast.Class_;
+import bantam.ast.Program;
+import bantam.lexer.Lexer;
+import bantam.util.ErrorHandler;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests that parsing the files of a program with the ParallelParser gives the same
+ * classes, in the same order, and the same error messages as parsing them one after
+ * the other with one Parser
+ */
+public class ParallelParserTest {
+
+    /**
+     * The source files written by the test
+     */
+    private List<File> files = new ArrayList<>();
+
+    /**
+     * Deletes the source files written by the test
+     */
+    @After
+    public void deleteFiles() {
+        for (File file : this.files) {
+            file.delete();
+        }
+    }
+
+    /**
+     * Writes source files
+     * @param sources the sources of the files
+     * @return the names of the files, in order
+     * @throws Exception if a file cannot be written
+     */
+    private String[] writeFiles(String... sources) throws Exception {
+        String[] filenames = new String[sources.length];
+        for (int i = 0; i < sources.length; i++) {
+            File file = File.createTempFile("ParallelParserTest", ".btm");
+            this.files.add(file);
+            Files.write(file.toPath(), sources[i].getBytes(StandardCharsets.UTF_8));
+            filenames[i] = file.getPath();
+        }
+        return filenames;
+    }
+
+    /**
+     * Gets the outcome of parsing the files as one stream of tokens: the names of the
+     * classes, in order, or the exception message and errors
+     * @param filenames the files
+     * @return the outcome
+     * @throws Exception if the parser fails
+     */
+    private List<String> parseSequentially(String... filenames) throws Exception {
+        Parser parser = new Parser(new Lexer(filenames, false));
+        try {
+            return getClassNames((Program) parser.parse().value);
+        }
+        catch (RuntimeException e) {
+            return getErrors(e, parser.getErrorHandler());
+        }
+    }
+
+    /**
+     * Gets the outcome of parsing the files with the ParallelParser
+     * @param numThreads the number of threads
+     * @param fastLex whether the files are scanned with the FastLexer
+     * @param filenames the files
+     * @return the outcome
+     * @throws Exception if the parser fails
+     */
+    private List<String> parseInParallel(int numThreads, boolean fastLex,
+                                         String... filenames) throws Exception {
+        ParallelParser parser = new ParallelParser(filenames, numThreads, fastLex);
+        try {
+            return getClassNames(parser.parse());
+        }
+        catch (RuntimeException e) {
+            return getErrors(e, parser.getErrorHandler());
+        }
+    }
+
+    /**
+     * Gets the names of the classes of a program, in order
+     * @param program the program
+     * @return the names
+     */
+    private static List<String> getClassNames(Program program) {
+        List<String> classNames = new ArrayList<>();
+        for (ASTNode node : program.getClassList()) {
+            classNames.add(((Class_) node).getName());
+        }
+        return classNames;
+    }
+
+    /**
+     * Gets the message of a parser failure followed by the errors registered
+     * @param e the failure
+     * @param errorHandler the error handler of the parser
+     * @return the message and errors
+     */
+    private static List<String> getErrors(RuntimeException e, ErrorHandler errorHandler) {
+        List<String> errors = new ArrayList<>();
+        errors.add(e.getMessage());
+        for (ErrorHandler.Error error : errorHandler.getErrorList()) {
+            errors.add(error.toString());
+        }
+        return errors;
+    }
+
+    /**
+     * Checks that the ParallelParser gives the same outcome as the sequential parser,
+     * with one and with several threads and with both lexers
+     * @param expected the outcome the ParallelParser must give
+     * @param filenames the files
+     * @throws Exception if the parser fails
+     */
+    private void checkParallel(List<String> expected, String... filenames)
+            throws Exception {
+        for (int numThreads : new int[]{1, 4}) {
+            assertEquals(expected, this.parseInParallel(numThreads, false, filenames));
+            assertEquals(expected, this.parseInParallel(numThreads, true, filenames));
+        }
+    }
+
+    /**
+     * Tests that the classes of all of the files are kept in the order of the files
+     * @throws Exception if the test fails
+     */
+    @Test
+    public void classOrderTest() throws Exception {
+        String[] filenames = this.writeFiles(
+                "class Main { void main() {} } class A {}",
+                "class B extends A { int x = 1; }",
+                "class C {} class D {} class E extends D {}",
+                "class F { int f() { return 0; } }");
+        List<String> expected = this.parseSequentially(filenames);
+        assertEquals(7, expected.size());
+        this.checkParallel(expected, filenames);
+    }
+
+    /**
+     * Tests that files without tokens declare no classes
+     * @throws Exception if the test fails
+     */
+    @Test
+    public void emptyFileTest() throws Exception {
+        String[] filenames = this.writeFiles("", "class Main { void main() {} }",
+                "  /* only a comment */ ", "class A {}");
+        this.checkParallel(this.parseSequentially(filenames), filenames);
+
+        String[] emptyFilenames = this.writeFiles("", "  ");
+        List<String> expected = this.parseSequentially(emptyFilenames);
+        assertEquals("Bantam parser found errors.", expected.get(0));
+        this.checkParallel(expected, emptyFilenames);
+    }
+
+    /**
+     * Tests that a syntax error in one file gives the same errors as parsing the files
+     * one after the other
+     * @throws Exception if the test fails
+     */
+    @Test
+    public void oneErrorTest() throws Exception {
+        String[] filenames = this.writeFiles(
+                "class Main { void main() {} }",
+                "class A { int x = ; }",
+                "class B {}");
+        List<String> expected = this.parseSequentially(filenames);
+        assertEquals("Bantam parser found errors.", expected.get(0));
+        this.checkParallel(expected, filenames);
+    }
+
+    /**
+     * Tests that syntax errors in several files are reported for each file, in the
+     * order of the files, as parsing each file on its own reports them
+     * @throws Exception if the test fails
+     */
+    @Test
+    public void severalErrorsTest() throws Exception {
+        String[] filenames = this.writeFiles(
+                "class Main { void main() { int x = 1 } }",
+                "class A {}",
+                "class B { void f() { return 1 + ; } }",
+                "class C extends { }");
+        List<String> expected = new ArrayList<>();
+        expected.add("Bantam parser found errors.");
+        for (String filename : filenames) {
+            List<String> errors = this.parseSequentially(filename);
+            if (errors.get(0).equals("Bantam parser found errors.")) {
+                expected.addAll(errors.subList(1, errors.size()));
+            }
+        }
+        assertEquals(4, expected.size());
+        this.checkParallel(expected, filenames);
+    }
+
+    /**
+     * Tests that a missing file is reported as an exception, naming the first file
+     * missing, rather than by exiting
+     * @throws Exception if the test fails
+     */
+    @Test
+    public void missingFileTest() throws Exception {
+        String[] filenames = this.writeFiles("class Main { void main() {} }");
+        String missing = filenames[0] + ".missing";
+        try {
+            new ParallelParser(new String[]{filenames[0], missing, missing + "2"}, 4, false)
+                    .parse();
+            fail("no exception for a missing file");
+        }
+        catch (FileNotFoundException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains(missing + "'"));
+        }
+    }
+}
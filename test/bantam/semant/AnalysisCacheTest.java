@@ -0,0 +1,194 @@
+/*
+ * File: AnalysisCacheTest.java
+ * Author: Phoebe Hughes, Siyuan Li, Joseph Malionek
+ * Date: 10/18/26
+ */
+
+package bantam.semant;
+
+import bantam.ast.ASTNode;
+import bantam.ast.Class_;
+import bantam.ast.Program;
+import bantam.lexer.Lexer;
+import bantam.parser.Parser;
+import bantam.util.ClassTreeNode;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that the AnalysisCache loads a program only when it was saved from the same
+ * sources, flags and front end, and that a file that was cut short or corrupted is
+ * a miss rather than a wrong program
+ */
+public class AnalysisCacheTest {
+
+    /**
+     * The program the tests analyze
+     */
+    private static final String PROGRAM = "class Main { int x = 1; void main() {} } "
+            + "class A extends Main { int f(int y) { return x + y; } }";
+
+    /**
+     * The directory of the cache
+     */
+    private File directory;
+
+    /**
+     * The source file of the program
+     */
+    private File source;
+
+    /**
+     * Creates the directory of the cache and writes the source file
+     * @throws Exception if they cannot be written
+     */
+    @Before
+    public void createFiles() throws Exception {
+        this.directory = Files.createTempDirectory("AnalysisCacheTest").toFile();
+        this.source = File.createTempFile("AnalysisCacheTest", ".btm");
+        Files.write(this.source.toPath(), PROGRAM.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Deletes the directory of the cache and the source file
+     */
+    @After
+    public void deleteFiles() {
+        File[] files = this.directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        this.directory.delete();
+        this.source.delete();
+    }
+
+    /**
+     * Creates the cache of the source file
+     * @param flags the flags that affect the front end
+     * @return the cache
+     */
+    private AnalysisCache newCache(String flags) {
+        return new AnalysisCache(this.directory.getPath(),
+                new String[]{this.source.getPath()}, flags);
+    }
+
+    /**
+     * Analyzes the source file and saves it in a cache
+     * @param cache the cache
+     * @throws Exception if the program cannot be analyzed
+     */
+    private void analyzeAndSave(AnalysisCache cache) throws Exception {
+        Parser parser = new Parser(new Lexer(new String[]{this.source.getPath()}, false));
+        SemanticAnalyzer analyzer =
+                new SemanticAnalyzer((Program) parser.parse().value, false);
+        analyzer.analyze();
+        cache.save(analyzer);
+    }
+
+    /**
+     * Gets the names of the classes of a program, in order
+     * @param program the program
+     * @return the names
+     */
+    private static List<String> getClassNames(Program program) {
+        List<String> classNames = new ArrayList<>();
+        for (ASTNode node : program.getClassList()) {
+            classNames.add(((Class_) node).getName());
+        }
+        return classNames;
+    }
+
+    /**
+     * Tests that a program is a miss until it is saved, and then a hit with the same
+     * classes
+     * @throws Exception if the test fails
+     */
+    @Test
+    public void testMissThenHit() throws Exception {
+        AnalysisCache cache = this.newCache("");
+        assertNull(cache.load());
+        this.analyzeAndSave(cache);
+        assertTrue(Files.isRegularFile(cache.getFile()));
+
+        AnalysisCache loaded = this.newCache("");
+        ClassTreeNode root = loaded.load();
+        assertNotNull(root);
+        assertEquals("Object", root.getName());
+        assertEquals("Main", root.lookupClass("A").getParent().getName());
+        assertTrue(root.lookupClass("A").getMethodSymbolTable().lookup("f") != null);
+        assertEquals(Arrays.asList("Main", "A"), getClassNames(loaded.getProgram()));
+    }
+
+    /**
+     * Tests that changing the contents of a source file, the flags or the list of
+     * files is a miss
+     * @throws Exception if the test fails
+     */
+    @Test
+    public void testStaleKey() throws Exception {
+        this.analyzeAndSave(this.newCache(""));
+        assertNotNull(this.newCache("").load());
+
+        assertNull(this.newCache("-fastlex").load());
+        assertNull(new AnalysisCache(this.directory.getPath(),
+                new String[]{this.source.getPath(), this.source.getPath()}, "").load());
+
+        Files.write(this.source.toPath(),
+                (PROGRAM + " class B {}").getBytes(StandardCharsets.UTF_8));
+        assertNull(this.newCache("").load());
+    }
+
+    /**
+     * Tests that a file with a changed byte is a miss, and is replaced when the
+     * program is saved again
+     * @throws Exception if the test fails
+     */
+    @Test
+    public void testCorruptFile() throws Exception {
+        AnalysisCache cache = this.newCache("");
+        this.analyzeAndSave(cache);
+        Path file = cache.getFile();
+        byte[] bytes = Files.readAllBytes(file);
+        byte[] corrupt = bytes.clone();
+        corrupt[corrupt.length / 2] ^= 1;
+        Files.write(file, corrupt);
+        assertNull(this.newCache("").load());
+
+        this.analyzeAndSave(this.newCache(""));
+        assertTrue(Arrays.equals(bytes, Files.readAllBytes(file)));
+        assertNotNull(this.newCache("").load());
+    }
+
+    /**
+     * Tests that a file that was cut short, or has no payload, is a miss
+     * @throws Exception if the test fails
+     */
+    @Test
+    public void testTruncatedFile() throws Exception {
+        AnalysisCache cache = this.newCache("");
+        this.analyzeAndSave(cache);
+        Path file = cache.getFile();
+        byte[] bytes = Files.readAllBytes(file);
+        assertTrue(bytes.length > 32);
+        for (int length : new int[]{0, 10, 32, bytes.length - 1}) {
+            Files.write(file, Arrays.copyOf(bytes, length));
+            assertNull(this.newCache("").load());
+        }
+    }
+}
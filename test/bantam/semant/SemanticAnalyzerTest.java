@@ -10,8 +10,12 @@ import bantam.ast.Program;
 import bantam.lexer.Lexer;
 import org.junit.Test;
 import bantam.parser.Parser;
+import bantam.util.ErrorHandler;
 
 import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
@@ -106,6 +110,31 @@ public class SemanticAnalyzerTest {
         return thrown;
     }
 
+    /**
+     * Analyzes the program and gets the errors found, in the order they are reported
+     *
+     * @param programString The program to be analyzed
+     * @param numThreads    The number of threads the classes are type checked on
+     * @return The errors found (empty if the program is semantically correct)
+     * @throws Exception An exception if the program cannot be parsed
+     */
+    private List<String> getErrors(String programString, int numThreads)
+            throws Exception {
+        Parser parser = new Parser(new Lexer(new StringReader(programString)));
+        Program program = (Program) parser.parse().value;
+        SemanticAnalyzer analyzer = new SemanticAnalyzer(program, false, numThreads);
+        try {
+            analyzer.analyze();
+        } catch (RuntimeException e) {
+            assertEquals("Bantam semantic analyzer found errors.", e.getMessage());
+        }
+        List<String> errors = new ArrayList<>();
+        for (ErrorHandler.Error error : analyzer.getErrorHandler().getErrorList()) {
+            errors.add(error.toString());
+        }
+        return errors;
+    }
+
     /**
      * Tests various ways for a program not to have a Main class with a main method
      *
@@ -1211,4 +1240,53 @@ public class SemanticAnalyzerTest {
                 this.createMethod("String[] x = new String[5]; x.concat(\"hi\");"));
 
     }
-}
\ No newline at end of file
+
+    /**
+     * Tests that a cycle in the class hierarchy is reported only as an illegal tree,
+     * and that the classes in the cycle are still checked against each other
+     * @throws Exception if the test fails
+     */
+    @Test
+    public void testCyclicHierarchy() throws Exception {
+        assertEquals(Arrays.asList("Error: semantic error: Illegal Tree Structure."),
+                this.getErrors("class A extends B {} class B extends A {} " +
+                        this.createMethod("B b = new A(); A a = new B();"), 1));
+        assertEquals(Arrays.asList("Error: semantic error: Illegal Tree Structure.",
+                "Reader/InputStream:1:semantic error: " +
+                        "Type of variable incompatible with assignment."),
+                this.getErrors("class A extends B {} class B extends A {} class C {} " +
+                        this.createMethod("B b = new A(); C c = new A();"), 1));
+    }
+
+    /**
+     * Tests that type checking the classes on several threads reports the same errors,
+     * in the same order, as type checking them on one thread
+     * @throws Exception if the test fails
+     */
+    @Test
+    public void testErrorsOnSeveralThreads() throws Exception {
+        String program = "class A {\n int f() { return true; }\n }\n"
+                + "class B extends A {\n int g() { int x = \"s\"; return x; }\n }\n"
+                + "class C {\n void h() { y = 1; }\n boolean k() { return 1; }\n }\n"
+                + "class D extends C {\n void m() { A a = new C(); }\n }\n"
+                + "class Main {\n void main() { int z = undeclared; }\n }\n";
+        List<String> errors = this.getErrors(program, 1);
+        String prefix = "Reader/InputStream:";
+        assertEquals(Arrays.asList(
+                prefix + "2:semantic error: " +
+                        "Return statement type does not match method return type.",
+                prefix + "5:semantic error: Type of variable incompatible with assignment.",
+                prefix + "8:semantic error: Cannot find variable.",
+                prefix + "9:semantic error: " +
+                        "Return statement type does not match method return type.",
+                prefix + "12:semantic error: Type of variable incompatible with assignment.",
+                prefix + "15:semantic error: Undeclared variable access.",
+                prefix + "15:semantic error: Type of variable incompatible with assignment."),
+                errors);
+        for (int numThreads = 2; numThreads <= 8; numThreads *= 2) {
+            for (int run = 0; run < 10; run++) {
+                assertEquals(errors, this.getErrors(program, numThreads));
+            }
+        }
+    }
+}
@@ -0,0 +1,543 @@
+/*
+ * File: SymbolTableTest.java
+ * Author: Phoebe Hughes, Siyuan Li, Joseph Malionek
+ * Date: 10/18/26
+ */
+
+package bantam.util;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests the SymbolTable: shadowing within a table and across the tables of a class and
+ * its ancestors, restoring shadowed symbols when a scope is exited, the level semantics
+ * of lookup, peek and set, the sizes and levels, and growing the table.  The table
+ * keeps all of its scopes in one hash table with an undo log, so it is also run
+ * against a ReferenceTable, which keeps a map per scope as the SymbolTable used to.
+ */
+public class SymbolTableTest {
+
+    /**
+     * A symbol table with the semantics of the original SymbolTable: a stack of maps,
+     * one per scope, with the table of the superclass as parent
+     */
+    private static class ReferenceTable {
+        /** The scopes, from the outermost to the innermost */
+        private List<Map<String, Object>> scopes = new ArrayList<>();
+        /** The table of the superclass (null if none) */
+        private ReferenceTable parent;
+
+        private void enterScope() {
+            this.scopes.add(new HashMap<>());
+        }
+
+        private void exitScope() {
+            if (this.scopes.isEmpty()) {
+                throw new RuntimeException("No scope to exit");
+            }
+            this.scopes.remove(this.scopes.size() - 1);
+        }
+
+        private void checkScopes(String action) {
+            if (this.scopes.isEmpty()) {
+                throw new RuntimeException("Must enter a scope before " + action);
+            }
+        }
+
+        private void checkLevel(String method, int level) {
+            int lastLevel = this.getCurrScopeLevel();
+            if (level < 0 || level >= lastLevel) {
+                throw new IllegalArgumentException("SymbolTable." + method + " called" +
+                        " with level (" + level + ") that is not" +
+                        " between 0 and current level (" + lastLevel + ") minus one");
+            }
+        }
+
+        private void add(String s, Object value) {
+            this.checkScopes("adding to table");
+            this.scopes.get(this.scopes.size() - 1).put(s, value);
+        }
+
+        private Object lookup(String s) {
+            this.checkScopes("looking up in table");
+            for (int i = this.scopes.size() - 1; i >= 0; i--) {
+                if (this.scopes.get(i).get(s) != null) {
+                    return this.scopes.get(i).get(s);
+                }
+            }
+            return this.parent == null ? null : this.parent.lookup(s);
+        }
+
+        /** Gets the ancestor tables, from the root to this table */
+        private List<ReferenceTable> getTables() {
+            List<ReferenceTable> tables = new ArrayList<>();
+            for (ReferenceTable table = this; table != null; table = table.parent) {
+                tables.add(0, table);
+            }
+            return tables;
+        }
+
+        private Object lookup(String s, int level) {
+            this.checkScopes("looking up in table");
+            this.checkLevel("lookup(sym,level)", level);
+            for (ReferenceTable table : this.getTables()) {
+                if (level < table.scopes.size()) {
+                    for (int l = level; l >= 0; l--) {
+                        if (table.scopes.get(l).get(s) != null) {
+                            return table.scopes.get(l).get(s);
+                        }
+                    }
+                    return table.parent == null ? null : table.parent.lookup(s);
+                }
+                level -= table.scopes.size();
+            }
+            return null;
+        }
+
+        private Object peek(String s) {
+            this.checkScopes("peeking in table");
+            return this.scopes.get(this.scopes.size() - 1).get(s);
+        }
+
+        private Object peek(String s, int level) {
+            this.checkScopes("peeking in table");
+            this.checkLevel("peek(sym,level)", level);
+            for (ReferenceTable table : this.getTables()) {
+                if (level < table.scopes.size()) {
+                    return table.scopes.get(level).get(s);
+                }
+                level -= table.scopes.size();
+            }
+            return null;
+        }
+
+        private void set(String s, Object value) {
+            this.checkScopes("setting in table");
+            for (ReferenceTable table = this; table != null; table = table.parent) {
+                for (int i = table.scopes.size() - 1; i >= 0; i--) {
+                    if (table.scopes.get(i).get(s) != null) {
+                        table.scopes.get(i).put(s, value);
+                        return;
+                    }
+                }
+            }
+            throw new RuntimeException("Set symbol '" + s +
+                    "' is not in the symbol table");
+        }
+
+        private void set(String s, Object value, int level) {
+            this.checkScopes("setting in table");
+            this.checkLevel("set(sym,val,level)", level);
+            for (ReferenceTable table : this.getTables()) {
+                if (level < table.scopes.size()) {
+                    for (int l = level; l >= 0; l--) {
+                        if (table.scopes.get(l).get(s) != null) {
+                            table.scopes.get(l).put(s, value);
+                            return;
+                        }
+                    }
+                    if (table.parent != null) {
+                        table.parent.set(s, value);
+                    }
+                    return;
+                }
+                level -= table.scopes.size();
+            }
+        }
+
+        private int getScopeLevel(String s) {
+            this.checkScopes("looking up in table");
+            for (int i = this.scopes.size() - 1; i >= 0; i--) {
+                if (this.scopes.get(i).get(s) != null) {
+                    return i + 1 + (this.parent == null ? 0
+                            : this.parent.getCurrScopeLevel());
+                }
+            }
+            return this.parent == null ? -1 : this.parent.getScopeLevel(s);
+        }
+
+        private int getSize() {
+            int size = 0;
+            for (Map<String, Object> scope : this.scopes) {
+                size += scope.size();
+            }
+            return size + (this.parent == null ? 0 : this.parent.getSize());
+        }
+
+        private int getCurrScopeSize() {
+            return this.scopes.isEmpty() ? 0
+                    : this.scopes.get(this.scopes.size() - 1).size();
+        }
+
+        private int getCurrScopeLevel() {
+            return this.scopes.size()
+                    + (this.parent == null ? 0 : this.parent.getCurrScopeLevel());
+        }
+    }
+
+    /**
+     * Something done to a table, whose result (or failure) is compared
+     */
+    private interface Operation<T> {
+        /**
+         * Does the operation
+         * @param table the table
+         * @return the result of the operation (null if it has none)
+         */
+        Object apply(T table);
+    }
+
+    /**
+     * Does an operation and describes its result or the exception it threw
+     * @param table the table
+     * @param operation the operation
+     * @return the description
+     */
+    private static <T> String describe(T table, Operation<T> operation) {
+        try {
+            return String.valueOf(operation.apply(table));
+        }
+        catch (RuntimeException e) {
+            return e.getClass().getName() + ": " + e.getMessage();
+        }
+    }
+
+    /**
+     * Builds a chain of tables, each the parent of the next, with one scope each
+     * @param numTables the number of tables
+     * @return the tables, from the root
+     */
+    private static SymbolTable[] buildChain(int numTables) {
+        SymbolTable[] tables = new SymbolTable[numTables];
+        for (int i = 0; i < numTables; i++) {
+            tables[i] = new SymbolTable();
+            tables[i].setParent(i == 0 ? null : tables[i - 1]);
+            tables[i].enterScope();
+        }
+        return tables;
+    }
+
+    /**
+     * Tests shadowing within a table and across a table and its parent
+     */
+    @Test
+    public void shadowingTest() {
+        SymbolTable[] tables = buildChain(2);
+        SymbolTable parent = tables[0];
+        SymbolTable table = tables[1];
+        parent.add("x", "parentX");
+        parent.add("y", "parentY");
+        table.add("x", "fieldX");
+        table.enterScope();
+        table.add("x", "localX");
+
+        assertEquals("localX", table.lookup("x"));
+        assertEquals("parentY", table.lookup("y"));
+        assertEquals("parentX", parent.lookup("x"));
+        assertEquals(3, table.getScopeLevel("x"));
+        assertEquals(1, table.getScopeLevel("y"));
+        assertEquals(-1, table.getScopeLevel("z"));
+
+        //re-adding a symbol in the same scope replaces it
+        table.add("x", "localX2");
+        assertEquals("localX2", table.lookup("x"));
+        assertEquals(1, table.getCurrScopeSize());
+        assertEquals(4, table.getSize());
+    }
+
+    /**
+     * Tests that exiting a scope removes its symbols and restores the ones it shadowed
+     */
+    @Test
+    public void exitScopeTest() {
+        SymbolTable table = buildChain(1)[0];
+        table.add("x", "outer");
+        table.add("y", "outerY");
+        table.enterScope();
+        table.add("x", "inner");
+        table.add("z", "innerZ");
+        table.enterScope();
+        table.add("x", "innermost");
+        assertEquals("innermost", table.lookup("x"));
+
+        table.exitScope();
+        assertEquals("inner", table.lookup("x"));
+        assertEquals("innerZ", table.lookup("z"));
+        assertEquals(2, table.getCurrScopeSize());
+
+        table.exitScope();
+        assertEquals("outer", table.lookup("x"));
+        assertNull(table.lookup("z"));
+        assertEquals("outerY", table.lookup("y"));
+        assertEquals(2, table.getCurrScopeSize());
+        assertEquals(1, table.getCurrScopeLevel());
+
+        //a symbol set in an inner scope is restored along with the scope
+        table.enterScope();
+        table.add("x", "shadow");
+        table.set("x", "shadowSet");
+        table.exitScope();
+        assertEquals("outer", table.lookup("x"));
+
+        table.exitScope();
+        assertEquals(0, table.getCurrScopeLevel());
+        assertEquals(0, table.getCurrScopeSize());
+        try {
+            table.exitScope();
+            fail("exited a scope that was not entered");
+        }
+        catch (RuntimeException e) {
+            assertEquals("No scope to exit", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests that lookup at a level searches that level and the ones below it (and then
+     * the parent), while peek at a level searches only that level
+     */
+    @Test
+    public void levelTest() {
+        SymbolTable[] tables = buildChain(2);
+        SymbolTable parent = tables[0];
+        SymbolTable table = tables[1];
+        parent.add("x", "x0");
+        parent.add("p", "p0");
+        table.add("x", "x1");
+        table.enterScope();
+        table.add("x", "x2");
+        table.add("y", "y2");
+        table.enterScope();
+        assertEquals(4, table.getCurrScopeLevel());
+        assertEquals(2, parent.getCurrScopeLevel() + 1);
+
+        assertEquals("x0", table.lookup("x", 0));
+        assertEquals("x1", table.lookup("x", 1));
+        assertEquals("x2", table.lookup("x", 2));
+        assertEquals("x2", table.lookup("x", 3));
+        assertEquals("p0", table.lookup("p", 1));
+        assertNull(table.lookup("y", 1));
+
+        assertEquals("x0", table.peek("x", 0));
+        assertEquals("x1", table.peek("x", 1));
+        assertEquals("x2", table.peek("x", 2));
+        assertNull(table.peek("x", 3));
+        assertNull(table.peek("p", 1));
+        assertNull(table.peek("x"));
+
+        table.set("x", "x1Set", 1);
+        assertEquals("x1Set", table.peek("x", 1));
+        assertEquals("x2", table.lookup("x"));
+        table.set("p", "p0Set", 2);
+        assertEquals("p0Set", parent.lookup("p"));
+
+        for (int level : new int[]{-1, 4}) {
+            try {
+                table.lookup("x", level);
+                fail("looked up at level " + level);
+            }
+            catch (IllegalArgumentException e) {
+                assertEquals("SymbolTable.lookup(sym,level) called with level (" + level
+                        + ") that is not between 0 and current level (4) minus one",
+                        e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Tests that the table grows past its initial capacity, keeping every symbol and
+     * the shadowed ones, and shrinks back as scopes are exited
+     */
+    @Test
+    public void growthTest() {
+        SymbolTable table = buildChain(1)[0];
+        int numSymbols = 5000;
+        for (int i = 0; i < numSymbols; i++) {
+            table.add("s" + i, "outer" + i);
+        }
+        table.enterScope();
+        for (int i = 0; i < numSymbols; i += 2) {
+            table.add("s" + i, "inner" + i);
+        }
+        for (int i = 0; i < numSymbols; i++) {
+            table.add("t" + i, "t" + i);
+        }
+        assertEquals(numSymbols / 2 + numSymbols, table.getCurrScopeSize());
+        assertEquals(numSymbols * 5 / 2, table.getSize());
+        for (int i = 0; i < numSymbols; i++) {
+            assertEquals((i % 2 == 0 ? "inner" : "outer") + i, table.lookup("s" + i));
+            assertEquals("outer" + i, table.lookup("s" + i, 0));
+            assertEquals("t" + i, table.lookup("t" + i));
+        }
+
+        table.exitScope();
+        assertEquals(numSymbols, table.getSize());
+        for (int i = 0; i < numSymbols; i++) {
+            assertEquals("outer" + i, table.lookup("s" + i));
+            assertNull(table.lookup("t" + i));
+        }
+
+        //many short scopes, as the methods of a class enter and exit them
+        for (int round = 0; round < 1000; round++) {
+            table.enterScope();
+            table.add("local", round);
+            table.add("s0", round);
+            assertEquals(round, table.lookup("s0"));
+            table.exitScope();
+        }
+        assertEquals("outer0", table.lookup("s0"));
+        assertNull(table.lookup("local"));
+    }
+
+    /**
+     * Tests that using a table without a scope fails
+     */
+    @Test
+    public void noScopeTest() {
+        SymbolTable table = new SymbolTable();
+        assertEquals("java.lang.RuntimeException: " +
+                "Must enter a scope before adding to table",
+                describe(table, t -> { t.add("x", "x"); return null; }));
+        assertEquals("java.lang.RuntimeException: " +
+                "Must enter a scope before looking up in table",
+                describe(table, t -> t.lookup("x")));
+        assertEquals("java.lang.RuntimeException: " +
+                "Must enter a scope before peeking in table",
+                describe(table, t -> t.peek("x")));
+        assertEquals("java.lang.RuntimeException: " +
+                "Must enter a scope before setting in table",
+                describe(table, t -> { t.set("x", "x"); return null; }));
+
+        //a table whose parent has no scope fails to look up symbols it does not have
+        SymbolTable child = new SymbolTable();
+        child.setParent(table);
+        child.enterScope();
+        child.add("x", "x");
+        assertEquals("x", child.lookup("x"));
+        assertEquals("java.lang.RuntimeException: " +
+                "Must enter a scope before looking up in table",
+                describe(child, t -> t.lookup("y")));
+    }
+
+    /**
+     * Runs random operations on a chain of tables and on a chain of ReferenceTables,
+     * checking that every result (or failure) is the same
+     */
+    @Test
+    public void referenceTest() {
+        String[] names = new String[40];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = "n" + i;
+        }
+        for (long seed = 0; seed < 5; seed++) {
+            Random random = new Random(seed);
+            int numTables = 3;
+            SymbolTable[] tables = new SymbolTable[numTables];
+            ReferenceTable[] references = new ReferenceTable[numTables];
+            for (int i = 0; i < numTables; i++) {
+                tables[i] = new SymbolTable();
+                references[i] = new ReferenceTable();
+                if (i > 0) {
+                    tables[i].setParent(tables[i - 1]);
+                    references[i].parent = references[i - 1];
+                }
+            }
+            for (int step = 0; step < 20000; step++) {
+                int t = random.nextInt(numTables);
+                String name = names[random.nextInt(names.length)];
+                int level = random.nextInt(12) - 1;
+                Object value = "v" + random.nextInt(5);
+                String expected;
+                String actual;
+                String operation;
+                switch (random.nextInt(14)) {
+                    case 0:
+                    case 1:
+                        operation = "enterScope()";
+                        expected = describe(references[t],
+                                r -> { r.enterScope(); return null; });
+                        actual = describe(tables[t],
+                                s -> { s.enterScope(); return null; });
+                        break;
+                    case 2:
+                        operation = "exitScope()";
+                        expected = describe(references[t],
+                                r -> { r.exitScope(); return null; });
+                        actual = describe(tables[t],
+                                s -> { s.exitScope(); return null; });
+                        break;
+                    case 3:
+                    case 4:
+                        operation = "add(" + name + ", " + value + ")";
+                        expected = describe(references[t],
+                                r -> { r.add(name, value); return null; });
+                        actual = describe(tables[t],
+                                s -> { s.add(name, value); return null; });
+                        break;
+                    case 5:
+                        operation = "lookup(" + name + ")";
+                        expected = describe(references[t], r -> r.lookup(name));
+                        actual = describe(tables[t], s -> s.lookup(name));
+                        break;
+                    case 6:
+                        operation = "lookup(" + name + ", " + level + ")";
+                        expected = describe(references[t], r -> r.lookup(name, level));
+                        actual = describe(tables[t], s -> s.lookup(name, level));
+                        break;
+                    case 7:
+                        operation = "peek(" + name + ")";
+                        expected = describe(references[t], r -> r.peek(name));
+                        actual = describe(tables[t], s -> s.peek(name));
+                        break;
+                    case 8:
+                        operation = "peek(" + name + ", " + level + ")";
+                        expected = describe(references[t], r -> r.peek(name, level));
+                        actual = describe(tables[t], s -> s.peek(name, level));
+                        break;
+                    case 9:
+                        operation = "set(" + name + ", " + value + ")";
+                        expected = describe(references[t],
+                                r -> { r.set(name, value); return null; });
+                        actual = describe(tables[t],
+                                s -> { s.set(name, value); return null; });
+                        break;
+                    case 10:
+                        operation = "set(" + name + ", " + value + ", " + level + ")";
+                        expected = describe(references[t],
+                                r -> { r.set(name, value, level); return null; });
+                        actual = describe(tables[t],
+                                s -> { s.set(name, value, level); return null; });
+                        break;
+                    case 11:
+                        operation = "getScopeLevel(" + name + ")";
+                        expected = describe(references[t], r -> r.getScopeLevel(name));
+                        actual = describe(tables[t], s -> s.getScopeLevel(name));
+                        break;
+                    case 12:
+                        operation = "getSize() and getCurrScopeSize()";
+                        expected = describe(references[t],
+                                r -> r.getSize() + " " + r.getCurrScopeSize());
+                        actual = describe(tables[t],
+                                s -> s.getSize() + " " + s.getCurrScopeSize());
+                        break;
+                    default:
+                        operation = "getCurrScopeLevel()";
+                        expected = describe(references[t], r -> r.getCurrScopeLevel());
+                        actual = describe(tables[t], s -> s.getCurrScopeLevel());
+                        break;
+                }
+                assertEquals("seed " + seed + " step " + step + " table " + t + " "
+                        + operation, expected, actual);
+            }
+        }
+    }
+}
@@ -347,7 +347,7 @@ public class emit {
 		     pre("do_action") + "(");
       out.println("    int                        " + pre("act_num,"));
       out.println("    java_cup.runtime.lr_parser " + pre("bantam.parser,"));
-      out.println("    java.bantam.util.Stack            " + pre("stack,"));
+      out.println("    java_cup.runtime.Symbol[]  " + pre("stack,"));
       out.println("    int                        " + pre("top)"));
       out.println("    throws java.lang.Exception");
       out.println("    {");
@@ -401,12 +401,12 @@ public class emit {
 	    out.println("              " + "// propagate RESULT from " +
 			s.name());
 	    out.println("              " + "if ( " +
-	      "((java_cup.runtime.Symbol) " + emit.pre("stack") + ".elementAt("
-              + emit.pre("top") + "-" + index + ")).value != null )");
+	      emit.pre("stack") + "["
+              + emit.pre("top") + "-" + index + "].value != null )");
 	    out.println("                " + "RESULT = " +
 	      "(" + prod.lhs().the_symbol().stack_type() + ") " +
-	      "((java_cup.runtime.Symbol) " + emit.pre("stack") + ".elementAt("
-              + emit.pre("top") + "-" + index + ")).value;");
+	      emit.pre("stack") + "["
+              + emit.pre("top") + "-" + index + "].value;");
 	  }
 
         /* if there is an action string, emit it */
@@ -424,14 +424,14 @@ public class emit {
 	    int loffset;
 	    String leftstring, rightstring;
 	    int roffset = 0;
-	    rightstring = "((java_cup.runtime.Symbol)" + emit.pre("stack") + ".elementAt(" + 
-	      emit.pre("top") + "-" + roffset + ")).right";	  
+	    rightstring = emit.pre("stack") + "[" + 
+	      emit.pre("top") + "-" + roffset + "].right";	  
 	    if (prod.rhs_length() == 0) 
 	      leftstring = rightstring;
 	    else {
 	      loffset = prod.rhs_length() - 1;
-	      leftstring = "((java_cup.runtime.Symbol)" + emit.pre("stack") + ".elementAt(" + 
-		emit.pre("top") + "-" + loffset + ")).left";	  
+	      leftstring = emit.pre("stack") + "[" + 
+		emit.pre("top") + "-" + loffset + "].left";	  
 	    }
 	    out.println("              " + pre("result") + " = new java_cup.runtime.Symbol(" + 
 			prod.lhs().the_symbol().index() + "/*" +
@@ -823,7 +823,7 @@ public class emit {
       out.println("  public java_cup.runtime.Symbol do_action(");
       out.println("    int                        act_num,");
       out.println("    java_cup.runtime.lr_parser bantam.parser,");
-      out.println("    java.bantam.util.Stack            stack,");
+      out.println("    java_cup.runtime.Symbol[]  stack,");
       out.println("    int                        top)");
       out.println("    throws java.lang.Exception");
       out.println("  {");
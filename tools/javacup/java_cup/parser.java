@@ -338,7 +338,7 @@ public class parser extends java_cup.runtime.lr_parser {
   public java_cup.runtime.Symbol do_action(
     int                        act_num,
     java_cup.runtime.lr_parser parser,
-    java.util.Stack            stack,
+    java_cup.runtime.Symbol[]  stack,
     int                        top)
     throws java.lang.Exception
   {
@@ -495,7 +495,7 @@ class CUP$parser$actions {
   public final java_cup.runtime.Symbol CUP$parser$do_action(
     int                        CUP$parser$act_num,
     java_cup.runtime.lr_parser CUP$parser$parser,
-    java.util.Stack            CUP$parser$stack,
+    java_cup.runtime.Symbol[]  CUP$parser$stack,
     int                        CUP$parser$top)
     throws java.lang.Exception
     {
@@ -510,7 +510,7 @@ class CUP$parser$actions {
             {
               Object RESULT = null;
 
-              CUP$parser$result = new java_cup.runtime.Symbol(29/*empty*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(29/*empty*/, CUP$parser$stack[CUP$parser$top-0].right, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -519,7 +519,7 @@ class CUP$parser$actions {
             {
               Object RESULT = null;
 
-              CUP$parser$result = new java_cup.runtime.Symbol(7/*opt_semi*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(7/*opt_semi*/, CUP$parser$stack[CUP$parser$top-0].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -528,7 +528,7 @@ class CUP$parser$actions {
             {
               Object RESULT = null;
 
-              CUP$parser$result = new java_cup.runtime.Symbol(7/*opt_semi*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(7/*opt_semi*/, CUP$parser$stack[CUP$parser$top-0].right, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -537,7 +537,7 @@ class CUP$parser$actions {
             {
               Object RESULT = null;
 
-              CUP$parser$result = new java_cup.runtime.Symbol(8/*non_terminal*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(8/*non_terminal*/, CUP$parser$stack[CUP$parser$top-0].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -546,7 +546,7 @@ class CUP$parser$actions {
             {
               Object RESULT = null;
 
-              CUP$parser$result = new java_cup.runtime.Symbol(8/*non_terminal*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(8/*non_terminal*/, CUP$parser$stack[CUP$parser$top-1].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -558,7 +558,7 @@ class CUP$parser$actions {
 		bantam.lexer.emit_error("Illegal use of reserved word");
 		RESULT="ILLEGAL";
 	
-              CUP$parser$result = new java_cup.runtime.Symbol(42/*robust_id*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(42/*robust_id*/, CUP$parser$stack[CUP$parser$top-0].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -567,7 +567,7 @@ class CUP$parser$actions {
             {
               String RESULT = null;
 		 RESULT = "nonassoc"; 
-              CUP$parser$result = new java_cup.runtime.Symbol(42/*robust_id*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(42/*robust_id*/, CUP$parser$stack[CUP$parser$top-0].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -576,7 +576,7 @@ class CUP$parser$actions {
             {
               String RESULT = null;
 		 RESULT = "right"; 
-              CUP$parser$result = new java_cup.runtime.Symbol(42/*robust_id*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(42/*robust_id*/, CUP$parser$stack[CUP$parser$top-0].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -585,7 +585,7 @@ class CUP$parser$actions {
             {
               String RESULT = null;
 		 RESULT = "left"; 
-              CUP$parser$result = new java_cup.runtime.Symbol(42/*robust_id*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(42/*robust_id*/, CUP$parser$stack[CUP$parser$top-0].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -594,7 +594,7 @@ class CUP$parser$actions {
             {
               String RESULT = null;
 		 RESULT = "precedence"; 
-              CUP$parser$result = new java_cup.runtime.Symbol(42/*robust_id*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(42/*robust_id*/, CUP$parser$stack[CUP$parser$top-0].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -603,7 +603,7 @@ class CUP$parser$actions {
             {
               String RESULT = null;
 		 RESULT = "start"; 
-              CUP$parser$result = new java_cup.runtime.Symbol(42/*robust_id*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(42/*robust_id*/, CUP$parser$stack[CUP$parser$top-0].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -612,7 +612,7 @@ class CUP$parser$actions {
             {
               String RESULT = null;
 		 RESULT = "with"; 
-              CUP$parser$result = new java_cup.runtime.Symbol(42/*robust_id*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(42/*robust_id*/, CUP$parser$stack[CUP$parser$top-0].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -621,7 +621,7 @@ class CUP$parser$actions {
             {
               String RESULT = null;
 		 RESULT = "scan"; 
-              CUP$parser$result = new java_cup.runtime.Symbol(42/*robust_id*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(42/*robust_id*/, CUP$parser$stack[CUP$parser$top-0].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -630,7 +630,7 @@ class CUP$parser$actions {
             {
               String RESULT = null;
 		 RESULT = "init"; 
-              CUP$parser$result = new java_cup.runtime.Symbol(42/*robust_id*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(42/*robust_id*/, CUP$parser$stack[CUP$parser$top-0].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -639,7 +639,7 @@ class CUP$parser$actions {
             {
               String RESULT = null;
 		 RESULT = "nonterminal"; 
-              CUP$parser$result = new java_cup.runtime.Symbol(42/*robust_id*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(42/*robust_id*/, CUP$parser$stack[CUP$parser$top-0].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -648,7 +648,7 @@ class CUP$parser$actions {
             {
               String RESULT = null;
 		 RESULT = "non"; 
-              CUP$parser$result = new java_cup.runtime.Symbol(42/*robust_id*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(42/*robust_id*/, CUP$parser$stack[CUP$parser$top-0].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -657,7 +657,7 @@ class CUP$parser$actions {
             {
               String RESULT = null;
 		 RESULT = "terminal"; 
-              CUP$parser$result = new java_cup.runtime.Symbol(42/*robust_id*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(42/*robust_id*/, CUP$parser$stack[CUP$parser$top-0].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -666,7 +666,7 @@ class CUP$parser$actions {
             {
               String RESULT = null;
 		 RESULT = "bantam.parser";
-              CUP$parser$result = new java_cup.runtime.Symbol(42/*robust_id*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(42/*robust_id*/, CUP$parser$stack[CUP$parser$top-0].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -675,7 +675,7 @@ class CUP$parser$actions {
             {
               String RESULT = null;
 		 RESULT = "action"; 
-              CUP$parser$result = new java_cup.runtime.Symbol(42/*robust_id*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(42/*robust_id*/, CUP$parser$stack[CUP$parser$top-0].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -684,7 +684,7 @@ class CUP$parser$actions {
             {
               String RESULT = null;
 		 RESULT = "code"; 
-              CUP$parser$result = new java_cup.runtime.Symbol(42/*robust_id*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(42/*robust_id*/, CUP$parser$stack[CUP$parser$top-0].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -692,11 +692,11 @@ class CUP$parser$actions {
           case 86: // robust_id ::= ID 
             {
               String RESULT = null;
-		int the_idleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left;
-		int the_idright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right;
-		String the_id = (String)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-0)).value;
+		int the_idleft = CUP$parser$stack[CUP$parser$top-0].left;
+		int the_idright = CUP$parser$stack[CUP$parser$top-0].right;
+		String the_id = (String)CUP$parser$stack[CUP$parser$top-0].value;
 		 RESULT = the_id; 
-              CUP$parser$result = new java_cup.runtime.Symbol(42/*robust_id*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(42/*robust_id*/, CUP$parser$stack[CUP$parser$top-0].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -704,11 +704,11 @@ class CUP$parser$actions {
           case 85: // label_id ::= robust_id 
             {
               String RESULT = null;
-		int the_idleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left;
-		int the_idright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right;
-		String the_id = (String)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-0)).value;
+		int the_idleft = CUP$parser$stack[CUP$parser$top-0].left;
+		int the_idright = CUP$parser$stack[CUP$parser$top-0].right;
+		String the_id = (String)CUP$parser$stack[CUP$parser$top-0].value;
 		 RESULT = the_id; 
-              CUP$parser$result = new java_cup.runtime.Symbol(38/*label_id*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(38/*label_id*/, CUP$parser$stack[CUP$parser$top-0].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -720,7 +720,7 @@ class CUP$parser$actions {
 		bantam.lexer.emit_error("Illegal use of reserved word");
 		RESULT="ILLEGAL";
 	
-              CUP$parser$result = new java_cup.runtime.Symbol(37/*symbol_id*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(37/*symbol_id*/, CUP$parser$stack[CUP$parser$top-0].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -728,11 +728,11 @@ class CUP$parser$actions {
           case 83: // symbol_id ::= ID 
             {
               String RESULT = null;
-		int the_idleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left;
-		int the_idright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right;
-		String the_id = (String)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-0)).value;
+		int the_idleft = CUP$parser$stack[CUP$parser$top-0].left;
+		int the_idright = CUP$parser$stack[CUP$parser$top-0].right;
+		String the_id = (String)CUP$parser$stack[CUP$parser$top-0].value;
 		 RESULT = the_id; 
-              CUP$parser$result = new java_cup.runtime.Symbol(37/*symbol_id*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(37/*symbol_id*/, CUP$parser$stack[CUP$parser$top-0].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -744,7 +744,7 @@ class CUP$parser$actions {
 		bantam.lexer.emit_error("Illegal use of reserved word");
 		RESULT="ILLEGAL";
 	
-              CUP$parser$result = new java_cup.runtime.Symbol(36/*nt_id*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(36/*nt_id*/, CUP$parser$stack[CUP$parser$top-0].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -752,11 +752,11 @@ class CUP$parser$actions {
           case 81: // nt_id ::= ID 
             {
               String RESULT = null;
-		int the_idleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left;
-		int the_idright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right;
-		String the_id = (String)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-0)).value;
+		int the_idleft = CUP$parser$stack[CUP$parser$top-0].left;
+		int the_idright = CUP$parser$stack[CUP$parser$top-0].right;
+		String the_id = (String)CUP$parser$stack[CUP$parser$top-0].value;
 		 RESULT = the_id; 
-              CUP$parser$result = new java_cup.runtime.Symbol(36/*nt_id*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(36/*nt_id*/, CUP$parser$stack[CUP$parser$top-0].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -764,9 +764,9 @@ class CUP$parser$actions {
           case 80: // new_non_term_id ::= ID 
             {
               Object RESULT = null;
-		int non_term_idleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left;
-		int non_term_idright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right;
-		String non_term_id = (String)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-0)).value;
+		int non_term_idleft = CUP$parser$stack[CUP$parser$top-0].left;
+		int non_term_idright = CUP$parser$stack[CUP$parser$top-0].right;
+		String non_term_id = (String)CUP$parser$stack[CUP$parser$top-0].value;
 		 
 	  /* see if this non terminal has been declared before */
 	  if (symbols.get(non_term_id) != null)
@@ -791,7 +791,7 @@ class CUP$parser$actions {
 	      symbols.put(non_term_id, new symbol_part(this_nt));
 	    }
 	
-              CUP$parser$result = new java_cup.runtime.Symbol(26/*new_non_term_id*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(26/*new_non_term_id*/, CUP$parser$stack[CUP$parser$top-0].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -799,9 +799,9 @@ class CUP$parser$actions {
           case 79: // new_term_id ::= ID 
             {
               Object RESULT = null;
-		int term_idleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left;
-		int term_idright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right;
-		String term_id = (String)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-0)).value;
+		int term_idleft = CUP$parser$stack[CUP$parser$top-0].left;
+		int term_idright = CUP$parser$stack[CUP$parser$top-0].right;
+		String term_id = (String)CUP$parser$stack[CUP$parser$top-0].value;
 		 
 	  /* see if this terminal has been declared before */
 	  if (symbols.get(term_id) != null)
@@ -821,7 +821,7 @@ class CUP$parser$actions {
 	        new symbol_part(new terminal(term_id, multipart_name)));
 	    }
 	
-              CUP$parser$result = new java_cup.runtime.Symbol(25/*new_term_id*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(25/*new_term_id*/, CUP$parser$stack[CUP$parser$top-0].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -830,7 +830,7 @@ class CUP$parser$actions {
             {
               Object RESULT = null;
 		 multipart_name = multipart_name.concat("[]"); 
-              CUP$parser$result = new java_cup.runtime.Symbol(19/*type_id*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(19/*type_id*/, CUP$parser$stack[CUP$parser$top-2].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -839,7 +839,7 @@ class CUP$parser$actions {
             {
               Object RESULT = null;
 
-              CUP$parser$result = new java_cup.runtime.Symbol(19/*type_id*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(19/*type_id*/, CUP$parser$stack[CUP$parser$top-0].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -848,7 +848,7 @@ class CUP$parser$actions {
             {
               Object RESULT = null;
 
-              CUP$parser$result = new java_cup.runtime.Symbol(15/*import_id*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(15/*import_id*/, CUP$parser$stack[CUP$parser$top-0].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -857,7 +857,7 @@ class CUP$parser$actions {
             {
               Object RESULT = null;
 		 append_multipart("*"); 
-              CUP$parser$result = new java_cup.runtime.Symbol(15/*import_id*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(15/*import_id*/, CUP$parser$stack[CUP$parser$top-2].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -865,11 +865,11 @@ class CUP$parser$actions {
           case 74: // multipart_id ::= robust_id 
             {
               Object RESULT = null;
-		int an_idleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left;
-		int an_idright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right;
-		String an_id = (String)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-0)).value;
+		int an_idleft = CUP$parser$stack[CUP$parser$top-0].left;
+		int an_idright = CUP$parser$stack[CUP$parser$top-0].right;
+		String an_id = (String)CUP$parser$stack[CUP$parser$top-0].value;
 		 append_multipart(an_id); 
-              CUP$parser$result = new java_cup.runtime.Symbol(13/*multipart_id*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(13/*multipart_id*/, CUP$parser$stack[CUP$parser$top-0].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -877,11 +877,11 @@ class CUP$parser$actions {
           case 73: // multipart_id ::= multipart_id DOT robust_id 
             {
               Object RESULT = null;
-		int another_idleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left;
-		int another_idright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right;
-		String another_id = (String)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-0)).value;
+		int another_idleft = CUP$parser$stack[CUP$parser$top-0].left;
+		int another_idright = CUP$parser$stack[CUP$parser$top-0].right;
+		String another_id = (String)CUP$parser$stack[CUP$parser$top-0].value;
 		 append_multipart(another_id); 
-              CUP$parser$result = new java_cup.runtime.Symbol(13/*multipart_id*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(13/*multipart_id*/, CUP$parser$stack[CUP$parser$top-2].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -890,7 +890,7 @@ class CUP$parser$actions {
             {
               String RESULT = null;
 		 RESULT = null; 
-              CUP$parser$result = new java_cup.runtime.Symbol(39/*opt_label*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(39/*opt_label*/, CUP$parser$stack[CUP$parser$top-0].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -898,11 +898,11 @@ class CUP$parser$actions {
           case 71: // opt_label ::= COLON label_id 
             {
               String RESULT = null;
-		int labidleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left;
-		int labidright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right;
-		String labid = (String)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-0)).value;
+		int labidleft = CUP$parser$stack[CUP$parser$top-0].left;
+		int labidright = CUP$parser$stack[CUP$parser$top-0].right;
+		String labid = (String)CUP$parser$stack[CUP$parser$top-0].value;
 		 RESULT = labid; 
-              CUP$parser$result = new java_cup.runtime.Symbol(39/*opt_label*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(39/*opt_label*/, CUP$parser$stack[CUP$parser$top-1].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -910,14 +910,14 @@ class CUP$parser$actions {
           case 70: // prod_part ::= CODE_STRING 
             {
               Object RESULT = null;
-		int code_strleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left;
-		int code_strright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right;
-		String code_str = (String)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-0)).value;
+		int code_strleft = CUP$parser$stack[CUP$parser$top-0].left;
+		int code_strright = CUP$parser$stack[CUP$parser$top-0].right;
+		String code_str = (String)CUP$parser$stack[CUP$parser$top-0].value;
 		 
 	  /* add a new production part */
 	  add_rhs_part(new action_part(code_str));
 	
-              CUP$parser$result = new java_cup.runtime.Symbol(24/*prod_part*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(24/*prod_part*/, CUP$parser$stack[CUP$parser$top-0].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -925,12 +925,12 @@ class CUP$parser$actions {
           case 69: // prod_part ::= symbol_id opt_label 
             {
               Object RESULT = null;
-		int symidleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
-		int symidright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
-		String symid = (String)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
-		int labidleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left;
-		int labidright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right;
-		String labid = (String)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-0)).value;
+		int symidleft = CUP$parser$stack[CUP$parser$top-1].left;
+		int symidright = CUP$parser$stack[CUP$parser$top-1].right;
+		String symid = (String)CUP$parser$stack[CUP$parser$top-1].value;
+		int labidleft = CUP$parser$stack[CUP$parser$top-0].left;
+		int labidright = CUP$parser$stack[CUP$parser$top-0].right;
+		String labid = (String)CUP$parser$stack[CUP$parser$top-0].value;
 		 
 	  /* try to look up the id */
 	  production_part symb = (production_part)symbols.get(symid);
@@ -948,7 +948,7 @@ class CUP$parser$actions {
 	      add_rhs_part(add_lab(symb, labid));
 	    }
 	
-              CUP$parser$result = new java_cup.runtime.Symbol(24/*prod_part*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(24/*prod_part*/, CUP$parser$stack[CUP$parser$top-1].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -957,7 +957,7 @@ class CUP$parser$actions {
             {
               Object RESULT = null;
 
-              CUP$parser$result = new java_cup.runtime.Symbol(23/*prod_part_list*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(23/*prod_part_list*/, CUP$parser$stack[CUP$parser$top-0].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -966,7 +966,7 @@ class CUP$parser$actions {
             {
               Object RESULT = null;
 
-              CUP$parser$result = new java_cup.runtime.Symbol(23/*prod_part_list*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(23/*prod_part_list*/, CUP$parser$stack[CUP$parser$top-1].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -1002,7 +1002,7 @@ class CUP$parser$actions {
 	  /* reset the rhs accumulation in any case */
 	  new_rhs();
 	
-              CUP$parser$result = new java_cup.runtime.Symbol(28/*rhs*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(28/*rhs*/, CUP$parser$stack[CUP$parser$top-0].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -1010,9 +1010,9 @@ class CUP$parser$actions {
           case 65: // rhs ::= prod_part_list PERCENT_PREC term_id 
             {
               Object RESULT = null;
-		int term_nameleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left;
-		int term_nameright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right;
-		String term_name = (String)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-0)).value;
+		int term_nameleft = CUP$parser$stack[CUP$parser$top-0].left;
+		int term_nameright = CUP$parser$stack[CUP$parser$top-0].right;
+		String term_name = (String)CUP$parser$stack[CUP$parser$top-0].value;
 		
 	  java_cup.symbol sym = null;
 	  if (lhs_nt != null) 
@@ -1065,7 +1065,7 @@ class CUP$parser$actions {
 	  /* reset the rhs accumulation in any case */
 	  new_rhs();
 	
-              CUP$parser$result = new java_cup.runtime.Symbol(28/*rhs*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(28/*rhs*/, CUP$parser$stack[CUP$parser$top-2].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -1074,7 +1074,7 @@ class CUP$parser$actions {
             {
               Object RESULT = null;
 
-              CUP$parser$result = new java_cup.runtime.Symbol(27/*rhs_list*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(27/*rhs_list*/, CUP$parser$stack[CUP$parser$top-0].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -1083,7 +1083,7 @@ class CUP$parser$actions {
             {
               Object RESULT = null;
 
-              CUP$parser$result = new java_cup.runtime.Symbol(27/*rhs_list*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(27/*rhs_list*/, CUP$parser$stack[CUP$parser$top-2].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -1092,10 +1092,10 @@ class CUP$parser$actions {
             {
               Object RESULT = null;
               // propagate RESULT from NT$13
-              if ( ((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value != null )
-                RESULT = (Object) ((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+              if ( CUP$parser$stack[CUP$parser$top-1].value != null )
+                RESULT = (Object) CUP$parser$stack[CUP$parser$top-1].value;
 
-              CUP$parser$result = new java_cup.runtime.Symbol(22/*production*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(22/*production*/, CUP$parser$stack[CUP$parser$top-2].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -1104,7 +1104,7 @@ class CUP$parser$actions {
             {
               Object RESULT = null;
  bantam.lexer.emit_error("Syntax Error");
-              CUP$parser$result = new java_cup.runtime.Symbol(56/*NT$13*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(56/*NT$13*/, CUP$parser$stack[CUP$parser$top-0].right, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -1113,16 +1113,16 @@ class CUP$parser$actions {
             {
               Object RESULT = null;
               // propagate RESULT from NT$11
-              if ( ((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-4)).value != null )
-                RESULT = (Object) ((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-4)).value;
+              if ( CUP$parser$stack[CUP$parser$top-4].value != null )
+                RESULT = (Object) CUP$parser$stack[CUP$parser$top-4].value;
               // propagate RESULT from NT$12
-              if ( ((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value != null )
-                RESULT = (Object) ((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
-		int lhs_idleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-5)).left;
-		int lhs_idright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-5)).right;
-		String lhs_id = (String)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-5)).value;
+              if ( CUP$parser$stack[CUP$parser$top-2].value != null )
+                RESULT = (Object) CUP$parser$stack[CUP$parser$top-2].value;
+		int lhs_idleft = CUP$parser$stack[CUP$parser$top-5].left;
+		int lhs_idright = CUP$parser$stack[CUP$parser$top-5].right;
+		String lhs_id = (String)CUP$parser$stack[CUP$parser$top-5].value;
 
-              CUP$parser$result = new java_cup.runtime.Symbol(22/*production*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-5)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(22/*production*/, CUP$parser$stack[CUP$parser$top-5].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -1130,11 +1130,11 @@ class CUP$parser$actions {
           case 59: // NT$12 ::= 
             {
               Object RESULT = null;
-		int lhs_idleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
-		int lhs_idright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).right;
-		String lhs_id = (String)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
+		int lhs_idleft = CUP$parser$stack[CUP$parser$top-2].left;
+		int lhs_idright = CUP$parser$stack[CUP$parser$top-2].right;
+		String lhs_id = (String)CUP$parser$stack[CUP$parser$top-2].value;
  
-              CUP$parser$result = new java_cup.runtime.Symbol(55/*NT$12*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(55/*NT$12*/, CUP$parser$stack[CUP$parser$top-0].right, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -1142,9 +1142,9 @@ class CUP$parser$actions {
           case 58: // NT$11 ::= 
             {
               Object RESULT = null;
-		int lhs_idleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left;
-		int lhs_idright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right;
-		String lhs_id = (String)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-0)).value;
+		int lhs_idleft = CUP$parser$stack[CUP$parser$top-0].left;
+		int lhs_idright = CUP$parser$stack[CUP$parser$top-0].right;
+		String lhs_id = (String)CUP$parser$stack[CUP$parser$top-0].value;
 
 	  /* lookup the lhs nt */
 	  lhs_nt = (non_terminal)non_terms.get(lhs_id);
@@ -1160,7 +1160,7 @@ class CUP$parser$actions {
 	  /* reset the rhs accumulation */
 	  new_rhs();
 	
-              CUP$parser$result = new java_cup.runtime.Symbol(54/*NT$11*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(54/*NT$11*/, CUP$parser$stack[CUP$parser$top-0].right, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -1169,7 +1169,7 @@ class CUP$parser$actions {
             {
               Object RESULT = null;
 
-              CUP$parser$result = new java_cup.runtime.Symbol(12/*production_list*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(12/*production_list*/, CUP$parser$stack[CUP$parser$top-0].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -1178,7 +1178,7 @@ class CUP$parser$actions {
             {
               Object RESULT = null;
 
-              CUP$parser$result = new java_cup.runtime.Symbol(12/*production_list*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(12/*production_list*/, CUP$parser$stack[CUP$parser$top-1].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -1187,7 +1187,7 @@ class CUP$parser$actions {
             {
               Object RESULT = null;
 
-              CUP$parser$result = new java_cup.runtime.Symbol(11/*start_spec*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(11/*start_spec*/, CUP$parser$stack[CUP$parser$top-0].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -1196,13 +1196,13 @@ class CUP$parser$actions {
             {
               Object RESULT = null;
               // propagate RESULT from NT$10
-              if ( ((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value != null )
-                RESULT = (Object) ((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
-		int start_nameleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
-		int start_nameright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).right;
-		String start_name = (String)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
+              if ( CUP$parser$stack[CUP$parser$top-1].value != null )
+                RESULT = (Object) CUP$parser$stack[CUP$parser$top-1].value;
+		int start_nameleft = CUP$parser$stack[CUP$parser$top-2].left;
+		int start_nameright = CUP$parser$stack[CUP$parser$top-2].right;
+		String start_name = (String)CUP$parser$stack[CUP$parser$top-2].value;
 
-              CUP$parser$result = new java_cup.runtime.Symbol(11/*start_spec*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-4)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(11/*start_spec*/, CUP$parser$stack[CUP$parser$top-4].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -1210,9 +1210,9 @@ class CUP$parser$actions {
           case 53: // NT$10 ::= 
             {
               Object RESULT = null;
-		int start_nameleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left;
-		int start_nameright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right;
-		String start_name = (String)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-0)).value;
+		int start_nameleft = CUP$parser$stack[CUP$parser$top-0].left;
+		int start_nameright = CUP$parser$stack[CUP$parser$top-0].right;
+		String start_name = (String)CUP$parser$stack[CUP$parser$top-0].value;
  
 	  /* verify that the name has been declared as a non terminal */
 	  non_terminal nt = (non_terminal)non_terms.get(start_name);
@@ -1236,7 +1236,7 @@ class CUP$parser$actions {
 	      new_rhs();
 	    }
 	
-              CUP$parser$result = new java_cup.runtime.Symbol(53/*NT$10*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(53/*NT$10*/, CUP$parser$stack[CUP$parser$top-0].right, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -1244,9 +1244,9 @@ class CUP$parser$actions {
           case 52: // term_id ::= symbol_id 
             {
               String RESULT = null;
-		int symleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left;
-		int symright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right;
-		String sym = (String)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-0)).value;
+		int symleft = CUP$parser$stack[CUP$parser$top-0].left;
+		int symright = CUP$parser$stack[CUP$parser$top-0].right;
+		String sym = (String)CUP$parser$stack[CUP$parser$top-0].value;
 		
 	  /* check that the symbol_id is a terminal */
 	  if (symbols.get(sym) == null)
@@ -1257,7 +1257,7 @@ class CUP$parser$actions {
 	    }
           RESULT = sym;
          
-              CUP$parser$result = new java_cup.runtime.Symbol(41/*term_id*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(41/*term_id*/, CUP$parser$stack[CUP$parser$top-0].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -1265,14 +1265,14 @@ class CUP$parser$actions {
           case 51: // terminal_id ::= term_id 
             {
               String RESULT = null;
-		int symleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left;
-		int symright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right;
-		String sym = (String)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-0)).value;
+		int symleft = CUP$parser$stack[CUP$parser$top-0].left;
+		int symright = CUP$parser$stack[CUP$parser$top-0].right;
+		String sym = (String)CUP$parser$stack[CUP$parser$top-0].value;
 			
 	  add_precedence(sym);
 	  RESULT = sym;
 	
-              CUP$parser$result = new java_cup.runtime.Symbol(40/*terminal_id*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(40/*terminal_id*/, CUP$parser$stack[CUP$parser$top-0].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -1281,7 +1281,7 @@ class CUP$parser$actions {
             {
               Object RESULT = null;
 
-              CUP$parser$result = new java_cup.runtime.Symbol(32/*terminal_list*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(32/*terminal_list*/, CUP$parser$stack[CUP$parser$top-0].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -1290,7 +1290,7 @@ class CUP$parser$actions {
             {
               Object RESULT = null;
 
-              CUP$parser$result = new java_cup.runtime.Symbol(32/*terminal_list*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(32/*terminal_list*/, CUP$parser$stack[CUP$parser$top-2].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -1299,10 +1299,10 @@ class CUP$parser$actions {
             {
               Object RESULT = null;
               // propagate RESULT from NT$9
-              if ( ((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value != null )
-                RESULT = (Object) ((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
+              if ( CUP$parser$stack[CUP$parser$top-2].value != null )
+                RESULT = (Object) CUP$parser$stack[CUP$parser$top-2].value;
 
-              CUP$parser$result = new java_cup.runtime.Symbol(31/*preced*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-4)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(31/*preced*/, CUP$parser$stack[CUP$parser$top-4].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -1313,7 +1313,7 @@ class CUP$parser$actions {
 
 	  update_precedence(assoc.nonassoc);
 	
-              CUP$parser$result = new java_cup.runtime.Symbol(52/*NT$9*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(52/*NT$9*/, CUP$parser$stack[CUP$parser$top-0].right, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -1322,10 +1322,10 @@ class CUP$parser$actions {
             {
               Object RESULT = null;
               // propagate RESULT from NT$8
-              if ( ((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value != null )
-                RESULT = (Object) ((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
+              if ( CUP$parser$stack[CUP$parser$top-2].value != null )
+                RESULT = (Object) CUP$parser$stack[CUP$parser$top-2].value;
 
-              CUP$parser$result = new java_cup.runtime.Symbol(31/*preced*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-4)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(31/*preced*/, CUP$parser$stack[CUP$parser$top-4].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -1336,7 +1336,7 @@ class CUP$parser$actions {
 
 	  update_precedence(assoc.right);
 	
-              CUP$parser$result = new java_cup.runtime.Symbol(51/*NT$8*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(51/*NT$8*/, CUP$parser$stack[CUP$parser$top-0].right, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -1345,10 +1345,10 @@ class CUP$parser$actions {
             {
               Object RESULT = null;
               // propagate RESULT from NT$7
-              if ( ((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value != null )
-                RESULT = (Object) ((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
+              if ( CUP$parser$stack[CUP$parser$top-2].value != null )
+                RESULT = (Object) CUP$parser$stack[CUP$parser$top-2].value;
 
-              CUP$parser$result = new java_cup.runtime.Symbol(31/*preced*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-4)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(31/*preced*/, CUP$parser$stack[CUP$parser$top-4].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -1359,7 +1359,7 @@ class CUP$parser$actions {
 
 	  update_precedence(assoc.left);
 	
-              CUP$parser$result = new java_cup.runtime.Symbol(50/*NT$7*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(50/*NT$7*/, CUP$parser$stack[CUP$parser$top-0].right, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -1368,7 +1368,7 @@ class CUP$parser$actions {
             {
               Object RESULT = null;
 
-              CUP$parser$result = new java_cup.runtime.Symbol(33/*precedence_l*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(33/*precedence_l*/, CUP$parser$stack[CUP$parser$top-0].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -1377,7 +1377,7 @@ class CUP$parser$actions {
             {
               Object RESULT = null;
 
-              CUP$parser$result = new java_cup.runtime.Symbol(33/*precedence_l*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(33/*precedence_l*/, CUP$parser$stack[CUP$parser$top-1].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -1386,7 +1386,7 @@ class CUP$parser$actions {
             {
               Object RESULT = null;
 
-              CUP$parser$result = new java_cup.runtime.Symbol(30/*precedence_list*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(30/*precedence_list*/, CUP$parser$stack[CUP$parser$top-0].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -1395,7 +1395,7 @@ class CUP$parser$actions {
             {
               Object RESULT = null;
 
-              CUP$parser$result = new java_cup.runtime.Symbol(30/*precedence_list*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(30/*precedence_list*/, CUP$parser$stack[CUP$parser$top-0].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -1404,7 +1404,7 @@ class CUP$parser$actions {
             {
               Object RESULT = null;
 
-              CUP$parser$result = new java_cup.runtime.Symbol(21/*non_term_name_list*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(21/*non_term_name_list*/, CUP$parser$stack[CUP$parser$top-0].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -1413,7 +1413,7 @@ class CUP$parser$actions {
             {
               Object RESULT = null;
 
-              CUP$parser$result = new java_cup.runtime.Symbol(21/*non_term_name_list*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(21/*non_term_name_list*/, CUP$parser$stack[CUP$parser$top-2].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -1422,7 +1422,7 @@ class CUP$parser$actions {
             {
               Object RESULT = null;
 
-              CUP$parser$result = new java_cup.runtime.Symbol(20/*term_name_list*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(20/*term_name_list*/, CUP$parser$stack[CUP$parser$top-0].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -1431,7 +1431,7 @@ class CUP$parser$actions {
             {
               Object RESULT = null;
 
-              CUP$parser$result = new java_cup.runtime.Symbol(20/*term_name_list*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(20/*term_name_list*/, CUP$parser$stack[CUP$parser$top-2].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -1440,10 +1440,10 @@ class CUP$parser$actions {
             {
               Object RESULT = null;
               // propagate RESULT from NT$6
-              if ( ((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value != null )
-                RESULT = (Object) ((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+              if ( CUP$parser$stack[CUP$parser$top-1].value != null )
+                RESULT = (Object) CUP$parser$stack[CUP$parser$top-1].value;
 
-              CUP$parser$result = new java_cup.runtime.Symbol(35/*declares_non_term*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(35/*declares_non_term*/, CUP$parser$stack[CUP$parser$top-2].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -1455,7 +1455,7 @@ class CUP$parser$actions {
 	  /* reset the accumulated multipart name */
 	  multipart_name = new String();
 	
-              CUP$parser$result = new java_cup.runtime.Symbol(49/*NT$6*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(49/*NT$6*/, CUP$parser$stack[CUP$parser$top-0].right, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -1464,10 +1464,10 @@ class CUP$parser$actions {
             {
               Object RESULT = null;
               // propagate RESULT from NT$5
-              if ( ((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value != null )
-                RESULT = (Object) ((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+              if ( CUP$parser$stack[CUP$parser$top-1].value != null )
+                RESULT = (Object) CUP$parser$stack[CUP$parser$top-1].value;
 
-              CUP$parser$result = new java_cup.runtime.Symbol(34/*declares_term*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(34/*declares_term*/, CUP$parser$stack[CUP$parser$top-2].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -1479,7 +1479,7 @@ class CUP$parser$actions {
 	  /* reset the accumulated multipart name */
 	  multipart_name = new String();
 	
-              CUP$parser$result = new java_cup.runtime.Symbol(48/*NT$5*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(48/*NT$5*/, CUP$parser$stack[CUP$parser$top-0].right, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -1488,10 +1488,10 @@ class CUP$parser$actions {
             {
               Object RESULT = null;
               // propagate RESULT from NT$4
-              if ( ((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value != null )
-                RESULT = (Object) ((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+              if ( CUP$parser$stack[CUP$parser$top-1].value != null )
+                RESULT = (Object) CUP$parser$stack[CUP$parser$top-1].value;
 
-              CUP$parser$result = new java_cup.runtime.Symbol(18/*symbol*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-3)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(18/*symbol*/, CUP$parser$stack[CUP$parser$top-3].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -1503,7 +1503,7 @@ class CUP$parser$actions {
 	  /* reset the accumulated multipart name */
 	  multipart_name = new String();
 	
-              CUP$parser$result = new java_cup.runtime.Symbol(47/*NT$4*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(47/*NT$4*/, CUP$parser$stack[CUP$parser$top-0].right, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -1512,10 +1512,10 @@ class CUP$parser$actions {
             {
               Object RESULT = null;
               // propagate RESULT from NT$3
-              if ( ((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value != null )
-                RESULT = (Object) ((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+              if ( CUP$parser$stack[CUP$parser$top-1].value != null )
+                RESULT = (Object) CUP$parser$stack[CUP$parser$top-1].value;
 
-              CUP$parser$result = new java_cup.runtime.Symbol(18/*symbol*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-3)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(18/*symbol*/, CUP$parser$stack[CUP$parser$top-3].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -1527,7 +1527,7 @@ class CUP$parser$actions {
 	  /* reset the accumulated multipart name */
 	  multipart_name = new String();
 	
-              CUP$parser$result = new java_cup.runtime.Symbol(46/*NT$3*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(46/*NT$3*/, CUP$parser$stack[CUP$parser$top-0].right, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -1536,7 +1536,7 @@ class CUP$parser$actions {
             {
               Object RESULT = null;
 
-              CUP$parser$result = new java_cup.runtime.Symbol(18/*symbol*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(18/*symbol*/, CUP$parser$stack[CUP$parser$top-1].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -1545,7 +1545,7 @@ class CUP$parser$actions {
             {
               Object RESULT = null;
 
-              CUP$parser$result = new java_cup.runtime.Symbol(18/*symbol*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(18/*symbol*/, CUP$parser$stack[CUP$parser$top-2].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -1554,7 +1554,7 @@ class CUP$parser$actions {
             {
               Object RESULT = null;
 
-              CUP$parser$result = new java_cup.runtime.Symbol(18/*symbol*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(18/*symbol*/, CUP$parser$stack[CUP$parser$top-1].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -1563,7 +1563,7 @@ class CUP$parser$actions {
             {
               Object RESULT = null;
 
-              CUP$parser$result = new java_cup.runtime.Symbol(18/*symbol*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(18/*symbol*/, CUP$parser$stack[CUP$parser$top-2].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -1572,7 +1572,7 @@ class CUP$parser$actions {
             {
               Object RESULT = null;
 
-              CUP$parser$result = new java_cup.runtime.Symbol(10/*symbol_list*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(10/*symbol_list*/, CUP$parser$stack[CUP$parser$top-0].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -1581,7 +1581,7 @@ class CUP$parser$actions {
             {
               Object RESULT = null;
 
-              CUP$parser$result = new java_cup.runtime.Symbol(10/*symbol_list*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(10/*symbol_list*/, CUP$parser$stack[CUP$parser$top-1].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -1589,16 +1589,16 @@ class CUP$parser$actions {
           case 20: // scan_code ::= SCAN WITH CODE_STRING opt_semi 
             {
               Object RESULT = null;
-		int user_codeleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
-		int user_coderight = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
-		String user_code = (String)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+		int user_codeleft = CUP$parser$stack[CUP$parser$top-1].left;
+		int user_coderight = CUP$parser$stack[CUP$parser$top-1].right;
+		String user_code = (String)CUP$parser$stack[CUP$parser$top-1].value;
 		 
 	  if (emit.scan_code!=null)
 	    bantam.lexer.emit_error("Redundant scan code (skipping)");
 	  else /* save the user code */
 	    emit.scan_code = user_code;
 	
-              CUP$parser$result = new java_cup.runtime.Symbol(17/*scan_code*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-3)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(17/*scan_code*/, CUP$parser$stack[CUP$parser$top-3].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -1606,16 +1606,16 @@ class CUP$parser$actions {
           case 19: // init_code ::= INIT WITH CODE_STRING opt_semi 
             {
               Object RESULT = null;
-		int user_codeleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
-		int user_coderight = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
-		String user_code = (String)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+		int user_codeleft = CUP$parser$stack[CUP$parser$top-1].left;
+		int user_coderight = CUP$parser$stack[CUP$parser$top-1].right;
+		String user_code = (String)CUP$parser$stack[CUP$parser$top-1].value;
 		 
 	  if (emit.init_code!=null)
 	    bantam.lexer.emit_error("Redundant init code (skipping)");
 	  else /* save the user code */
 	    emit.init_code = user_code;
 	
-              CUP$parser$result = new java_cup.runtime.Symbol(16/*init_code*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-3)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(16/*init_code*/, CUP$parser$stack[CUP$parser$top-3].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -1623,16 +1623,16 @@ class CUP$parser$actions {
           case 18: // parser_code_part ::= PARSER CODE CODE_STRING opt_semi 
             {
               Object RESULT = null;
-		int user_codeleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
-		int user_coderight = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
-		String user_code = (String)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+		int user_codeleft = CUP$parser$stack[CUP$parser$top-1].left;
+		int user_coderight = CUP$parser$stack[CUP$parser$top-1].right;
+		String user_code = (String)CUP$parser$stack[CUP$parser$top-1].value;
 		
 	  if (emit.parser_code!=null)
 	    bantam.lexer.emit_error("Redundant bantam.parser code (skipping)");
 	  else /* save the user included code string */
 	    emit.parser_code = user_code;
 	
-              CUP$parser$result = new java_cup.runtime.Symbol(9/*parser_code_part*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-3)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(9/*parser_code_part*/, CUP$parser$stack[CUP$parser$top-3].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -1640,16 +1640,16 @@ class CUP$parser$actions {
           case 17: // action_code_part ::= ACTION CODE CODE_STRING opt_semi 
             {
               Object RESULT = null;
-		int user_codeleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
-		int user_coderight = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
-		String user_code = (String)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+		int user_codeleft = CUP$parser$stack[CUP$parser$top-1].left;
+		int user_coderight = CUP$parser$stack[CUP$parser$top-1].right;
+		String user_code = (String)CUP$parser$stack[CUP$parser$top-1].value;
 		
 	  if (emit.action_code!=null)
 	    bantam.lexer.emit_error("Redundant action code (skipping)");
 	  else /* save the user included code string */
 	    emit.action_code = user_code;
 	
-              CUP$parser$result = new java_cup.runtime.Symbol(4/*action_code_part*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-3)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(4/*action_code_part*/, CUP$parser$stack[CUP$parser$top-3].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -1658,7 +1658,7 @@ class CUP$parser$actions {
             {
               Object RESULT = null;
 
-              CUP$parser$result = new java_cup.runtime.Symbol(5/*code_parts*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(5/*code_parts*/, CUP$parser$stack[CUP$parser$top-1].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -1667,7 +1667,7 @@ class CUP$parser$actions {
             {
               Object RESULT = null;
 
-              CUP$parser$result = new java_cup.runtime.Symbol(5/*code_parts*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(5/*code_parts*/, CUP$parser$stack[CUP$parser$top-0].right, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -1676,7 +1676,7 @@ class CUP$parser$actions {
             {
               Object RESULT = null;
 
-              CUP$parser$result = new java_cup.runtime.Symbol(6/*code_part*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(6/*code_part*/, CUP$parser$stack[CUP$parser$top-0].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -1685,7 +1685,7 @@ class CUP$parser$actions {
             {
               Object RESULT = null;
 
-              CUP$parser$result = new java_cup.runtime.Symbol(6/*code_part*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(6/*code_part*/, CUP$parser$stack[CUP$parser$top-0].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -1694,7 +1694,7 @@ class CUP$parser$actions {
             {
               Object RESULT = null;
 
-              CUP$parser$result = new java_cup.runtime.Symbol(6/*code_part*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(6/*code_part*/, CUP$parser$stack[CUP$parser$top-0].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -1703,7 +1703,7 @@ class CUP$parser$actions {
             {
               Object RESULT = null;
 
-              CUP$parser$result = new java_cup.runtime.Symbol(6/*code_part*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(6/*code_part*/, CUP$parser$stack[CUP$parser$top-0].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -1712,10 +1712,10 @@ class CUP$parser$actions {
             {
               Object RESULT = null;
               // propagate RESULT from NT$2
-              if ( ((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value != null )
-                RESULT = (Object) ((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+              if ( CUP$parser$stack[CUP$parser$top-1].value != null )
+                RESULT = (Object) CUP$parser$stack[CUP$parser$top-1].value;
 
-              CUP$parser$result = new java_cup.runtime.Symbol(14/*import_spec*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-3)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(14/*import_spec*/, CUP$parser$stack[CUP$parser$top-3].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -1730,7 +1730,7 @@ class CUP$parser$actions {
 	  /* reset the accumulated multipart name */
 	  multipart_name = new String();
 	
-              CUP$parser$result = new java_cup.runtime.Symbol(45/*NT$2*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(45/*NT$2*/, CUP$parser$stack[CUP$parser$top-0].right, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -1739,7 +1739,7 @@ class CUP$parser$actions {
             {
               Object RESULT = null;
 
-              CUP$parser$result = new java_cup.runtime.Symbol(3/*import_list*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(3/*import_list*/, CUP$parser$stack[CUP$parser$top-0].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -1748,7 +1748,7 @@ class CUP$parser$actions {
             {
               Object RESULT = null;
 
-              CUP$parser$result = new java_cup.runtime.Symbol(3/*import_list*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(3/*import_list*/, CUP$parser$stack[CUP$parser$top-1].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -1757,7 +1757,7 @@ class CUP$parser$actions {
             {
               Object RESULT = null;
 
-              CUP$parser$result = new java_cup.runtime.Symbol(2/*package_spec*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(2/*package_spec*/, CUP$parser$stack[CUP$parser$top-0].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -1766,10 +1766,10 @@ class CUP$parser$actions {
             {
               Object RESULT = null;
               // propagate RESULT from NT$1
-              if ( ((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value != null )
-                RESULT = (Object) ((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+              if ( CUP$parser$stack[CUP$parser$top-1].value != null )
+                RESULT = (Object) CUP$parser$stack[CUP$parser$top-1].value;
 
-              CUP$parser$result = new java_cup.runtime.Symbol(2/*package_spec*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-3)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(2/*package_spec*/, CUP$parser$stack[CUP$parser$top-3].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -1784,7 +1784,7 @@ class CUP$parser$actions {
 	  /* reset the accumulated multipart name */
 	  multipart_name = new String();
 	
-              CUP$parser$result = new java_cup.runtime.Symbol(44/*NT$1*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(44/*NT$1*/, CUP$parser$stack[CUP$parser$top-0].right, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -1793,7 +1793,7 @@ class CUP$parser$actions {
             {
               Object RESULT = null;
 
-              CUP$parser$result = new java_cup.runtime.Symbol(1/*spec*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-4)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(1/*spec*/, CUP$parser$stack[CUP$parser$top-4].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -1802,10 +1802,10 @@ class CUP$parser$actions {
             {
               Object RESULT = null;
               // propagate RESULT from NT$0
-              if ( ((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-7)).value != null )
-                RESULT = (Object) ((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-7)).value;
+              if ( CUP$parser$stack[CUP$parser$top-7].value != null )
+                RESULT = (Object) CUP$parser$stack[CUP$parser$top-7].value;
 
-              CUP$parser$result = new java_cup.runtime.Symbol(1/*spec*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-7)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(1/*spec*/, CUP$parser$stack[CUP$parser$top-7].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -1820,7 +1820,7 @@ class CUP$parser$actions {
           /* declare start non terminal */
           non_terms.put("$START", non_terminal.START_nt);
 	
-              CUP$parser$result = new java_cup.runtime.Symbol(43/*NT$0*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(43/*NT$0*/, CUP$parser$stack[CUP$parser$top-0].right, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           return CUP$parser$result;
 
@@ -1828,11 +1828,11 @@ class CUP$parser$actions {
           case 0: // $START ::= spec EOF 
             {
               Object RESULT = null;
-		int start_valleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
-		int start_valright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
-		Object start_val = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+		int start_valleft = CUP$parser$stack[CUP$parser$top-1].left;
+		int start_valright = CUP$parser$stack[CUP$parser$top-1].right;
+		Object start_val = (Object)CUP$parser$stack[CUP$parser$top-1].value;
 		RESULT = start_val;
-              CUP$parser$result = new java_cup.runtime.Symbol(0/*$START*/, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-0)).right, RESULT);
+              CUP$parser$result = new java_cup.runtime.Symbol(0/*$START*/, CUP$parser$stack[CUP$parser$top-1].left, CUP$parser$stack[CUP$parser$top-0].right, RESULT);
             }
           /* ACCEPT */
           CUP$parser$parser.done_parsing();
@@ -1,7 +1,8 @@
 				    
 package java_cup.runtime;
 
-import java.util.Stack;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 /** This class implements a skeleton table driven LR bantam.parser.  In general,
  *  LR parsers are a form of bottom up shift-reduce parsers.  Shift-reduce
@@ -13,20 +14,21 @@ import java.util.Stack;
  *  the left hand side of the production.  <p>
  *
  *  To control the decision of whether to shift or reduce at any given point, 
- *  the bantam.parser uses a state machine (the "viable prefix recognition machine"
+ *  the bantam.parser uses a state machine (the "viable prefix recognition machine" 
  *  built by the bantam.parser generator).  The current state of the machine is placed
- *  on top of the parse stack (stored as part of a Symbol object representing
- *  a terminal or non terminal).  The parse action table is consulted 
- *  (using the current state and the current lookahead Symbol as indexes) to 
- *  determine whether to shift or to reduce.  When the bantam.parser shifts, it
- *  changes to a new state by pushing a new Symbol (containing a new state) 
- *  onto the stack.  When the bantam.parser reduces, it pops the handle (right hand
- *  side of a production) off the stack.  This leaves the bantam.parser in the state
- *  it was in before any of those Symbols were matched.  Next the reduce-goto 
- *  table is consulted (using the new state and current lookahead Symbol as 
- *  indexes) to determine a new state to go to.  The bantam.parser then shifts to
- *  this goto state by pushing the left hand side Symbol of the production 
- *  (also containing the new state) onto the stack.<p>
+ *  on top of the parse stack (kept in an array of states parallel to the
+ *  Symbol objects representing the terminals and non terminals).  The parse
+ *  action table is consulted (using the current state and the current
+ *  lookahead Symbol as indexes) to determine whether to shift or to reduce.
+ *  When the bantam.parser shifts, it changes to a new state by pushing a
+ *  new Symbol (with a new state) onto the stack.  When the bantam.parser
+ *  reduces, it pops the handle (right hand side of a production) off the
+ *  stack.  This leaves the bantam.parser in the state it was in before any
+ *  of those Symbols were matched.  Next the reduce-goto table is consulted
+ *  (using the new state and current lookahead Symbol as indexes) to
+ *  determine a new state to go to.  The bantam.parser then shifts to this
+ *  goto state by pushing the left hand side Symbol of the production (with
+ *  the new state) onto the stack.<p>
  *
  *  This class actually provides four LR parsers.  The methods parse() and 
  *  debug_parse() provide two versions of the main bantam.parser (the only difference
@@ -146,6 +148,11 @@ public abstract class lr_parser {
    */
   protected int error_sync_size() {return _error_sync_size; }
 
+  /*. . . . . . . . . . . . . . . . . . . . . . . . . . . . . .*/
+
+  /** The number of Symbols the parse stack holds before it first grows. */
+  protected final static int _initial_stack_size = 64;
+
   /*-----------------------------------------------------------*/
   /*--- (Access to) Instance Variables ------------------------*/
   /*-----------------------------------------------------------*/
@@ -247,8 +254,16 @@ public abstract class lr_parser {
 
   /*. . . . . . . . . . . . . . . . . . . . . . . . . . . . . .*/
 
-  /** The parse stack itself. */
-  protected Stack stack = new Stack();
+  /** The parse stack itself: the Symbols on the stack, from the bottom of
+   *  the stack (index 0) to the top (index tos). */
+  protected Symbol[] stack = new Symbol[_initial_stack_size];
+
+  /*. . . . . . . . . . . . . . . . . . . . . . . . . . . . . .*/
+
+  /** The states of the parse stack, parallel to the Symbols (the state of 
+   *  stack[i] is state_stack[i]), so the parser can find the state on top 
+   *  of the stack without going through a Symbol object. */
+  protected int[] state_stack = new int[_initial_stack_size];
 
   /*. . . . . . . . . . . . . . . . . . . . . . . . . . . . . .*/
 
@@ -267,6 +282,32 @@ public abstract class lr_parser {
 
   /*. . . . . . . . . . . . . . . . . . . . . . . . . . . . . .*/
 
+  /** The action table unpacked into a row of action_width entries for each
+   *  state (see dense_table()), so get_action() indexes rather than searches. */
+  protected short[] action_dense;
+
+  /** The number of entries in each row of action_dense. */
+  protected int action_width;
+
+  /*. . . . . . . . . . . . . . . . . . . . . . . . . . . . . .*/
+
+  /** The reduce-goto table unpacked into a row of reduce_width entries for 
+   *  each state (see dense_table()). */
+  protected short[] reduce_dense;
+
+  /** The number of entries in each row of reduce_dense. */
+  protected int reduce_width;
+
+  /*. . . . . . . . . . . . . . . . . . . . . . . . . . . . . .*/
+
+  /** The unpacked tables made so far, keyed by the tables they were unpacked
+   *  from.  Generated parsers keep their tables in static fields, so every
+   *  parser of the same class shares one set of unpacked tables. */
+  private static final Map<short[][], short[]> dense_tables = 
+    new WeakHashMap<short[][], short[]>();
+
+  /*. . . . . . . . . . . . . . . . . . . . . . . . . . . . . .*/
+
   /** This is the scanner object used by the default implementation
    *  of scan() to get Symbols.  To avoid name conflicts with existing
    *  code, this field is private. [CSA/davidm] */
@@ -292,13 +333,13 @@ public abstract class lr_parser {
    *
    * @param act_num   the internal index of the action to be performed.
    * @param parser    the bantam.parser object we are acting for.
-   * @param stack     the parse stack of that object.
+   * @param stack     the Symbols of the parse stack of that object.
    * @param top       the index of the top element of the parse stack.
    */
   public abstract Symbol do_action(
     int       act_num, 
     lr_parser parser, 
-    Stack     stack, 
+    Symbol[]  stack, 
     int       top) 
     throws java.lang.Exception;
 
@@ -411,92 +452,146 @@ public abstract class lr_parser {
 
   /*. . . . . . . . . . . . . . . . . . . . . . . . . . . . . .*/
 
-  /** Fetch an action from the action table.  The table is broken up into
+  /** Set up direct references to the tables that drive the parser, and
+   *  the unpacked action and reduce-goto tables. 
+   */
+  protected void init_tables()
+    {
+      production_tab = production_table();
+      action_tab     = action_table();
+      reduce_tab     = reduce_table();
+
+      /* a missing action is an error (0), a missing goto is -1 */
+      action_dense = dense_table(action_tab, (short)0);
+      action_width = action_dense.length / action_tab.length;
+      reduce_dense = dense_table(reduce_tab, (short)-1);
+      reduce_width = reduce_dense.length / reduce_tab.length;
+    }
+
+  /*. . . . . . . . . . . . . . . . . . . . . . . . . . . . . .*/
+
+  /** Unpack an action or reduce-goto table.  The table is broken up into
    *  rows, one per state (rows are indexed directly by state number).  
    *  Within each row, a list of index, value pairs are given (as sequential
    *  entries in the table), and the list is terminated by a default entry 
-   *  (denoted with a Symbol index of -1).  To find the proper entry in a row 
-   *  we do a linear or binary search (depending on the size of the row).  
+   *  (denoted with a Symbol index of -1).  The unpacked table has a row of
+   *  the same width for every state, with an entry for each Symbol index up
+   *  to the largest one in the table followed by the default of the row, so 
+   *  the entry of a state and Symbol is at state * width + Symbol index.
+   *  The table is unpacked once and then shared by every parser using it.
    *
-   * @param state the state index of the action being accessed.
-   * @param sym   the Symbol index of the action being accessed.
+   * @param tab     the table to unpack.
+   * @param missing the entry of a Symbol the row has no entry for when it 
+   *                has no default (or when the row is null).
    */
-  protected final short get_action(int state, int sym)
+  protected static short[] dense_table(short[][] tab, short missing)
     {
-      short tag;
-      int first, last, probe;
-      short[] row = action_tab[state];
-
-      /* linear search if we are < 10 entries */
-      if (row.length < 20)
-        for (probe = 0; probe < row.length; probe++)
-	  {
-	    /* is this entry labeled with our Symbol or the default? */
-	    tag = row[probe++];
-	    if (tag == sym || tag == -1)
-	      {
-	        /* return the next entry */
-	        return row[probe];
-	      }
-	  }
-      /* otherwise binary search */
-      else
+      synchronized (dense_tables)
 	{
-	  first = 0; 
-	  last = (row.length-1)/2 - 1;  /* leave out trailing default entry */
-	  while (first <= last)
+	  short[] dense = dense_tables.get(tab);
+	  if (dense != null)
+	    return dense;
+
+	  /* one entry for each Symbol index in the table, plus the default */
+	  int width = 1;
+	  for (int state = 0; state < tab.length; state++)
+	    if (tab[state] != null)
+	      for (int probe = 0; probe < tab[state].length; probe += 2)
+		width = Math.max(width, tab[state][probe] + 2);
+
+	  dense = new short[tab.length * width];
+	  boolean[] found = new boolean[width];
+	  for (int state = 0; state < tab.length; state++)
 	    {
-	      probe = (first+last)/2;
-	      if (sym == row[probe*2])
-		return row[probe*2+1];
-	      else if (sym > row[probe*2])
-		first = probe+1;
-	      else
-	        last = probe-1;
+	      short[] row = tab[state];
+	      int base = state * width;
+	      java.util.Arrays.fill(found, false);
+	      java.util.Arrays.fill(dense, base, base + width, missing);
+
+	      /* a search of the row finds the first entry labeled with the
+		 Symbol or the default, whichever comes first */
+	      for (int probe = 0; row != null && probe < row.length; probe += 2)
+		{
+		  short tag = row[probe];
+		  if (tag == -1)
+		    {
+		      for (int sym = 0; sym < width; sym++)
+			if (!found[sym])
+			  dense[base + sym] = row[probe+1];
+		      break;
+		    }
+		  if (tag >= 0 && !found[tag])
+		    {
+		      found[tag] = true;
+		      dense[base + tag] = row[probe+1];
+		    }
+		}
 	    }
-
-	  /* not found, use the default at the end */
-	  return row[row.length-1];
+	  dense_tables.put(tab, dense);
+	  return dense;
 	}
+    }
+
+  /*. . . . . . . . . . . . . . . . . . . . . . . . . . . . . .*/
 
-      /* shouldn't happened, but if we run off the end we return the 
-	 default (error == 0) */
-      return 0;
+  /** Fetch an action from the action table, by indexing the unpacked table.
+   *  A Symbol index outside the table gets the default of the state.
+   *
+   * @param state the state index of the action being accessed.
+   * @param sym   the Symbol index of the action being accessed.
+   */
+  protected final short get_action(int state, int sym)
+    {
+      if (sym < 0 || sym >= action_width)
+	sym = action_width - 1;
+      return action_dense[state * action_width + sym];
     }
 
   /*. . . . . . . . . . . . . . . . . . . . . . . . . . . . . .*/
 
-  /** Fetch a state from the reduce-goto table.  The table is broken up into
-   *  rows, one per state (rows are indexed directly by state number).  
-   *  Within each row, a list of index, value pairs are given (as sequential
-   *  entries in the table), and the list is terminated by a default entry 
-   *  (denoted with a Symbol index of -1).  To find the proper entry in a row 
-   *  we do a linear search.  
+  /** Fetch a state from the reduce-goto table, by indexing the unpacked 
+   *  table.  A Symbol index outside the table gets the default of the state.
    *
    * @param state the state index of the entry being accessed.
    * @param sym   the Symbol index of the entry being accessed.
    */
   protected final short get_reduce(int state, int sym)
     {
-      short tag;
-      short[] row = reduce_tab[state];
+      if (sym < 0 || sym >= reduce_width)
+	sym = reduce_width - 1;
+      return reduce_dense[state * reduce_width + sym];
+    }
 
-      /* if we have a null row we go with the default */
-      if (row == null)
-        return -1;
+  /*. . . . . . . . . . . . . . . . . . . . . . . . . . . . . .*/
 
-      for (int probe = 0; probe < row.length; probe++)
+  /** Push a Symbol onto the parse stack, growing the stack if it is full.
+   *
+   * @param sym   the Symbol.
+   * @param state the state the parser is in with the Symbol on top.
+   */
+  protected final void push(Symbol sym, int state)
+    {
+      if (++tos == stack.length)
 	{
-	  /* is this entry labeled with our Symbol or the default? */
-	  tag = row[probe++];
-	  if (tag == sym || tag == -1)
-	    {
-	      /* return the next entry */
-	      return row[probe];
-	    }
+	  stack = java.util.Arrays.copyOf(stack, 2 * tos);
+	  state_stack = java.util.Arrays.copyOf(state_stack, 2 * tos);
 	}
-      /* if we run off the end we return the default (error == -1) */
-      return -1;
+      stack[tos] = sym;
+      state_stack[tos] = state;
+    }
+
+  /*. . . . . . . . . . . . . . . . . . . . . . . . . . . . . .*/
+
+  /** Pop Symbols off the parse stack, clearing their slots so the stack
+   *  array does not keep them (and the values they carry) alive for the
+   *  rest of the parse.
+   *
+   * @param count the number of Symbols to pop.
+   */
+  protected final void pop(int count)
+    {
+      java.util.Arrays.fill(stack, tos - count + 1, tos + 1, null);
+      tos -= count;
     }
 
   /*. . . . . . . . . . . . . . . . . . . . . . . . . . . . . .*/
@@ -520,9 +615,7 @@ public abstract class lr_parser {
 
       /* set up direct reference to tables to drive the bantam.parser */
 
-      production_tab = production_table();
-      action_tab     = action_table();
-      reduce_tab     = reduce_table();
+      init_tables();
 
       /* initialize the action encapsulation object */
       init_actions();
@@ -534,9 +627,8 @@ public abstract class lr_parser {
       cur_token = scan(); 
 
       /* push dummy Symbol with start state to get us underway */
-      stack.removeAllElements();
-      stack.push(new Symbol(0, start_state()));
-      tos = 0;
+      tos = -1;
+      push(new Symbol(0, start_state()), start_state());
 
       /* continue until we are told to stop */
       for (_done_parsing = false; !_done_parsing; )
@@ -548,7 +640,7 @@ public abstract class lr_parser {
 	  /* current state is always on the top of the stack */
 
 	  /* look up action out of the current state with the current input */
-	  act = get_action(((Symbol)stack.peek()).parse_state, cur_token.sym);
+	  act = get_action(state_stack[tos], cur_token.sym);
 
 	  /* decode the action -- > 0 encodes shift */
 	  if (act > 0)
@@ -556,8 +648,7 @@ public abstract class lr_parser {
 	      /* shift to the encoded state by pushing it on the stack */
 	      cur_token.parse_state = act-1;
 	      cur_token.used_by_parser = true;
-	      stack.push(cur_token);
-	      tos++;
+	      push(cur_token, act-1);
 
 	      /* advance to the next Symbol */
 	      cur_token = scan();
@@ -573,20 +664,15 @@ public abstract class lr_parser {
 	      handle_size = production_tab[(-act)-1][1];
 
 	      /* pop the handle off the stack */
-	      for (int i = 0; i < handle_size; i++)
-		{
-		  stack.pop();
-		  tos--;
-		}
+	      pop(handle_size);
 	      
 	      /* look up the state to go to from the one popped back to */
-	      act = get_reduce(((Symbol)stack.peek()).parse_state, lhs_sym_num);
+	      act = get_reduce(state_stack[tos], lhs_sym_num);
 
 	      /* shift to that state */
 	      lhs_sym.parse_state = act;
 	      lhs_sym.used_by_parser = true;
-	      stack.push(lhs_sym);
-	      tos++;
+	      push(lhs_sym, act);
 	    }
 	  /* finally if the entry is zero, we have an error */
 	  else if (act == 0)
@@ -603,7 +689,7 @@ public abstract class lr_parser {
 		  /* just in case that wasn't fatal enough, end parse */
 		  done_parsing();
 		} else {
-		  lhs_sym = (Symbol)stack.peek();
+		  lhs_sym = stack[tos];
 		}
 	    }
 	}
@@ -636,10 +722,10 @@ public abstract class lr_parser {
       debug_message("============ Parse Stack Dump ============");
 
       /* dump the stack */
-      for (int i=0; i<stack.size(); i++)
+      for (int i=0; i<=tos; i++)
 	{
-	  debug_message("Symbol: " + ((Symbol)stack.elementAt(i)).sym +
-			" State: " + ((Symbol)stack.elementAt(i)).parse_state);
+	  debug_message("Symbol: " + stack[i].sym +
+			" State: " + state_stack[i]);
 	}
       debug_message("==========================================");
     }
@@ -676,10 +762,10 @@ public abstract class lr_parser {
    */
   public void debug_stack() {
       StringBuffer sb=new StringBuffer("## STACK:");
-      for (int i=0; i<stack.size(); i++) {
-	  Symbol s = (Symbol) stack.elementAt(i);
-	  sb.append(" <state "+s.parse_state+", sym "+s.sym+">");
-	  if ((i%3)==2 || (i==(stack.size()-1))) {
+      for (int i=0; i<=tos; i++) {
+	  Symbol s = stack[i];
+	  sb.append(" <state "+state_stack[i]+", sym "+s.sym+">");
+	  if ((i%3)==2 || (i==tos)) {
 	      debug_message(sb.toString());
 	      sb = new StringBuffer("         ");
 	  }
@@ -706,9 +792,7 @@ public abstract class lr_parser {
       short handle_size, lhs_sym_num;
 
       /* set up direct reference to tables to drive the bantam.parser */
-      production_tab = production_table();
-      action_tab     = action_table();
-      reduce_tab     = reduce_table();
+      init_tables();
 
       debug_message("# Initializing bantam.parser");
 
@@ -724,9 +808,8 @@ public abstract class lr_parser {
       debug_message("# Current Symbol is #" + cur_token.sym);
 
       /* push dummy Symbol with start state to get us underway */
-      stack.removeAllElements();
-      stack.push(new Symbol(0, start_state()));
-      tos = 0;
+      tos = -1;
+      push(new Symbol(0, start_state()), start_state());
 
       /* continue until we are told to stop */
       for (_done_parsing = false; !_done_parsing; )
@@ -739,7 +822,7 @@ public abstract class lr_parser {
 	  //debug_stack();
 
 	  /* look up action out of the current state with the current input */
-	  act = get_action(((Symbol)stack.peek()).parse_state, cur_token.sym);
+	  act = get_action(state_stack[tos], cur_token.sym);
 
 	  /* decode the action -- > 0 encodes shift */
 	  if (act > 0)
@@ -748,8 +831,7 @@ public abstract class lr_parser {
 	      cur_token.parse_state = act-1;
 	      cur_token.used_by_parser = true;
 	      debug_shift(cur_token);
-	      stack.push(cur_token);
-	      tos++;
+	      push(cur_token, act-1);
 
 	      /* advance to the next Symbol */
 	      cur_token = scan();
@@ -768,23 +850,18 @@ public abstract class lr_parser {
 	      debug_reduce((-act)-1, lhs_sym_num, handle_size);
 
 	      /* pop the handle off the stack */
-	      for (int i = 0; i < handle_size; i++)
-		{
-		  stack.pop();
-		  tos--;
-		}
+	      pop(handle_size);
 	      
 	      /* look up the state to go to from the one popped back to */
-	      act = get_reduce(((Symbol)stack.peek()).parse_state, lhs_sym_num);
+	      act = get_reduce(state_stack[tos], lhs_sym_num);
 	      debug_message("# Reduce rule: top state " +
-			     ((Symbol)stack.peek()).parse_state +
+			     state_stack[tos] +
 			     ", lhs sym " + lhs_sym_num + " -> state " + act); 
 
 	      /* shift to that state */
 	      lhs_sym.parse_state = act;
 	      lhs_sym.used_by_parser = true;
-	      stack.push(lhs_sym);
-	      tos++;
+	      push(lhs_sym, act);
 
 	      debug_message("# Goto state #" + act);
 	    }
@@ -803,7 +880,7 @@ public abstract class lr_parser {
 		  /* just in case that wasn't fatal enough, end parse */
 		  done_parsing();
 		} else {
-		  lhs_sym = (Symbol)stack.peek();
+		  lhs_sym = stack[tos];
 		}
 	    }
 	}
@@ -898,7 +975,7 @@ public abstract class lr_parser {
   protected boolean shift_under_error()
     {
       /* is there a shift under error Symbol */
-      return get_action(((Symbol)stack.peek()).parse_state, error_sym()) > 0;
+      return get_action(state_stack[tos], error_sym()) > 0;
     }
 
   /*. . . . . . . . . . . . . . . . . . . . . . . . . . . . . .*/
@@ -918,8 +995,8 @@ public abstract class lr_parser {
       if (debug) debug_message("# Finding recovery state on stack");
 
       /* Remember the right-position of the top symbol on the stack */
-      int right_pos = ((Symbol)stack.peek()).right;
-      int left_pos  = ((Symbol)stack.peek()).left;
+      int right_pos = stack[tos].right;
+      int left_pos  = stack[tos].left;
 
       /* pop down until we can shift under error Symbol */
       while (!shift_under_error())
@@ -927,12 +1004,12 @@ public abstract class lr_parser {
 	  /* pop the stack */
 	  if (debug) 
 	    debug_message("# Pop stack by one, state was # " +
-	                  ((Symbol)stack.peek()).parse_state);
-          left_pos = ((Symbol)stack.pop()).left;	
-	  tos--;
+	                  state_stack[tos]);
+          left_pos = stack[tos].left;	
+	  pop(1);
 
 	  /* if we have hit bottom, we fail */
-	  if (stack.empty()) 
+	  if (tos < 0) 
 	    {
 	      if (debug) debug_message("# No recovery state found on stack");
 	      return false;
@@ -940,11 +1017,11 @@ public abstract class lr_parser {
 	}
 
       /* state on top of the stack can shift under error, find the shift */
-      act = get_action(((Symbol)stack.peek()).parse_state, error_sym());
+      act = get_action(state_stack[tos], error_sym());
       if (debug) 
 	{
 	  debug_message("# Recover state found (#" + 
-			((Symbol)stack.peek()).parse_state + ")");
+			state_stack[tos] + ")");
 	  debug_message("# Shifting on error to state #" + (act-1));
 	}
 
@@ -952,8 +1029,7 @@ public abstract class lr_parser {
       error_token = new Symbol(error_sym(), left_pos, right_pos);
       error_token.parse_state = act-1;
       error_token.used_by_parser = true;
-      stack.push(error_token);
-      tos++;
+      push(error_token, act-1);
 
       return true;
     }
@@ -1047,7 +1123,7 @@ public abstract class lr_parser {
       short lhs, rhs_size;
 
       /* create a virtual stack from the real parse stack */
-      virtual_parse_stack vstack = new virtual_parse_stack(stack);
+      virtual_parse_stack vstack = new virtual_parse_stack(state_stack, tos);
 
       /* parse until we fail or get past the lookahead input */
       for (;;)
@@ -1131,7 +1207,7 @@ public abstract class lr_parser {
 	  debug_message("# Reparsing saved input with actions");
 	  debug_message("# Current Symbol is #" + cur_err_token().sym);
 	  debug_message("# Current state is #" + 
-			((Symbol)stack.peek()).parse_state);
+			state_stack[tos]);
 	}
 
       /* continue until we accept or have read all lookahead input */
@@ -1140,8 +1216,7 @@ public abstract class lr_parser {
 	  /* current state is always on the top of the stack */
 
 	  /* look up action out of the current state with the current input */
-	  act = 
-	    get_action(((Symbol)stack.peek()).parse_state, cur_err_token().sym);
+	  act = get_action(state_stack[tos], cur_err_token().sym);
 
 	  /* decode the action -- > 0 encodes shift */
 	  if (act > 0)
@@ -1150,8 +1225,7 @@ public abstract class lr_parser {
 	      cur_err_token().parse_state = act-1;
 	      cur_err_token().used_by_parser = true;
 	      if (debug) debug_shift(cur_err_token());
-	      stack.push(cur_err_token());
-	      tos++;
+	      push(cur_err_token(), act-1);
 
 	      /* advance to the next Symbol, if there is none, we are done */
 	      if (!advance_lookahead()) 
@@ -1184,20 +1258,15 @@ public abstract class lr_parser {
 	      if (debug) debug_reduce((-act)-1, lhs_sym_num, handle_size);
 
 	      /* pop the handle off the stack */
-	      for (int i = 0; i < handle_size; i++)
-		{
-		  stack.pop();
-		  tos--;
-		}
+	      pop(handle_size);
 	      
 	      /* look up the state to go to from the one popped back to */
-	      act = get_reduce(((Symbol)stack.peek()).parse_state, lhs_sym_num);
+	      act = get_reduce(state_stack[tos], lhs_sym_num);
 
 	      /* shift to that state */
 	      lhs_sym.parse_state = act;
 	      lhs_sym.used_by_parser = true;
-	      stack.push(lhs_sym);
-	      tos++;
+	      push(lhs_sym, act);
 	       
 	      if (debug) debug_message("# Goto state #" + act);
 
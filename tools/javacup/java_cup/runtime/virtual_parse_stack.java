@@ -1,8 +1,6 @@
 
 package java_cup.runtime;
 
-import java.util.Stack;
-
 /** This class implements a temporary or "virtual" parse stack that 
  *  replaces the top portion of the actual parse stack (the part that 
  *  has been changed by some set of operations) while maintaining its
@@ -24,8 +22,13 @@ public class virtual_parse_stack {
   /*--- Constructor(s) ----------------------------------------*/
   /*-----------------------------------------------------------*/
 
-  /** Constructor to build a virtual stack out of a real stack. */
-  public virtual_parse_stack(Stack shadowing_stack) throws java.lang.Exception
+  /** Constructor to build a virtual stack out of the states of a real stack. 
+   *
+   * @param shadowing_stack the states of the real stack.
+   * @param shadowing_top   the index of the top state of the real stack.
+   */
+  public virtual_parse_stack(int[] shadowing_stack, int shadowing_top) 
+    throws java.lang.Exception
     {
       /* sanity check */
       if (shadowing_stack == null)
@@ -34,7 +37,9 @@ public class virtual_parse_stack {
 
       /* set up our internals */
       real_stack = shadowing_stack;
-      vstack     = new Stack();
+      real_top   = shadowing_top;
+      vstack     = new int[_initial_size];
+      vtop       = -1;
       real_next  = 0;
 
       /* get one element onto the virtual portion of the stack */
@@ -49,7 +54,12 @@ public class virtual_parse_stack {
    *  the bottom of the virtual portion of the stack, but is always left
    *  unmodified.
    */
-  protected Stack real_stack;
+  protected int[] real_stack;
+
+  /*. . . . . . . . . . . . . . . . . . . . . . . . . . . . . .*/
+
+  /** The index of the top state of the real stack. */
+  protected int real_top;
 
   /*. . . . . . . . . . . . . . . . . . . . . . . . . . . . . .*/
 
@@ -61,13 +71,23 @@ public class virtual_parse_stack {
 
   /*. . . . . . . . . . . . . . . . . . . . . . . . . . . . . .*/
 
-  /** The virtual top portion of the stack.  This stack contains Integer
-   *  objects with state numbers.  This stack shadows the top portion
+  /** The virtual top portion of the stack.  This stack contains state 
+   *  numbers, from the bottom (index 0) to the top (index vtop).  This stack shadows the top portion
    *  of the real stack within the area that has been modified (via operations
    *  on the virtual stack).  When this portion of the stack becomes empty we 
    *  transfer elements from the underlying stack onto this stack. 
    */
-  protected Stack vstack;
+  protected int[] vstack;
+
+  /*. . . . . . . . . . . . . . . . . . . . . . . . . . . . . .*/
+
+  /** The index of the top state of the virtual stack (-1 if it is empty). */
+  protected int vtop;
+
+  /*. . . . . . . . . . . . . . . . . . . . . . . . . . . . . .*/
+
+  /** The number of states the virtual stack holds before it first grows. */
+  protected final static int _initial_size = 16;
 
   /*-----------------------------------------------------------*/
   /*--- General Methods ---------------------------------------*/
@@ -78,19 +98,19 @@ public class virtual_parse_stack {
    */
   protected void get_from_real()
     {
-      Symbol stack_sym;
+      int state;
 
       /* don't transfer if the real stack is empty */
-      if (real_next >= real_stack.size()) return;
+      if (real_next > real_top) return;
 
-      /* get a copy of the first Symbol we have not transfered */
-      stack_sym = (Symbol)real_stack.elementAt(real_stack.size()-1-real_next);
+      /* get a copy of the first state we have not transfered */
+      state = real_stack[real_top-real_next];
 
       /* record the transfer */
       real_next++;
 
-      /* put the state number from the Symbol onto the virtual stack */
-      vstack.push(new Integer(stack_sym.parse_state));
+      /* put the state number onto the virtual stack */
+      push(state);
     }
 
   /*. . . . . . . . . . . . . . . . . . . . . . . . . . . . . .*/
@@ -100,7 +120,7 @@ public class virtual_parse_stack {
     {
       /* if vstack is empty then we were unable to transfer onto it and 
 	 the whole thing is empty. */
-      return vstack.empty();
+      return vtop < 0;
     }
 
   /*. . . . . . . . . . . . . . . . . . . . . . . . . . . . . .*/
@@ -108,11 +128,11 @@ public class virtual_parse_stack {
   /** Return value on the top of the stack (without popping it). */
   public int top() throws java.lang.Exception
     {
-      if (vstack.empty())
+      if (vtop < 0)
 	throw new Exception(
 		  "Internal bantam.parser error: top() called on empty virtual stack");
 
-      return ((Integer)vstack.peek()).intValue();
+      return vstack[vtop];
     }
 
   /*. . . . . . . . . . . . . . . . . . . . . . . . . . . . . .*/
@@ -120,15 +140,15 @@ public class virtual_parse_stack {
   /** Pop the stack. */
   public void pop() throws java.lang.Exception
     {
-      if (vstack.empty())
+      if (vtop < 0)
 	throw new Exception(
 		  "Internal bantam.parser error: pop from empty virtual stack");
 
       /* pop it */
-      vstack.pop();
+      vtop--;
 
       /* if we are now empty transfer an element (if there is one) */
-      if (vstack.empty())
+      if (vtop < 0)
         get_from_real();
     }
 
@@ -137,7 +157,9 @@ public class virtual_parse_stack {
   /** Push a state number onto the stack. */
   public void push(int state_num)
     {
-      vstack.push(new Integer(state_num));
+      if (++vtop == vstack.length)
+	vstack = java.util.Arrays.copyOf(vstack, 2 * vtop);
+      vstack[vtop] = state_num;
     }
 
   /*-----------------------------------------------------------*/